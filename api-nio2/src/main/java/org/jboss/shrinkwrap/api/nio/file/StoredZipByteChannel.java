@@ -0,0 +1,569 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.api.nio.file;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.Node;
+import org.jboss.shrinkwrap.api.asset.Asset;
+
+/**
+ * Read-only {@link SeekableByteChannel} over a virtual ZIP export of an {@link Archive}, in which every entry is
+ * STORED (uncompressed). As entry sizes are then known, the offset of every header and every byte of content can be
+ * computed ahead of time, so any range of the ZIP may be read without producing the rest: headers and the central
+ * directory are held in memory, while content is read from each {@link Asset} on demand. Suited to serving archives to
+ * clients making range requests, or to ZIP readers operating on channels.
+ *
+ * <p>
+ * Creation reads each asset once to compute its size and CRC-32, which the ZIP format requires ahead of content.
+ * Assets must yield the same bytes each time they are opened (nested archives should thus be exported with fixed entry
+ * times), and the archive must not change while this channel is open; any asset found to differ is reported as an
+ * {@link IOException} when read. Entries are in order of path and carry a fixed time, so the channels of equal archives
+ * have equal contents. ZIP64 extensions are used where sizes, offsets or the number of entries require them.
+ * </p>
+ *
+ * <p>
+ * Thread-safe; reads are serialized.
+ * </p>
+ *
+ * @version $Revision: $
+ */
+public class StoredZipByteChannel implements SeekableByteChannel {
+
+    // -------------------------------------------------------------------------------------||
+    // Class Members ----------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+
+    private static final int ZIP64_END_SIGNATURE = 0x06064b50;
+
+    private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+
+    private static final int END_SIGNATURE = 0x06054b50;
+
+    private static final int VERSION_DEFAULT = 10;
+
+    private static final int VERSION_ZIP64 = 45;
+
+    private static final int FLAG_UTF8 = 0x0800;
+
+    private static final int ZIP64_EXTRA_ID = 0x0001;
+
+    /**
+     * MS-DOS date of all entries, 1980-01-01; the time is midnight (0)
+     */
+    private static final int FIXED_DOS_DATE = (1 << 5) | 1;
+
+    private static final int DIRECTORY_ATTRIBUTE = 0x10;
+
+    private static final long MAX_32 = 0xFFFFFFFFL;
+
+    private static final int MAX_16 = 0xFFFF;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * Orders nodes by path
+     */
+    private static final Comparator<Node> BY_PATH = new Comparator<Node>() {
+        @Override
+        public int compare(final Node node1, final Node node2) {
+            return node1.getPath().get().compareTo(node2.getPath().get());
+        }
+    };
+
+    // -------------------------------------------------------------------------------------||
+    // Instance Members -------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Contiguous segments making up the ZIP, in order
+     */
+    private final Segment[] segments;
+
+    /**
+     * Offset of each segment, for binary search
+     */
+    private final long[] offsets;
+
+    /**
+     * Total size of the ZIP
+     */
+    private final long size;
+
+    /**
+     * Current position; guarded by "this"
+     */
+    private long position;
+
+    /**
+     * Content segment with an open stream, if any; guarded by "this"
+     */
+    private ContentSegment openSegment;
+
+    /**
+     * Whether or not this channel is open
+     */
+    private volatile boolean open = true;
+
+    // -------------------------------------------------------------------------------------||
+    // Constructor ------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Creates a new channel over a STORED ZIP export of the specified archive, positioned at 0, reading each asset to
+     * compute its size and CRC-32
+     *
+     * @param archive
+     * @throws IllegalArgumentException
+     *             If the archive is not specified
+     * @throws IOException
+     *             If an asset could not be read
+     */
+    public StoredZipByteChannel(final Archive<?> archive) throws IllegalArgumentException, IOException {
+        if (archive == null) {
+            throw new IllegalArgumentException("Archive must be specified");
+        }
+
+        final List<Node> nodes = new ArrayList<>(archive.getContent().values());
+        Collections.sort(nodes, BY_PATH);
+
+        final List<Segment> layout = new ArrayList<>(nodes.size() * 2 + 1);
+        final ByteArrayOutputStream centralDirectory = new ByteArrayOutputStream();
+        long offset = 0;
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        for (final Node node : nodes) {
+            final Asset asset = node.getAsset();
+            final boolean directory = asset == null;
+            String name = node.getPath().get().substring(1);
+            if (directory) {
+                name = name + "/";
+            }
+            final byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+            final int flags = nameBytes.length == name.length() ? 0 : FLAG_UTF8;
+
+            // Size and CRC-32 precede content, so read it once now
+            long length = 0;
+            final CRC32 crc = new CRC32();
+            if (!directory) {
+                try (InputStream in = asset.openStream()) {
+                    int read;
+                    while ((read = in.read(buffer)) != -1) {
+                        crc.update(buffer, 0, read);
+                        length += read;
+                    }
+                }
+            }
+
+            final byte[] localHeader = localHeader(nameBytes, flags, crc.getValue(), length);
+            layout.add(new HeaderSegment(localHeader));
+            if (length > 0) {
+                layout.add(new ContentSegment(node, length, crc.getValue()));
+            }
+            centralDirectory.write(centralHeader(nameBytes, flags, crc.getValue(), length, offset, directory));
+            offset += localHeader.length + length;
+        }
+
+        final long centralOffset = offset;
+        final long centralSize = centralDirectory.size();
+        final ByteBuffer end = ByteBuffer.allocate(56 + 20 + 22).order(ByteOrder.LITTLE_ENDIAN);
+        final boolean zip64 = nodes.size() >= MAX_16 || centralOffset >= MAX_32 || centralSize >= MAX_32;
+        if (zip64) {
+            final long zip64EndOffset = centralOffset + centralSize;
+            end.putInt(ZIP64_END_SIGNATURE).putLong(44).putShort((short) VERSION_ZIP64)
+                .putShort((short) VERSION_ZIP64).putInt(0).putInt(0).putLong(nodes.size()).putLong(nodes.size())
+                .putLong(centralSize).putLong(centralOffset);
+            end.putInt(ZIP64_LOCATOR_SIGNATURE).putInt(0).putLong(zip64EndOffset).putInt(1);
+        }
+        end.putInt(END_SIGNATURE).putShort((short) 0).putShort((short) 0)
+            .putShort((short) Math.min(nodes.size(), MAX_16)).putShort((short) Math.min(nodes.size(), MAX_16))
+            .putInt((int) Math.min(centralSize, MAX_32)).putInt((int) Math.min(centralOffset, MAX_32))
+            .putShort((short) 0);
+
+        layout.add(new HeaderSegment(centralDirectory.toByteArray()));
+        layout.add(new HeaderSegment(Arrays.copyOf(end.array(), end.position())));
+
+        this.segments = layout.toArray(new Segment[layout.size()]);
+        this.offsets = new long[segments.length];
+        long segmentOffset = 0;
+        for (int i = 0; i < segments.length; i++) {
+            offsets[i] = segmentOffset;
+            segmentOffset += segments[i].length();
+        }
+        this.size = segmentOffset;
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Required Implementations -----------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see java.nio.channels.Channel#isOpen()
+     */
+    @Override
+    public boolean isOpen() {
+        return this.open;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see java.nio.channels.Channel#close()
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            this.open = false;
+            if (openSegment != null) {
+                openSegment.close();
+                openSegment = null;
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see java.nio.channels.SeekableByteChannel#read(java.nio.ByteBuffer)
+     */
+    @Override
+    public int read(final ByteBuffer destination) throws IOException {
+        this.checkClosed();
+        if (destination == null) {
+            throw new IllegalArgumentException("Destination buffer must be supplied");
+        }
+
+        synchronized (this) {
+            if (position >= size) {
+                return -1;
+            }
+            int total = 0;
+            int index = this.segmentAt(position);
+            while (destination.hasRemaining() && position < size) {
+                final Segment segment = segments[index];
+                final long offsetInSegment = position - offsets[index];
+                if (offsetInSegment >= segment.length()) {
+                    index++;
+                    continue;
+                }
+                final int max = (int) Math.min(destination.remaining(), segment.length() - offsetInSegment);
+                if (segment instanceof ContentSegment && segment != openSegment) {
+                    // Keep a single content stream open, for sequential reads
+                    if (openSegment != null) {
+                        openSegment.close();
+                    }
+                    openSegment = (ContentSegment) segment;
+                }
+                final int read = segment.read(offsetInSegment, destination, max);
+                position += read;
+                total += read;
+            }
+            return total;
+        }
+    }
+
+    /**
+     * Unsupported; this channel is read-only
+     *
+     * @throws NonWritableChannelException
+     * @see java.nio.channels.SeekableByteChannel#write(java.nio.ByteBuffer)
+     */
+    @Override
+    public int write(final ByteBuffer source) throws IOException {
+        this.checkClosed();
+        throw new NonWritableChannelException();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see java.nio.channels.SeekableByteChannel#position()
+     */
+    @Override
+    public long position() throws IOException {
+        this.checkClosed();
+        synchronized (this) {
+            return this.position;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see java.nio.channels.SeekableByteChannel#position(long)
+     */
+    @Override
+    public SeekableByteChannel position(final long newPosition) throws IOException {
+        this.checkClosed();
+        if (newPosition < 0) {
+            throw new IllegalArgumentException("Position must be 0 or higher");
+        }
+        synchronized (this) {
+            this.position = newPosition;
+        }
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see java.nio.channels.SeekableByteChannel#size()
+     */
+    @Override
+    public long size() throws IOException {
+        this.checkClosed();
+        return this.size;
+    }
+
+    /**
+     * Unsupported; this channel is read-only
+     *
+     * @throws NonWritableChannelException
+     * @see java.nio.channels.SeekableByteChannel#truncate(long)
+     */
+    @Override
+    public SeekableByteChannel truncate(final long size) throws IOException {
+        this.checkClosed();
+        throw new NonWritableChannelException();
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Internal Helper Methods ------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    private void checkClosed() throws ClosedChannelException {
+        if (!this.isOpen()) {
+            throw new ClosedChannelException();
+        }
+    }
+
+    /**
+     * Obtains the index of the segment holding the specified position, which must be less than the size
+     */
+    private int segmentAt(final long position) {
+        final int found = Arrays.binarySearch(offsets, position);
+        // Empty segments share the offset of their successor; take the last segment starting at or before
+        int index = found >= 0 ? found : -found - 2;
+        while (index + 1 < offsets.length && offsets[index + 1] <= position) {
+            index++;
+        }
+        return index;
+    }
+
+    private static byte[] localHeader(final byte[] name, final int flags, final long crc, final long length) {
+        final boolean zip64 = length >= MAX_32;
+        final ByteBuffer header = ByteBuffer.allocate(30 + name.length + (zip64 ? 20 : 0)).order(
+            ByteOrder.LITTLE_ENDIAN);
+        header.putInt(LOCAL_HEADER_SIGNATURE).putShort((short) (zip64 ? VERSION_ZIP64 : VERSION_DEFAULT))
+            .putShort((short) flags).putShort((short) 0).putShort((short) 0).putShort((short) FIXED_DOS_DATE)
+            .putInt((int) crc).putInt((int) (zip64 ? MAX_32 : length)).putInt((int) (zip64 ? MAX_32 : length))
+            .putShort((short) name.length).putShort((short) (zip64 ? 20 : 0)).put(name);
+        if (zip64) {
+            header.putShort((short) ZIP64_EXTRA_ID).putShort((short) 16).putLong(length).putLong(length);
+        }
+        return header.array();
+    }
+
+    private static byte[] centralHeader(final byte[] name, final int flags, final long crc, final long length,
+        final long offset, final boolean directory) {
+        final boolean zip64Size = length >= MAX_32;
+        final boolean zip64Offset = offset >= MAX_32;
+        final int extraLength = (zip64Size ? 16 : 0) + (zip64Offset ? 8 : 0);
+        final int version = extraLength > 0 ? VERSION_ZIP64 : VERSION_DEFAULT;
+        final ByteBuffer header = ByteBuffer.allocate(46 + name.length + (extraLength > 0 ? extraLength + 4 : 0))
+            .order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(CENTRAL_HEADER_SIGNATURE).putShort((short) VERSION_ZIP64).putShort((short) version)
+            .putShort((short) flags).putShort((short) 0).putShort((short) 0).putShort((short) FIXED_DOS_DATE)
+            .putInt((int) crc).putInt((int) (zip64Size ? MAX_32 : length))
+            .putInt((int) (zip64Size ? MAX_32 : length)).putShort((short) name.length)
+            .putShort((short) (extraLength > 0 ? extraLength + 4 : 0)).putShort((short) 0).putShort((short) 0)
+            .putShort((short) 0).putInt(directory ? DIRECTORY_ATTRIBUTE : 0)
+            .putInt((int) (zip64Offset ? MAX_32 : offset)).put(name);
+        if (extraLength > 0) {
+            header.putShort((short) ZIP64_EXTRA_ID).putShort((short) extraLength);
+            if (zip64Size) {
+                header.putLong(length).putLong(length);
+            }
+            if (zip64Offset) {
+                header.putLong(offset);
+            }
+        }
+        return header.array();
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Inner Classes ----------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Contiguous range of the ZIP
+     */
+    private abstract static class Segment {
+
+        abstract long length();
+
+        /**
+         * Reads up to the specified number of bytes, which must remain in this segment, from the specified offset
+         * within it into the destination, returning the number read (at least 1)
+         */
+        abstract int read(long offset, ByteBuffer destination, int max) throws IOException;
+    }
+
+    /**
+     * Headers or directory, held in memory
+     */
+    private static final class HeaderSegment extends Segment {
+
+        private final byte[] bytes;
+
+        HeaderSegment(final byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        long length() {
+            return bytes.length;
+        }
+
+        @Override
+        int read(final long offset, final ByteBuffer destination, final int max) {
+            destination.put(bytes, (int) offset, max);
+            return max;
+        }
+    }
+
+    /**
+     * Content of an asset, read on demand. The stream is kept open between reads, and reopened only to move backwards.
+     */
+    private static final class ContentSegment extends Segment {
+
+        private final Node node;
+
+        private final long length;
+
+        private final long crc;
+
+        private InputStream stream;
+
+        /**
+         * Offset of the stream within the content
+         */
+        private long streamOffset;
+
+        /**
+         * Checksum of the content read from the start, if read sequentially; else null
+         */
+        private CRC32 check;
+
+        ContentSegment(final Node node, final long length, final long crc) {
+            this.node = node;
+            this.length = length;
+            this.crc = crc;
+        }
+
+        @Override
+        long length() {
+            return length;
+        }
+
+        @Override
+        int read(final long offset, final ByteBuffer destination, final int max) throws IOException {
+            if (stream == null || offset < streamOffset) {
+                this.close();
+                stream = node.getAsset().openStream();
+                streamOffset = 0;
+                check = new CRC32();
+            }
+            while (streamOffset < offset) {
+                final long skipped = stream.skip(offset - streamOffset);
+                if (skipped <= 0) {
+                    // Some streams skip nothing at times; fall back to reading
+                    if (stream.read() == -1) {
+                        throw this.changed();
+                    }
+                    streamOffset++;
+                } else {
+                    streamOffset += skipped;
+                }
+                check = null;
+            }
+
+            final int read;
+            if (destination.hasArray()) {
+                read = stream.read(destination.array(), destination.arrayOffset() + destination.position(), max);
+                if (read > 0) {
+                    if (check != null) {
+                        check.update(destination.array(), destination.arrayOffset() + destination.position(), read);
+                    }
+                    destination.position(destination.position() + read);
+                }
+            } else {
+                final byte[] bytes = new byte[max];
+                read = stream.read(bytes, 0, max);
+                if (read > 0) {
+                    if (check != null) {
+                        check.update(bytes, 0, read);
+                    }
+                    destination.put(bytes, 0, read);
+                }
+            }
+            if (read <= 0) {
+                throw this.changed();
+            }
+            streamOffset += read;
+            if (streamOffset == length && check != null && check.getValue() != crc) {
+                throw this.changed();
+            }
+            return read;
+        }
+
+        void close() throws IOException {
+            if (stream != null) {
+                try {
+                    stream.close();
+                } finally {
+                    stream = null;
+                }
+            }
+        }
+
+        private IOException changed() {
+            return new IOException("Content of " + node.getPath().get()
+                + " differs from when the channel was created; assets must yield the same bytes each time opened");
+        }
+    }
+}
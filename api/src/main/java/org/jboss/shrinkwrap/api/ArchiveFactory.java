@@ -44,6 +44,11 @@ public final class ArchiveFactory {
      */
     private static final String ARCHIVE_IMPL = "org.jboss.shrinkwrap.impl.base.MemoryMapArchiveImpl";
 
+    /**
+     * Implementation class name backing {@link Archive}s mounting a directory
+     */
+    private static final String DIRECTORY_ARCHIVE_IMPL = "org.jboss.shrinkwrap.impl.base.DirectoryArchiveImpl";
+
     // -------------------------------------------------------------------------------------||
     // Instance Members -------------------------------------------------------------------||
     // -------------------------------------------------------------------------------------||
@@ -132,19 +137,9 @@ public final class ArchiveFactory {
             throw new IllegalArgumentException("ArchiveName must be specified");
         }
 
-        // Get the impl class
-        final Class<?> archiveImplClass;
-        try {
-            archiveImplClass = ClassLoaderSearchUtil.findClassFromClassLoaders(ARCHIVE_IMPL,
-                this.configuration.getClassLoaders());
-        } catch (final ClassNotFoundException cnfe) {
-            throw new IllegalStateException("Could not find the archive implementation class " + ARCHIVE_IMPL
-                + " in any configured ClassLoader", cnfe);
-        }
-
         // Make a new instance
-        final Archive<?> archive = SecurityActions.newInstance(archiveImplClass, new Class<?>[] { String.class,
-            Configuration.class }, new Object[] { archiveName, configuration }, Archive.class);
+        final Archive<?> archive = SecurityActions.newInstance(this.findImplClass(ARCHIVE_IMPL), new Class<?>[] {
+            String.class, Configuration.class }, new Object[] { archiveName, configuration }, Archive.class);
 
         // Wrap as the requested type and return
         return archive.as(type);
@@ -199,4 +194,57 @@ public final class ArchiveFactory {
         return ShrinkWrap.create(type, archiveFile.getName()).as(ZipImporter.class).importFrom(zipFile).as(type);
 
     }
+
+    /**
+     * Creates a new archive of the specified type mounting the specified directory as its content. Nothing is read
+     * upon creation; entries are looked up in and listed from the directory on demand, so mounting even a large tree
+     * costs next to no memory. Content added to the archive is held in memory, and content deleted from it is hidden;
+     * the directory itself is never modified. The name of the archive will be set to {@link File#getName()}. The
+     * archive will be be backed by the {@link Configuration} specific to this {@link ArchiveFactory}.
+     *
+     * @param type
+     *            The type of the archive e.g. {@link org.jboss.shrinkwrap.api.spec.WebArchive}
+     * @param directory
+     *            the directory to mount
+     * @return An {@link Assignable} view
+     * @throws IllegalArgumentException
+     *             If either argument is not supplied, or if the specified {@link File} is not an existing directory
+     */
+    public <T extends Assignable> T createFromDirectory(final Class<T> type, final File directory)
+        throws IllegalArgumentException {
+        // Precondition checks
+        if (type == null) {
+            throw new IllegalArgumentException("Type must be specified");
+        }
+        if (directory == null) {
+            throw new IllegalArgumentException("directory must be specified");
+        }
+        if (!directory.isDirectory()) {
+            throw new IllegalArgumentException("Directory to mount does not exist: " + directory.getAbsolutePath());
+        }
+
+        // Make a new instance
+        final Archive<?> archive = SecurityActions.newInstance(this.findImplClass(DIRECTORY_ARCHIVE_IMPL),
+            new Class<?>[] { String.class, Configuration.class, File.class }, new Object[] { directory.getName(),
+                configuration, directory }, Archive.class);
+
+        // Wrap as the requested type and return
+        return archive.as(type);
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Internal Helper Methods ------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Finds the archive implementation class of the specified name in the configured {@link ClassLoader}s
+     */
+    private Class<?> findImplClass(final String className) throws IllegalStateException {
+        try {
+            return ClassLoaderSearchUtil.findClassFromClassLoaders(className, this.configuration.getClassLoaders());
+        } catch (final ClassNotFoundException cnfe) {
+            throw new IllegalStateException("Could not find the archive implementation class " + className
+                + " in any configured ClassLoader", cnfe);
+        }
+    }
 }
@@ -17,10 +17,11 @@
 package org.jboss.shrinkwrap.api;
 
 /**
- * Supported archive formats known by the base implementation
+ * Supported archive formats known by the base implementation. {@link ArchiveFormat#AUTO} designates no format of its
+ * own, but that of ZIP, TAR or TAR_GZ detected from the content upon import.
  *
  * @author <a href="mailto:andrew.rubinger@jboss.org">ALR</a>
  */
 public enum ArchiveFormat {
-    UNKNOWN, ZIP, TAR, TAR_GZ;
+    UNKNOWN, ZIP, TAR, TAR_GZ, AUTO;
 }
\ No newline at end of file
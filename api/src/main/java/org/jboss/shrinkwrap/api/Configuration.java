@@ -16,11 +16,14 @@
  */
 package org.jboss.shrinkwrap.api;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.concurrent.ExecutorService;
 
+import org.jboss.shrinkwrap.api.exporter.CompressionPolicy;
+
 /**
  * Encapsulates all configuration for a given {@link Domain}. Each {@link Archive} created by the domain's
  * {@link ArchiveFactory} will consult the configuration internally. An {@link Archive}'s configuration may not be
@@ -49,9 +52,7 @@ public class Configuration {
 
     /**
      * {@link ExecutorService} used for all asynchronous operations
-     * @deprecated No longer used by the implementation, will be removed in SW 2.0
      */
-    @Deprecated
     private final ExecutorService executorService;
 
     /**
@@ -59,6 +60,56 @@ public class Configuration {
      */
     private final Iterable<ClassLoader> classLoaders;
 
+    /**
+     * Upper bound, in bytes, of the exported nested archives cached in memory; 0 if caching is disabled
+     */
+    private final long archiveAssetCacheSize;
+
+    /**
+     * Directory in which exports to files are cached; null if disabled
+     */
+    private final File exportCacheDirectory;
+
+    /**
+     * Upper bound, in bytes, of the exports held in the export cache directory
+     */
+    private final long exportCacheSize;
+
+    /**
+     * Whether stream exports write entries in a deterministic order with fixed timestamps
+     */
+    private final boolean orderedExport;
+
+    /**
+     * Whether stream exports include a generated <code>META-INF/INDEX.LIST</code>
+     */
+    private final boolean generateJarIndex;
+
+    /**
+     * Compression levels and strategies used by compressed stream exports
+     */
+    private final CompressionPolicy compressionPolicy;
+
+    /**
+     * Whether stream imports decompress on one thread while inserting into the archive on another
+     */
+    private final boolean pipelinedImport;
+
+    /**
+     * Size in bytes above which entries of stream imports are held in temporary files rather than in memory
+     */
+    private final long importSpillThreshold;
+
+    /**
+     * Whether nested ZIP archives are viewed lazily
+     */
+    private final boolean lazyNestedArchives;
+
+    /**
+     * Size in bytes of the blocks in which TAR imports read their input
+     */
+    private final int tarImportBlockSize;
+
     // -------------------------------------------------------------------------------------||
     // Constructor ------------------------------------------------------------------------||
     // -------------------------------------------------------------------------------------||
@@ -93,6 +144,16 @@ public class Configuration {
             }
         }
         this.classLoaders = Collections.unmodifiableCollection(cls);
+        this.archiveAssetCacheSize = builder.getArchiveAssetCacheSize();
+        this.exportCacheDirectory = builder.getExportCacheDirectory();
+        this.exportCacheSize = builder.getExportCacheSize();
+        this.orderedExport = builder.getOrderedExport();
+        this.generateJarIndex = builder.getGenerateJarIndex();
+        this.compressionPolicy = builder.getCompressionPolicy();
+        this.pipelinedImport = builder.getPipelinedImport();
+        this.importSpillThreshold = builder.getImportSpillThreshold();
+        this.lazyNestedArchives = builder.getLazyNestedArchives();
+        this.tarImportBlockSize = builder.getTarImportBlockSize();
     }
 
     // -------------------------------------------------------------------------------------||
@@ -107,10 +168,15 @@ public class Configuration {
     }
 
     /**
-     * @return the executorService
-     * @deprecated No longer used by the implementation, will be removed in SW 2.0
+     * Obtains the {@link ExecutorService} upon which concurrent work is run: reading of pipelined imports, inflating of
+     * eager ZIP imports, listing of exploded imports, batch exports, export publishers, targets of multi-format exports
+     * written concurrently, reading of several nested archives at once, and scanning of classpath locations. Where none
+     * is configured, imports, batch exports, publishers and multi-format exports run upon threads created for the
+     * operation and stopped once it completes; exploded imports, nested archives and classpath scanning run on the
+     * calling thread. The executor is never shut down by ShrinkWrap.
+     *
+     * @return the executorService, or null if none was configured
      */
-    @Deprecated
     public ExecutorService getExecutorService() {
         return executorService;
     }
@@ -122,4 +188,77 @@ public class Configuration {
     public Iterable<ClassLoader> getClassLoaders() {
         return classLoaders;
     }
+
+    /**
+     * @return The maximum number of bytes of exported nested {@link Archive}s which may be held in memory; 0 if the
+     *         cache is disabled
+     */
+    public long getArchiveAssetCacheSize() {
+        return archiveAssetCacheSize;
+    }
+
+    /**
+     * @return The directory in which exports to files are cached, or null if the cache is disabled
+     */
+    public File getExportCacheDirectory() {
+        return exportCacheDirectory;
+    }
+
+    /**
+     * @return The maximum number of bytes held in the export cache directory
+     */
+    public long getExportCacheSize() {
+        return exportCacheSize;
+    }
+
+    /**
+     * @return Whether stream exports write entries in a deterministic order with fixed timestamps
+     */
+    public boolean isOrderedExport() {
+        return orderedExport;
+    }
+
+    /**
+     * @return Whether stream exports include a generated <code>META-INF/INDEX.LIST</code>
+     */
+    public boolean isGenerateJarIndex() {
+        return generateJarIndex;
+    }
+
+    /**
+     * @return Compression levels and strategies used by compressed stream exports
+     */
+    public CompressionPolicy getCompressionPolicy() {
+        return compressionPolicy;
+    }
+
+    /**
+     * @return Whether stream imports decompress on one thread while inserting into the archive on another
+     */
+    public boolean isPipelinedImport() {
+        return pipelinedImport;
+    }
+
+    /**
+     * @return The size in bytes above which entries of stream imports are held in temporary files rather than in
+     *         memory
+     */
+    public long getImportSpillThreshold() {
+        return importSpillThreshold;
+    }
+
+    /**
+     * @return Whether nested ZIP archives are viewed by indexing their entries, read upon demand, rather than by
+     *         importing them whole
+     */
+    public boolean isLazyNestedArchives() {
+        return lazyNestedArchives;
+    }
+
+    /**
+     * @return the size in bytes of the blocks in which TAR and TAR.GZ imports read their input
+     */
+    public int getTarImportBlockSize() {
+        return tarImportBlockSize;
+    }
 }
@@ -16,6 +16,7 @@
  */
 package org.jboss.shrinkwrap.api;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
@@ -23,6 +24,8 @@ import java.util.concurrent.ExecutorService;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.jboss.shrinkwrap.api.exporter.CompressionPolicy;
+
 /**
  * Mutable construction object for new instances of {@link Configuration}. Provides defaults for each property if not
  * specified (null) according to the following:
@@ -31,6 +34,18 @@ import java.util.logging.Logger;
  * <li><code>executorService</code> - Stay null, none is required and ShrinkWrap will create its own and destroy it when
  * done as needed</li>
  * <li><code>extensionLoader</code> - A new instance of the service extension loader from shrinkwrap-impl</li>
+ * <li><code>archiveAssetCacheSize</code> - {@link ConfigurationBuilder#DEFAULT_ARCHIVE_ASSET_CACHE_SIZE} bytes; nested
+ * archives are exported anew every time</li>
+ * <li><code>exportCacheDirectory</code> - Stay null; exports to files are not cached on disk</li>
+ * <li><code>exportCacheSize</code> - {@link ConfigurationBuilder#DEFAULT_EXPORT_CACHE_SIZE} bytes</li>
+ * <li><code>orderedExport</code> - false; entries are exported in no particular order</li>
+ * <li><code>generateJarIndex</code> - false; no <code>META-INF/INDEX.LIST</code> is generated</li>
+ * <li><code>compressionPolicy</code> - {@link CompressionPolicy#DEFAULT}</li>
+ * <li><code>pipelinedImport</code> - false; stream imports read and insert entries on the calling thread</li>
+ * <li><code>importSpillThreshold</code> - {@link Long#MAX_VALUE}; entries of stream imports are always held in
+ * memory</li>
+ * <li><code>lazyNestedArchives</code> - false; nested archives are imported whole when viewed as archives</li>
+ * <li><code>tarImportBlockSize</code> - {@link ConfigurationBuilder#DEFAULT_TAR_IMPORT_BLOCK_SIZE} bytes</li>
  * </ul>
  *
  * Not thread-safe. When done altering properties here, a new configuration may be constructed by calling upon
@@ -55,6 +70,28 @@ public class ConfigurationBuilder {
      */
     private static final String EXTENSION_LOADER_IMPL = "org.jboss.shrinkwrap.impl.base.ServiceExtensionLoader";
 
+    /**
+     * Default upper bound, in bytes, of the exported nested archives held in memory by a single {@link Domain}; 0, as
+     * the cache must be opted into
+     */
+    public static final long DEFAULT_ARCHIVE_ASSET_CACHE_SIZE = 0L;
+
+    /**
+     * Default upper bound, in bytes, of the exports held in the export cache directory
+     */
+    public static final long DEFAULT_EXPORT_CACHE_SIZE = 512L * 1024 * 1024;
+
+    /**
+     * Default size, in bytes, of the blocks in which TAR imports read their input; that of the blocks written by
+     * TAR exports
+     */
+    public static final int DEFAULT_TAR_IMPORT_BLOCK_SIZE = 10240;
+
+    /**
+     * Size, in bytes, of a TAR record, of which TAR blocks are multiples
+     */
+    private static final int TAR_RECORD_SIZE = 512;
+
     // -------------------------------------------------------------------------------------||
     // Instance Members -------------------------------------------------------------------||
     // -------------------------------------------------------------------------------------||
@@ -74,6 +111,56 @@ public class ConfigurationBuilder {
      */
     private Iterable<ClassLoader> classLoaders;
 
+    /**
+     * Upper bound, in bytes, of the exported nested archives cached in memory; 0 disables caching
+     */
+    private Long archiveAssetCacheSize;
+
+    /**
+     * Directory in which exports to files are cached across JVMs, or null if they are not to be cached
+     */
+    private File exportCacheDirectory;
+
+    /**
+     * Upper bound, in bytes, of the exports held in the export cache directory
+     */
+    private Long exportCacheSize;
+
+    /**
+     * Whether stream exports should write entries in a deterministic order with fixed timestamps
+     */
+    private Boolean orderedExport;
+
+    /**
+     * Whether stream exports should include a generated <code>META-INF/INDEX.LIST</code>
+     */
+    private Boolean generateJarIndex;
+
+    /**
+     * Compression levels and strategies used by compressed stream exports
+     */
+    private CompressionPolicy compressionPolicy;
+
+    /**
+     * Whether stream imports should decompress on one thread while inserting into the archive on another
+     */
+    private Boolean pipelinedImport;
+
+    /**
+     * Size in bytes above which entries of stream imports are held in temporary files rather than in memory
+     */
+    private Long importSpillThreshold;
+
+    /**
+     * Whether nested ZIP archives should be viewed by indexing their entries rather than by importing them whole
+     */
+    private Boolean lazyNestedArchives;
+
+    /**
+     * Size in bytes of the blocks in which TAR imports read their input
+     */
+    private Integer tarImportBlockSize;
+
     // -------------------------------------------------------------------------------------||
     // Constructor ------------------------------------------------------------------------||
     // -------------------------------------------------------------------------------------||
@@ -110,6 +197,76 @@ public class ConfigurationBuilder {
         return classLoaders;
     }
 
+    /**
+     * @return the archiveAssetCacheSize
+     */
+    public Long getArchiveAssetCacheSize() {
+        return archiveAssetCacheSize;
+    }
+
+    /**
+     * @return the exportCacheDirectory
+     */
+    public File getExportCacheDirectory() {
+        return exportCacheDirectory;
+    }
+
+    /**
+     * @return the exportCacheSize
+     */
+    public Long getExportCacheSize() {
+        return exportCacheSize;
+    }
+
+    /**
+     * @return the orderedExport
+     */
+    public Boolean getOrderedExport() {
+        return orderedExport;
+    }
+
+    /**
+     * @return the generateJarIndex
+     */
+    public Boolean getGenerateJarIndex() {
+        return generateJarIndex;
+    }
+
+    /**
+     * @return the compressionPolicy
+     */
+    public CompressionPolicy getCompressionPolicy() {
+        return compressionPolicy;
+    }
+
+    /**
+     * @return the pipelinedImport
+     */
+    public Boolean getPipelinedImport() {
+        return pipelinedImport;
+    }
+
+    /**
+     * @return the importSpillThreshold
+     */
+    public Long getImportSpillThreshold() {
+        return importSpillThreshold;
+    }
+
+    /**
+     * @return the lazyNestedArchives
+     */
+    public Boolean getLazyNestedArchives() {
+        return lazyNestedArchives;
+    }
+
+    /**
+     * @return the tarImportBlockSize
+     */
+    public Integer getTarImportBlockSize() {
+        return tarImportBlockSize;
+    }
+
     /**
      * Sets the {@link ExtensionLoader} to be used, returning this instance
      *
@@ -144,6 +301,163 @@ public class ConfigurationBuilder {
         return this;
     }
 
+    /**
+     * Sets the maximum number of bytes of exported nested {@link Archive}s which may be held in memory, returning this
+     * instance. Nested archives are re-exported only when they or the content of their assets have changed since the
+     * last export; archives holding assets whose changes cannot be detected (such as URL or custom assets) are always
+     * re-exported. A value of 0 disables the cache.
+     *
+     * @param archiveAssetCacheSize
+     * @return
+     * @throws IllegalArgumentException
+     *             If the size is negative
+     */
+    public ConfigurationBuilder archiveAssetCacheSize(final long archiveAssetCacheSize)
+        throws IllegalArgumentException {
+        if (archiveAssetCacheSize < 0) {
+            throw new IllegalArgumentException("archiveAssetCacheSize must not be negative");
+        }
+        this.archiveAssetCacheSize = archiveAssetCacheSize;
+        return this;
+    }
+
+    /**
+     * Sets the directory in which the results of exporting {@link Archive}s to files are cached, returning this
+     * instance. Exports are keyed by a digest of the archive contents, so an archive exported again with unchanged
+     * contents (even by another JVM) is copied from the cache rather than being compressed anew. A null value disables
+     * the cache. The directory is created if it does not yet exist.
+     *
+     * @param exportCacheDirectory
+     * @return
+     */
+    public ConfigurationBuilder exportCacheDirectory(final File exportCacheDirectory) {
+        this.exportCacheDirectory = exportCacheDirectory;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of bytes held in the export cache directory, returning this instance. The least
+     * recently used exports are removed once this is exceeded.
+     *
+     * @param exportCacheSize
+     * @return
+     * @throws IllegalArgumentException
+     *             If the size is negative
+     */
+    public ConfigurationBuilder exportCacheSize(final long exportCacheSize) throws IllegalArgumentException {
+        if (exportCacheSize < 0) {
+            throw new IllegalArgumentException("exportCacheSize must not be negative");
+        }
+        this.exportCacheSize = exportCacheSize;
+        return this;
+    }
+
+    /**
+     * Sets whether stream exports (ZIP, TAR, etc) should be ordered, returning this instance. Ordered exports write
+     * <code>META-INF/</code> and <code>META-INF/MANIFEST.MF</code> first, then all other entries by path (so
+     * directories precede their contents), and stamp all entries with the same fixed time; exporting equal contents
+     * therefore always yields identical bytes.
+     *
+     * @param orderedExport
+     * @return
+     */
+    public ConfigurationBuilder orderedExport(final boolean orderedExport) {
+        this.orderedExport = orderedExport;
+        return this;
+    }
+
+    /**
+     * Sets whether stream exports should include a generated <code>META-INF/INDEX.LIST</code> naming the packages
+     * contained in the archive, returning this instance. Archives already containing an index are exported as-is.
+     *
+     * @param generateJarIndex
+     * @return
+     */
+    public ConfigurationBuilder generateJarIndex(final boolean generateJarIndex) {
+        this.generateJarIndex = generateJarIndex;
+        return this;
+    }
+
+    /**
+     * Sets the {@link CompressionPolicy} selecting the compression level and strategy of each entry in compressed
+     * stream exports (ZIP, TAR.GZ), returning this instance. May be overridden for an individual export.
+     *
+     * @param compressionPolicy
+     * @return
+     */
+    public ConfigurationBuilder compressionPolicy(final CompressionPolicy compressionPolicy) {
+        this.compressionPolicy = compressionPolicy;
+        return this;
+    }
+
+    /**
+     * Sets whether ZIP, TAR and TAR.GZ stream imports should read and decompress entries on one thread (of the
+     * <code>executorService</code>, if any) while inserting them into the archive on the calling thread, returning
+     * this instance. Worthwhile for large compressed imports, where decompression and insertion otherwise run in
+     * series.
+     *
+     * @param pipelinedImport
+     * @return
+     */
+    public ConfigurationBuilder pipelinedImport(final boolean pipelinedImport) {
+        this.pipelinedImport = pipelinedImport;
+        return this;
+    }
+
+    /**
+     * Sets the size in bytes above which entries of ZIP, TAR and TAR.GZ stream imports are written to temporary files,
+     * and imported as assets backed by them, rather than held in memory, returning this instance. Such files are
+     * deleted once their assets are no longer reachable, at the latest on exit.
+     *
+     * @param importSpillThreshold
+     * @return
+     * @throws IllegalArgumentException
+     *             If the threshold is negative
+     */
+    public ConfigurationBuilder importSpillThreshold(final long importSpillThreshold)
+        throws IllegalArgumentException {
+        if (importSpillThreshold < 0) {
+            throw new IllegalArgumentException("importSpillThreshold must not be negative");
+        }
+        this.importSpillThreshold = importSpillThreshold;
+        return this;
+    }
+
+    /**
+     * Sets whether nested archives in ZIP format (ie. JAR/WAR/RAR within an EAR) obtained through
+     * {@link Archive#getAsType(Class, ArchivePath)} and its overloads should be viewed by indexing the ZIP directory of
+     * the nested archive, its entries being decompressed only upon being read, rather than by importing every entry
+     * up front, returning this instance. Nested archives whose assets are backed by files are read from those files,
+     * which must then remain unchanged; others are first copied to temporary files, deleted once no longer needed, at
+     * the latest on exit.
+     *
+     * @param lazyNestedArchives
+     * @return
+     */
+    public ConfigurationBuilder lazyNestedArchives(final boolean lazyNestedArchives) {
+        this.lazyNestedArchives = lazyNestedArchives;
+        return this;
+    }
+
+    /**
+     * Sets the size in bytes of the blocks in which TAR and TAR.GZ imports read their input, returning this instance.
+     * Headers are read a block at a time, while the data of entries rejected by the import filter is skipped without
+     * being read wherever the input allows; larger blocks mean fewer reads of archives holding many small entries.
+     * Any TAR may be read with any block size.
+     *
+     * @param tarImportBlockSize
+     * @return
+     * @throws IllegalArgumentException
+     *             If the size is not a positive multiple of 512
+     */
+    public ConfigurationBuilder tarImportBlockSize(final int tarImportBlockSize) throws IllegalArgumentException {
+        if (tarImportBlockSize <= 0 || tarImportBlockSize % TAR_RECORD_SIZE != 0) {
+            throw new IllegalArgumentException("tarImportBlockSize must be a positive multiple of " + TAR_RECORD_SIZE);
+        }
+        this.tarImportBlockSize = tarImportBlockSize;
+        return this;
+    }
+
     /**
      * Builds a new {@link Configuration} using the properties contained in this builder. In the case a property has not
      * been specified, it will be defaulted according to the rules set forth in this {@link ConfigurationBuilder}'s
@@ -208,6 +522,49 @@ public class ConfigurationBuilder {
             }
             this.extensionLoader(loader);
         }
+
+        // Default the size of the nested archive cache
+        if (getArchiveAssetCacheSize() == null) {
+            this.archiveAssetCacheSize(DEFAULT_ARCHIVE_ASSET_CACHE_SIZE);
+        }
+
+        // Default the size of the export cache directory
+        if (getExportCacheSize() == null) {
+            this.exportCacheSize(DEFAULT_EXPORT_CACHE_SIZE);
+        }
+
+        // Default to the unordered export without index
+        if (getOrderedExport() == null) {
+            this.orderedExport(false);
+        }
+        if (getGenerateJarIndex() == null) {
+            this.generateJarIndex(false);
+        }
+
+        // Default to the compression defaults of the JDK
+        if (getCompressionPolicy() == null) {
+            this.compressionPolicy(CompressionPolicy.DEFAULT);
+        }
+
+        // Default to importing on the calling thread alone
+        if (getPipelinedImport() == null) {
+            this.pipelinedImport(false);
+        }
+
+        // Default to holding all imported entries in memory
+        if (getImportSpillThreshold() == null) {
+            this.importSpillThreshold(Long.MAX_VALUE);
+        }
+
+        // Default to importing nested archives whole
+        if (getLazyNestedArchives() == null) {
+            this.lazyNestedArchives(false);
+        }
+
+        // Default to the block size written by TAR exports
+        if (getTarImportBlockSize() == null) {
+            this.tarImportBlockSize(DEFAULT_TAR_IMPORT_BLOCK_SIZE);
+        }
     }
 
     /**
@@ -0,0 +1,62 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.api;
+
+/**
+ * {@link Assignable} view exposing a digest of the contents of an {@link Archive}. The digest of a file is computed
+ * over the bytes of its {@link org.jboss.shrinkwrap.api.asset.Asset}; the digest of a directory combines the names and
+ * digests of its children, so two archives (or directories) have equal digests if and only if they hold the same paths
+ * with the same bytes, regardless of the order in which content was added. The name of the archive itself does not
+ * contribute.
+ *
+ * Digests are maintained incrementally: adding or removing content only invalidates the digests of the affected
+ * directories, and unchanged subtrees are not read again. Assets whose bytes may change after having been added (for
+ * instance those backed by files, URLs or nested archives) are checked upon each request.
+ *
+ * @version $Revision: $
+ */
+public interface ContentDigest extends Assignable {
+
+    /**
+     * Name of the {@link java.security.MessageDigest} algorithm used
+     */
+    String ALGORITHM = "SHA-256";
+
+    /**
+     * Obtains the digest of the entire contents of the archive
+     *
+     * @return
+     */
+    byte[] getDigest();
+
+    /**
+     * Obtains the digest of the file or directory at the specified path, or null if there is no such path
+     *
+     * @param path
+     * @return
+     * @throws IllegalArgumentException
+     *             If the path is not specified
+     */
+    byte[] getDigest(ArchivePath path) throws IllegalArgumentException;
+
+    /**
+     * Obtains the digest of the entire contents of the archive as a lowercase hexadecimal {@link String}
+     *
+     * @return
+     */
+    String getDigestAsHex();
+}
@@ -16,6 +16,8 @@
  */
 package org.jboss.shrinkwrap.api;
 
+import org.jboss.shrinkwrap.api.exporter.BatchExporter;
+
 /**
  * Encapsulates a shared {@link Configuration} to be used by all {@link Archive}s created by this {@link Domain}'s
  * {@link ArchiveFactory}. New domains are created via {@link ShrinkWrap#createDomain()} (for a default configuration
@@ -87,4 +89,14 @@ public final class Domain {
         return archiveFactory;
     }
 
+    /**
+     * Creates a new {@link BatchExporter} exporting on this domain's configured executor, if any. The implementation is
+     * loaded by the {@link Configuration#getExtensionLoader()}, as a view of an empty archive of this domain.
+     *
+     * @return a new batch exporter
+     */
+    public BatchExporter createBatchExporter() {
+        return archiveFactory.create(GenericArchive.class).as(BatchExporter.class);
+    }
+
 }
@@ -185,6 +185,26 @@ public final class ShrinkWrap {
         return getDefaultDomain().getArchiveFactory().createFromZipFile(type, archiveFile);
     }
 
+    /**
+     * Creates a new archive of the specified type mounting the specified directory as its content, read on demand.
+     * The name of the archive will be set to {@link File#getName()}. The archive will be be backed by the
+     * {@link Configuration} within the {@link ShrinkWrap#getDefaultDomain()}
+     *
+     * @param type
+     *            The type of the archive e.g. {@link org.jboss.shrinkwrap.api.spec.WebArchive}
+     * @param directory
+     *            the directory to mount
+     * @return An {@link Assignable} view
+     * @throws IllegalArgumentException
+     *             If either argument is not supplied, or if the specified {@link File} is not an existing directory
+     * @see ArchiveFactory#createFromDirectory(Class, File)
+     */
+    public static <T extends Assignable> T createFromDirectory(final Class<T> type, final File directory)
+        throws IllegalArgumentException {
+        // Delegate
+        return getDefaultDomain().getArchiveFactory().createFromDirectory(type, directory);
+    }
+
     // -------------------------------------------------------------------------------------||
     // Internal Helper Members ------------------------------------------------------------||
     // -------------------------------------------------------------------------------------||
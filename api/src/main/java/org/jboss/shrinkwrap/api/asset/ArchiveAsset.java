@@ -95,4 +95,13 @@ public class ArchiveAsset implements Asset {
         return archive;
     }
 
+    /**
+     * Returns the type of {@link StreamExporter} used to represent the archive as an {@link InputStream}
+     *
+     * @return
+     */
+    public Class<? extends StreamExporter> getExporter() {
+        return exporter;
+    }
+
 }
@@ -87,6 +87,42 @@ public interface ClassContainer<T extends Archive<T>> extends ResourceContainer<
      */
     T addClasses(Class<?>... classes) throws IllegalArgumentException;
 
+    /**
+     * Adds the {@link Class}es, all member (inner) {@link Class}es, and the transitive closure of the classes they
+     * reference within the packages of the specified classes and their sub packages, to the {@link Archive}. The
+     * references of each class are read from its class file: the classes named by its constant pool and by the
+     * descriptors of its fields and methods.
+     *
+     * @param classes
+     *            The classes to add to the Archive, with their dependencies
+     * @return This archive
+     * @throws IllegalArgumentException
+     *             If no classes were specified
+     * @see #addClassesWithDependencies(Filter, Class...)
+     */
+    T addClassesWithDependencies(Class<?>... classes) throws IllegalArgumentException;
+
+    /**
+     * Adds the {@link Class}es, all member (inner) {@link Class}es, and the transitive closure of the classes they
+     * reference accepted by the filter, to the {@link Archive}. The references of each class are read from its class
+     * file: the classes named by its constant pool and by the descriptors of its fields and methods. References are
+     * followed only through accepted classes, the class files of which are read through the {@link ClassLoader} of
+     * the specified class they were reached from. <br/>
+     *
+     * The {@link ArchivePath} returned to the filter is the {@link ArchivePath} of the class, not the final location. <br/>
+     * package.MyClass = /package/MyClass.class <br/>
+     * <b>not:</b> package.MyClass = /WEB-INF/classes/package/MyClass.class <br/>
+     *
+     * @param filter
+     *            The boundary of the classes to follow
+     * @param classes
+     *            The classes to add to the Archive, with their dependencies
+     * @return This archive
+     * @throws IllegalArgumentException
+     *             If no filter or classes were specified
+     */
+    T addClassesWithDependencies(Filter<ArchivePath> filter, Class<?>... classes) throws IllegalArgumentException;
+
     /**
      * Adds all classes in the specified {@link Package} to the {@link Archive}. <br/>
      * SubPackages are excluded.
@@ -0,0 +1,135 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.api.exporter;
+
+import java.io.File;
+
+import org.jboss.shrinkwrap.api.Archive;
+
+/**
+ * Outcome of the export of one {@link Archive} by a {@link BatchExporter}, with its timing; immutable
+ *
+ * @version $Revision: $
+ */
+public final class BatchExportResult {
+
+    // -------------------------------------------------------------------------------------||
+    // Instance Members -------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    private final Archive<?> archive;
+
+    private final File target;
+
+    private final long estimatedSize;
+
+    private final long queuedNanos;
+
+    private final long exportNanos;
+
+    private final Throwable failure;
+
+    // -------------------------------------------------------------------------------------||
+    // Constructor ------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Creates a new result of the export of the specified archive to the specified target; the failure is null if the
+     * export succeeded
+     *
+     * @param archive
+     * @param target
+     * @param estimatedSize
+     * @param queuedNanos
+     * @param exportNanos
+     * @param failure
+     */
+    public BatchExportResult(final Archive<?> archive, final File target, final long estimatedSize, final long queuedNanos,
+        final long exportNanos, final Throwable failure) {
+        this.archive = archive;
+        this.target = target;
+        this.estimatedSize = estimatedSize;
+        this.queuedNanos = queuedNanos;
+        this.exportNanos = exportNanos;
+        this.failure = failure;
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Functional Methods -----------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * @return the archive exported
+     */
+    public Archive<?> getArchive() {
+        return archive;
+    }
+
+    /**
+     * @return the file exported to
+     */
+    public File getTarget() {
+        return target;
+    }
+
+    /**
+     * @return the estimated size of the archive's content, in bytes, as counted against the memory budget
+     */
+    public long getEstimatedSize() {
+        return estimatedSize;
+    }
+
+    /**
+     * @return the time in milliseconds between the start of the batch and the start of this export
+     */
+    public long getQueuedMillis() {
+        return queuedNanos / 1000000L;
+    }
+
+    /**
+     * @return the time in milliseconds taken by this export, whether successful or not
+     */
+    public long getExportMillis() {
+        return exportNanos / 1000000L;
+    }
+
+    /**
+     * @return whether the archive was exported
+     */
+    public boolean isSuccessful() {
+        return failure == null;
+    }
+
+    /**
+     * @return the cause of the failure of this export, or null if successful
+     */
+    public Throwable getFailure() {
+        return failure;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return archive.getName() + " -> " + target + (failure == null ? "" : " FAILED: " + failure) + " [estimated "
+            + estimatedSize + " bytes, queued " + this.getQueuedMillis() + " ms, exported in "
+            + this.getExportMillis() + " ms]";
+    }
+}
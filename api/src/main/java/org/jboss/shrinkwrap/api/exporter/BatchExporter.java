@@ -0,0 +1,105 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.api.exporter;
+
+import java.io.File;
+import java.util.List;
+
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.Assignable;
+import org.jboss.shrinkwrap.api.Configuration;
+
+/**
+ * Exports many {@link Archive}s to files concurrently, on the {@link Configuration#getExecutorService()} (else on
+ * threads created for, and destroyed after, each batch). Exports start smallest first, and only while the estimated
+ * sizes of the archives being exported at once fit within a memory budget, so that the peak heap needed by a batch is
+ * bounded regardless of its length. An archive larger than the whole budget is exported on its own.
+ *
+ * <p>
+ * The size of an archive is estimated from its content: exactly for byte array, string and file assets, recursively
+ * for nested archives, and as {@link BatchExporter#UNKNOWN_ASSET_ESTIMATE} bytes for other assets.
+ * </p>
+ *
+ * <p>
+ * Not thread-safe; instances are obtained via {@link org.jboss.shrinkwrap.api.Domain#createBatchExporter()} and may be
+ * reused for several batches.
+ * </p>
+ *
+ * @version $Revision: $
+ */
+public interface BatchExporter extends Assignable {
+
+    /**
+     * Estimated size, in bytes, of assets whose size cannot be determined without reading them
+     */
+    long UNKNOWN_ASSET_ESTIMATE = 16 * 1024;
+
+    /**
+     * Sets the maximum estimated size, in bytes, of the archives exported at once; by default a quarter of the maximum
+     * heap. Returns this instance.
+     *
+     * @param bytes
+     * @return
+     * @throws IllegalArgumentException
+     *             If the budget is not positive
+     */
+    BatchExporter memoryBudget(long bytes) throws IllegalArgumentException;
+
+    /**
+     * Sets whether existing targets are overwritten, rather than failing their export; false by default. Returns this
+     * instance.
+     *
+     * @param overwrite
+     * @return
+     */
+    BatchExporter overwrite(boolean overwrite);
+
+    /**
+     * Adds the export of the specified archive as ZIP to the specified file, returning this instance
+     *
+     * @param archive
+     * @param target
+     * @return
+     * @throws IllegalArgumentException
+     *             If the archive or target is not specified
+     */
+    BatchExporter add(Archive<?> archive, File target) throws IllegalArgumentException;
+
+    /**
+     * Adds the export of the specified archive, in the format of the specified exporter, to the specified file,
+     * returning this instance
+     *
+     * @param archive
+     * @param exporter
+     * @param target
+     * @return
+     * @throws IllegalArgumentException
+     *             If the archive, exporter or target is not specified
+     */
+    BatchExporter add(Archive<?> archive, Class<? extends StreamExporter> exporter, File target)
+        throws IllegalArgumentException;
+
+    /**
+     * Exports all archives added since the last batch, returning once all have completed. Failures do not stop the
+     * batch; they are reported by the results, which are in order of addition.
+     *
+     * @return
+     * @throws ArchiveExportException
+     *             If interrupted while waiting, in which case exports not yet started are abandoned
+     */
+    List<BatchExportResult> export() throws ArchiveExportException;
+}
@@ -0,0 +1,276 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.api.exporter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.zip.Deflater;
+
+import org.jboss.shrinkwrap.api.ArchivePath;
+
+/**
+ * Immutable policy selecting the DEFLATE compression level and strategy used for each entry of a compressed export
+ * (see {@link ZipExporter#compressWith(CompressionPolicy)} and {@link TarGzExporter#compressWith(CompressionPolicy)}).
+ * Entries are matched by path against regular expressions, in the same form as accepted by
+ * {@link org.jboss.shrinkwrap.api.Filters#include(String)}; the first matching rule applies, and entries matching no
+ * rule use the default level and strategy of the policy. For example:
+ *
+ * <pre>
+ * CompressionPolicy.level(Deflater.BEST_COMPRESSION).forPaths(&quot;.*\\.(txt|xml|properties)&quot;,
+ *     Deflater.BEST_COMPRESSION, Deflater.HUFFMAN_ONLY).forPaths(&quot;.*\\.(jar|png)&quot;, Deflater.NO_COMPRESSION)
+ * </pre>
+ *
+ * Levels and strategies are those defined by {@link Deflater}.
+ *
+ * @version $Revision: $
+ */
+public final class CompressionPolicy {
+
+    // -------------------------------------------------------------------------------------||
+    // Class Members ----------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Policy compressing all entries using the default level and strategy of {@link Deflater}
+     */
+    public static final CompressionPolicy DEFAULT = of(Deflater.DEFAULT_COMPRESSION, Deflater.DEFAULT_STRATEGY);
+
+    /**
+     * Policy compressing all entries as fast as possible, at the expense of size; suited to short-lived (e.g. test)
+     * deployments
+     */
+    public static final CompressionPolicy FASTEST = level(Deflater.BEST_SPEED);
+
+    /**
+     * Policy compressing all entries as small as possible, at the expense of time; suited to release bundles
+     */
+    public static final CompressionPolicy SMALLEST = level(Deflater.BEST_COMPRESSION);
+
+    // -------------------------------------------------------------------------------------||
+    // Instance Members -------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Level for entries matching no rule
+     */
+    private final int level;
+
+    /**
+     * Strategy for entries matching no rule
+     */
+    private final int strategy;
+
+    /**
+     * Rules in order of precedence
+     */
+    private final List<Rule> rules;
+
+    // -------------------------------------------------------------------------------------||
+    // Constructor ------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    private CompressionPolicy(final int level, final int strategy, final List<Rule> rules) {
+        this.level = level;
+        this.strategy = strategy;
+        this.rules = rules;
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Factories --------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Creates a policy compressing all entries at the specified level, using the default strategy
+     *
+     * @param level
+     * @return
+     * @throws IllegalArgumentException
+     *             If the level is not valid for {@link Deflater}
+     */
+    public static CompressionPolicy level(final int level) throws IllegalArgumentException {
+        return of(level, Deflater.DEFAULT_STRATEGY);
+    }
+
+    /**
+     * Creates a policy compressing all entries at the specified level and strategy
+     *
+     * @param level
+     * @param strategy
+     * @return
+     * @throws IllegalArgumentException
+     *             If the level or strategy is not valid for {@link Deflater}
+     */
+    public static CompressionPolicy of(final int level, final int strategy) throws IllegalArgumentException {
+        validate(level, strategy);
+        return new CompressionPolicy(level, strategy, Collections.<Rule> emptyList());
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Functional Methods -----------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Returns a new policy compressing entries with paths matching the specified regular expression at the specified
+     * level, using the default strategy. The rule is appended after those of this policy, so applies only to paths
+     * that no earlier rule matches.
+     *
+     * @param regex
+     * @param level
+     * @return
+     * @throws IllegalArgumentException
+     *             If the expression is not specified or the level is not valid for {@link Deflater}
+     */
+    public CompressionPolicy forPaths(final String regex, final int level) throws IllegalArgumentException {
+        return forPaths(regex, level, Deflater.DEFAULT_STRATEGY);
+    }
+
+    /**
+     * Returns a new policy compressing entries with paths matching the specified regular expression at the specified
+     * level and strategy. The rule is appended after those of this policy, so applies only to paths that no earlier
+     * rule matches.
+     *
+     * @param regex
+     * @param level
+     * @param strategy
+     * @return
+     * @throws IllegalArgumentException
+     *             If the expression is not specified, or the level or strategy is not valid for {@link Deflater}
+     */
+    public CompressionPolicy forPaths(final String regex, final int level, final int strategy)
+        throws IllegalArgumentException {
+        if (regex == null) {
+            throw new IllegalArgumentException("Expression must be specified");
+        }
+        validate(level, strategy);
+        final List<Rule> rules = new ArrayList<Rule>(this.rules);
+        rules.add(new Rule(regex, level, strategy));
+        return new CompressionPolicy(this.level, this.strategy, Collections.unmodifiableList(rules));
+    }
+
+    /**
+     * Obtains the {@link Deflater} level with which the entry at the specified path is to be compressed
+     *
+     * @param path
+     * @return
+     */
+    public int getLevel(final ArchivePath path) {
+        final Rule rule = ruleFor(path);
+        return rule == null ? level : rule.level;
+    }
+
+    /**
+     * Obtains the {@link Deflater} strategy with which the entry at the specified path is to be compressed
+     *
+     * @param path
+     * @return
+     */
+    public int getStrategy(final ArchivePath path) {
+        final Rule rule = ruleFor(path);
+        return rule == null ? strategy : rule.strategy;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see java.lang.Object#hashCode()
+     */
+    @Override
+    public int hashCode() {
+        return toString().hashCode();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see java.lang.Object#equals(java.lang.Object)
+     */
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof CompressionPolicy)) {
+            return false;
+        }
+        return toString().equals(obj.toString());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder(CompressionPolicy.class.getSimpleName());
+        sb.append("[level=").append(level).append(", strategy=").append(strategy);
+        for (final Rule rule : rules) {
+            sb.append(", ").append(rule.regex).append("=").append(rule.level).append("/").append(rule.strategy);
+        }
+        return sb.append("]").toString();
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Internal Helper Methods ------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    private Rule ruleFor(final ArchivePath path) {
+        if (path == null) {
+            throw new IllegalArgumentException("Path must be specified");
+        }
+        for (final Rule rule : rules) {
+            if (rule.pattern.matcher(path.get()).matches()) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private static void validate(final int level, final int strategy) throws IllegalArgumentException {
+        if (level != Deflater.DEFAULT_COMPRESSION
+            && (level < Deflater.NO_COMPRESSION || level > Deflater.BEST_COMPRESSION)) {
+            throw new IllegalArgumentException("Invalid compression level: " + level);
+        }
+        if (strategy != Deflater.DEFAULT_STRATEGY && strategy != Deflater.FILTERED
+            && strategy != Deflater.HUFFMAN_ONLY) {
+            throw new IllegalArgumentException("Invalid compression strategy: " + strategy);
+        }
+    }
+
+    /**
+     * Level and strategy for entries matching an expression
+     */
+    private static final class Rule {
+
+        private final String regex;
+
+        private final Pattern pattern;
+
+        private final int level;
+
+        private final int strategy;
+
+        Rule(final String regex, final int level, final int strategy) {
+            this.regex = regex;
+            this.pattern = Pattern.compile(regex);
+            this.level = level;
+            this.strategy = strategy;
+        }
+    }
+}
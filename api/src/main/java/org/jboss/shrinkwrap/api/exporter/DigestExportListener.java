@@ -0,0 +1,314 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.api.exporter;
+
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+import org.jboss.shrinkwrap.api.ArchivePath;
+import org.jboss.shrinkwrap.api.asset.Asset;
+import org.jboss.shrinkwrap.api.asset.ByteArrayAsset;
+
+/**
+ * {@link ExportListener} computing digests of each exported file while it is written. Any
+ * {@link MessageDigest} algorithm may be requested, as well as {@link DigestExportListener#CRC32} for the 4-byte
+ * (big-endian) CRC-32 checksum. Optionally, the digests may be appended to the export as a manifest-style entry,
+ * listing each file in the form used by signed JARs:
+ *
+ * <pre>
+ * Manifest-Version: 1.0
+ *
+ * Name: path/to/File.class
+ * SHA-256-Digest: (base64 digest)
+ * </pre>
+ *
+ * Not thread-safe; a new instance should be used for each export.
+ *
+ * @version $Revision: $
+ */
+public class DigestExportListener implements ExportListener {
+
+    // -------------------------------------------------------------------------------------||
+    // Class Members ----------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Name denoting the CRC-32 checksum
+     */
+    public static final String CRC32 = "CRC32";
+
+    /**
+     * Maximum length of a manifest line, excluding the line break
+     */
+    private static final int MAX_LINE_LENGTH = 72;
+
+    private static final char[] BASE64 = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/"
+        .toCharArray();
+
+    // -------------------------------------------------------------------------------------||
+    // Instance Members -------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Requested algorithms
+     */
+    private final String[] algorithms;
+
+    /**
+     * Path of the manifest entry to append, or null if none is to be appended
+     */
+    private final ArchivePath manifestPath;
+
+    /**
+     * Digests of the current entry, in order of the requested algorithms
+     */
+    private final MessageDigest[] digests;
+
+    /**
+     * Checksum of the current entry, if requested
+     */
+    private final CRC32 crc;
+
+    /**
+     * Results, by path in order of export, then by algorithm
+     */
+    private final Map<ArchivePath, Map<String, byte[]>> results = new LinkedHashMap<ArchivePath, Map<String, byte[]>>();
+
+    // -------------------------------------------------------------------------------------||
+    // Constructor ------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Creates a new listener computing the specified digests, without appending them to the export
+     *
+     * @param algorithms
+     *            {@link MessageDigest} algorithm names and/or {@link DigestExportListener#CRC32}
+     * @throws IllegalArgumentException
+     *             If no algorithms are specified or any is not supported
+     */
+    public DigestExportListener(final String... algorithms) throws IllegalArgumentException {
+        this(null, algorithms);
+    }
+
+    /**
+     * Creates a new listener computing the specified digests, appending them to the export at the specified path
+     *
+     * @param manifestPath
+     *            Path of the digest manifest to append, or null to append none
+     * @param algorithms
+     *            {@link MessageDigest} algorithm names and/or {@link DigestExportListener#CRC32}
+     * @throws IllegalArgumentException
+     *             If no algorithms are specified or any is not supported
+     */
+    public DigestExportListener(final ArchivePath manifestPath, final String... algorithms)
+        throws IllegalArgumentException {
+        if (algorithms == null || algorithms.length == 0) {
+            throw new IllegalArgumentException("At least one algorithm must be specified");
+        }
+        this.manifestPath = manifestPath;
+        this.algorithms = algorithms.clone();
+        this.digests = new MessageDigest[algorithms.length];
+        CRC32 crc = null;
+        for (int i = 0; i < algorithms.length; i++) {
+            if (CRC32.equals(algorithms[i])) {
+                crc = new CRC32();
+                continue;
+            }
+            try {
+                digests[i] = MessageDigest.getInstance(algorithms[i]);
+            } catch (final NoSuchAlgorithmException nsae) {
+                throw new IllegalArgumentException("Unsupported digest algorithm: " + algorithms[i]);
+            }
+        }
+        this.crc = crc;
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Required Implementations -----------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.exporter.ExportListener#entryStarted(org.jboss.shrinkwrap.api.ArchivePath)
+     */
+    @Override
+    public void entryStarted(final ArchivePath path) {
+        for (final MessageDigest digest : digests) {
+            if (digest != null) {
+                digest.reset();
+            }
+        }
+        if (crc != null) {
+            crc.reset();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.exporter.ExportListener#entryData(org.jboss.shrinkwrap.api.ArchivePath, byte[],
+     *      int, int)
+     */
+    @Override
+    public void entryData(final ArchivePath path, final byte[] data, final int offset, final int length) {
+        for (final MessageDigest digest : digests) {
+            if (digest != null) {
+                digest.update(data, offset, length);
+            }
+        }
+        if (crc != null) {
+            crc.update(data, offset, length);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.exporter.ExportListener#entryFinished(org.jboss.shrinkwrap.api.ArchivePath)
+     */
+    @Override
+    public void entryFinished(final ArchivePath path) {
+        final Map<String, byte[]> values = new LinkedHashMap<String, byte[]>();
+        for (int i = 0; i < algorithms.length; i++) {
+            if (digests[i] != null) {
+                values.put(algorithms[i], digests[i].digest());
+            } else {
+                final long value = crc.getValue();
+                values.put(algorithms[i], new byte[] { (byte) (value >>> 24), (byte) (value >>> 16),
+                    (byte) (value >>> 8), (byte) value });
+            }
+        }
+        results.put(path, values);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.exporter.ExportListener#exportFinished()
+     */
+    @Override
+    public Map<ArchivePath, Asset> exportFinished() {
+        if (manifestPath == null) {
+            return Collections.emptyMap();
+        }
+        return Collections.<ArchivePath, Asset> singletonMap(manifestPath, new ByteArrayAsset(createManifest()));
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Functional Methods -----------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Obtains the digest computed with the specified algorithm for the file exported at the specified path, or null if
+     * no such file was exported or the algorithm was not requested
+     *
+     * @param path
+     * @param algorithm
+     * @return
+     */
+    public byte[] getDigest(final ArchivePath path, final String algorithm) {
+        final Map<String, byte[]> values = results.get(path);
+        if (values == null) {
+            return null;
+        }
+        final byte[] value = values.get(algorithm);
+        return value == null ? null : value.clone();
+    }
+
+    /**
+     * Obtains all digests computed, by path of the exported file in order of export, then by algorithm
+     *
+     * @return
+     */
+    public Map<ArchivePath, Map<String, byte[]>> getDigests() {
+        return Collections.unmodifiableMap(results);
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Internal Helper Methods ------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Creates the manifest listing all digests, with files in path order
+     *
+     * @return
+     */
+    private byte[] createManifest() {
+        final StringBuilder manifest = new StringBuilder("Manifest-Version: 1.0\r\n\r\n");
+        for (final Map.Entry<String, Map<String, byte[]>> entry : sortedResults().entrySet()) {
+            appendLine(manifest, "Name: " + entry.getKey());
+            for (final Map.Entry<String, byte[]> value : entry.getValue().entrySet()) {
+                appendLine(manifest, value.getKey() + "-Digest: " + toBase64(value.getValue()));
+            }
+            manifest.append("\r\n");
+        }
+        try {
+            return manifest.toString().getBytes("UTF-8");
+        } catch (final UnsupportedEncodingException uee) {
+            throw new IllegalStateException("UTF-8 is not supported by this JVM", uee);
+        }
+    }
+
+    /**
+     * Appends the specified manifest line, continuing it on further lines (each starting with a space) as needed to
+     * keep within the maximum line length of manifests
+     *
+     * @param manifest
+     * @param line
+     */
+    private static void appendLine(final StringBuilder manifest, final String line) {
+        int start = 0;
+        int length = MAX_LINE_LENGTH;
+        while (line.length() - start > length) {
+            manifest.append(line, start, start + length).append("\r\n ");
+            start += length;
+            // Continuation lines begin with a space
+            length = MAX_LINE_LENGTH - 1;
+        }
+        manifest.append(line, start, line.length()).append("\r\n");
+    }
+
+    private Map<String, Map<String, byte[]>> sortedResults() {
+        final Map<String, Map<String, byte[]>> sorted = new TreeMap<String, Map<String, byte[]>>();
+        for (final Map.Entry<ArchivePath, Map<String, byte[]>> entry : results.entrySet()) {
+            // Relative, as in JAR manifests
+            sorted.put(entry.getKey().get().substring(1), entry.getValue());
+        }
+        return sorted;
+    }
+
+    private static String toBase64(final byte[] data) {
+        final StringBuilder encoded = new StringBuilder((data.length + 2) / 3 * 4);
+        for (int i = 0; i < data.length; i += 3) {
+            final int b0 = data[i] & 0xff;
+            final int b1 = i + 1 < data.length ? data[i + 1] & 0xff : 0;
+            final int b2 = i + 2 < data.length ? data[i + 2] & 0xff : 0;
+            encoded.append(BASE64[b0 >> 2]);
+            encoded.append(BASE64[((b0 & 0x03) << 4) | (b1 >> 4)]);
+            encoded.append(i + 1 < data.length ? BASE64[((b1 & 0x0f) << 2) | (b2 >> 6)] : '=');
+            encoded.append(i + 2 < data.length ? BASE64[b2 & 0x3f] : '=');
+        }
+        return encoded.toString();
+    }
+}
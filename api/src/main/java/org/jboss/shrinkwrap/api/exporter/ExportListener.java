@@ -0,0 +1,68 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.api.exporter;
+
+import java.util.Map;
+
+import org.jboss.shrinkwrap.api.ArchivePath;
+import org.jboss.shrinkwrap.api.asset.Asset;
+
+/**
+ * Callback notified of each file written by a {@link StreamExporter}, receiving the file's bytes as they stream into
+ * the export. Allows for computing per-entry information (digests, checksums, statistics) in the same pass as the
+ * export itself. Directories are not reported. Listeners are invoked from the thread consuming the export; an exception
+ * thrown by a listener aborts the export.
+ *
+ * @see ListenableStreamExporter#addListeners(ExportListener...)
+ * @see DigestExportListener
+ * @version $Revision: $
+ */
+public interface ExportListener {
+
+    /**
+     * Invoked before any bytes of the file at the specified path are written
+     *
+     * @param path
+     */
+    void entryStarted(ArchivePath path);
+
+    /**
+     * Invoked with a range of the bytes of the file at the specified path, as they are written
+     *
+     * @param path
+     * @param data
+     *            Buffer holding the bytes; may be reused once this method returns
+     * @param offset
+     * @param length
+     */
+    void entryData(ArchivePath path, byte[] data, int offset, int length);
+
+    /**
+     * Invoked once all bytes of the file at the specified path have been written
+     *
+     * @param path
+     */
+    void entryFinished(ArchivePath path);
+
+    /**
+     * Invoked once all entries of the archive have been written. Any entries returned are appended to the export,
+     * without being reported to this or any other listener.
+     *
+     * @return Entries to be appended, by path; never null
+     */
+    Map<ArchivePath, Asset> exportFinished();
+}
@@ -0,0 +1,47 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.api.exporter;
+
+/**
+ * {@link StreamExporter} accepting {@link ExportListener}s. Implemented by the {@link ZipExporter}, {@link TarExporter}
+ * and {@link TarGzExporter} of the ShrinkWrap implementation, though not necessarily by others:
+ *
+ * <pre>
+ * final StreamExporter exporter = archive.as(ZipExporter.class);
+ * if (exporter instanceof ListenableStreamExporter) {
+ *     ((ListenableStreamExporter) exporter).addListeners(listener);
+ * }
+ * </pre>
+ *
+ * @version $Revision: $
+ */
+public interface ListenableStreamExporter extends StreamExporter {
+    // -------------------------------------------------------------------------------------||
+    // Contracts --------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Registers the specified {@link ExportListener}s to be notified of each file written by subsequent exports from
+     * this exporter, returning this instance
+     *
+     * @param listeners
+     * @return
+     * @throws IllegalArgumentException
+     *             If no listeners are specified or any listener is null
+     */
+    ListenableStreamExporter addListeners(ExportListener... listeners) throws IllegalArgumentException;
+}
@@ -0,0 +1,135 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.api.exporter;
+
+import java.io.File;
+import java.io.OutputStream;
+
+import org.jboss.shrinkwrap.api.Assignable;
+
+/**
+ * Exporter writing an {@link Assignable} to several formats in a single pass over its content: each asset is opened
+ * once, and the bytes read are fed to every registered target. Targets are registered with the <code>to*</code>
+ * methods, and written by {@link MultiFormatExporter#export()}, for instance:
+ *
+ * <pre>
+ * archive.as(MultiFormatExporter.class).toZip(zipOut).toTarGz(tarGzOut).export();
+ * </pre>
+ *
+ * Streams supplied as targets are neither flushed nor closed; this is the responsibility of the caller.
+ *
+ * @version $Revision: $
+ */
+public interface MultiFormatExporter extends Assignable {
+    // -------------------------------------------------------------------------------------||
+    // Contracts --------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Registers the specified {@link OutputStream} to receive the archive in ZIP format, returning this instance
+     *
+     * @param target
+     * @return
+     * @throws IllegalArgumentException
+     *             If the target is not specified
+     * @see ZipExporter
+     */
+    MultiFormatExporter toZip(OutputStream target) throws IllegalArgumentException;
+
+    /**
+     * Registers the specified {@link OutputStream} to receive the archive in TAR format, returning this instance
+     *
+     * @param target
+     * @return
+     * @throws IllegalArgumentException
+     *             If the target is not specified
+     * @see TarExporter
+     */
+    MultiFormatExporter toTar(OutputStream target) throws IllegalArgumentException;
+
+    /**
+     * Registers the specified {@link OutputStream} to receive the archive in TAR format encoded w/ GZIP compression,
+     * returning this instance
+     *
+     * @param target
+     * @return
+     * @throws IllegalArgumentException
+     *             If the target is not specified
+     * @see TarGzExporter
+     */
+    MultiFormatExporter toTarGz(OutputStream target) throws IllegalArgumentException;
+
+    /**
+     * Registers an exploded directory structure, named as the archive, within the specified parent directory, returning
+     * this instance
+     *
+     * @param parentDirectory
+     *            Must be an existing folder
+     * @return
+     * @throws IllegalArgumentException
+     *             If the parent directory is not specified or not valid
+     * @see ExplodedExporter#exportExploded(File)
+     */
+    MultiFormatExporter toExploded(File parentDirectory) throws IllegalArgumentException;
+
+    /**
+     * Registers an exploded directory structure of the specified name within the specified parent directory, returning
+     * this instance
+     *
+     * @param parentDirectory
+     *            Must be an existing folder
+     * @param directoryName
+     *            The exploded directory name
+     * @return
+     * @throws IllegalArgumentException
+     *             If the parent directory or name is not specified, or the parent directory is not valid
+     * @see ExplodedExporter#exportExploded(File, String)
+     */
+    MultiFormatExporter toExploded(File parentDirectory, String directoryName) throws IllegalArgumentException;
+
+    /**
+     * Sets the {@link CompressionPolicy} used for the compressed targets, overriding that of the archive's
+     * {@link org.jboss.shrinkwrap.api.Configuration}, returning this instance
+     *
+     * @param policy
+     * @return
+     * @throws IllegalArgumentException
+     *             If the policy is not specified
+     */
+    MultiFormatExporter compressWith(CompressionPolicy policy) throws IllegalArgumentException;
+
+    /**
+     * Sets whether each target is to be written by a task of its own, on the
+     * {@link org.jboss.shrinkwrap.api.Configuration#getExecutorService()} (else on threads created for the export),
+     * while the content is read on the calling thread, returning this instance. Worthwhile when encoding dominates, for
+     * instance when writing several compressed formats; off by default.
+     *
+     * @param concurrent
+     * @return
+     */
+    MultiFormatExporter writeConcurrently(boolean concurrent);
+
+    /**
+     * Exports the archive to all registered targets, reading the content of each asset once
+     *
+     * @throws IllegalStateException
+     *             If no targets have been registered
+     * @throws ArchiveExportException
+     *             If the export fails for any target
+     */
+    void export() throws IllegalStateException, ArchiveExportException;
+}
@@ -0,0 +1,46 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.api.exporter;
+
+import java.nio.ByteBuffer;
+
+import org.jboss.shrinkwrap.api.flow.Publisher;
+import org.jboss.shrinkwrap.api.flow.Subscriber;
+
+/**
+ * {@link StreamExporter} capable of publishing its export asynchronously. Implemented by the {@link ZipExporter},
+ * {@link TarExporter} and {@link TarGzExporter} of the ShrinkWrap implementation, though not necessarily by others, so
+ * callers should check with <code>instanceof</code> before casting.
+ *
+ * @version $Revision: $
+ */
+public interface PublishingStreamExporter extends StreamExporter {
+    // -------------------------------------------------------------------------------------||
+    // Contracts --------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Exports this reference in an implementation-specific format, published in chunks to each {@link Subscriber} of
+     * the returned {@link Publisher} as it signals demand. Each subscription performs an export of its own, encoding
+     * only as far as requested and never on the thread signalling demand, but on one of the
+     * {@link org.jboss.shrinkwrap.api.Configuration#getExecutorService()} (else one created for the subscription), so
+     * as to suit non-blocking servers.
+     *
+     * @return A new {@link Publisher} of the exported view
+     */
+    Publisher<ByteBuffer> exportAsPublisher();
+}
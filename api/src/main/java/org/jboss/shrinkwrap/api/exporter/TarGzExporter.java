@@ -30,5 +30,14 @@ public interface TarGzExporter extends StreamExporter {
     // Contracts --------------------------------------------------------------------------||
     // -------------------------------------------------------------------------------------||
 
-    // Inherited from superclass
+    /**
+     * Sets the {@link CompressionPolicy} used for this export, overriding that of the archive's
+     * {@link org.jboss.shrinkwrap.api.Configuration}, returning this instance
+     *
+     * @param policy
+     * @return
+     * @throws IllegalArgumentException
+     *             If the policy is not specified
+     */
+    TarGzExporter compressWith(CompressionPolicy policy) throws IllegalArgumentException;
 }
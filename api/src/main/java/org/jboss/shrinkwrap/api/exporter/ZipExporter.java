@@ -28,5 +28,18 @@ import org.jboss.shrinkwrap.api.Assignable;
  * @version $Revision: $
  */
 public interface ZipExporter extends StreamExporter {
+    // -------------------------------------------------------------------------------------||
+    // Contracts --------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
 
+    /**
+     * Sets the {@link CompressionPolicy} used for this export, overriding that of the archive's
+     * {@link org.jboss.shrinkwrap.api.Configuration}, returning this instance
+     *
+     * @param policy
+     * @return
+     * @throws IllegalArgumentException
+     *             If the policy is not specified
+     */
+    ZipExporter compressWith(CompressionPolicy policy) throws IllegalArgumentException;
 }
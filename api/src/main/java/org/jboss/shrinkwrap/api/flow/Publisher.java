@@ -0,0 +1,45 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.api.flow;
+
+/**
+ * Provider of a potentially unbounded number of sequenced elements, published to each {@link Subscriber} according to
+ * the demand it signals via its {@link Subscription}. Mirrors the <code>Publisher</code> of the Reactive Streams
+ * specification (and so of <code>java.util.concurrent.Flow</code>), of which it may be an adapter in either direction,
+ * while remaining usable on Java 5.
+ *
+ * @param <T>
+ *            The type of element published
+ * @see http://www.reactive-streams.org/
+ * @version $Revision: $
+ */
+public interface Publisher<T> {
+    // -------------------------------------------------------------------------------------||
+    // Contracts --------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Requests that this publisher start publishing to the specified {@link Subscriber}, which is first passed its
+     * {@link Subscription} via {@link Subscriber#onSubscribe(Subscription)}; nothing further is published until it
+     * signals demand via {@link Subscription#request(long)}.
+     *
+     * @param subscriber
+     * @throws IllegalArgumentException
+     *             If the subscriber is not specified
+     */
+    void subscribe(Subscriber<? super T> subscriber) throws IllegalArgumentException;
+}
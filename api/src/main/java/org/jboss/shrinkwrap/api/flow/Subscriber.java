@@ -0,0 +1,59 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.api.flow;
+
+/**
+ * Receiver of the elements of a {@link Publisher}. After {@link Subscriber#onSubscribe(Subscription)}, receives at
+ * most as many {@link Subscriber#onNext(Object)} signals as requested, followed by at most one of
+ * {@link Subscriber#onError(Throwable)} or {@link Subscriber#onComplete()}. Signals are never concurrent, though they
+ * may arrive on different threads. Mirrors the <code>Subscriber</code> of the Reactive Streams specification.
+ *
+ * @param <T>
+ *            The type of element received
+ * @version $Revision: $
+ */
+public interface Subscriber<T> {
+    // -------------------------------------------------------------------------------------||
+    // Contracts --------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Invoked before any other signal, with the {@link Subscription} through which to request elements or cancel
+     *
+     * @param subscription
+     */
+    void onSubscribe(Subscription subscription);
+
+    /**
+     * Invoked with the next element, in response to demand signalled via {@link Subscription#request(long)}
+     *
+     * @param item
+     */
+    void onNext(T item);
+
+    /**
+     * Invoked upon an unrecoverable failure of the {@link Publisher} or {@link Subscription}; no further signals follow
+     *
+     * @param throwable
+     */
+    void onError(Throwable throwable);
+
+    /**
+     * Invoked once all elements have been published; no further signals follow
+     */
+    void onComplete();
+}
@@ -0,0 +1,44 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.api.flow;
+
+/**
+ * Link between a {@link Publisher} and one of its {@link Subscriber}s, through which the subscriber signals its
+ * demand. Mirrors the <code>Subscription</code> of the Reactive Streams specification.
+ *
+ * @version $Revision: $
+ */
+public interface Subscription {
+    // -------------------------------------------------------------------------------------||
+    // Contracts --------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Adds the specified number of elements to the current unfulfilled demand. Demand of {@link Long#MAX_VALUE} or more
+     * is treated as unbounded. A non-positive number is signalled as an {@link IllegalArgumentException} to
+     * {@link Subscriber#onError(Throwable)}, ending the subscription.
+     *
+     * @param n
+     */
+    void request(long n);
+
+    /**
+     * Requests that the {@link Publisher} stop publishing and release any resources held for this subscription. Some
+     * signals may still arrive, if already underway.
+     */
+    void cancel();
+}
@@ -41,4 +41,11 @@ public class ArchiveImportException extends RuntimeException {
         super(cause);
     }
 
+    /**
+     * @param message
+     */
+    public ArchiveImportException(String message) {
+        super(message);
+    }
+
 }
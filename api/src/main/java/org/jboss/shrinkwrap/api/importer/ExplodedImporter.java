@@ -24,7 +24,11 @@ import org.jboss.shrinkwrap.api.Assignable;
 import org.jboss.shrinkwrap.api.Filter;
 
 /**
- * Importer used to import Exploded directory structures into a {@link Archive}
+ * Importer used to import Exploded directory structures into a {@link Archive}. Where the archive's
+ * {@link org.jboss.shrinkwrap.api.Configuration} provides an executor service, directories are listed concurrently on
+ * it, so any {@link Filter} specified must then be thread-safe. All content is read upon import; to read only what is
+ * used, mount the directory instead with
+ * {@link org.jboss.shrinkwrap.api.ArchiveFactory#createFromDirectory(Class, File)}.
  *
  * @author <a href="mailto:aslak@conduct.no">Aslak Knutsen</a>
  * @version $Revision: $
@@ -0,0 +1,40 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.api.importer;
+
+import org.jboss.shrinkwrap.api.ArchiveFormat;
+import org.jboss.shrinkwrap.api.Assignable;
+
+/**
+ * {@link Assignable} type capable of importing ZIP, TAR and TAR.GZ content alike, detecting the format from the
+ * leading bytes of the content and dispatching to the {@link ZipImporter}, {@link TarImporter} or
+ * {@link TarGzImporter}. Streams are read once; the bytes examined are pushed back for the importer dispatched to.
+ *
+ * @version $Revision: $
+ */
+public interface FormatDetectingImporter extends StreamImporter<FormatDetectingImporter> {
+    // -------------------------------------------------------------------------------------||
+    // Contracts --------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Obtains the format detected by the last import, or {@link ArchiveFormat#UNKNOWN} if none has been made
+     *
+     * @return
+     */
+    ArchiveFormat getDetectedFormat();
+}
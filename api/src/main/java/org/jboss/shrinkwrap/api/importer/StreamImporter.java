@@ -23,7 +23,9 @@ import java.util.zip.GZIPInputStream;
 import java.util.zip.ZipInputStream;
 
 import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ArchivePath;
 import org.jboss.shrinkwrap.api.Assignable;
+import org.jboss.shrinkwrap.api.Filter;
 
 /**
  * Generic importer capable of representing an {@link Assignable} as an entity capable of reading from an
@@ -63,4 +65,39 @@ public interface StreamImporter<I extends StreamImporter<I>> extends Assignable
      *             If no file is specified or if the file is a directory
      */
     I importFrom(File file) throws ArchiveImportException;
+
+    /**
+     * Imports provided stream as a {@link Archive}, including only the entries whose paths are accepted by the
+     * specified {@link Filter}. Each entry's path is tested before its data is read; the data of rejected entries is
+     * skipped, never held in memory. It remains the responsibility of the caller to close the stream.
+     *
+     * @param stream
+     *            the stream to import; should be a raw type, not wrapped in any implementation-specific encoding (ie.
+     *            {@link FileInputStream} is appropriate, but {@link ZipInputStream} or {@link GZIPInputStream} is not).
+     * @param filter
+     *            Filter to match result
+     * @return Archive of the imported stream
+     * @throws ArchiveImportException
+     *             If an error occurred during the import process
+     * @throws IllegalArgumentException
+     *             If no stream or filter is specified
+     */
+    I importFrom(InputStream stream, Filter<ArchivePath> filter) throws ArchiveImportException;
+
+    /**
+     * Imports provided File as a {@link Archive}, including only the entries whose paths are accepted by the specified
+     * {@link Filter}. Each entry's path is tested before its data is read; the data of rejected entries is skipped,
+     * never held in memory.
+     *
+     * @param file
+     *            the file to import
+     * @param filter
+     *            Filter to match result
+     * @return Archive of the imported file
+     * @throws ArchiveImportException
+     *             If an error occurred during the import process
+     * @throws IllegalArgumentException
+     *             If no file or filter is specified or if the file is a directory
+     */
+    I importFrom(File file, Filter<ArchivePath> filter) throws ArchiveImportException;
 }
@@ -20,7 +20,9 @@ import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 
 import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ArchivePath;
 import org.jboss.shrinkwrap.api.Assignable;
+import org.jboss.shrinkwrap.api.Filter;
 
 /**
  * {@link Assignable} type capable of importing ZIP content.
@@ -75,4 +77,37 @@ public interface ZipImporter extends StreamImporter<ZipImporter> {
      *             If no file is specified
      */
     ZipImporter importFrom(ZipFile file) throws ArchiveImportException;
+
+    /**
+     * Imports provided {@link ZipFile} as a {@link Archive}, including only the entries whose paths are accepted by the
+     * specified {@link Filter}.
+     *
+     * @param file
+     *            the file to import
+     * @param filter
+     *            Filter to match result
+     * @return Archive of the imported Zip
+     * @throws ArchiveImportException
+     *             If an error occurred during the import process
+     * @throws IllegalArgumentException
+     *             If no file or filter is specified
+     */
+    ZipImporter importFrom(ZipFile file, Filter<ArchivePath> filter) throws ArchiveImportException;
+
+    /**
+     * Imports provided {@link ZipFile} as a {@link Archive}, inflating all entries into memory before returning, so
+     * that the {@link ZipFile} may then be closed. Entries are inflated concurrently on the executor of the archive's
+     * {@link org.jboss.shrinkwrap.api.Configuration}, or on threads created for the import if none is configured.
+     * Where the configured executor is bounded, this must not be invoked from one of its threads. It remains the
+     * responsibility of the caller to close the {@link ZipFile}.
+     *
+     * @param file
+     *            the file to import
+     * @return Archive of the imported Zip
+     * @throws ArchiveImportException
+     *             If an error occurred during the import process
+     * @throws IllegalArgumentException
+     *             If no file is specified
+     */
+    ZipImporter importEagerlyFrom(ZipFile file) throws ArchiveImportException;
 }
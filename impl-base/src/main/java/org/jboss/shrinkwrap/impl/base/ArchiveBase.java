@@ -16,14 +16,22 @@
  */
 package org.jboss.shrinkwrap.impl.base;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.ZipFile;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -40,16 +48,23 @@ import org.jboss.shrinkwrap.api.Node;
 import org.jboss.shrinkwrap.api.ShrinkWrap;
 import org.jboss.shrinkwrap.api.asset.ArchiveAsset;
 import org.jboss.shrinkwrap.api.asset.Asset;
+import org.jboss.shrinkwrap.api.asset.FileAsset;
 import org.jboss.shrinkwrap.api.asset.NamedAsset;
 import org.jboss.shrinkwrap.api.exporter.StreamExporter;
 import org.jboss.shrinkwrap.api.formatter.Formatter;
 import org.jboss.shrinkwrap.api.formatter.Formatters;
 import org.jboss.shrinkwrap.api.importer.ArchiveImportException;
+import org.jboss.shrinkwrap.api.importer.FormatDetectingImporter;
+import org.jboss.shrinkwrap.api.importer.ZipImporter;
+import org.jboss.shrinkwrap.impl.base.asset.CachedArchiveAsset;
+import org.jboss.shrinkwrap.impl.base.io.CodecPool;
 import org.jboss.shrinkwrap.impl.base.io.IOUtil;
+import org.jboss.shrinkwrap.impl.base.io.SpillArea;
 import org.jboss.shrinkwrap.impl.base.path.BasicPath;
 import org.jboss.shrinkwrap.spi.ArchiveFormatAssociable;
 import org.jboss.shrinkwrap.spi.Configurable;
 import org.jboss.shrinkwrap.spi.Identifiable;
+import org.jboss.shrinkwrap.spi.Versioned;
 
 /**
  * Base implementation of {@link Archive}. Contains support for operations (typically overloaded) that are not specific
@@ -60,7 +75,7 @@ import org.jboss.shrinkwrap.spi.Identifiable;
  * @version $Revision: $
  */
 public abstract class ArchiveBase<T extends Archive<T>> implements Archive<T>, Configurable, ArchiveFormatAssociable,
-    Identifiable {
+    Identifiable, Versioned {
 
     // -------------------------------------------------------------------------------------||
     // Class Members -----------------------------------------------------------------------||
@@ -211,7 +226,8 @@ public abstract class ArchiveBase<T extends Archive<T>> implements Archive<T>, C
     }
 
     /**
-     * {@inheritDoc}
+     * {@inheritDoc} Where the {@link Configuration} provides an executor service, the matching archives are read
+     * concurrently upon it.
      *
      * @see org.jboss.shrinkwrap.api.Archive#getAsType(java.lang.Class, org.jboss.shrinkwrap.api.Filter)
      */
@@ -220,13 +236,7 @@ public abstract class ArchiveBase<T extends Archive<T>> implements Archive<T>, C
         Validate.notNull(type, "Type must be specified");
         Validate.notNull(filter, "Filter must be specified");
 
-        Collection<X> archives = new ArrayList<X>();
-
-        Map<ArchivePath, Node> matches = getContent(filter);
-        for (ArchivePath path : matches.keySet()) {
-            archives.add(getAsType(type, path));
-        }
-        return archives;
+        return getAsType(type, getContent(filter).keySet(), null);
     }
 
     /**
@@ -296,27 +306,12 @@ public abstract class ArchiveBase<T extends Archive<T>> implements Archive<T>, C
             return null;
         }
 
-        InputStream stream = null;
-        try {
-            stream = asset.openStream();
-            X archive = ShrinkWrap.create(formatBinding.getImporter(), path.get()).importFrom(stream).as(type);
-            delete(path);
-            add(new ArchiveAsset(archive, formatBinding.getExporter()), path);
-
-            return archive;
-        } finally {
-            if (stream != null) {
-                try {
-                    stream.close();
-                } catch (IOException e) {
-                    throw new ArchiveImportException("Stream not closed after import", e);
-                }
-            }
-        }
+        return replaceWithNested(type, path, openNested(type, path, asset, formatBinding).keep());
     }
 
     /**
-     * {@inheritDoc}
+     * {@inheritDoc} Where the {@link Configuration} provides an executor service, the matching archives are read
+     * concurrently upon it.
      *
      * @see org.jboss.shrinkwrap.api.Archive#getAsType(java.lang.Class, org.jboss.shrinkwrap.api.Filter,
      *      org.jboss.shrinkwrap.api.ArchiveFormat)
@@ -328,13 +323,7 @@ public abstract class ArchiveBase<T extends Archive<T>> implements Archive<T>, C
         Validate.notNull(filter, "Filter must be specified");
         Validate.notNull(archiveFormat, "ArchiveFormat must be specified");
 
-        Collection<X> archives = new ArrayList<X>();
-
-        Map<ArchivePath, Node> matches = getContent(filter);
-        for (ArchivePath path : matches.keySet()) {
-            archives.add(getAsType(type, path, archiveFormat));
-        }
-        return archives;
+        return getAsType(type, getContent(filter).keySet(), archiveFormat);
     }
 
     /**
@@ -354,8 +343,8 @@ public abstract class ArchiveBase<T extends Archive<T>> implements Archive<T>, C
         final String archiveName = archive.getName();
         final ArchivePath contentPath = new BasicPath(path, archiveName);
 
-        // Create ArchiveAsset
-        final ArchiveAsset archiveAsset = new ArchiveAsset(archive, exporter);
+        // Create ArchiveAsset, reusing previous exports of the archive where it has not since changed
+        final ArchiveAsset archiveAsset = new CachedArchiveAsset(archive, exporter, this.configuration);
 
         // Delegate
         return add(archiveAsset, contentPath);
@@ -766,6 +755,183 @@ public abstract class ArchiveBase<T extends Archive<T>> implements Archive<T>, C
     // Internal Helper Methods -------------------------------------------------------------||
     // -------------------------------------------------------------------------------------||
 
+    /**
+     * Obtains the archives at the specified paths as the specified type, in the format specified or, if null, that
+     * mapped to the type. Where an executor service is configured, the nested archives are read concurrently upon it,
+     * then replaced in this archive in order on the calling thread. Should any read fail, the {@link ZipFile}s opened
+     * by the others, and not yet replaced, are closed before the failure propagates.
+     */
+    private <X extends Archive<X>> Collection<X> getAsType(final Class<X> type, final Collection<ArchivePath> paths,
+        final ArchiveFormat archiveFormat) {
+        final Collection<X> archives = new ArrayList<X>();
+        final ExecutorService executor = this.configuration.getExecutorService();
+        if (executor == null || paths.size() < 2) {
+            for (final ArchivePath path : paths) {
+                archives.add(archiveFormat == null ? getAsType(type, path) : getAsType(type, path, archiveFormat));
+            }
+            return archives;
+        }
+
+        // Read the nested archives concurrently
+        final List<ArchivePath> readPaths = new ArrayList<ArchivePath>();
+        final List<Future<NestedRead>> reads = new ArrayList<Future<NestedRead>>();
+        final OpenReads open = new OpenReads();
+        for (final ArchivePath path : paths) {
+            final Node content = get(path);
+            final Asset asset = content == null ? null : content.getAsset();
+            if (asset == null || (archiveFormat == null && asset instanceof ArchiveAsset)) {
+                // Nothing to read
+                readPaths.add(path);
+                reads.add(null);
+                continue;
+            }
+            final ArchiveFormatStreamBindings formatBinding = new ArchiveFormatStreamBindings(archiveFormat != null
+                ? archiveFormat : this.configuration.getExtensionLoader().getArchiveFormatFromExtensionMapping(type));
+            readPaths.add(path);
+            reads.add(executor.submit(new Callable<NestedRead>() {
+                @Override
+                public NestedRead call() {
+                    return open.add(openNested(type, path, asset, formatBinding));
+                }
+            }));
+        }
+
+        // Replace them in order
+        try {
+            for (int i = 0; i < readPaths.size(); i++) {
+                final ArchivePath path = readPaths.get(i);
+                final Future<NestedRead> read = reads.get(i);
+                if (read == null) {
+                    archives.add(archiveFormat == null ? getAsType(type, path) : getAsType(type, path, archiveFormat));
+                } else {
+                    archives.add(replaceWithNested(type, path, open.keep(awaitNested(read, path))));
+                }
+            }
+        } finally {
+            for (final Future<NestedRead> read : reads) {
+                if (read != null) {
+                    read.cancel(true);
+                }
+            }
+            // Upon failure, release what the other reads opened, including those yet to complete
+            open.discard();
+        }
+        return archives;
+    }
+
+    /**
+     * Awaits the specified read of the nested archive at the specified path, propagating its failure
+     */
+    private static NestedRead awaitNested(final Future<NestedRead> read, final ArchivePath path) {
+        try {
+            return read.get();
+        } catch (final InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new ArchiveImportException("Interrupted while reading nested archive " + path.get(), ie);
+        } catch (final ExecutionException ee) {
+            final Throwable cause = ee.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new ArchiveImportException("Could not read nested archive " + path.get(), cause);
+        }
+    }
+
+    /**
+     * Reads the specified asset, at the specified path, as a new archive of the specified type, leaving this archive
+     * untouched; the archive is returned as the asset to replace the one read, to be exported in the format read.
+     * Nested ZIP archives are indexed lazily if so configured, the {@link ZipFile} read being held open until the read
+     * is kept or discarded.
+     */
+    private <X extends Archive<X>> NestedRead openNested(final Class<X> type, final ArchivePath path,
+        final Asset asset, final ArchiveFormatStreamBindings formatBinding) {
+        if (this.configuration.isLazyNestedArchives() && ZipImporter.class.equals(formatBinding.getImporter())) {
+            final ZipFile zipFile = openZipFile(asset);
+            if (zipFile != null) {
+                // The spilled copy read, if the asset is not backed by a file itself
+                final File copy = asset instanceof FileAsset ? null : new File(zipFile.getName());
+                final X nested;
+                try {
+                    nested = ShrinkWrap.create(ZipImporter.class, path.get()).importFrom(zipFile).as(type);
+                } catch (final RuntimeException re) {
+                    SpillArea.closeWhenUnreachable(Collections.emptyList(), zipFile, copy);
+                    throw re;
+                }
+                return new NestedRead(new CachedArchiveAsset(nested, formatBinding.getExporter(), this.configuration),
+                    zipFile, copy);
+            }
+        }
+
+        InputStream stream = null;
+        try {
+            stream = asset.openStream();
+            final Assignable importer = ShrinkWrap.create(formatBinding.getImporter(), path.get()).importFrom(stream);
+
+            // Export in the format detected, if any
+            final Class<? extends StreamExporter> exporter = importer instanceof FormatDetectingImporter
+                ? new ArchiveFormatStreamBindings(((FormatDetectingImporter) importer).getDetectedFormat())
+                    .getExporter() : formatBinding.getExporter();
+            return new NestedRead(new CachedArchiveAsset(importer.as(type), exporter, this.configuration), null, null);
+        } finally {
+            if (stream != null) {
+                try {
+                    stream.close();
+                } catch (IOException e) {
+                    throw new ArchiveImportException("Stream not closed after import", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Opens the content of the specified asset as a {@link ZipFile}: that backing the asset if any, else a spilled
+     * copy, which the caller should register for deletion. Returns null if the content is not a valid ZIP.
+     */
+    private ZipFile openZipFile(final Asset asset) {
+        if (asset instanceof FileAsset) {
+            try {
+                return new ZipFile(((FileAsset) asset).getSource());
+            } catch (final IOException ioe) {
+                return null;
+            }
+        }
+
+        final CodecPool pool = CodecPool.forConfiguration(this.configuration);
+        final byte[] buffer = pool.borrowBuffer();
+        final InputStream stream = asset.openStream();
+        final File copy;
+        try {
+            copy = SpillArea.copy(stream, buffer);
+        } catch (final IOException ioe) {
+            throw new ArchiveImportException("Could not copy nested archive", ioe);
+        } finally {
+            IOUtil.closeQuietly(stream);
+            pool.release(buffer);
+        }
+        try {
+            return new ZipFile(copy);
+        } catch (final IOException ioe) {
+            if (!copy.delete() && log.isLoggable(Level.FINER)) {
+                log.finer("Could not delete copy of nested archive " + copy);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Replaces the asset at the specified path with the specified asset of a nested archive of the specified type,
+     * returning the archive
+     */
+    private <X extends Archive<X>> X replaceWithNested(final Class<X> type, final ArchivePath path,
+        final ArchiveAsset nested) {
+        delete(path);
+        add(nested, path);
+        return type.cast(nested.getArchive());
+    }
+
     /**
      * Provides typesafe covariant return of this instance
      */
@@ -779,4 +945,85 @@ public abstract class ArchiveBase<T extends Archive<T>> implements Archive<T>, C
             throw cce;
         }
     }
+
+    // -------------------------------------------------------------------------------------||
+    // Inner Classes ----------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Nested archive read, along with the {@link ZipFile} (and spilled copy, if any) it is lazily read from
+     */
+    private static final class NestedRead {
+
+        private final ArchiveAsset asset;
+
+        private final ZipFile zipFile;
+
+        private final File copy;
+
+        NestedRead(final ArchiveAsset asset, final ZipFile zipFile, final File copy) {
+            this.asset = asset;
+            this.zipFile = zipFile;
+            this.copy = copy;
+        }
+
+        /**
+         * Registers the {@link ZipFile} to be closed once no asset read from it remains reachable, wherever it was
+         * moved to, returning the asset of the archive
+         */
+        ArchiveAsset keep() {
+            if (zipFile != null) {
+                final List<Asset> owners = new ArrayList<Asset>();
+                for (final Node node : asset.getArchive().getContent().values()) {
+                    if (node.getAsset() != null) {
+                        owners.add(node.getAsset());
+                    }
+                }
+                SpillArea.closeWhenUnreachable(owners, zipFile, copy);
+            }
+            return asset;
+        }
+
+        /**
+         * Closes the {@link ZipFile} and deletes the spilled copy at once, the archive read being abandoned
+         */
+        void discard() {
+            if (zipFile != null) {
+                SpillArea.closeWhenUnreachable(Collections.emptyList(), zipFile, copy);
+            }
+        }
+    }
+
+    /**
+     * {@link NestedRead}s completed concurrently and not yet kept; once discarded, those completing later are discarded
+     * as they complete
+     */
+    private static final class OpenReads {
+
+        private final List<NestedRead> reads = new ArrayList<NestedRead>();
+
+        private boolean discarded;
+
+        synchronized NestedRead add(final NestedRead read) {
+            if (discarded) {
+                read.discard();
+            } else {
+                reads.add(read);
+            }
+            return read;
+        }
+
+        synchronized ArchiveAsset keep(final NestedRead read) {
+            reads.remove(read);
+            return read.keep();
+        }
+
+        synchronized void discard() {
+            discarded = true;
+            for (final NestedRead read : reads) {
+                read.discard();
+            }
+            reads.clear();
+        }
+    }
 }
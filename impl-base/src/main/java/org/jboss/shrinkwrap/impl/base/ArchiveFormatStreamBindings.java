@@ -21,6 +21,7 @@ import org.jboss.shrinkwrap.api.exporter.StreamExporter;
 import org.jboss.shrinkwrap.api.exporter.TarExporter;
 import org.jboss.shrinkwrap.api.exporter.TarGzExporter;
 import org.jboss.shrinkwrap.api.exporter.ZipExporter;
+import org.jboss.shrinkwrap.api.importer.FormatDetectingImporter;
 import org.jboss.shrinkwrap.api.importer.StreamImporter;
 import org.jboss.shrinkwrap.api.importer.TarGzImporter;
 import org.jboss.shrinkwrap.api.importer.TarImporter;
@@ -28,7 +29,8 @@ import org.jboss.shrinkwrap.api.importer.ZipImporter;
 
 /**
  * Value object binding the {@code StreamExporter} and the {@code StreamImporter} implementations of the same archive
- * format.
+ * format. {@link ArchiveFormat#AUTO} binds the {@link FormatDetectingImporter}, and the {@link ZipExporter} for want
+ * of a detected format.
  *
  * @author Davide D'Alto
  * @author <a href="mailto:andrew.rubinger@jboss.org">ALR</a>
@@ -57,6 +59,10 @@ class ArchiveFormatStreamBindings {
                 this.importer = ZipImporter.class;
                 this.exporter = ZipExporter.class;
                 break;
+            case AUTO:
+                this.importer = FormatDetectingImporter.class;
+                this.exporter = ZipExporter.class;
+                break;
             default:
                 throw new IllegalArgumentException("Unknown format specified: " + format);
         }
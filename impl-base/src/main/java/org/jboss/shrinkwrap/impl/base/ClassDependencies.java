@@ -0,0 +1,307 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Classes referenced by the classes visible to a {@link ClassLoader}, as parsed from their class files: those named by
+ * the constant pool, including those of the fields and methods invoked, and those of the fields and methods declared.
+ * Generic signatures and annotations are not followed. Each class file is parsed once; dependencies are held per
+ * {@link ClassLoader}, weakly, so that discarded class loaders release theirs. Thread-safe.
+ *
+ * @version $Revision: $
+ */
+public final class ClassDependencies {
+
+    // -------------------------------------------------------------------------------------||
+    // Class Members ----------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Magic number opening every class file
+     */
+    private static final int MAGIC = 0xCAFEBABE;
+
+    /**
+     * Constant pool tags
+     */
+    private static final int TAG_UTF8 = 1;
+    private static final int TAG_INTEGER = 3;
+    private static final int TAG_FLOAT = 4;
+    private static final int TAG_LONG = 5;
+    private static final int TAG_DOUBLE = 6;
+    private static final int TAG_CLASS = 7;
+    private static final int TAG_STRING = 8;
+    private static final int TAG_FIELDREF = 9;
+    private static final int TAG_METHODREF = 10;
+    private static final int TAG_INTERFACE_METHODREF = 11;
+    private static final int TAG_NAME_AND_TYPE = 12;
+    private static final int TAG_METHOD_HANDLE = 15;
+    private static final int TAG_METHOD_TYPE = 16;
+    private static final int TAG_DYNAMIC = 17;
+    private static final int TAG_INVOKE_DYNAMIC = 18;
+    private static final int TAG_MODULE = 19;
+    private static final int TAG_PACKAGE = 20;
+
+    /**
+     * Dependencies by their {@link ClassLoader}
+     */
+    private static final Map<ClassLoader, ClassDependencies> DEPENDENCIES = new WeakHashMap<ClassLoader,
+        ClassDependencies>();
+
+    // -------------------------------------------------------------------------------------||
+    // Instance Members -------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * The {@link ClassLoader} whose classes are parsed; weakly held, as this is the value of its key in
+     * {@link #DEPENDENCIES}
+     */
+    private final WeakReference<ClassLoader> classLoader;
+
+    /**
+     * Names of the classes referenced by class name
+     */
+    private final ConcurrentMap<String, Set<String>> dependencies = new ConcurrentHashMap<String, Set<String>>();
+
+    // -------------------------------------------------------------------------------------||
+    // Constructor ------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    private ClassDependencies(final ClassLoader classLoader) {
+        this.classLoader = new WeakReference<ClassLoader>(classLoader);
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Functional Methods -----------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Obtains the dependencies of the classes visible to the specified {@link ClassLoader}
+     *
+     * @param classLoader
+     * @return
+     * @throws IllegalArgumentException
+     *             If the class loader is not specified
+     */
+    public static ClassDependencies forClassLoader(final ClassLoader classLoader) throws IllegalArgumentException {
+        Validate.notNull(classLoader, "ClassLoader must be specified");
+        synchronized (DEPENDENCIES) {
+            ClassDependencies dependencies = DEPENDENCIES.get(classLoader);
+            if (dependencies == null) {
+                dependencies = new ClassDependencies(classLoader);
+                DEPENDENCIES.put(classLoader, dependencies);
+            }
+            return dependencies;
+        }
+    }
+
+    /**
+     * Obtains the fully-qualified names of the classes referenced by the specified class, other than itself
+     *
+     * @param className
+     *            Fully-qualified name of the class
+     * @return The referenced class names, or null if the class file is not visible to the {@link ClassLoader}
+     * @throws IOException
+     *             If the class file could not be read or parsed
+     * @throws IllegalArgumentException
+     *             If the class name is not specified
+     */
+    public Set<String> getDependencies(final String className) throws IOException, IllegalArgumentException {
+        Validate.notNull(className, "Class name must be specified");
+        Set<String> found = this.dependencies.get(className);
+        if (found != null) {
+            return found;
+        }
+
+        final ClassLoader classLoader = this.classLoader.get();
+        final InputStream in = classLoader == null ? null : classLoader.getResourceAsStream(className.replace('.',
+            '/') + ".class");
+        if (in == null) {
+            return null;
+        }
+        try {
+            found = parse(in);
+        } finally {
+            in.close();
+        }
+        found.remove(className);
+        found = Collections.unmodifiableSet(found);
+        this.dependencies.put(className, found);
+        return found;
+    }
+
+    /**
+     * Parses the specified class file, returning the fully-qualified names of the classes it references, including
+     * its own. The stream is not closed.
+     *
+     * @param classFile
+     * @return
+     * @throws IOException
+     *             If the stream could not be read, or is not a class file
+     * @throws IllegalArgumentException
+     *             If the stream is not specified
+     */
+    public static Set<String> parse(final InputStream classFile) throws IOException, IllegalArgumentException {
+        Validate.notNull(classFile, "Class file must be specified");
+        final DataInputStream in = new DataInputStream(new BufferedInputStream(classFile));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a class file");
+        }
+        in.readUnsignedShort();
+        in.readUnsignedShort();
+
+        // Constant pool; the names of classes, and descriptors naming classes, are UTF-8 entries indexed by others
+        final int count = in.readUnsignedShort();
+        final String[] utf8 = new String[count];
+        final List<Integer> classNames = new ArrayList<Integer>();
+        final List<Integer> descriptors = new ArrayList<Integer>();
+        for (int i = 1; i < count; i++) {
+            final int tag = in.readUnsignedByte();
+            switch (tag) {
+                case TAG_UTF8:
+                    utf8[i] = in.readUTF();
+                    break;
+                case TAG_CLASS:
+                    classNames.add(in.readUnsignedShort());
+                    break;
+                case TAG_METHOD_TYPE:
+                    descriptors.add(in.readUnsignedShort());
+                    break;
+                case TAG_NAME_AND_TYPE:
+                    in.readUnsignedShort();
+                    descriptors.add(in.readUnsignedShort());
+                    break;
+                case TAG_STRING:
+                case TAG_MODULE:
+                case TAG_PACKAGE:
+                    in.readUnsignedShort();
+                    break;
+                case TAG_METHOD_HANDLE:
+                    in.readUnsignedByte();
+                    in.readUnsignedShort();
+                    break;
+                case TAG_INTEGER:
+                case TAG_FLOAT:
+                case TAG_FIELDREF:
+                case TAG_METHODREF:
+                case TAG_INTERFACE_METHODREF:
+                case TAG_DYNAMIC:
+                case TAG_INVOKE_DYNAMIC:
+                    in.readInt();
+                    break;
+                case TAG_LONG:
+                case TAG_DOUBLE:
+                    // Take two entries
+                    in.readLong();
+                    i++;
+                    break;
+                default:
+                    throw new IOException("Unknown constant pool tag " + tag + " at entry " + i);
+            }
+        }
+
+        // Access flags, this and super classes, and interfaces, all in the constant pool
+        in.readUnsignedShort();
+        in.readUnsignedShort();
+        in.readUnsignedShort();
+        skipFully(in, 2 * in.readUnsignedShort());
+
+        // Descriptors of the fields, then of the methods, declared
+        for (int member = 0; member < 2; member++) {
+            final int members = in.readUnsignedShort();
+            for (int i = 0; i < members; i++) {
+                in.readUnsignedShort();
+                in.readUnsignedShort();
+                descriptors.add(in.readUnsignedShort());
+                final int attributes = in.readUnsignedShort();
+                for (int j = 0; j < attributes; j++) {
+                    in.readUnsignedShort();
+                    skipFully(in, in.readInt() & 0xFFFFFFFFL);
+                }
+            }
+        }
+
+        final Set<String> found = new LinkedHashSet<String>();
+        for (final int index : classNames) {
+            final String name = utf8Of(utf8, index);
+            if (name.startsWith("[")) {
+                addDescriptorClasses(name, found);
+            } else {
+                found.add(name.replace('/', '.'));
+            }
+        }
+        for (final int index : descriptors) {
+            addDescriptorClasses(utf8Of(utf8, index), found);
+        }
+        return found;
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Internal Helper Methods ------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    private static String utf8Of(final String[] utf8, final int index) throws IOException {
+        if (index <= 0 || index >= utf8.length || utf8[index] == null) {
+            throw new IOException("Invalid constant pool reference " + index);
+        }
+        return utf8[index];
+    }
+
+    /**
+     * Adds the classes named by the specified field or method descriptor, such as
+     * <code>(I[Ljava/lang/String;)Ljava/util/List;</code>
+     */
+    private static void addDescriptorClasses(final String descriptor, final Set<String> found) {
+        int start = descriptor.indexOf('L');
+        while (start != -1) {
+            final int end = descriptor.indexOf(';', start);
+            if (end == -1) {
+                return;
+            }
+            found.add(descriptor.substring(start + 1, end).replace('/', '.'));
+            start = descriptor.indexOf('L', end);
+        }
+    }
+
+    private static void skipFully(final DataInputStream in, final long count) throws IOException {
+        long remaining = count;
+        while (remaining > 0) {
+            final long skipped = in.skip(remaining);
+            if (skipped <= 0) {
+                in.readByte();
+                remaining--;
+            } else {
+                remaining -= skipped;
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.Configuration;
+import org.jboss.shrinkwrap.spi.Configurable;
+
+/**
+ * Utilities resolving the {@link Configuration} of an {@link Archive}, and the executors on which its imports and
+ * exports run
+ *
+ * @version $Revision: $
+ */
+public final class ConfigurationUtil {
+
+    // -------------------------------------------------------------------------------------||
+    // Constructor ------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Internal constructor; should not be called
+     */
+    private ConfigurationUtil() {
+        throw new UnsupportedOperationException("No instances should be created; stateless class");
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Functional Methods -----------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Obtains the {@link Configuration} of the specified archive, or null if the archive does not expose it (as may
+     * archives not created by ShrinkWrap)
+     *
+     * @param archive
+     * @return
+     * @throws IllegalArgumentException
+     *             If the archive is not specified
+     */
+    public static Configuration configurationOf(final Archive<?> archive) throws IllegalArgumentException {
+        Validate.notNull(archive, "archive must be specified");
+        try {
+            return archive.as(Configurable.class).getConfiguration();
+        } catch (final RuntimeException re) {
+            return null;
+        }
+    }
+
+    /**
+     * Obtains the {@link Configuration#getExecutorService()} of the specified archive, or null if none is configured
+     * or the archive does not expose its configuration
+     *
+     * @param archive
+     * @return
+     * @throws IllegalArgumentException
+     *             If the archive is not specified
+     */
+    public static ExecutorService executorOf(final Archive<?> archive) throws IllegalArgumentException {
+        final Configuration configuration = configurationOf(archive);
+        return configuration == null ? null : configuration.getExecutorService();
+    }
+
+    /**
+     * Creates an executor of up to the specified number of daemon threads of the specified name, for use where no
+     * executor is configured; it is the caller's responsibility to shut it down
+     *
+     * @param threads
+     * @param name
+     * @return
+     * @throws IllegalArgumentException
+     *             If the number of threads is not positive or the name is not specified
+     */
+    public static ExecutorService newDaemonExecutor(final int threads, final String name)
+        throws IllegalArgumentException {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Number of threads must be positive: " + threads);
+        }
+        Validate.notNull(name, "name must be specified");
+        return Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            @Override
+            public Thread newThread(final Runnable r) {
+                final Thread thread = new Thread(r, name);
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+}
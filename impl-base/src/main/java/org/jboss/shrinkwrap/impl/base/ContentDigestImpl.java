@@ -0,0 +1,366 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ArchivePath;
+import org.jboss.shrinkwrap.api.ArchivePaths;
+import org.jboss.shrinkwrap.api.Assignable;
+import org.jboss.shrinkwrap.api.ContentDigest;
+import org.jboss.shrinkwrap.api.Node;
+import org.jboss.shrinkwrap.api.asset.ArchiveAsset;
+import org.jboss.shrinkwrap.api.asset.Asset;
+import org.jboss.shrinkwrap.api.asset.ByteArrayAsset;
+import org.jboss.shrinkwrap.api.asset.ClassAsset;
+import org.jboss.shrinkwrap.api.asset.ClassLoaderAsset;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.asset.FileAsset;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.shrinkwrap.impl.base.asset.ServiceProviderAsset;
+import org.jboss.shrinkwrap.impl.base.asset.ZipFileEntryAsset;
+import org.jboss.shrinkwrap.impl.base.exporter.AbstractStreamExporterImpl;
+import org.jboss.shrinkwrap.impl.base.io.IOUtil;
+
+/**
+ * {@link Assignable} implementation view of a {@link ContentDigest}. Digests are cached within each {@link NodeImpl}
+ * along with a validator describing the state they were computed from:
+ *
+ * <ul>
+ * <li>Assets known never to change after construction are hashed once</li>
+ * <li>{@link FileAsset}s are rehashed when the file's length or last modification time changes</li>
+ * <li>{@link ArchiveAsset}s take the digest of the nested archive, which is itself cached, along with the format and
+ * options it is exported with</li>
+ * <li>Any other asset is rehashed upon every request</li>
+ * <li>Directories are cached only while all of their descendants are of the first kind; otherwise they are recombined
+ * from the (mostly cached) digests of their children</li>
+ * </ul>
+ *
+ * @version $Revision: $
+ */
+public class ContentDigestImpl extends AssignableBase<ArchiveBase<?>> implements ContentDigest {
+
+    // -------------------------------------------------------------------------------------||
+    // Class Members ----------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Validator of digests computed from content which never changes
+     */
+    private static final Object IMMUTABLE = "immutable";
+
+    /**
+     * Prefix of the input to the digest of a file
+     */
+    private static final byte FILE = 'F';
+
+    /**
+     * Prefix of the input to the digest of a directory
+     */
+    private static final byte DIRECTORY = 'D';
+
+    /**
+     * Size of the buffer used when reading assets
+     */
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /**
+     * Orders {@link Node}s by path; siblings share a parent, so this is also name order
+     */
+    private static final Comparator<Node> NODES_BY_PATH = new Comparator<Node>() {
+        @Override
+        public int compare(final Node node1, final Node node2) {
+            return node1.getPath().get().compareTo(node2.getPath().get());
+        }
+    };
+
+    // -------------------------------------------------------------------------------------||
+    // Constructor ------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    public ContentDigestImpl(final ArchiveBase<?> archive) {
+        super(archive);
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Functional Methods -----------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Obtains an object describing the state of the specified {@link Archive}, equal for two calls only if neither the
+     * archive's structure (see {@link VersionedArchiveImpl#versionOf(Archive)}) nor the content of any of its assets,
+     * including those of nested archives, has changed in between; null if this cannot be known, as is the case when the
+     * archive holds assets of a type whose changes are not detected.
+     *
+     * @param archive
+     * @return
+     * @throws IllegalArgumentException
+     *             If the archive is not specified
+     */
+    public static Object stateOf(final Archive<?> archive) throws IllegalArgumentException {
+        Validate.notNull(archive, "Archive must be specified");
+        final StringBuilder state = new StringBuilder();
+        return appendState(archive, state) ? state.toString() : null;
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Required Implementations -----------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.ContentDigest#getDigest()
+     */
+    @Override
+    public byte[] getDigest() {
+        return getDigest(ArchivePaths.root());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.ContentDigest#getDigest(org.jboss.shrinkwrap.api.ArchivePath)
+     */
+    @Override
+    public byte[] getDigest(final ArchivePath path) throws IllegalArgumentException {
+        Validate.notNull(path, "path must be specified");
+        final Node node = this.getArchive().get(path);
+        if (node == null) {
+            return null;
+        }
+        return digest(node).value.clone();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.ContentDigest#getDigestAsHex()
+     */
+    @Override
+    public String getDigestAsHex() {
+        final byte[] digest = getDigest();
+        final char[] hex = new char[digest.length * 2];
+        for (int i = 0; i < digest.length; i++) {
+            hex[i * 2] = HEX[(digest[i] >> 4) & 0x0f];
+            hex[i * 2 + 1] = HEX[digest[i] & 0x0f];
+        }
+        return new String(hex);
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Internal Helper Methods ------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Obtains the digest of the specified node, from cache where still valid
+     *
+     * @param node
+     * @return
+     */
+    private Result digest(final Node node) {
+        final NodeImpl cacheable = node instanceof NodeImpl ? (NodeImpl) node : null;
+        final int generation = cacheable != null ? cacheable.getDigestGeneration() : 0;
+        final Asset asset = node.getAsset();
+
+        // Use the cached digest if the content is in the same state
+        final Object validator = asset == null ? IMMUTABLE : validatorOf(asset);
+        if (cacheable != null && validator != null) {
+            final byte[] cached = cacheable.getCachedDigest(validator);
+            if (cached != null) {
+                return new Result(cached, validator == IMMUTABLE);
+            }
+        }
+
+        final Result result = asset == null ? digestDirectory(node) : digestAsset(node.getPath(), asset);
+        if (cacheable != null && validator != null && (asset != null || result.immutable)) {
+            cacheable.cacheDigest(generation, validator, result.value);
+        }
+        return result;
+    }
+
+    /**
+     * Computes the digest of a directory from the names and digests of its children, in name order
+     *
+     * @param node
+     * @return
+     */
+    private Result digestDirectory(final Node node) {
+        final List<Node> children = new ArrayList<Node>(node.getChildren());
+        Collections.sort(children, NODES_BY_PATH);
+
+        final MessageDigest digest = newDigest();
+        digest.update(DIRECTORY);
+        boolean immutable = true;
+        for (final Node child : children) {
+            final Result childResult = digest(child);
+            immutable &= childResult.immutable;
+            digest.update(toUtf8(nameOf(child.getPath())));
+            digest.update((byte) 0);
+            digest.update(childResult.value);
+        }
+        return new Result(digest.digest(), immutable);
+    }
+
+    /**
+     * Computes the digest of a file
+     *
+     * @param path
+     * @param asset
+     * @return
+     */
+    private Result digestAsset(final ArchivePath path, final Asset asset) {
+        final MessageDigest digest = newDigest();
+        digest.update(FILE);
+        if (asset instanceof ArchiveAsset) {
+            // The stored bytes depend on how the nested archive is exported (format, compression, ordering) as
+            // much as on its contents, whose own (cached) digest is reused
+            final ArchiveAsset archiveAsset = (ArchiveAsset) asset;
+            final Archive<?> archive = archiveAsset.getArchive();
+            digest.update(toUtf8(AbstractStreamExporterImpl.exportKindOf(archive, archiveAsset.getExporter())));
+            digest.update((byte) 0);
+            digest.update(archive.as(ContentDigest.class).getDigest());
+            return new Result(digest.digest(), false);
+        }
+
+        final InputStream in = asset.openStream();
+        try {
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        } catch (final IOException ioe) {
+            throw new IllegalStateException("Could not read asset at " + path.get(), ioe);
+        } finally {
+            IOUtil.closeQuietly(in);
+        }
+        return new Result(digest.digest(), validatorOf(asset) == IMMUTABLE);
+    }
+
+    /**
+     * Appends the version of the specified archive and the validators of its changeable assets to the specified state
+     *
+     * @param archive
+     * @param state
+     * @return false if the state of the archive cannot be known
+     */
+    private static boolean appendState(final Archive<?> archive, final StringBuilder state) {
+        final long version = VersionedArchiveImpl.versionOf(archive);
+        if (version < 0) {
+            return false;
+        }
+        state.append(version).append(';');
+        for (final Map.Entry<ArchivePath, Node> entry : archive.getContent().entrySet()) {
+            final Asset asset = entry.getValue().getAsset();
+            if (asset == null) {
+                continue;
+            }
+            if (asset instanceof ArchiveAsset) {
+                state.append(entry.getKey().get()).append('{');
+                if (!appendState(((ArchiveAsset) asset).getArchive(), state)) {
+                    return false;
+                }
+                state.append('}');
+                continue;
+            }
+            final Object validator = validatorOf(asset);
+            if (validator == null) {
+                return false;
+            }
+            if (validator != IMMUTABLE) {
+                state.append(entry.getKey().get()).append('=').append(validator).append(';');
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Obtains an object describing the state of the specified asset, equal for two calls if and only if the asset's
+     * content is known not to have changed in between; null if this cannot be known
+     *
+     * @param asset
+     * @return
+     */
+    private static Object validatorOf(final Asset asset) {
+        if (asset instanceof StringAsset || asset instanceof ByteArrayAsset || asset instanceof EmptyAsset
+            || asset instanceof ClassAsset || asset instanceof ClassLoaderAsset || asset instanceof ZipFileEntryAsset
+            || asset instanceof ServiceProviderAsset) {
+            return IMMUTABLE;
+        }
+        if (asset instanceof FileAsset) {
+            final File file = ((FileAsset) asset).getSource();
+            return file.lastModified() + ":" + file.length();
+        }
+        return null;
+    }
+
+    /**
+     * Obtains the last segment of the specified path, so that equal subtrees have equal digests wherever located
+     *
+     * @param path
+     * @return
+     */
+    private static String nameOf(final ArchivePath path) {
+        final String value = path.get();
+        return value.substring(value.lastIndexOf('/') + 1);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (final NoSuchAlgorithmException nsae) {
+            throw new IllegalStateException(ALGORITHM + " is not supported by this JVM", nsae);
+        }
+    }
+
+    private static byte[] toUtf8(final String value) {
+        try {
+            return value.getBytes("UTF-8");
+        } catch (final UnsupportedEncodingException uee) {
+            throw new IllegalStateException("UTF-8 is not supported by this JVM", uee);
+        }
+    }
+
+    /**
+     * A computed digest, along with whether it was derived only from content which never changes
+     */
+    private static final class Result {
+        private final byte[] value;
+
+        private final boolean immutable;
+
+        Result(final byte[] value, final boolean immutable) {
+            this.value = value;
+            this.immutable = immutable;
+        }
+    }
+
+}
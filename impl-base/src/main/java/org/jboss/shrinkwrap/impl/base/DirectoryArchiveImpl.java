@@ -0,0 +1,552 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ArchivePath;
+import org.jboss.shrinkwrap.api.ArchivePaths;
+import org.jboss.shrinkwrap.api.Configuration;
+import org.jboss.shrinkwrap.api.Filter;
+import org.jboss.shrinkwrap.api.Filters;
+import org.jboss.shrinkwrap.api.IllegalArchivePathException;
+import org.jboss.shrinkwrap.api.Node;
+import org.jboss.shrinkwrap.api.asset.Asset;
+import org.jboss.shrinkwrap.api.asset.FileAsset;
+import org.jboss.shrinkwrap.impl.base.path.BasicPath;
+import org.jboss.shrinkwrap.impl.base.path.PathUtil;
+import org.jboss.shrinkwrap.spi.DirectoryArchive;
+
+/**
+ * DirectoryArchiveImpl
+ *
+ * An archive mounting a directory of the file system. Nothing is read upon mounting; {@link Archive#get(ArchivePath)},
+ * {@link Archive#contains(ArchivePath)} and the children of {@link Node}s are served from the file system on demand,
+ * with the kinds of recently looked-up paths held in a small cache, each revalidated against the modification time of
+ * its parent directory. Content added to the archive is held in memory
+ * (as by {@link MemoryMapArchiveBase}) and takes precedence over that of the directory; deleting mounted content
+ * hides it without touching the directory. As the directory may change beneath it, this archive reports no version.
+ * Thread-safe.
+ *
+ * @version $Revision: $
+ */
+public class DirectoryArchiveImpl extends MemoryMapArchiveBase<DirectoryArchive> implements DirectoryArchive {
+
+    // -------------------------------------------------------------------------------------||
+    // Class Members ----------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Maximum number of paths whose kind is cached
+     */
+    static final int STAT_CACHE_SIZE = 256;
+
+    /**
+     * Coarsest resolution of file modification times (that of FAT), in milliseconds; the kinds of paths whose parent
+     * directory was modified more recently than this before the lookup are not trusted, as further changes may not
+     * alter its modification time
+     */
+    private static final long MODIFICATION_RESOLUTION = 2000L;
+
+    /**
+     * Kinds of mounted paths
+     */
+    private enum Kind {
+        MISSING, FILE, DIRECTORY
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Instance Members -------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Mounted directory
+     */
+    private final File root;
+
+    /**
+     * Mounted paths deleted from this archive, hiding them along with everything beneath them
+     */
+    private final Map<ArchivePath, Boolean> removed = new ConcurrentHashMap<ArchivePath, Boolean>();
+
+    /**
+     * Kinds of recently looked-up mounted paths, least recently used first; guarded by itself
+     */
+    private final Map<ArchivePath, Stat> stats = new LinkedHashMap<ArchivePath, Stat>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<ArchivePath, Stat> eldest) {
+            return this.size() > STAT_CACHE_SIZE;
+        }
+    };
+
+    // -------------------------------------------------------------------------------------||
+    // Constructor ------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Constructor
+     *
+     * This constructor will generate an {@link Archive} with the provided name, mounting the specified directory.
+     *
+     * @param archiveName
+     * @param configuration
+     *            The configuration for this archive
+     * @param root
+     *            The directory to mount
+     * @throws IllegalArgumentException
+     *             If any argument is not specified, or if the directory does not exist
+     */
+    public DirectoryArchiveImpl(final String archiveName, final Configuration configuration, final File root)
+        throws IllegalArgumentException {
+        super(archiveName, configuration);
+        Validate.notNull(root, "Directory must be specified");
+        if (!root.isDirectory()) {
+            throw new IllegalArgumentException("Directory to mount does not exist: " + root.getAbsolutePath());
+        }
+        this.root = root;
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Required Implementations - Archive -------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.impl.base.MemoryMapArchiveBase#add(org.jboss.shrinkwrap.api.asset.Asset,
+     *      org.jboss.shrinkwrap.api.ArchivePath)
+     */
+    @Override
+    public DirectoryArchive add(final Asset asset, final ArchivePath path) {
+        Validate.notNull(asset, "No asset was specified");
+        Validate.notNull(path, "No path was specified");
+        this.checkNotBeneathMountedFile(path);
+        return super.add(asset, path);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.impl.base.MemoryMapArchiveBase#addAsDirectory(org.jboss.shrinkwrap.api.ArchivePath)
+     */
+    @Override
+    public DirectoryArchive addAsDirectory(final ArchivePath path) throws IllegalArgumentException {
+        Validate.notNull(path, "path must be specified");
+        this.checkNotBeneathMountedFile(path);
+        return super.addAsDirectory(path);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.impl.base.MemoryMapArchiveBase#contains(org.jboss.shrinkwrap.api.ArchivePath)
+     */
+    @Override
+    public boolean contains(final ArchivePath path) {
+        Validate.notNull(path, "No path was specified");
+        return super.contains(path) || this.mountedKind(path) != Kind.MISSING;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.impl.base.MemoryMapArchiveBase#delete(org.jboss.shrinkwrap.api.ArchivePath)
+     */
+    @Override
+    public Node delete(final ArchivePath path) {
+        Validate.notNull(path, "No path was specified");
+        final ArchivePath safePath = new BasicPath(PathUtil.optionallyRemoveFollowingSlash(path.get()));
+        final Node node = this.get(safePath);
+        super.delete(safePath);
+        if (this.mountedKind(safePath) != Kind.MISSING) {
+            removed.put(safePath, Boolean.TRUE);
+        }
+        return node;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.impl.base.MemoryMapArchiveBase#get(org.jboss.shrinkwrap.api.ArchivePath)
+     */
+    @Override
+    public Node get(final ArchivePath path) {
+        Validate.notNull(path, "No path was specified");
+        final Node added = super.contains(path) ? super.get(path) : null;
+        if (added != null && added.getAsset() != null) {
+            return added;
+        }
+        final Kind kind = this.mountedKind(path);
+        if (added == null) {
+            if (kind == Kind.MISSING) {
+                return null;
+            }
+            if (kind == Kind.FILE) {
+                final Asset asset = this.assetOf(this.fileOf(path));
+                return asset == null ? null : new MountedNode(path, asset, null, false);
+            }
+        }
+        return new MountedNode(path, null, added, kind == Kind.DIRECTORY);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.impl.base.MemoryMapArchiveBase#getContent()
+     */
+    @Override
+    public Map<ArchivePath, Node> getContent() {
+        return Collections.unmodifiableMap(this.getContent(Filters.includeAll()));
+    }
+
+    /**
+     * {@inheritDoc} Walks the whole of the mounted directory.
+     *
+     * @see org.jboss.shrinkwrap.impl.base.MemoryMapArchiveBase#getContent(org.jboss.shrinkwrap.api.Filter)
+     */
+    @Override
+    public Map<ArchivePath, Node> getContent(final Filter<ArchivePath> filter) {
+        Validate.notNull(filter, "Filter must be specified");
+        final Map<ArchivePath, Node> content = new HashMap<ArchivePath, Node>();
+        for (final Map.Entry<ArchivePath, Node> entry : super.getContent(filter).entrySet()) {
+            final Node node = entry.getValue();
+            content.put(entry.getKey(), node.getAsset() == null ? this.get(entry.getKey()) : node);
+        }
+        if (!removed.containsKey(ArchivePaths.root())) {
+            this.walk(root, ArchivePaths.root(), filter, content);
+        }
+        return content;
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Required Implementations - Versioned -----------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * {@inheritDoc} The mounted directory is not tracked, so no version is known.
+     *
+     * @see org.jboss.shrinkwrap.impl.base.MemoryMapArchiveBase#getVersion()
+     */
+    @Override
+    public long getVersion() {
+        return -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.impl.base.ArchiveBase#getActualClass()
+     */
+    @Override
+    protected Class<DirectoryArchive> getActualClass() {
+        return DirectoryArchive.class;
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Internal Helper Methods ------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Obtains the mounted file of the specified path
+     */
+    private File fileOf(final ArchivePath path) {
+        final String relative = PathUtil.optionallyRemovePrecedingSlash(path.get());
+        return relative.length() == 0 ? root : new File(root, relative);
+    }
+
+    /**
+     * Obtains the kind of the mounted file of the specified path, or {@link Kind#MISSING} if there is none or it has
+     * been deleted from this archive
+     */
+    private Kind mountedKind(final ArchivePath path) {
+        if (this.isRemoved(path)) {
+            return Kind.MISSING;
+        }
+        final File file = this.fileOf(path);
+        // Read before the file itself, so that any change made after the lookup alters it
+        final long parentModified = lastModifiedOf(file.getParentFile());
+        final Stat stat;
+        synchronized (stats) {
+            stat = stats.get(path);
+        }
+        if (stat != null && stat.isValid(parentModified)) {
+            return stat.kind;
+        }
+        final Kind kind = file.isDirectory() ? Kind.DIRECTORY : file.isFile() ? Kind.FILE : Kind.MISSING;
+        this.cache(path, kind, parentModified);
+        return kind;
+    }
+
+    private void cache(final ArchivePath path, final Kind kind, final long parentModified) {
+        final Stat stat = new Stat(kind, parentModified, System.currentTimeMillis());
+        synchronized (stats) {
+            stats.put(path, stat);
+        }
+    }
+
+    private static long lastModifiedOf(final File directory) {
+        return directory == null ? 0L : directory.lastModified();
+    }
+
+    /**
+     * Obtains an {@link Asset} of the specified mounted file, or null if it is no longer present
+     */
+    private Asset assetOf(final File file) {
+        return file.isFile() ? new FileAsset(file) : null;
+    }
+
+    /**
+     * Whether the specified path, or any of its parents, has been deleted from this archive
+     */
+    private boolean isRemoved(final ArchivePath path) {
+        if (removed.isEmpty()) {
+            return false;
+        }
+        ArchivePath current = path;
+        while (current != null) {
+            if (removed.containsKey(current)) {
+                return true;
+            }
+            current = current.getParent();
+        }
+        return false;
+    }
+
+    /**
+     * Ensures that no parent of the specified path is a mounted file, mirroring the check made for content added to
+     * memory
+     *
+     * @throws IllegalArchivePathException
+     *             If a parent is a mounted file
+     */
+    private void checkNotBeneathMountedFile(final ArchivePath path) throws IllegalArchivePathException {
+        ArchivePath parent = path.getParent();
+        while (parent != null && !super.contains(parent)) {
+            final Kind kind = this.mountedKind(parent);
+            if (kind == Kind.FILE) {
+                throw new IllegalArchivePathException("Could not create node under " + parent.getParent()
+                    + ". It points to an asset.");
+            }
+            if (kind == Kind.DIRECTORY) {
+                return;
+            }
+            parent = parent.getParent();
+        }
+    }
+
+    /**
+     * Creates the node of the specified mounted file, listed from its parent directory of the specified modification
+     * time, or returns null if the file is no longer present
+     */
+    private Node mountedNode(final ArchivePath path, final File file, final boolean directory,
+        final long parentModified) {
+        if (directory) {
+            this.cache(path, Kind.DIRECTORY, parentModified);
+            return new MountedNode(path, null, null, true);
+        }
+        final Asset asset = this.assetOf(file);
+        this.cache(path, asset == null ? Kind.MISSING : Kind.FILE, parentModified);
+        return asset == null ? null : new MountedNode(path, asset, null, false);
+    }
+
+    /**
+     * Adds the nodes of all files beneath the specified mounted directory accepted by the filter and not already
+     * present in the content
+     */
+    private void walk(final File directory, final ArchivePath path, final Filter<ArchivePath> filter,
+        final Map<ArchivePath, Node> content) {
+        final long modified = directory.lastModified();
+        final File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (final File file : files) {
+            final ArchivePath childPath = new BasicPath(path, file.getName());
+            if (removed.containsKey(childPath)) {
+                continue;
+            }
+            final boolean isDirectory = file.isDirectory();
+            if (!content.containsKey(childPath) && filter.include(childPath)) {
+                final Node node = this.mountedNode(childPath, file, isDirectory, modified);
+                if (node != null) {
+                    content.put(childPath, node);
+                }
+            }
+            if (isDirectory) {
+                this.walk(file, childPath, filter, content);
+            }
+        }
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Inner Classes ----------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Kind of a mounted path, as looked up at a given modification time of its parent directory
+     */
+    private static final class Stat {
+
+        private final Kind kind;
+
+        private final long parentModified;
+
+        /**
+         * Time of the lookup
+         */
+        private final long checked;
+
+        Stat(final Kind kind, final long parentModified, final long checked) {
+            this.kind = kind;
+            this.parentModified = parentModified;
+            this.checked = checked;
+        }
+
+        /**
+         * Whether this kind still holds, given the current modification time of the parent directory
+         */
+        boolean isValid(final long currentParentModified) {
+            return currentParentModified == parentModified && parentModified + MODIFICATION_RESOLUTION < checked;
+        }
+    }
+
+    /**
+     * {@link Node} of a mounted file, or of a directory merging the content added to memory with that mounted; its
+     * children are listed upon request
+     */
+    private final class MountedNode implements Node {
+
+        private final ArchivePath path;
+
+        private final Asset asset;
+
+        /**
+         * Directory node held in memory, if any
+         */
+        private final Node added;
+
+        /**
+         * Whether a directory is mounted at the path
+         */
+        private final boolean mounted;
+
+        MountedNode(final ArchivePath path, final Asset asset, final Node added, final boolean mounted) {
+            this.path = path;
+            this.asset = asset;
+            this.added = added;
+            this.mounted = mounted;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @see org.jboss.shrinkwrap.api.Node#getAsset()
+         */
+        @Override
+        public Asset getAsset() {
+            return asset;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @see org.jboss.shrinkwrap.api.Node#getChildren()
+         */
+        @Override
+        public Set<Node> getChildren() {
+            if (asset != null) {
+                return Collections.emptySet();
+            }
+            final Map<ArchivePath, Node> children = new LinkedHashMap<ArchivePath, Node>();
+            if (added != null) {
+                for (final Node child : added.getChildren()) {
+                    final ArchivePath childPath = child.getPath();
+                    children.put(childPath, child.getAsset() == null ? DirectoryArchiveImpl.this.get(childPath)
+                        : child);
+                }
+            }
+            if (mounted) {
+                final File directory = DirectoryArchiveImpl.this.fileOf(path);
+                final long modified = directory.lastModified();
+                final File[] files = directory.listFiles();
+                if (files != null) {
+                    for (final File file : files) {
+                        final ArchivePath childPath = new BasicPath(path, file.getName());
+                        if (!children.containsKey(childPath) && !removed.containsKey(childPath)) {
+                            final Node child = DirectoryArchiveImpl.this.mountedNode(childPath, file,
+                                file.isDirectory(), modified);
+                            if (child != null) {
+                                children.put(childPath, child);
+                            }
+                        }
+                    }
+                }
+            }
+            return Collections.unmodifiableSet(new LinkedHashSet<Node>(children.values()));
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @see org.jboss.shrinkwrap.api.Node#getPath()
+         */
+        @Override
+        public ArchivePath getPath() {
+            return path;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @see java.lang.Object#equals(java.lang.Object)
+         */
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof Node && path.equals(((Node) obj).getPath());
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @see java.lang.Object#hashCode()
+         */
+        @Override
+        public int hashCode() {
+            return path.hashCode();
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @see java.lang.Object#toString()
+         */
+        @Override
+        public String toString() {
+            return path.get();
+        }
+    }
+}
@@ -26,6 +26,7 @@ import java.util.Map.Entry;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.jboss.shrinkwrap.api.Archive;
 import org.jboss.shrinkwrap.api.ArchiveEvent;
@@ -55,6 +56,15 @@ import org.jboss.shrinkwrap.impl.base.path.PathUtil;
  */
 public abstract class MemoryMapArchiveBase<T extends Archive<T>> extends ArchiveBase<T> implements Archive<T> {
 
+    // -------------------------------------------------------------------------------------||
+    // Class Members ----------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Source of modification versions shared by all archives, so a version is never handed out twice in this JVM
+     */
+    private static final AtomicLong VERSIONS = new AtomicLong();
+
     // -------------------------------------------------------------------------------------||
     // Instance Members -------------------------------------------------------------------||
     // -------------------------------------------------------------------------------------||
@@ -71,6 +81,11 @@ public abstract class MemoryMapArchiveBase<T extends Archive<T>> extends Archive
 
     private final List<ArchiveEventHandler> handlers = new ArrayList<ArchiveEventHandler>();
 
+    /**
+     * Version assigned upon the last modification of the {@link Node}s in this archive
+     */
+    private volatile long version = VERSIONS.incrementAndGet();
+
     // -------------------------------------------------------------------------------------||
     // Constructor ------------------------------------------------------------------------||
     // -------------------------------------------------------------------------------------||
@@ -140,33 +155,6 @@ public abstract class MemoryMapArchiveBase<T extends Archive<T>> extends Archive
         return this.add(archive, ArchivePaths.create(path), exporter);
     }
 
-    /**
-     * {@inheritDoc}
-     *
-     * @see org.jboss.shrinkwrap.impl.base.ArchiveBase#add(org.jboss.shrinkwrap.api.Archive,
-     *      org.jboss.shrinkwrap.api.ArchivePath, java.lang.Class)
-     */
-    @Override
-    public T add(final Archive<?> archive, final ArchivePath path, final Class<? extends StreamExporter> exporter) {
-        // Add archive asset
-        super.add(archive, path, exporter);
-
-        // Expected Archive Path
-        final ArchivePath archivePath = new BasicPath(path, archive.getName());
-
-        // Get the Asset that was just added
-        final Node node = get(archivePath);
-
-        // Make sure it is an ArchiveAsset
-        if (node.getAsset() != null && node.getAsset() instanceof ArchiveAsset) {
-            final ArchiveAsset archiveAsset = ArchiveAsset.class.cast(node.getAsset());
-            // Add asset to ArchiveAsset Map
-            nestedArchives.put(archivePath, archiveAsset);
-        }
-
-        return covariantReturn();
-    }
-
     /**
      * {@inheritDoc}
      *
@@ -217,8 +205,20 @@ public abstract class MemoryMapArchiveBase<T extends Archive<T>> extends Archive
         // Add the new node to the parent as a child
         final NodeImpl parentNode = obtainParent(path.getParent());
         if (parentNode != null) {
+            // Replace any node being overwritten
+            parentNode.removeChild(newNode);
             parentNode.addChild(newNode);
         }
+
+        // Track nested archives, forgetting any which may have been overwritten
+        if (handledAsset instanceof ArchiveAsset) {
+            nestedArchives.put(path, (ArchiveAsset) handledAsset);
+        } else {
+            nestedArchives.remove(path);
+        }
+
+        invalidateDigests(path.getParent());
+        version = VERSIONS.incrementAndGet();
     }
 
     /**
@@ -306,18 +306,46 @@ public abstract class MemoryMapArchiveBase<T extends Archive<T>> extends Archive
         if (parentNode != null) {
             parentNode.removeChild(node);
         }
-        // Recursively delete children if present
-        if (node.getChildren() != null) {
-            final Set<Node> children = node.getChildren();
-
-            // can't remove from collection inside of the iteration
-            final Set<Node> childrenCopy = new HashSet<Node>(children);
-            for (Node child : childrenCopy) {
-                node.removeChild(child);
-                content.remove(child.getPath());
+        removeChildrenRecursively(node);
+        nestedArchives.remove(path);
+        final Node removed = content.remove(path);
+        invalidateDigests(path.getParent());
+        version = VERSIONS.incrementAndGet();
+        return removed;
+    }
+
+    /**
+     * Invalidates the cached content digests of the directory at the specified path and all of its parents
+     *
+     * @param path
+     */
+    private void invalidateDigests(final ArchivePath path) {
+        ArchivePath current = path;
+        while (current != null) {
+            final NodeImpl node = content.get(current);
+            if (node != null) {
+                node.invalidateDigest();
+            }
+            current = current.getParent();
+        }
+    }
+
+    /**
+     * Removes all descendants of the specified node from the contents of this archive
+     *
+     * @param node
+     */
+    private void removeChildrenRecursively(final NodeImpl node) {
+        // can't remove from collection inside of the iteration
+        final Set<Node> childrenCopy = new HashSet<Node>(node.getChildren());
+        for (Node child : childrenCopy) {
+            node.removeChild(child);
+            final NodeImpl childNode = content.remove(child.getPath());
+            nestedArchives.remove(child.getPath());
+            if (childNode != null) {
+                removeChildrenRecursively(childNode);
             }
         }
-        return content.remove(path);
     }
 
     /**
@@ -383,6 +411,28 @@ public abstract class MemoryMapArchiveBase<T extends Archive<T>> extends Archive
         return filteredContent;
     }
 
+    // -------------------------------------------------------------------------------------||
+    // Required Implementations - Versioned -----------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * {@inheritDoc} Accounts for changes made to any nested archives as well.
+     *
+     * @see org.jboss.shrinkwrap.spi.Versioned#getVersion()
+     */
+    @Override
+    public long getVersion() {
+        long current = version;
+        for (final ArchiveAsset nestedArchive : nestedArchives.values()) {
+            final long nestedVersion = VersionedArchiveImpl.versionOf(nestedArchive.getArchive());
+            if (nestedVersion < 0) {
+                return -1;
+            }
+            current = Math.max(current, nestedVersion);
+        }
+        return current;
+    }
+
     // -------------------------------------------------------------------------------------||
     // Internal Helper Methods ------------------------------------------------------------||
     // -------------------------------------------------------------------------------------||
@@ -51,6 +51,21 @@ public class NodeImpl implements Node {
      */
     private Set<Node> children = Collections.synchronizedSet(new HashSet<Node>());
 
+    /**
+     * Cached content digest, or null if not yet computed or invalidated
+     */
+    private byte[] digest;
+
+    /**
+     * State of the content from which {@link NodeImpl#digest} was computed
+     */
+    private Object digestValidator;
+
+    /**
+     * Incremented upon every invalidation, so that digests computed concurrently with a change are not cached
+     */
+    private int digestGeneration;
+
     // -------------------------------------------------------------------------------------||
     // Constructor ------------------------------------------------------------------------||
     // -------------------------------------------------------------------------------------||
@@ -138,6 +153,53 @@ public class NodeImpl implements Node {
         children.remove(node);
     }
 
+    /**
+     * Obtains the current digest generation, to be passed to {@link NodeImpl#cacheDigest(int, Object, byte[])} once a
+     * digest has been computed
+     *
+     * @return
+     */
+    synchronized int getDigestGeneration() {
+        return digestGeneration;
+    }
+
+    /**
+     * Obtains the cached digest if it was computed from content in the state denoted by the specified validator, else
+     * null
+     *
+     * @param validator
+     * @return
+     */
+    synchronized byte[] getCachedDigest(final Object validator) {
+        if (digest == null || !digestValidator.equals(validator)) {
+            return null;
+        }
+        return digest;
+    }
+
+    /**
+     * Caches the specified digest unless this node has been invalidated since the specified generation was obtained
+     *
+     * @param generation
+     * @param validator
+     * @param digest
+     */
+    synchronized void cacheDigest(final int generation, final Object validator, final byte[] digest) {
+        if (generation == digestGeneration) {
+            this.digestValidator = validator;
+            this.digest = digest;
+        }
+    }
+
+    /**
+     * Discards the cached digest, to be called whenever the children of this node change
+     */
+    synchronized void invalidateDigest() {
+        digestGeneration++;
+        digest = null;
+        digestValidator = null;
+    }
+
     /*
      * (non-Javadoc)
      *
@@ -0,0 +1,519 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.logging.Logger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+/**
+ * Index of the classes visible to a {@link ClassLoader} by package, backing {@link URLPackageScanner}. The classpath
+ * locations of a package are looked up through {@link ClassLoader#getResources(String)} once; the entries of each
+ * JAR are enumerated once, and each directory listed once, for all packages. JAR indexes are rebuilt when the
+ * modification time or length of their file changes, and directory listings when the modification time of their
+ * directory changes. The nested classes of each class are indexed alongside, for lookup by their enclosing class.
+ * Indexes are held per {@link ClassLoader}, weakly, so that discarded class loaders release theirs. Thread-safe;
+ * locations may be scanned concurrently, each JAR and each directory by a task of its own.
+ *
+ * @version $Revision: $
+ */
+public final class PackageIndex {
+
+    // -------------------------------------------------------------------------------------||
+    // Class Members ----------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    private static final Logger log = Logger.getLogger(PackageIndex.class.getName());
+
+    /**
+     * Extension of class files
+     */
+    private static final String EXTENSION_CLASS = ".class";
+
+    /**
+     * Indexes by their {@link ClassLoader}
+     */
+    private static final Map<ClassLoader, PackageIndex> INDICES = new WeakHashMap<ClassLoader, PackageIndex>();
+
+    // -------------------------------------------------------------------------------------||
+    // Instance Members -------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * The indexed {@link ClassLoader}; weakly held, as this index is the value of its key in {@link #INDICES}
+     */
+    private final WeakReference<ClassLoader> classLoader;
+
+    /**
+     * Classpath locations, JAR files or directories, by package path
+     */
+    private final ConcurrentMap<String, List<File>> locations = new ConcurrentHashMap<String, List<File>>();
+
+    /**
+     * Indexes of JAR files by file
+     */
+    private final ConcurrentMap<File, JarIndex> jars = new ConcurrentHashMap<File, JarIndex>();
+
+    /**
+     * Listings of directories by directory
+     */
+    private final ConcurrentMap<File, DirectoryListing> directories = new ConcurrentHashMap<File, DirectoryListing>();
+
+    // -------------------------------------------------------------------------------------||
+    // Constructor ------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    private PackageIndex(final ClassLoader classLoader) {
+        this.classLoader = new WeakReference<ClassLoader>(classLoader);
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Functional Methods -----------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Obtains the index of the classes visible to the specified {@link ClassLoader}
+     *
+     * @param classLoader
+     * @return
+     * @throws IllegalArgumentException
+     *             If the class loader is not specified
+     */
+    public static PackageIndex forClassLoader(final ClassLoader classLoader) throws IllegalArgumentException {
+        Validate.notNull(classLoader, "ClassLoader must be specified");
+        synchronized (INDICES) {
+            PackageIndex index = INDICES.get(classLoader);
+            if (index == null) {
+                index = new PackageIndex(classLoader);
+                INDICES.put(classLoader, index);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Obtains the fully-qualified names of the classes of the specified package, in any of its classpath locations
+     *
+     * @param packageName
+     *            Name of the package, empty for the default package
+     * @param recursive
+     *            Whether to include the classes of child packages
+     * @return
+     * @throws IOException
+     *             If the locations of the package could not be looked up, or a JAR file could not be read
+     * @throws IllegalArgumentException
+     *             If the package name is not specified
+     */
+    public List<String> getClassNames(final String packageName, final boolean recursive) throws IOException,
+        IllegalArgumentException {
+        return this.getClassNames(packageName, recursive, null);
+    }
+
+    /**
+     * Obtains the fully-qualified names of the classes of the specified package, in any of its classpath locations,
+     * scanning the locations, and the child directories of directory locations if recursive, concurrently on the
+     * specified executor. The names are returned in the same order whatever the executor.
+     *
+     * @param packageName
+     *            Name of the package, empty for the default package
+     * @param recursive
+     *            Whether to include the classes of child packages
+     * @param executor
+     *            Executor on which to scan, or null to scan on the calling thread
+     * @return
+     * @throws IOException
+     *             If the locations of the package could not be looked up, or a JAR file could not be read
+     * @throws IllegalArgumentException
+     *             If the package name is not specified
+     */
+    public List<String> getClassNames(final String packageName, final boolean recursive,
+        final ExecutorService executor) throws IOException, IllegalArgumentException {
+        Validate.notNull(packageName, "Package name must be specified");
+        final String packagePath = packageName.replace('.', '/');
+        final List<String> classNames = new ArrayList<String>();
+        final LinkedList<Future<Scan>> scans = new LinkedList<Future<Scan>>();
+        try {
+            for (final File location : this.getLocations(packagePath)) {
+                scans.add(this.scan(location, packageName, recursive, executor));
+            }
+            // Merge in the order of the locations, then of the directories beneath
+            while (!scans.isEmpty()) {
+                final Scan scan = scans.removeFirst().get();
+                classNames.addAll(scan.classNames);
+                for (final Map.Entry<File, String> child : scan.children.entrySet()) {
+                    scans.add(this.scan(child.getKey(), child.getValue(), true, executor));
+                }
+            }
+        } catch (final ExecutionException ee) {
+            final Throwable cause = ee.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException("Could not scan package " + packageName, cause);
+        } catch (final InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted scanning package " + packageName);
+        } finally {
+            for (final Future<Scan> scan : scans) {
+                scan.cancel(true);
+            }
+        }
+        return classNames;
+    }
+
+    /**
+     * Obtains the fully-qualified names of the nested (inner, local and anonymous) classes of the specified class, at
+     * any depth, in any of the classpath locations of its package; those of class <code>a.Outer</code> being named
+     * <code>a.Outer$*</code>
+     *
+     * @param className
+     *            Fully-qualified name of the enclosing class
+     * @return
+     * @throws IOException
+     *             If the locations of the package could not be looked up, or a JAR file could not be read
+     * @throws IllegalArgumentException
+     *             If the class name is not specified
+     */
+    public List<String> getNestedClassNames(final String className) throws IOException, IllegalArgumentException {
+        Validate.notNull(className, "Class name must be specified");
+        final int separator = className.lastIndexOf('.');
+        final String packageName = separator == -1 ? "" : className.substring(0, separator);
+        final String simpleName = className.substring(separator + 1);
+        final List<String> classNames = new ArrayList<String>();
+        for (final File location : this.getLocations(packageName.replace('.', '/'))) {
+            final List<String> nested;
+            if (location.isDirectory()) {
+                nested = this.getDirectoryListing(location).nestedClassNames.get(simpleName);
+                if (nested != null) {
+                    final String packagePrefix = separator == -1 ? "" : packageName + ".";
+                    for (final String nestedName : nested) {
+                        classNames.add(packagePrefix + nestedName);
+                    }
+                }
+            } else {
+                nested = this.getJarIndex(location).nestedClassNames.get(className);
+                if (nested != null) {
+                    classNames.addAll(nested);
+                }
+            }
+        }
+        return classNames;
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Internal Helper Methods ------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Registers the specified class name under the name of each of its enclosing classes, if nested
+     */
+    private static void addNested(final Map<String, List<String>> nestedClassNames, final String className) {
+        // A leading '$' is part of the name of a top-level class
+        int separator = className.indexOf('$', className.lastIndexOf('.') + 2);
+        while (separator != -1) {
+            final String enclosing = className.substring(0, separator);
+            List<String> names = nestedClassNames.get(enclosing);
+            if (names == null) {
+                names = new ArrayList<String>();
+                nestedClassNames.put(enclosing, names);
+            }
+            names.add(className);
+            separator = className.indexOf('$', separator + 1);
+        }
+    }
+
+    /**
+     * Obtains the package directories, and the JAR files holding the package, of the specified package path
+     */
+    private List<File> getLocations(final String packagePath) throws IOException {
+        List<File> files = this.locations.get(packagePath);
+        if (files != null) {
+            return files;
+        }
+
+        final ClassLoader classLoader = this.classLoader.get();
+        if (classLoader == null) {
+            return Collections.emptyList();
+        }
+        final Set<File> found = new LinkedHashSet<File>();
+        final Enumeration<URL> urls = classLoader.getResources(packagePath);
+        while (urls.hasMoreElements()) {
+            String urlPath = URLDecoder.decode(urls.nextElement().getFile(), "UTF-8");
+            if (urlPath.startsWith("file:")) {
+                urlPath = urlPath.substring(5);
+            }
+            if (urlPath.indexOf('!') > 0) {
+                urlPath = urlPath.substring(0, urlPath.indexOf('!'));
+            }
+            found.add(new File(urlPath));
+        }
+        files = Collections.unmodifiableList(new ArrayList<File>(found));
+        this.locations.put(packagePath, files);
+        return files;
+    }
+
+    /**
+     * Obtains the index of the specified JAR file, (re)building it if not current
+     */
+    private JarIndex getJarIndex(final File file) throws IOException {
+        final JarIndex cached = this.jars.get(file);
+        if (cached != null && cached.isCurrent(file)) {
+            return cached;
+        }
+        final JarIndex index = JarIndex.build(file);
+        this.jars.put(file, index);
+        return index;
+    }
+
+    /**
+     * Scans the specified location on the specified executor, or at once if none is specified
+     *
+     * @param location
+     *            A JAR file, or the directory of the package
+     * @param packageName
+     * @param recursive
+     * @param executor
+     * @return
+     */
+    private Future<Scan> scan(final File location, final String packageName, final boolean recursive,
+        final ExecutorService executor) {
+        final FutureTask<Scan> scan = new FutureTask<Scan>(new Callable<Scan>() {
+            @Override
+            public Scan call() throws IOException {
+                log.fine("scanning: " + location);
+                if (location.isDirectory()) {
+                    return scanDirectory(location, packageName, recursive);
+                }
+                final Scan scan = new Scan();
+                getJarIndex(location).collect(packageName.replace('.', '/'), recursive, scan.classNames);
+                return scan;
+            }
+        });
+        if (executor == null) {
+            scan.run();
+        } else {
+            executor.execute(scan);
+        }
+        return scan;
+    }
+
+    /**
+     * Scans the classes in the specified package directory, and its child directories if recursive, to be scanned in
+     * turn
+     */
+    private Scan scanDirectory(final File directory, final String packageName, final boolean recursive) {
+        final DirectoryListing listing = this.getDirectoryListing(directory);
+        final String packagePrefix = packageName.length() > 0 ? packageName + "." : packageName;
+        final Scan scan = new Scan();
+        for (final String simpleName : listing.classNames) {
+            scan.classNames.add(packagePrefix + simpleName);
+        }
+        if (recursive) {
+            for (final String child : listing.directories) {
+                scan.children.put(new File(directory, child), packagePrefix + child);
+            }
+        }
+        return scan;
+    }
+
+    /**
+     * Obtains the listing of the specified directory, listing it again if modified since
+     */
+    private DirectoryListing getDirectoryListing(final File directory) {
+        final long lastModified = directory.lastModified();
+        final DirectoryListing cached = this.directories.get(directory);
+        if (cached != null && cached.lastModified == lastModified) {
+            return cached;
+        }
+        final DirectoryListing listing = new DirectoryListing(directory, lastModified);
+        this.directories.put(directory, listing);
+        return listing;
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Inner Classes ----------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Names of the classes of a JAR file by package path
+     */
+    private static final class JarIndex {
+
+        private final long lastModified;
+
+        private final long length;
+
+        /**
+         * Fully-qualified class names by package path, the default package being the empty path
+         */
+        private final SortedMap<String, List<String>> classNames;
+
+        /**
+         * Fully-qualified names of nested classes by that of each of their enclosing classes
+         */
+        private final Map<String, List<String>> nestedClassNames = new HashMap<String, List<String>>();
+
+        private JarIndex(final long lastModified, final long length, final SortedMap<String, List<String>> classNames) {
+            this.lastModified = lastModified;
+            this.length = length;
+            this.classNames = classNames;
+            for (final List<String> names : classNames.values()) {
+                for (final String name : names) {
+                    addNested(nestedClassNames, name);
+                }
+            }
+        }
+
+        static JarIndex build(final File file) throws IOException {
+            log.fine("archive: " + file);
+            final long lastModified = file.lastModified();
+            final long length = file.length();
+            final SortedMap<String, List<String>> classNames = new TreeMap<String, List<String>>();
+            final ZipFile zip;
+            try {
+                zip = new ZipFile(file);
+            } catch (final ZipException e) {
+                throw new RuntimeException("Error handling file " + file, e);
+            }
+            try {
+                final Enumeration<? extends ZipEntry> entries = zip.entries();
+                while (entries.hasMoreElements()) {
+                    final String name = entries.nextElement().getName();
+                    if (!name.endsWith(EXTENSION_CLASS)) {
+                        continue;
+                    }
+                    final int separator = name.lastIndexOf('/');
+                    final String packagePath = separator == -1 ? "" : name.substring(0, separator);
+                    List<String> names = classNames.get(packagePath);
+                    if (names == null) {
+                        names = new ArrayList<String>();
+                        classNames.put(packagePath, names);
+                    }
+                    names.add(name.substring(0, name.length() - EXTENSION_CLASS.length()).replace('/', '.'));
+                }
+            } finally {
+                zip.close();
+            }
+            return new JarIndex(lastModified, length, classNames);
+        }
+
+        boolean isCurrent(final File file) {
+            return file.lastModified() == lastModified && file.length() == length;
+        }
+
+        /**
+         * Adds the names of the classes of the specified package, and those of its children if recursive
+         */
+        void collect(final String packagePath, final boolean recursive, final List<String> names) {
+            if (!recursive) {
+                final List<String> found = classNames.get(packagePath);
+                if (found != null) {
+                    names.addAll(found);
+                }
+                return;
+            }
+            // Children follow the package itself, up to the character after the separator
+            final Map<String, List<String>> packages = packagePath.length() == 0 ? classNames : classNames.subMap(
+                packagePath, packagePath + (char) ('/' + 1));
+            for (final Map.Entry<String, List<String>> entry : packages.entrySet()) {
+                final String path = entry.getKey();
+                if (path.length() == packagePath.length() || path.charAt(packagePath.length()) == '/') {
+                    names.addAll(entry.getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * Result of scanning a classpath location: the names of its classes, and the child directories yet to be scanned
+     * with their package names
+     */
+    private static final class Scan {
+
+        private final List<String> classNames = new ArrayList<String>();
+
+        private final Map<File, String> children = new LinkedHashMap<File, String>();
+    }
+
+    /**
+     * Simple names of the classes and child directories of a directory
+     */
+    private static final class DirectoryListing {
+
+        private final long lastModified;
+
+        private final List<String> classNames = new ArrayList<String>();
+
+        private final List<String> directories = new ArrayList<String>();
+
+        /**
+         * Simple names of nested classes by that of each of their enclosing classes
+         */
+        private final Map<String, List<String>> nestedClassNames = new HashMap<String, List<String>>();
+
+        DirectoryListing(final File directory, final long lastModified) {
+            this.lastModified = lastModified;
+            final File[] children = directory.listFiles();
+            if (children == null) {
+                return;
+            }
+            for (final File child : children) {
+                final String name = child.getName();
+                if (child.isDirectory()) {
+                    directories.add(name);
+                } else if (name.endsWith(EXTENSION_CLASS)) {
+                    final String className = name.substring(0, name.length() - EXTENSION_CLASS.length());
+                    classNames.add(className);
+                    addNested(nestedClassNames, className);
+                }
+            }
+        }
+    }
+}
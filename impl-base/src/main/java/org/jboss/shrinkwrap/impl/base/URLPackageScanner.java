@@ -16,24 +16,15 @@
  */
 package org.jboss.shrinkwrap.impl.base;
 
-import java.io.File;
 import java.io.IOException;
-import java.net.URL;
 import java.net.URLClassLoader;
-import java.net.URLDecoder;
-import java.util.Collections;
-import java.util.Enumeration;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipException;
-import java.util.zip.ZipFile;
 
 /**
- * Implementation of scanner which can scan a {@link URLClassLoader}
+ * Implementation of scanner which can scan a {@link URLClassLoader}, through the {@link PackageIndex} of the class
+ * loader
  *
  * @author Thomas Heute
  * @author Gavin King
@@ -52,8 +43,6 @@ public class URLPackageScanner {
 
     private final String packageName;
 
-    private final String packageNamePath;
-
     private final boolean addRecursively;
 
     private final ClassLoader classLoader;
@@ -103,74 +92,30 @@ public class URLPackageScanner {
 
     private URLPackageScanner(String packageName, boolean addRecursively, ClassLoader classLoader, Callback callback) {
         this.packageName = packageName;
-        this.packageNamePath = packageName.replace(".", "/");
         this.addRecursively = addRecursively;
         this.classLoader = classLoader;
         this.callback = callback;
     }
 
     public void scanPackage() {
-        try {
-            Set<String> paths = new HashSet<String>();
-
-            for (URL url : loadResources(packageNamePath)) {
-                String urlPath = url.getFile();
-                urlPath = URLDecoder.decode(urlPath, "UTF-8");
-                if (urlPath.startsWith("file:")) {
-                    urlPath = urlPath.substring(5);
-                }
-                if (urlPath.indexOf('!') > 0) {
-                    urlPath = urlPath.substring(0, urlPath.indexOf('!'));
-                }
-                paths.add(urlPath);
-            }
-            handle(paths);
-        } catch (IOException ioe) {
-            log.log(Level.WARNING, "could not read: " + packageName, ioe);
-        } catch (ClassNotFoundException ioe) {
-            log.log(Level.WARNING, "Class coud not be loaded in package: " + packageName, ioe);
-        }
+        scanPackage(null);
     }
 
-    private void handleArchiveByFile(File file) throws IOException, ClassNotFoundException {
+    /**
+     * Scans the package, the classpath locations and directories of which are scanned concurrently on the specified
+     * executor, if any. Found classes are reported to the callback on the calling thread, once all are scanned.
+     *
+     * @param executor
+     *            Executor on which to scan, or null to scan on the calling thread
+     */
+    public void scanPackage(final ExecutorService executor) {
         try {
-            log.fine("archive: " + file);
-            ZipFile zip = new ZipFile(file);
-            Enumeration<? extends ZipEntry> entries = zip.entries();
-            while (entries.hasMoreElements()) {
-                ZipEntry entry = entries.nextElement();
-                String name = entry.getName();
-                if (name.startsWith(packageNamePath) && name.endsWith(".class")
-                    && (addRecursively || !name.substring(packageNamePath.length() + 1).contains("/"))) {
-                    String className = name.replace("/", ".").substring(0, name.length() - ".class".length());
-                    foundClass(className);
-                }
-            }
-        } catch (ZipException e) {
-            throw new RuntimeException("Error handling file " + file, e);
-        }
-    }
-
-    private void handle(Set<String> paths) throws IOException, ClassNotFoundException {
-        for (String urlPath : paths) {
-            log.fine("scanning: " + urlPath);
-            File file = new File(urlPath);
-            if (file.isDirectory()) {
-                handle(file, packageName);
-            } else {
-                handleArchiveByFile(file);
-            }
-        }
-    }
-
-    private void handle(File file, String packageName) throws ClassNotFoundException {
-        for (File child : file.listFiles()) {
-            if (!child.isDirectory() && child.getName().endsWith(".class")) {
-                final String packagePrefix = packageName.length() > 0 ? packageName + "." : packageName;
-                foundClass(packagePrefix + child.getName().substring(0, child.getName().lastIndexOf(".class")));
-            } else if (child.isDirectory() && addRecursively) {
-                handle(child, packageName + "." + child.getName());
+            for (final String className : PackageIndex.forClassLoader(classLoader).getClassNames(packageName,
+                addRecursively, executor)) {
+                foundClass(className);
             }
+        } catch (IOException ioe) {
+            log.log(Level.WARNING, "could not read: " + packageName, ioe);
         }
     }
 
@@ -178,10 +123,6 @@ public class URLPackageScanner {
         callback.classFound(className);
     }
 
-    private List<URL> loadResources(String name) throws IOException {
-        return Collections.list(classLoader.getResources(name));
-    }
-
     /**
      * Callback interface for found classes.
      *
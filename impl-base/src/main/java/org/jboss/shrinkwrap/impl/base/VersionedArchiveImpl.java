@@ -0,0 +1,63 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base;
+
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.Assignable;
+import org.jboss.shrinkwrap.spi.Versioned;
+
+/**
+ * {@link Assignable} implementation view of a {@link Versioned}.
+ *
+ * @version $Revision: $
+ */
+public class VersionedArchiveImpl extends AssignableBase<ArchiveBase<?>> implements Versioned {
+
+    /**
+     * Obtains the modification version of the specified {@link Archive}, or -1 if the archive may not be viewed as
+     * {@link Versioned}
+     *
+     * @param archive
+     * @return
+     * @throws IllegalArgumentException
+     *             If the archive is not specified
+     */
+    public static long versionOf(final Archive<?> archive) throws IllegalArgumentException {
+        Validate.notNull(archive, "archive must be specified");
+        final Versioned versioned;
+        try {
+            versioned = archive.as(Versioned.class);
+        } catch (final RuntimeException re) {
+            // Not backed by an extension loader that knows about us
+            return -1;
+        }
+        if (versioned == null) {
+            return -1;
+        }
+        return versioned.getVersion();
+    }
+
+    public VersionedArchiveImpl(final ArchiveBase<?> archive) {
+        super(archive);
+    }
+
+    @Override
+    public long getVersion() {
+        return this.getArchive().getVersion();
+    }
+
+}
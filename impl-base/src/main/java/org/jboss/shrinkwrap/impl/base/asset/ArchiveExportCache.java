@@ -0,0 +1,207 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base.asset;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.jboss.shrinkwrap.api.Configuration;
+import org.jboss.shrinkwrap.impl.base.ContentDigestImpl;
+import org.jboss.shrinkwrap.impl.base.Validate;
+
+/**
+ * Size-bounded, least-recently-used cache of the exported form of nested archives. Entries are keyed by the archive ID
+ * and the exporter type, and carry the state of the archive at the time of export (see
+ * {@link ContentDigestImpl#stateOf(org.jboss.shrinkwrap.api.Archive)}); a lookup under any other state misses, so
+ * changing an archive or the content of its assets invalidates its entry implicitly. One cache exists per
+ * {@link Configuration}, sized according to {@link Configuration#getArchiveAssetCacheSize()}. Thread-safe.
+ *
+ * @version $Revision: $
+ */
+final class ArchiveExportCache {
+
+    // -------------------------------------------------------------------------------------||
+    // Class Members ----------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Caches by their owning {@link Configuration}; weakly held so that discarded domains release their cache
+     */
+    private static final Map<Configuration, ArchiveExportCache> CACHES = new WeakHashMap<Configuration, ArchiveExportCache>();
+
+    // -------------------------------------------------------------------------------------||
+    // Instance Members -------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Upper bound of the summed length of all cached exports
+     */
+    private final long maxSize;
+
+    /**
+     * Summed length of all cached exports
+     */
+    private long size;
+
+    /**
+     * Cached exports in access order, eldest first
+     */
+    private final Map<Key, Entry> entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true);
+
+    // -------------------------------------------------------------------------------------||
+    // Constructor ------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Creates a new cache holding at most the specified number of bytes
+     *
+     * @param maxSize
+     */
+    ArchiveExportCache(final long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Functional Methods -----------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Obtains the cache shared by all archives of the specified {@link Configuration}
+     *
+     * @param configuration
+     * @return
+     * @throws IllegalArgumentException
+     *             If the configuration is not specified
+     */
+    static ArchiveExportCache forConfiguration(final Configuration configuration) throws IllegalArgumentException {
+        Validate.notNull(configuration, "configuration must be specified");
+        synchronized (CACHES) {
+            ArchiveExportCache cache = CACHES.get(configuration);
+            if (cache == null) {
+                cache = new ArchiveExportCache(configuration.getArchiveAssetCacheSize());
+                CACHES.put(configuration, cache);
+            }
+            return cache;
+        }
+    }
+
+    /**
+     * @return the maximum number of bytes held by this cache
+     */
+    long getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @return the number of bytes currently held by this cache
+     */
+    synchronized long getSize() {
+        return size;
+    }
+
+    /**
+     * Obtains the cached export of the specified archive, or null if there is none for the specified state
+     *
+     * @param archiveId
+     * @param exporter
+     * @param state
+     * @return
+     */
+    synchronized byte[] get(final String archiveId, final Class<?> exporter, final Object state) {
+        final Entry entry = entries.get(new Key(archiveId, exporter));
+        if (entry == null || !entry.state.equals(state)) {
+            return null;
+        }
+        return entry.content;
+    }
+
+    /**
+     * Caches the export of the specified archive in the specified state, replacing any export of other states and
+     * evicting the least recently used exports as needed to stay within bounds. Exports larger than the cache itself
+     * are ignored.
+     *
+     * @param archiveId
+     * @param exporter
+     * @param state
+     * @param content
+     */
+    synchronized void put(final String archiveId, final Class<?> exporter, final Object state, final byte[] content) {
+        if (content.length > maxSize) {
+            return;
+        }
+        final Entry previous = entries.put(new Key(archiveId, exporter), new Entry(state, content));
+        if (previous != null) {
+            size -= previous.content.length;
+        }
+        size += content.length;
+
+        // Evict eldest first
+        final Iterator<Entry> eldest = entries.values().iterator();
+        while (size > maxSize && eldest.hasNext()) {
+            size -= eldest.next().content.length;
+            eldest.remove();
+        }
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Inner Classes ----------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Identity of a cached export. The exporter is held by name so as not to pin its {@link ClassLoader}.
+     */
+    private static final class Key {
+        private final String archiveId;
+
+        private final String exporter;
+
+        Key(final String archiveId, final Class<?> exporter) {
+            this.archiveId = archiveId;
+            this.exporter = exporter.getName();
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * archiveId.hashCode() + exporter.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            return archiveId.equals(other.archiveId) && exporter.equals(other.exporter);
+        }
+    }
+
+    /**
+     * Exported content along with the archive state it represents
+     */
+    private static final class Entry {
+        private final Object state;
+
+        private final byte[] content;
+
+        Entry(final Object state, final byte[] content) {
+            this.state = state;
+            this.content = content;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base.asset;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.Configuration;
+import org.jboss.shrinkwrap.api.asset.ArchiveAsset;
+import org.jboss.shrinkwrap.api.exporter.ArchiveExportException;
+import org.jboss.shrinkwrap.api.exporter.StreamExporter;
+import org.jboss.shrinkwrap.impl.base.ContentDigestImpl;
+import org.jboss.shrinkwrap.impl.base.Validate;
+import org.jboss.shrinkwrap.impl.base.io.IOUtil;
+import org.jboss.shrinkwrap.spi.Versioned;
+
+/**
+ * {@link ArchiveAsset} which remembers the exported form of its {@link Archive}, so that exporting an enclosing
+ * archive repeatedly does not re-export nested archives which have not changed in the meantime. Exports are held in
+ * the size-bounded cache of the {@link Configuration} under which the asset was created. Archives whose state cannot
+ * be known (see {@link ContentDigestImpl#stateOf(Archive)}), such as those which may not be viewed as
+ * {@link Versioned} or which hold assets of a type whose changes are not detected, are always exported anew.
+ *
+ * @version $Revision: $
+ */
+public class CachedArchiveAsset extends ArchiveAsset {
+
+    // -------------------------------------------------------------------------------------||
+    // Class Members ----------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Size of the buffer used when reading an export
+     */
+    private static final int BUFFER_SIZE = 8192;
+
+    // -------------------------------------------------------------------------------------||
+    // Instance Members -------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Cache in which exports are held
+     */
+    private final ArchiveExportCache cache;
+
+    // -------------------------------------------------------------------------------------||
+    // Constructor ------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Creates a new instance wrapping the specified {@link Archive}, which will use the specified
+     * {@link StreamExporter} and hold exports in the cache of the specified {@link Configuration}
+     *
+     * @param archive
+     * @param exporter
+     * @param configuration
+     * @throws IllegalArgumentException
+     *             If any argument is not specified
+     */
+    public CachedArchiveAsset(final Archive<?> archive, final Class<? extends StreamExporter> exporter,
+        final Configuration configuration) throws IllegalArgumentException {
+        super(archive, exporter);
+        Validate.notNull(configuration, "configuration must be specified");
+        this.cache = ArchiveExportCache.forConfiguration(configuration);
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Required Implementations -----------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.asset.ArchiveAsset#openStream()
+     */
+    @Override
+    public InputStream openStream() {
+        final long maxSize = cache.getMaxSize();
+        final Object state = maxSize > 0 ? ContentDigestImpl.stateOf(getArchive()) : null;
+        if (state == null) {
+            return super.openStream();
+        }
+
+        // Serve from the cache if the archive has not changed since last exported
+        final String archiveId = getArchive().getId();
+        final byte[] cached = cache.get(archiveId, getExporter(), state);
+        if (cached != null) {
+            return new ByteArrayInputStream(cached);
+        }
+
+        // Buffer the export as long as it may still fit in the cache
+        final InputStream export = super.openStream();
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream(BUFFER_SIZE);
+        final byte[] chunk = new byte[BUFFER_SIZE];
+        boolean complete = false;
+        try {
+            while (buffer.size() <= maxSize) {
+                final int read = export.read(chunk);
+                if (read == -1) {
+                    complete = true;
+                    break;
+                }
+                buffer.write(chunk, 0, read);
+            }
+        } catch (final IOException ioe) {
+            IOUtil.closeQuietly(export);
+            throw new ArchiveExportException("Could not export " + getArchive().getName(), ioe);
+        }
+
+        // Too large to be cached; hand out what was read followed by the remainder
+        if (!complete) {
+            return new SequenceInputStream(new ByteArrayInputStream(buffer.toByteArray()), export);
+        }
+
+        IOUtil.closeQuietly(export);
+        final byte[] content = buffer.toByteArray();
+
+        // Only keep the export if the archive was not altered while exporting
+        if (state.equals(ContentDigestImpl.stateOf(getArchive()))) {
+            cache.put(archiveId, getExporter(), state, content);
+        }
+        return new ByteArrayInputStream(content);
+    }
+
+}
@@ -17,6 +17,7 @@
 package org.jboss.shrinkwrap.impl.base.container;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
@@ -25,8 +26,14 @@ import java.net.URLDecoder;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import org.jboss.shrinkwrap.api.Archive;
 import org.jboss.shrinkwrap.api.ArchiveEventHandler;
@@ -59,6 +66,8 @@ import org.jboss.shrinkwrap.api.exporter.ZipExporter;
 import org.jboss.shrinkwrap.api.formatter.Formatter;
 import org.jboss.shrinkwrap.impl.base.ArchiveBase;
 import org.jboss.shrinkwrap.impl.base.AssignableBase;
+import org.jboss.shrinkwrap.impl.base.ClassDependencies;
+import org.jboss.shrinkwrap.impl.base.PackageIndex;
 import org.jboss.shrinkwrap.impl.base.URLPackageScanner;
 import org.jboss.shrinkwrap.impl.base.Validate;
 import org.jboss.shrinkwrap.impl.base.asset.AssetUtil;
@@ -84,6 +93,8 @@ public abstract class ContainerBase<T extends Archive<T>> extends AssignableBase
     // Class Members ----------------------------------------------------------------------||
     // -------------------------------------------------------------------------------------||
 
+    private static final Logger log = Logger.getLogger(ContainerBase.class.getName());
+
     private static final String DEFAULT_MANIFEST = "DefaultManifest.MF";
     private static final String DEFAULT_PACKAGE_NAME = "";
 
@@ -1330,29 +1341,118 @@ public abstract class ContainerBase<T extends Archive<T>> extends AssignableBase
             final ClassLoader adjustedCl = loadingCl == null ? ClassLoader.getSystemClassLoader() : loadingCl;
 
             // Get all inner classes and add them
-            addPackages(false, new Filter<ArchivePath>() {
-                /**
-                 * path = /package/MyClass$Test.class <br/>
-                 * clazz = /package/MyClass.class <br/>
-                 *
-                 *
-                 * @param path
-                 *            The added classes
-                 * @return
-                 */
-                @Override
-                public boolean include(ArchivePath path) {
-                    ArchivePath classArchivePath = AssetUtil.getFullPathForClassResource(clazz);
-                    String expression = classArchivePath.get().replace(".class", "\\$.*");
-                    return path.get().matches(expression);
-                };
-            }, adjustedCl,
-            // Assumes a null package is a class in the default package
-                clazz.getPackage() == null ? DEFAULT_PACKAGE_NAME : clazz.getPackage().getName());
+            addNestedClasses(clazz.getName(), adjustedCl);
         }
         return covarientReturn();
     };
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.container.ClassContainer#addClassesWithDependencies(java.lang.Class<?>[])
+     */
+    @Override
+    public T addClassesWithDependencies(final Class<?>... classes) throws IllegalArgumentException {
+        Validate.notNullAndNoNullValues(classes, "Classes must be specified and cannot contain null values");
+
+        // Follow classes within the packages of those specified, and beneath
+        final Set<String> packagePrefixes = new HashSet<String>();
+        for (final Class<?> clazz : classes) {
+            final String classPath = AssetUtil.getFullPathForClassResource(clazz).get();
+            packagePrefixes.add(classPath.substring(0, classPath.lastIndexOf(ArchivePath.SEPARATOR) + 1));
+        }
+        return addClassesWithDependencies(new Filter<ArchivePath>() {
+            @Override
+            public boolean include(final ArchivePath path) {
+                final String classPath = path.get();
+                for (final String packagePrefix : packagePrefixes) {
+                    if (classPath.startsWith(packagePrefix)) {
+                        // The default package holds no sub packages
+                        return packagePrefix.length() > 1
+                            || classPath.indexOf(ArchivePath.SEPARATOR, packagePrefix.length()) == -1;
+                    }
+                }
+                return false;
+            }
+        }, classes);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.container.ClassContainer#addClassesWithDependencies(org.jboss.shrinkwrap.api.Filter,
+     *      java.lang.Class<?>[])
+     */
+    @Override
+    public T addClassesWithDependencies(final Filter<ArchivePath> filter, final Class<?>... classes)
+        throws IllegalArgumentException {
+        Validate.notNull(filter, "Filter must be specified");
+        Validate.notNullAndNoNullValues(classes, "Classes must be specified and cannot contain null values");
+
+        final Set<String> visited = new HashSet<String>();
+        for (final Class<?> clazz : classes) {
+            addClasses(clazz);
+
+            // SHRINKWRAP-335, account for classes loaded from the Bootstrap CL
+            final ClassLoader loadingCl = clazz.getClassLoader();
+            final ClassLoader adjustedCl = loadingCl == null ? ClassLoader.getSystemClassLoader() : loadingCl;
+            final ClassDependencies dependencies = ClassDependencies.forClassLoader(adjustedCl);
+
+            // Breadth-first through the references of each class added
+            final LinkedList<String> pending = new LinkedList<String>();
+            visited.add(clazz.getName());
+            pending.add(clazz.getName());
+            while (!pending.isEmpty()) {
+                final String className = pending.removeFirst();
+                final Set<String> references = dependenciesOf(dependencies, className);
+                if (references == null) {
+                    continue;
+                }
+                for (final String reference : references) {
+                    final ArchivePath classNamePath = AssetUtil.getFullPathForClassResource(reference);
+                    if (!filter.include(classNamePath) || !visited.add(reference)
+                        || dependenciesOf(dependencies, reference) == null) {
+                        continue;
+                    }
+                    add(new ClassLoaderAsset(classNamePath.get().substring(1), adjustedCl), new BasicPath(
+                        getClassesPath(), classNamePath));
+                    pending.add(reference);
+                }
+            }
+        }
+        return covarientReturn();
+    }
+
+    /**
+     * Obtains the classes referenced by the specified class, or null if its class file is not found
+     */
+    private static Set<String> dependenciesOf(final ClassDependencies dependencies, final String className) {
+        try {
+            return dependencies.getDependencies(className);
+        } catch (final IOException ioe) {
+            throw new RuntimeException("Could not read the class file of " + className, ioe);
+        }
+    }
+
+    /**
+     * Adds the nested classes of the specified class, looked up in the {@link PackageIndex} of the specified
+     * {@link ClassLoader}
+     */
+    private void addNestedClasses(final String className, final ClassLoader classLoader) {
+        final List<String> nestedClassNames;
+        try {
+            nestedClassNames = PackageIndex.forClassLoader(classLoader).getNestedClassNames(className);
+        } catch (final IOException ioe) {
+            log.log(Level.WARNING, "Could not look up the inner classes of " + className, ioe);
+            return;
+        }
+        for (final String nestedClassName : nestedClassNames) {
+            final ArchivePath classNamePath = AssetUtil.getFullPathForClassResource(nestedClassName);
+            add(new ClassLoaderAsset(classNamePath.get().substring(1), classLoader), new BasicPath(getClassesPath(),
+                classNamePath));
+        }
+    }
+
     /*
      * (non-Javadoc)
      *
@@ -1492,7 +1592,7 @@ public abstract class ContainerBase<T extends Archive<T>> extends AssignableBase
             }
         };
         final URLPackageScanner scanner = URLPackageScanner.newInstance(recursive, classLoader, callback, packageName);
-        scanner.scanPackage();
+        scanner.scanPackage(getArchiveExecutorService());
     }
 
     /*
@@ -1548,13 +1648,12 @@ public abstract class ContainerBase<T extends Archive<T>> extends AssignableBase
     }
 
     private Set<ArchivePath> getInnerClasses(final ArchivePath path) {
+        // path = /package/MyClass.class, inner classes = /package/MyClass$*
+        final String prefix = path.get().substring(0, path.get().length() - ".class".length()) + "$";
         Map<ArchivePath, Node> content = getContent(new Filter<ArchivePath>() {
             @Override
             public boolean include(ArchivePath object) {
-                String expression = path.get().replace(".class", "\\$.*");
-                final boolean matches = object.get().matches(expression);
-
-                return matches;
+                return object.get().startsWith(prefix);
             }
         });
 
@@ -1678,7 +1777,7 @@ public abstract class ContainerBase<T extends Archive<T>> extends AssignableBase
         };
 
         final URLPackageScanner scanner = URLPackageScanner.newInstance(recursive, classLoader, callback, packageName);
-        scanner.scanPackage();
+        scanner.scanPackage(getArchiveExecutorService());
     }
 
     // -------------------------------------------------------------------------------------||
@@ -1995,4 +2094,11 @@ public abstract class ContainerBase<T extends Archive<T>> extends AssignableBase
 
         return cls;
     }
+
+    /**
+     * Obtains the executor configured for the archive, on which classpath locations are scanned; null if none
+     */
+    private ExecutorService getArchiveExecutorService() {
+        return ((Configurable) getArchive()).getConfiguration().getExecutorService();
+    }
 }
@@ -21,13 +21,25 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Calendar;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 import org.jboss.shrinkwrap.api.Archive;
 import org.jboss.shrinkwrap.api.ArchivePath;
+import org.jboss.shrinkwrap.api.Configuration;
 import org.jboss.shrinkwrap.api.Node;
+import org.jboss.shrinkwrap.api.asset.Asset;
 import org.jboss.shrinkwrap.api.exporter.ArchiveExportException;
+import org.jboss.shrinkwrap.api.exporter.ExportListener;
+import org.jboss.shrinkwrap.impl.base.ConfigurationUtil;
+import org.jboss.shrinkwrap.impl.base.NodeImpl;
+import org.jboss.shrinkwrap.impl.base.io.CodecPool;
 import org.jboss.shrinkwrap.impl.base.io.IOUtil;
 import org.jboss.shrinkwrap.impl.base.path.PathUtil;
 
@@ -39,14 +51,47 @@ import org.jboss.shrinkwrap.impl.base.path.PathUtil;
 public abstract class AbstractOnDemandInputStream<T extends OutputStream> extends InputStream {
 
     /**
-     * Number of bytes kept in buffer.
+     * Time given to all entries of ordered exports, in milliseconds since the epoch (1980-01-01T00:00:00Z, the
+     * earliest time representable in ZIP)
      */
-    private static final int BUFFER_LENGTH = 4096;
+    protected static final long FIXED_ENTRY_TIME = 315532800000L;
 
     /**
-     * Iterator over nodes contained in base archive.
+     * Equivalent of {@link AbstractOnDemandInputStream#FIXED_ENTRY_TIME} for formats, such as ZIP, storing local date
+     * and time fields: fixing those (rather than an instant) produces the same bytes in any time zone
      */
-    private final Iterator<Node> nodesIterator;
+    protected static final long FIXED_LOCAL_ENTRY_TIME;
+    static {
+        final Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(1980, Calendar.JANUARY, 1);
+        FIXED_LOCAL_ENTRY_TIME = calendar.getTimeInMillis();
+    }
+
+    /**
+     * Iterator over nodes contained in base archive, then over any entries appended by listeners.
+     */
+    private Iterator<Node> nodesIterator;
+
+    /**
+     * Listeners notified of each file written.
+     */
+    private final List<ExportListener> listeners;
+
+    /**
+     * Whether the entries to be appended by listeners have been requested.
+     */
+    private boolean listenersFinished = false;
+
+    /**
+     * Pool from which codecs and buffers are borrowed.
+     */
+    private final CodecPool codecPool;
+
+    /**
+     * Buffer used to copy the contents of each file, borrowed from the pool until the end of the export.
+     */
+    private byte[] copyBuffer;
 
     /**
      * Created by abstract method.
@@ -78,33 +123,76 @@ public abstract class AbstractOnDemandInputStream<T extends OutputStream> extend
      */
     private ArchivePath currentPath = null;
 
+    /**
+     * Whether entries are to carry a fixed time rather than the time of export, for reproducible output
+     */
+    private final boolean fixedEntryTime;
+
     /**
      * Creates stream directly from archive.
      *
      * @param archive
      */
     public AbstractOnDemandInputStream(final Archive<?> archive) {
-        final Collection<Node> nodes = archive.getContent().values();
+        this(archive, Collections.<ExportListener> emptyList());
+    }
+
+    /**
+     * Creates stream directly from archive, notifying the specified listeners of each file written.
+     *
+     * @param archive
+     * @param listeners
+     */
+    public AbstractOnDemandInputStream(final Archive<?> archive, final Collection<ExportListener> listeners) {
+        this.listeners = new ArrayList<ExportListener>(listeners);
+        final Collection<Node> nodes = ExportOrdering.nodesOf(archive);
         this.nodesIterator = nodes.iterator();
+        final Configuration configuration = ConfigurationUtil.configurationOf(archive);
+        this.fixedEntryTime = configuration != null && configuration.isOrderedExport();
+        this.codecPool = CodecPool.forArchive(archive);
+        this.copyBuffer = codecPool.borrowBuffer();
     }
 
     @Override
     public int read() throws IOException {
+        if (!fillBuffer()) {
+            return -1;
+        }
+        return bufferInputStream.read();
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!fillBuffer()) {
+            return -1;
+        }
+        return bufferInputStream.read(b, off, len);
+    }
+
+    /**
+     * Encodes further content until there is data in the buffer to be read. Loops rather than recursing, as highly
+     * compressible content may be consumed at length without producing any output.
+     *
+     * @return false if everything was read
+     * @throws IOException
+     */
+    private boolean fillBuffer() throws IOException {
 
         if (outputStream == null && !outputStreamClosed) {
             // first run
             outputStream = createOutputStream(bufferedOutputStream);
         }
 
-        int value = bufferInputStream != null ? bufferInputStream.read() : -1;
-        if (value == -1) {
+        while (bufferInputStream == null || bufferInputStream.available() == 0) {
             if (currentNodeStream != null) {
                 // current node was not processed completely
                 try {
                     doCopy();
                     bufferInputStream = new ByteArrayInputStream(bufferedOutputStream.toByteArray());
                     bufferedOutputStream.reset();
-                    return this.read();
                 } catch (final Throwable t) {
                     throw new ArchiveExportException("Failed to write asset to output: " + currentPath.get(), t);
                 }
@@ -124,6 +212,9 @@ public abstract class AbstractOnDemandInputStream<T extends OutputStream> extend
                     endAsset();
                 } else {
                     startAsset(resolvedPath);
+                    for (final ExportListener listener : listeners) {
+                        listener.entryStarted(currentPath);
+                    }
 
                     try {
                         currentNodeStream = currentNode.getAsset().openStream();
@@ -135,6 +226,17 @@ public abstract class AbstractOnDemandInputStream<T extends OutputStream> extend
                     bufferedOutputStream.reset();
                 }
 
+            } else if (!listenersFinished && !listeners.isEmpty()) {
+                // each node was processed, append any entries provided by the listeners
+                listenersFinished = true;
+                final Map<ArchivePath, Node> appended = new TreeMap<ArchivePath, Node>();
+                for (final ExportListener listener : listeners) {
+                    for (final Map.Entry<ArchivePath, Asset> entry : listener.exportFinished().entrySet()) {
+                        appended.put(entry.getKey(), new NodeImpl(entry.getKey(), entry.getValue()));
+                    }
+                }
+                listeners.clear();
+                nodesIterator = appended.values().iterator();
             } else {
                 // each node was processed
                 if (!outputStreamClosed) {
@@ -147,18 +249,38 @@ public abstract class AbstractOnDemandInputStream<T extends OutputStream> extend
 
                     currentNodeStream = null;
                     outputStream = null;
-                    return this.read();
+                    codecPool.release(copyBuffer);
+                    copyBuffer = null;
+                } else {
+                    // everything was read, end
+                    return false;
                 }
-
-                // everything was read, end
-                return -1;
             }
-
-            // chosen new node or new data in buffer - read again
-            return this.read();
         }
 
-        return value;
+        return true;
+    }
+
+    /**
+     * Abandons the export, if not yet complete, releasing any pooled resources
+     *
+     * @see java.io.InputStream#close()
+     */
+    @Override
+    public void close() throws IOException {
+        if (outputStreamClosed) {
+            return;
+        }
+        outputStreamClosed = true;
+        IOUtil.closeQuietly(currentNodeStream);
+        currentNodeStream = null;
+        IOUtil.closeQuietly(outputStream);
+        outputStream = null;
+        bufferInputStream = null;
+        nodesIterator = Collections.<Node> emptyList().iterator();
+        listenersFinished = true;
+        codecPool.release(copyBuffer);
+        copyBuffer = null;
     }
 
     /**
@@ -167,12 +289,21 @@ public abstract class AbstractOnDemandInputStream<T extends OutputStream> extend
      * @throws IOException
      */
     private void doCopy() throws IOException {
-        int copied = IOUtil.copy(currentNodeStream, outputStream, BUFFER_LENGTH);
+        final int copied = currentNodeStream.read(copyBuffer);
         if (copied == -1) {
             currentNodeStream.close();
             currentNodeStream = null;
+            for (final ExportListener listener : listeners) {
+                listener.entryFinished(currentPath);
+            }
             endAsset();
+            return;
+        }
+        for (final ExportListener listener : listeners) {
+            listener.entryData(currentPath, copyBuffer, 0, copied);
         }
+        outputStream.write(copyBuffer, 0, copied);
+        outputStream.flush();
     }
 
     /**
@@ -194,6 +325,25 @@ public abstract class AbstractOnDemandInputStream<T extends OutputStream> extend
         closeEntry(outputStream);
     }
 
+    /**
+     * Obtains the pool from which output streams should borrow their codecs and buffers, releasing them when closed.
+     *
+     * @return
+     */
+    protected final CodecPool getCodecPool() {
+        return codecPool;
+    }
+
+    /**
+     * Whether entries should carry a fixed time (as ordered exports do) rather than the time of export; if so,
+     * implementations should use {@link AbstractOnDemandInputStream#FIXED_ENTRY_TIME} or an equivalent for their format.
+     *
+     * @return
+     */
+    protected final boolean isFixedEntryTime() {
+        return fixedEntryTime;
+    }
+
     /**
      * Creates the real {@link OutputStream} to which we'll write, wrapping the provided target.
      *
@@ -22,13 +22,28 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.logging.Logger;
 
 import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.Configuration;
 import org.jboss.shrinkwrap.api.exporter.ArchiveExportException;
+import org.jboss.shrinkwrap.api.exporter.CompressionPolicy;
+import org.jboss.shrinkwrap.api.exporter.ExportListener;
 import org.jboss.shrinkwrap.api.exporter.FileExistsException;
+import org.jboss.shrinkwrap.api.exporter.ListenableStreamExporter;
+import org.jboss.shrinkwrap.api.exporter.PublishingStreamExporter;
 import org.jboss.shrinkwrap.api.exporter.StreamExporter;
+import org.jboss.shrinkwrap.api.flow.Publisher;
 import org.jboss.shrinkwrap.impl.base.AssignableBase;
+import org.jboss.shrinkwrap.impl.base.ConfigurationUtil;
+import org.jboss.shrinkwrap.impl.base.Validate;
 import org.jboss.shrinkwrap.impl.base.io.IOUtil;
 
 /**
@@ -36,7 +51,8 @@ import org.jboss.shrinkwrap.impl.base.io.IOUtil;
  *
  * @author <a href="mailto:andrew.rubinger@jboss.org">ALR</a>
  */
-public abstract class AbstractStreamExporterImpl extends AssignableBase<Archive<?>> implements StreamExporter {
+public abstract class AbstractStreamExporterImpl extends AssignableBase<Archive<?>> implements
+    ListenableStreamExporter, PublishingStreamExporter {
 
     // -------------------------------------------------------------------------------------||
     // Class Members ----------------------------------------------------------------------||
@@ -47,6 +63,20 @@ public abstract class AbstractStreamExporterImpl extends AssignableBase<Archive<
      */
     private static final Logger log = Logger.getLogger(AbstractStreamExporterImpl.class.getName());
 
+    // -------------------------------------------------------------------------------------||
+    // Instance Members -------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Listeners to be notified of each file exported
+     */
+    private final List<ExportListener> listeners = new ArrayList<ExportListener>();
+
+    /**
+     * Compression policy for this export, overriding that of the {@link Configuration}, if set
+     */
+    private CompressionPolicy compressionPolicy;
+
     // -------------------------------------------------------------------------------------||
     // Constructor ------------------------------------------------------------------------||
     // -------------------------------------------------------------------------------------||
@@ -59,6 +89,111 @@ public abstract class AbstractStreamExporterImpl extends AssignableBase<Archive<
     // Functional Methods -----------------------------------------------------------------||
     // -------------------------------------------------------------------------------------||
 
+    /**
+     * Obtains the listeners to be notified of each file exported
+     *
+     * @return
+     */
+    protected final List<ExportListener> getListeners() {
+        return Collections.unmodifiableList(listeners);
+    }
+
+    /**
+     * Sets the {@link CompressionPolicy} for this export, overriding that of the {@link Configuration}
+     *
+     * @param compressionPolicy
+     * @throws IllegalArgumentException
+     *             If the policy is not specified
+     */
+    protected final void setCompressionPolicy(final CompressionPolicy compressionPolicy)
+        throws IllegalArgumentException {
+        Validate.notNull(compressionPolicy, "policy must be specified");
+        this.compressionPolicy = compressionPolicy;
+    }
+
+    /**
+     * Obtains the {@link CompressionPolicy} for this export; that set explicitly, else that of the archive's
+     * {@link Configuration}
+     *
+     * @return
+     */
+    protected final CompressionPolicy getCompressionPolicy() {
+        if (compressionPolicy != null) {
+            return compressionPolicy;
+        }
+        final Configuration configuration = ConfigurationUtil.configurationOf(this.getArchive());
+        return configuration == null ? CompressionPolicy.DEFAULT : configuration.getCompressionPolicy();
+    }
+
+    /**
+     * Identifies the format of the exports produced by this exporter, along with any options affecting their bytes.
+     * Exports of equal contents and kind are interchangeable, and so may be shared via the export cache directory (see
+     * {@link Configuration#getExportCacheDirectory()}).
+     *
+     * @return
+     */
+    protected String getExportKind() {
+        final StringBuilder kind = new StringBuilder(this.getClass().getSimpleName());
+        final Configuration configuration = ConfigurationUtil.configurationOf(this.getArchive());
+        if (configuration != null && configuration.isOrderedExport()) {
+            kind.append("-ordered");
+        }
+        if (configuration != null && configuration.isGenerateJarIndex()) {
+            kind.append("-indexed");
+        }
+        return kind.toString();
+    }
+
+    /**
+     * Qualifies the specified export kind by the specified {@link CompressionPolicy}, unless it is the default. The
+     * policy is identified by the SHA-256 digest of its canonical form (see {@link CompressionPolicy#toString()}), so
+     * that distinct policies never share an export and the kind remains usable within a file name.
+     *
+     * @param kind
+     * @param policy
+     * @return
+     */
+    protected static String qualifyExportKind(final String kind, final CompressionPolicy policy) {
+        if (CompressionPolicy.DEFAULT.equals(policy)) {
+            return kind;
+        }
+        final byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256").digest(policy.toString().getBytes("UTF-8"));
+        } catch (final NoSuchAlgorithmException nsae) {
+            throw new IllegalStateException("SHA-256 is not supported by this JVM", nsae);
+        } catch (final UnsupportedEncodingException uee) {
+            throw new IllegalStateException("UTF-8 is not supported by this JVM", uee);
+        }
+        final StringBuilder qualified = new StringBuilder(kind).append('-');
+        for (final byte b : digest) {
+            qualified.append(Character.forDigit((b >> 4) & 0x0f, 16)).append(Character.forDigit(b & 0x0f, 16));
+        }
+        return qualified.toString();
+    }
+
+    /**
+     * Identifies the format and options with which the specified {@link StreamExporter} type will export the specified
+     * archive, as does {@link #getExportKind()} for exporters of this implementation; other exporters are identified
+     * by their type alone.
+     *
+     * @param archive
+     * @param exporter
+     * @return
+     * @throws IllegalArgumentException
+     *             If either argument is not specified
+     */
+    public static String exportKindOf(final Archive<?> archive, final Class<? extends StreamExporter> exporter)
+        throws IllegalArgumentException {
+        Validate.notNull(archive, "Archive must be specified");
+        Validate.notNull(exporter, "Exporter must be specified");
+        final StreamExporter view = archive.as(exporter);
+        if (view instanceof AbstractStreamExporterImpl) {
+            return ((AbstractStreamExporterImpl) view).getExportKind();
+        }
+        return exporter.getName();
+    }
+
     /**
      * Obtains an {@link OutputStream} to the provided {@link File}.
      *
@@ -99,6 +234,30 @@ public abstract class AbstractStreamExporterImpl extends AssignableBase<Archive<
         return out;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.exporter.ListenableStreamExporter#addListeners(org.jboss.shrinkwrap.api.exporter.ExportListener[])
+     */
+    @Override
+    public ListenableStreamExporter addListeners(final ExportListener... listeners) throws IllegalArgumentException {
+        Validate.notNullAndNoNullValues(listeners, "listeners must be specified");
+        for (final ExportListener listener : listeners) {
+            this.listeners.add(listener);
+        }
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.exporter.PublishingStreamExporter#exportAsPublisher()
+     */
+    @Override
+    public Publisher<ByteBuffer> exportAsPublisher() {
+        return new ExportPublisher(this, ConfigurationUtil.executorOf(this.getArchive()));
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -143,7 +302,22 @@ public abstract class AbstractStreamExporterImpl extends AssignableBase<Archive<
         // Get stream and perform precondition checks
         final OutputStream out = this.getOutputStreamToFile(target, overwrite);
 
+        // Consult the export cache directory, if configured; listeners must see the export happen
+        final DiskExportCache cache = listeners.isEmpty() ? DiskExportCache.forArchive(this.getArchive()) : null;
+        final String key = cache == null ? null : DiskExportCache.keyOf(this.getArchive(), this.getExportKind());
+
         try {
+            // Copy out a previous export of the same contents
+            if (cache != null) {
+                try {
+                    if (cache.copyTo(key, out)) {
+                        return;
+                    }
+                } catch (final IOException ioe) {
+                    throw new ArchiveExportException("Error encountered in copying cached export to " + target, ioe);
+                }
+            }
+
             // Write out
             this.exportTo(out);
         } finally {
@@ -155,6 +329,11 @@ public abstract class AbstractStreamExporterImpl extends AssignableBase<Archive<
                 log.warning("Could not close " + out + ": " + ioe);
             }
         }
+
+        // Remember for next time
+        if (cache != null) {
+            cache.store(key, target);
+        }
     }
 
     /**
@@ -0,0 +1,324 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base.exporter;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.Configuration;
+import org.jboss.shrinkwrap.api.Node;
+import org.jboss.shrinkwrap.api.asset.ArchiveAsset;
+import org.jboss.shrinkwrap.api.asset.Asset;
+import org.jboss.shrinkwrap.api.asset.ByteArrayAsset;
+import org.jboss.shrinkwrap.api.asset.FileAsset;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.shrinkwrap.api.exporter.ArchiveExportException;
+import org.jboss.shrinkwrap.api.exporter.BatchExportResult;
+import org.jboss.shrinkwrap.api.exporter.BatchExporter;
+import org.jboss.shrinkwrap.api.exporter.StreamExporter;
+import org.jboss.shrinkwrap.api.exporter.ZipExporter;
+import org.jboss.shrinkwrap.impl.base.AssignableBase;
+import org.jboss.shrinkwrap.impl.base.ConfigurationUtil;
+import org.jboss.shrinkwrap.impl.base.Validate;
+
+/**
+ * Implementation of {@link BatchExporter}, exporting on the executor of the {@link Configuration} of the archive from
+ * which it was obtained
+ *
+ * @version $Revision: $
+ */
+public class BatchExporterImpl extends AssignableBase<Archive<?>> implements BatchExporter {
+
+    // -------------------------------------------------------------------------------------||
+    // Class Members ----------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Logger
+     */
+    private static final Logger log = Logger.getLogger(BatchExporterImpl.class.getName());
+
+    /**
+     * Orders tasks by estimated size, smallest first
+     */
+    private static final Comparator<Task> SMALLEST_FIRST = new Comparator<Task>() {
+        @Override
+        public int compare(final Task task1, final Task task2) {
+            return task1.estimatedSize < task2.estimatedSize ? -1 : (task1.estimatedSize == task2.estimatedSize ? 0
+                : 1);
+        }
+    };
+
+    // -------------------------------------------------------------------------------------||
+    // Instance Members -------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Exports to be performed by the next batch, in order of addition
+     */
+    private final List<Task> tasks = new ArrayList<Task>();
+
+    /**
+     * Maximum estimated size, in bytes, of the archives exported at once
+     */
+    private long memoryBudget = Runtime.getRuntime().maxMemory() / 4;
+
+    /**
+     * Whether existing targets are overwritten
+     */
+    private boolean overwrite;
+
+    // -------------------------------------------------------------------------------------||
+    // Constructor ------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    public BatchExporterImpl(final Archive<?> archive) {
+        super(archive);
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Required Implementations -----------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.exporter.BatchExporter#memoryBudget(long)
+     */
+    @Override
+    public BatchExporter memoryBudget(final long bytes) throws IllegalArgumentException {
+        if (bytes <= 0) {
+            throw new IllegalArgumentException("Memory budget must be positive: " + bytes);
+        }
+        this.memoryBudget = bytes;
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.exporter.BatchExporter#overwrite(boolean)
+     */
+    @Override
+    public BatchExporter overwrite(final boolean overwrite) {
+        this.overwrite = overwrite;
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.exporter.BatchExporter#add(org.jboss.shrinkwrap.api.Archive, java.io.File)
+     */
+    @Override
+    public BatchExporter add(final Archive<?> archive, final File target) throws IllegalArgumentException {
+        return this.add(archive, ZipExporter.class, target);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.exporter.BatchExporter#add(org.jboss.shrinkwrap.api.Archive, java.lang.Class,
+     *      java.io.File)
+     */
+    @Override
+    public BatchExporter add(final Archive<?> archive, final Class<? extends StreamExporter> exporter,
+        final File target) throws IllegalArgumentException {
+        Validate.notNull(archive, "archive must be specified");
+        Validate.notNull(exporter, "exporter must be specified");
+        Validate.notNull(target, "target must be specified");
+        tasks.add(new Task(archive, exporter, target));
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.exporter.BatchExporter#export()
+     */
+    @Override
+    public List<BatchExportResult> export() throws ArchiveExportException {
+        final List<Task> batch = new ArrayList<Task>(tasks);
+        tasks.clear();
+        for (final Task task : batch) {
+            task.estimatedSize = estimateSize(task.archive);
+        }
+        final List<Task> schedule = new ArrayList<Task>(batch);
+        Collections.sort(schedule, SMALLEST_FIRST);
+
+        final ExecutorService configured = ConfigurationUtil.executorOf(this.getArchive());
+        final ExecutorService executor = configured != null ? configured : ConfigurationUtil.newDaemonExecutor(Math
+            .max(1, Math.min(batch.size(), Runtime.getRuntime().availableProcessors())), "ShrinkWrap batch export");
+        final Budget budget = new Budget(memoryBudget);
+        final CountDownLatch completed = new CountDownLatch(batch.size());
+        final long start = System.nanoTime();
+        try {
+            for (final Task task : schedule) {
+                final long weight = Math.min(task.estimatedSize, memoryBudget);
+                budget.acquire(weight);
+                task.start = start;
+                try {
+                    executor.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            try {
+                                task.run(overwrite);
+                            } finally {
+                                budget.release(weight);
+                                completed.countDown();
+                            }
+                        }
+                    });
+                } catch (final RejectedExecutionException ree) {
+                    task.failure = ree;
+                    budget.release(weight);
+                    completed.countDown();
+                }
+            }
+            completed.await();
+        } catch (final InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new ArchiveExportException("Interrupted during batch export", ie);
+        } finally {
+            if (configured == null) {
+                executor.shutdown();
+            }
+        }
+
+        final List<BatchExportResult> results = new ArrayList<BatchExportResult>(batch.size());
+        for (final Task task : batch) {
+            final BatchExportResult result = task.toResult();
+            if (log.isLoggable(Level.FINE)) {
+                log.fine("Batch export: " + result);
+            }
+            results.add(result);
+        }
+        return results;
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Internal Helper Methods ------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Estimates the size in bytes of the content of the specified archive, without reading it
+     *
+     * @param archive
+     * @return
+     */
+    static long estimateSize(final Archive<?> archive) {
+        long size = 0;
+        for (final Node node : archive.getContent().values()) {
+            final Asset asset = node.getAsset();
+            if (asset == null) {
+                continue;
+            } else if (asset instanceof ByteArrayAsset) {
+                size += ((ByteArrayAsset) asset).getSource().length;
+            } else if (asset instanceof StringAsset) {
+                size += ((StringAsset) asset).getSource().length();
+            } else if (asset instanceof FileAsset) {
+                size += ((FileAsset) asset).getSource().length();
+            } else if (asset instanceof ArchiveAsset) {
+                size += estimateSize(((ArchiveAsset) asset).getArchive());
+            } else {
+                size += UNKNOWN_ASSET_ESTIMATE;
+            }
+        }
+        return size;
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Inner Classes ----------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * An export of a batch, with its outcome once run
+     */
+    private static final class Task {
+
+        private final Archive<?> archive;
+
+        private final Class<? extends StreamExporter> exporter;
+
+        private final File target;
+
+        private long estimatedSize;
+
+        private long start;
+
+        private volatile long queuedNanos;
+
+        private volatile long exportNanos;
+
+        private volatile Throwable failure;
+
+        Task(final Archive<?> archive, final Class<? extends StreamExporter> exporter, final File target) {
+            this.archive = archive;
+            this.exporter = exporter;
+            this.target = target;
+        }
+
+        void run(final boolean overwrite) {
+            final long started = System.nanoTime();
+            queuedNanos = started - start;
+            try {
+                archive.as(exporter).exportTo(target, overwrite);
+            } catch (final Throwable t) {
+                failure = t;
+            } finally {
+                exportNanos = System.nanoTime() - started;
+            }
+        }
+
+        BatchExportResult toResult() {
+            return new BatchExportResult(archive, target, estimatedSize, queuedNanos, exportNanos, failure);
+        }
+    }
+
+    /**
+     * Counting budget of bytes, acquired in varying amounts by the scheduling thread and released by the exports
+     */
+    private static final class Budget {
+
+        private long available;
+
+        Budget(final long available) {
+            this.available = available;
+        }
+
+        synchronized void acquire(final long amount) throws InterruptedException {
+            while (available < amount) {
+                this.wait();
+            }
+            available -= amount;
+        }
+
+        synchronized void release(final long amount) {
+            available += amount;
+            this.notifyAll();
+        }
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base.exporter;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.Configuration;
+import org.jboss.shrinkwrap.api.ContentDigest;
+import org.jboss.shrinkwrap.impl.base.ConfigurationUtil;
+import org.jboss.shrinkwrap.impl.base.io.IOUtil;
+
+/**
+ * Directory of exported archives, shared by any number of JVMs, keyed by the {@link ContentDigest} of the archive
+ * contents and the type of export. Used by {@link AbstractStreamExporterImpl#exportTo(File, boolean)} to skip exporting
+ * archives whose contents have been exported before. Files are only ever published by atomic rename, and the least
+ * recently used files are removed once the configured size is exceeded. Failures to read or write the cache are
+ * logged and otherwise ignored; the cache is an optimization only.
+ *
+ * @version $Revision: $
+ */
+final class DiskExportCache {
+
+    // -------------------------------------------------------------------------------------||
+    // Class Members ----------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Logger
+     */
+    private static final Logger log = Logger.getLogger(DiskExportCache.class.getName());
+
+    /**
+     * Suffix of completed cache files
+     */
+    private static final String SUFFIX = ".export";
+
+    /**
+     * Selects completed cache files
+     */
+    private static final FileFilter CACHE_FILES = new FileFilter() {
+        @Override
+        public boolean accept(final File file) {
+            return file.isFile() && file.getName().endsWith(SUFFIX);
+        }
+    };
+
+    /**
+     * Orders entries least recently used first
+     */
+    private static final Comparator<Entry> LEAST_RECENTLY_USED = new Comparator<Entry>() {
+        @Override
+        public int compare(final Entry entry1, final Entry entry2) {
+            return entry1.lastModified < entry2.lastModified ? -1 : (entry1.lastModified == entry2.lastModified ? 0
+                : 1);
+        }
+    };
+
+    // -------------------------------------------------------------------------------------||
+    // Instance Members -------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Directory holding the cache files
+     */
+    private final File directory;
+
+    /**
+     * Upper bound of the summed length of all cache files
+     */
+    private final long maxSize;
+
+    // -------------------------------------------------------------------------------------||
+    // Constructor ------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    private DiskExportCache(final File directory, final long maxSize) {
+        this.directory = directory;
+        this.maxSize = maxSize;
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Functional Methods -----------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Obtains the cache configured for the specified {@link Archive}, or null if none is configured or the archive's
+     * configuration may not be determined
+     *
+     * @param archive
+     * @return
+     */
+    static DiskExportCache forArchive(final Archive<?> archive) {
+        final Configuration configuration = ConfigurationUtil.configurationOf(archive);
+        if (configuration == null) {
+            return null;
+        }
+        final File directory = configuration.getExportCacheDirectory();
+        if (directory == null || configuration.getExportCacheSize() == 0) {
+            return null;
+        }
+        if (!directory.isDirectory() && !directory.mkdirs() && !directory.isDirectory()) {
+            log.warning("Could not create export cache directory " + directory + "; not caching");
+            return null;
+        }
+        return new DiskExportCache(directory, configuration.getExportCacheSize());
+    }
+
+    /**
+     * Obtains the key under which the specified archive is cached when exported by the specified kind of export
+     *
+     * @param archive
+     * @param kind
+     *            Identifies the export format and any options affecting its output
+     * @return
+     */
+    static String keyOf(final Archive<?> archive, final String kind) {
+        return archive.as(ContentDigest.class).getDigestAsHex() + "-" + kind;
+    }
+
+    /**
+     * Writes the cached export under the specified key, if any, to the specified stream
+     *
+     * @param key
+     * @param out
+     * @return Whether there was a cached export to write
+     * @throws IOException
+     *             If the cached export could not be written to the stream
+     */
+    boolean copyTo(final String key, final OutputStream out) throws IOException {
+        final File cached = fileOf(key);
+        final FileInputStream in;
+        try {
+            in = new FileInputStream(cached);
+        } catch (final IOException ioe) {
+            // Not cached (or just evicted)
+            return false;
+        }
+        try {
+            if (out instanceof FileOutputStream) {
+                final FileChannel source = in.getChannel();
+                final FileChannel target = ((FileOutputStream) out).getChannel();
+                final long size = source.size();
+                long position = 0;
+                while (position < size) {
+                    position += source.transferTo(position, size - position, target);
+                }
+            } else {
+                IOUtil.copy(in, out);
+            }
+        } finally {
+            IOUtil.closeQuietly(in);
+        }
+
+        // Mark as recently used
+        cached.setLastModified(System.currentTimeMillis());
+        return true;
+    }
+
+    /**
+     * Stores a copy of the specified export under the specified key, evicting the least recently used exports as
+     * needed
+     *
+     * @param key
+     * @param export
+     */
+    void store(final String key, final File export) {
+        if (export.length() > maxSize) {
+            return;
+        }
+        File temp = null;
+        try {
+            temp = File.createTempFile("export", ".tmp", directory);
+            final FileInputStream in = new FileInputStream(export);
+            final FileOutputStream out;
+            try {
+                out = new FileOutputStream(temp);
+            } catch (final IOException ioe) {
+                IOUtil.closeQuietly(in);
+                throw ioe;
+            }
+            try {
+                final FileChannel source = in.getChannel();
+                final long size = source.size();
+                long position = 0;
+                while (position < size) {
+                    position += source.transferTo(position, size - position, out.getChannel());
+                }
+            } finally {
+                IOUtil.closeQuietly(in);
+                IOUtil.closeQuietly(out);
+            }
+
+            // Publish; another JVM may have beaten us to it, in which case either copy will do
+            if (temp.renameTo(fileOf(key))) {
+                temp = null;
+            }
+        } catch (final IOException ioe) {
+            log.warning("Could not store export in cache " + directory + ": " + ioe);
+        } finally {
+            if (temp != null && !temp.delete() && log.isLoggable(Level.FINER)) {
+                log.finer("Could not remove temporary file " + temp);
+            }
+        }
+        evict();
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Internal Helper Methods ------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    private File fileOf(final String key) {
+        return new File(directory, key + SUFFIX);
+    }
+
+    /**
+     * Removes the least recently used cache files until the cache is within bounds
+     */
+    private void evict() {
+        final File[] files = directory.listFiles(CACHE_FILES);
+        if (files == null) {
+            return;
+        }
+
+        // Snapshot the file attributes, which other JVMs may be changing
+        final Entry[] entries = new Entry[files.length];
+        long size = 0;
+        for (int i = 0; i < files.length; i++) {
+            entries[i] = new Entry(files[i]);
+            size += entries[i].length;
+        }
+        if (size <= maxSize) {
+            return;
+        }
+        Arrays.sort(entries, LEAST_RECENTLY_USED);
+        for (int i = 0; i < entries.length && size > maxSize; i++) {
+            if (entries[i].file.delete()) {
+                size -= entries[i].length;
+            }
+        }
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Inner Classes ----------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * A cache file along with its attributes at the time of listing
+     */
+    private static final class Entry {
+        private final File file;
+
+        private final long length;
+
+        private final long lastModified;
+
+        Entry(final File file) {
+            this.file = file;
+            this.length = file.length();
+            this.lastModified = file.lastModified();
+        }
+    }
+}
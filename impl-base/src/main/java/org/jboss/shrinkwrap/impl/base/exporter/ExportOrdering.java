@@ -0,0 +1,192 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base.exporter;
+
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ArchivePath;
+import org.jboss.shrinkwrap.api.ArchivePaths;
+import org.jboss.shrinkwrap.api.Configuration;
+import org.jboss.shrinkwrap.api.Node;
+import org.jboss.shrinkwrap.api.asset.ByteArrayAsset;
+import org.jboss.shrinkwrap.impl.base.ConfigurationUtil;
+import org.jboss.shrinkwrap.impl.base.NodeImpl;
+
+/**
+ * Determines the sequence of {@link Node}s written by stream exporters, applying the ordering and JAR index options
+ * of the archive's {@link Configuration}.
+ *
+ * @version $Revision: $
+ */
+final class ExportOrdering {
+
+    // -------------------------------------------------------------------------------------||
+    // Class Members ----------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Path of the metadata directory
+     */
+    static final ArchivePath META_INF = ArchivePaths.create("META-INF");
+
+    /**
+     * Path of the manifest
+     */
+    static final ArchivePath MANIFEST = ArchivePaths.create("META-INF/MANIFEST.MF");
+
+    /**
+     * Path of the JAR index
+     */
+    static final ArchivePath INDEX = ArchivePaths.create("META-INF/INDEX.LIST");
+
+    /**
+     * Orders the metadata directory, manifest and index first, as expected by {@link java.util.jar.JarInputStream},
+     * considering all other nodes equal
+     */
+    private static final Comparator<Node> BY_RANK = new Comparator<Node>() {
+        @Override
+        public int compare(final Node node1, final Node node2) {
+            return rankOf(node1.getPath()) - rankOf(node2.getPath());
+        }
+    };
+
+    /**
+     * Orders nodes by path; the metadata directory and manifest always come first, as expected by
+     * {@link java.util.jar.JarInputStream}
+     */
+    private static final Comparator<Node> BY_PATH = new Comparator<Node>() {
+        @Override
+        public int compare(final Node node1, final Node node2) {
+            final int rank = BY_RANK.compare(node1, node2);
+            if (rank != 0) {
+                return rank;
+            }
+            return node1.getPath().get().compareTo(node2.getPath().get());
+        }
+    };
+
+    /**
+     * Stands in for the generated index when determining its position
+     */
+    private static final Node INDEX_PLACEHOLDER = new NodeImpl(INDEX);
+
+    // -------------------------------------------------------------------------------------||
+    // Constructor ------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * No instantiation
+     */
+    private ExportOrdering() {
+        throw new UnsupportedOperationException("No instances permitted");
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Functional Methods -----------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Obtains the nodes of the specified archive in the order in which they are to be exported
+     *
+     * @param archive
+     * @return
+     */
+    static Collection<Node> nodesOf(final Archive<?> archive) {
+        final Configuration configuration = ConfigurationUtil.configurationOf(archive);
+        final Collection<Node> content = archive.getContent().values();
+        if (configuration == null || (!configuration.isOrderedExport() && !configuration.isGenerateJarIndex())) {
+            return content;
+        }
+
+        final List<Node> nodes = new ArrayList<Node>(content);
+        if (configuration.isOrderedExport()) {
+            Collections.sort(nodes, BY_PATH);
+        } else {
+            // Only bring the metadata directory and manifest up front; the sort is stable, so all else keeps the
+            // unspecified order of getContent(), as it would without an index (ordered export fixes that order)
+            Collections.sort(nodes, BY_RANK);
+        }
+        if (configuration.isGenerateJarIndex() && !archive.contains(INDEX)) {
+            // Following the metadata directory and manifest (if any)
+            int position = 0;
+            while (position < nodes.size() && BY_RANK.compare(nodes.get(position), INDEX_PLACEHOLDER) < 0) {
+                position++;
+            }
+            nodes.add(position, new NodeImpl(INDEX, new ByteArrayAsset(createIndex(archive.getName(), content))));
+        }
+        return nodes;
+    }
+
+    /**
+     * Ranks the specified path by the position it must take in a JAR
+     *
+     * @param path
+     * @return
+     */
+    private static int rankOf(final ArchivePath path) {
+        if (META_INF.equals(path)) {
+            return 0;
+        }
+        if (MANIFEST.equals(path)) {
+            return 1;
+        }
+        if (INDEX.equals(path)) {
+            return 2;
+        }
+        return 3;
+    }
+
+    /**
+     * Creates the contents of a <code>META-INF/INDEX.LIST</code> for an archive of the specified name and contents,
+     * in the format produced by <code>jar -i</code>
+     *
+     * @param name
+     * @param content
+     * @return
+     */
+    static byte[] createIndex(final String name, final Collection<Node> content) {
+        // Index each directory holding a file, or the file itself if at the root, except for metadata
+        final Set<String> entries = new TreeSet<String>();
+        for (final Node node : content) {
+            if (node.getAsset() == null || node.getPath().get().startsWith("/META-INF/")) {
+                continue;
+            }
+            final ArchivePath parent = node.getPath().getParent();
+            final ArchivePath indexed = parent == null || "/".equals(parent.get()) ? node.getPath() : parent;
+            entries.add(indexed.get().substring(1));
+        }
+
+        final StringBuilder index = new StringBuilder("JarIndex-Version: 1.0\n\n").append(name).append('\n');
+        for (final String entry : entries) {
+            index.append(entry).append('\n');
+        }
+        index.append('\n');
+        try {
+            return index.toString().getBytes("UTF-8");
+        } catch (final UnsupportedEncodingException uee) {
+            throw new IllegalStateException("UTF-8 is not supported by this JVM", uee);
+        }
+    }
+}
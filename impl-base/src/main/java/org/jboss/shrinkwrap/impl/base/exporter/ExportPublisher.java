@@ -0,0 +1,294 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base.exporter;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.jboss.shrinkwrap.api.exporter.StreamExporter;
+import org.jboss.shrinkwrap.api.flow.Publisher;
+import org.jboss.shrinkwrap.api.flow.Subscriber;
+import org.jboss.shrinkwrap.api.flow.Subscription;
+import org.jboss.shrinkwrap.impl.base.ConfigurationUtil;
+import org.jboss.shrinkwrap.impl.base.Validate;
+import org.jboss.shrinkwrap.impl.base.io.IOUtil;
+
+/**
+ * {@link Publisher} of the bytes of an export, as read from a new {@link StreamExporter#exportAsInputStream()} per
+ * subscription. Since the on-demand exporters encode as they are read, reading only as far as requested provides
+ * backpressure; reads happen on an {@link ExecutorService} (that of the configuration if any, else one created for and
+ * shut down with the subscription), never on the thread signalling demand.
+ *
+ * @version $Revision: $
+ */
+class ExportPublisher implements Publisher<ByteBuffer> {
+
+    // -------------------------------------------------------------------------------------||
+    // Class Members ----------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Logger
+     */
+    private static final Logger log = Logger.getLogger(ExportPublisher.class.getName());
+
+    /**
+     * Maximum number of bytes in each published chunk
+     */
+    static final int CHUNK_SIZE = 16384;
+
+    /**
+     * Number of chunks published before a subscription yields its thread, so as to share a configured executor fairly
+     */
+    private static final int CHUNKS_PER_RUN = 64;
+
+    // -------------------------------------------------------------------------------------||
+    // Instance Members -------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Exporter providing the stream of each subscription
+     */
+    private final StreamExporter exporter;
+
+    /**
+     * Executor of the configuration, or null if one is to be created per subscription
+     */
+    private final ExecutorService executorService;
+
+    // -------------------------------------------------------------------------------------||
+    // Constructor ------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    ExportPublisher(final StreamExporter exporter, final ExecutorService executorService) {
+        assert exporter != null : "Exporter must be specified";
+        this.exporter = exporter;
+        this.executorService = executorService;
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Required Implementations -----------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.flow.Publisher#subscribe(org.jboss.shrinkwrap.api.flow.Subscriber)
+     */
+    @Override
+    public void subscribe(final Subscriber<? super ByteBuffer> subscriber) throws IllegalArgumentException {
+        Validate.notNull(subscriber, "Subscriber must be specified");
+        final ExportSubscription subscription = new ExportSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Inner Classes ----------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Subscription reading the export as far as requested. Signals are serialized by allowing a single drain task at a
+     * time: whoever raises the count of pending work from zero schedules it, and it runs until that count is back to
+     * zero.
+     */
+    private final class ExportSubscription implements Subscription, Runnable {
+
+        private final Subscriber<? super ByteBuffer> subscriber;
+
+        /**
+         * Unfulfilled demand, {@link Long#MAX_VALUE} if unbounded
+         */
+        private final AtomicLong requested = new AtomicLong();
+
+        /**
+         * Count of signals (of demand or cancellation) not yet seen by the drain task
+         */
+        private final AtomicInteger pending = new AtomicInteger();
+
+        /**
+         * Executor running the drain task; that of the configuration, or one owned by this subscription
+         */
+        private final ExecutorService executor;
+
+        private volatile boolean cancelled;
+
+        /**
+         * Failure to be signalled, such as a non-positive request
+         */
+        private volatile Throwable failure;
+
+        /**
+         * Only accessed from the drain task, or when it cannot be scheduled
+         */
+        private InputStream stream;
+
+        private volatile boolean terminated;
+
+        ExportSubscription(final Subscriber<? super ByteBuffer> subscriber) {
+            this.subscriber = subscriber;
+            this.executor = executorService != null ? executorService : ConfigurationUtil.newDaemonExecutor(1,
+                "ShrinkWrap export publisher");
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @see org.jboss.shrinkwrap.api.flow.Subscription#request(long)
+         */
+        @Override
+        public void request(final long n) {
+            if (n <= 0) {
+                failure = new IllegalArgumentException("Requested number of chunks must be positive: " + n);
+            } else {
+                long current;
+                long next;
+                do {
+                    current = requested.get();
+                    next = current + n < 0 ? Long.MAX_VALUE : current + n;
+                } while (!requested.compareAndSet(current, next));
+            }
+            this.schedule();
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @see org.jboss.shrinkwrap.api.flow.Subscription#cancel()
+         */
+        @Override
+        public void cancel() {
+            cancelled = true;
+            this.schedule();
+        }
+
+        /**
+         * Publishes as many chunks as requested, until none are or the export ends
+         *
+         * @see java.lang.Runnable#run()
+         */
+        @Override
+        public void run() {
+            int missed = 1;
+            int published = 0;
+            while (true) {
+                while (!terminated) {
+                    if (cancelled) {
+                        this.terminate();
+                    } else if (failure != null) {
+                        this.terminate();
+                        subscriber.onError(failure);
+                    } else if (requested.get() == 0) {
+                        break;
+                    } else if (published == CHUNKS_PER_RUN) {
+                        // Yield to other work of the executor, resuming with the pending count unchanged
+                        this.submit();
+                        return;
+                    } else {
+                        this.publish();
+                        published++;
+                    }
+                }
+                missed = pending.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Reads and publishes the next chunk, or completes or fails the subscription
+         */
+        private void publish() {
+            final ByteBuffer chunk;
+            try {
+                if (stream == null) {
+                    stream = exporter.exportAsInputStream();
+                }
+                final byte[] bytes = new byte[CHUNK_SIZE];
+                int length = 0;
+                int read = 0;
+                // Fill the chunk where the exporter produces smaller reads, so as to limit the number of signals
+                while (length < bytes.length && (read = stream.read(bytes, length, bytes.length - length)) != -1) {
+                    length += read;
+                }
+                if (length == 0) {
+                    this.terminate();
+                    subscriber.onComplete();
+                    return;
+                }
+                chunk = ByteBuffer.wrap(bytes, 0, length);
+            } catch (final Throwable t) {
+                this.terminate();
+                subscriber.onError(t);
+                return;
+            }
+            if (requested.get() != Long.MAX_VALUE) {
+                requested.decrementAndGet();
+            }
+            try {
+                subscriber.onNext(chunk);
+            } catch (final RuntimeException re) {
+                // A subscriber may not throw; treat as cancelled
+                log.log(Level.WARNING, "Cancelling export to " + subscriber + ", which failed on receipt of data", re);
+                this.terminate();
+            }
+        }
+
+        /**
+         * Schedules the drain task, unless it is already scheduled or running
+         */
+        private void schedule() {
+            if (pending.getAndIncrement() == 0) {
+                this.submit();
+            }
+        }
+
+        private void submit() {
+            try {
+                executor.execute(this);
+            } catch (final RejectedExecutionException ree) {
+                // Run no further, but report on this occasion only
+                if (!terminated) {
+                    terminated = true;
+                    IOUtil.closeQuietly(stream);
+                    subscriber.onError(ree);
+                }
+                if (log.isLoggable(Level.FINER)) {
+                    log.finer("Export publisher could not be scheduled: " + ree);
+                }
+            }
+        }
+
+        /**
+         * Releases the export stream and any executor owned by this subscription; no further signals follow
+         */
+        private void terminate() {
+            terminated = true;
+            IOUtil.closeQuietly(stream);
+            stream = null;
+            if (executor != executorService) {
+                executor.shutdown();
+            }
+        }
+    }
+}
@@ -0,0 +1,869 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base.exporter;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.ZipEntry;
+
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ArchivePath;
+import org.jboss.shrinkwrap.api.ArchivePaths;
+import org.jboss.shrinkwrap.api.Configuration;
+import org.jboss.shrinkwrap.api.Node;
+import org.jboss.shrinkwrap.api.asset.ArchiveAsset;
+import org.jboss.shrinkwrap.api.asset.Asset;
+import org.jboss.shrinkwrap.api.exporter.ArchiveExportException;
+import org.jboss.shrinkwrap.api.exporter.CompressionPolicy;
+import org.jboss.shrinkwrap.api.exporter.ExplodedExporter;
+import org.jboss.shrinkwrap.api.exporter.MultiFormatExporter;
+import org.jboss.shrinkwrap.impl.base.AssignableBase;
+import org.jboss.shrinkwrap.impl.base.ConfigurationUtil;
+import org.jboss.shrinkwrap.impl.base.Validate;
+import org.jboss.shrinkwrap.impl.base.io.CodecPool;
+import org.jboss.shrinkwrap.impl.base.io.IOUtil;
+import org.jboss.shrinkwrap.impl.base.io.tar.TarEntry;
+import org.jboss.shrinkwrap.impl.base.io.tar.TarGzOutputStream;
+import org.jboss.shrinkwrap.impl.base.io.tar.TarOutputStream;
+import org.jboss.shrinkwrap.impl.base.io.tar.TarOutputStreamImpl;
+import org.jboss.shrinkwrap.impl.base.io.zip.Zip64OutputStream;
+import org.jboss.shrinkwrap.impl.base.path.PathUtil;
+
+/**
+ * Implementation of {@link MultiFormatExporter}, reading each asset once on the calling thread and handing the bytes
+ * read to a {@link Target} per format, either directly or via a bounded queue to a thread of the target's own
+ *
+ * @version $Revision: $
+ */
+public class MultiFormatExporterImpl extends AssignableBase<Archive<?>> implements MultiFormatExporter {
+
+    // -------------------------------------------------------------------------------------||
+    // Class Members ----------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Logger
+     */
+    private static final Logger log = Logger.getLogger(MultiFormatExporterImpl.class.getName());
+
+    /**
+     * Number of operations a target written concurrently may fall behind the reading of content before the reader
+     * waits for it
+     */
+    private static final int QUEUE_CAPACITY = 32;
+
+    // -------------------------------------------------------------------------------------||
+    // Instance Members -------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Targets registered, in order of registration
+     */
+    private final List<Target> targets = new ArrayList<Target>();
+
+    /**
+     * Compression policy for this export, overriding that of the {@link Configuration}, if set
+     */
+    private CompressionPolicy compressionPolicy;
+
+    /**
+     * Whether targets are written on threads of their own
+     */
+    private boolean concurrent;
+
+    // -------------------------------------------------------------------------------------||
+    // Constructor ------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    public MultiFormatExporterImpl(final Archive<?> archive) {
+        super(archive);
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Required Implementations -----------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.exporter.MultiFormatExporter#toZip(java.io.OutputStream)
+     */
+    @Override
+    public MultiFormatExporter toZip(final OutputStream target) throws IllegalArgumentException {
+        Validate.notNull(target, "Target must be specified");
+        targets.add(new ZipTarget(target));
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.exporter.MultiFormatExporter#toTar(java.io.OutputStream)
+     */
+    @Override
+    public MultiFormatExporter toTar(final OutputStream target) throws IllegalArgumentException {
+        Validate.notNull(target, "Target must be specified");
+        targets.add(new TarTarget(target, false));
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.exporter.MultiFormatExporter#toTarGz(java.io.OutputStream)
+     */
+    @Override
+    public MultiFormatExporter toTarGz(final OutputStream target) throws IllegalArgumentException {
+        Validate.notNull(target, "Target must be specified");
+        targets.add(new TarTarget(target, true));
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.exporter.MultiFormatExporter#toExploded(java.io.File)
+     */
+    @Override
+    public MultiFormatExporter toExploded(final File parentDirectory) throws IllegalArgumentException {
+        return this.toExploded(parentDirectory, this.getArchive().getName());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.exporter.MultiFormatExporter#toExploded(java.io.File, java.lang.String)
+     */
+    @Override
+    public MultiFormatExporter toExploded(final File parentDirectory, final String directoryName)
+        throws IllegalArgumentException {
+        Validate.notNull(parentDirectory, "No parent directory provided");
+        Validate.notNullOrEmpty(directoryName, "No directory name provided");
+
+        // As ExplodedExporter, the parent must be an existing directory
+        if (!parentDirectory.exists()) {
+            throw new IllegalArgumentException("Parent directory does not exist");
+        }
+        if (!parentDirectory.isDirectory()) {
+            throw new IllegalArgumentException("Provided parent directory is not a valid directory");
+        }
+
+        targets.add(new ExplodedTarget(new File(parentDirectory, directoryName)));
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.exporter.MultiFormatExporter#compressWith(org.jboss.shrinkwrap.api.exporter.CompressionPolicy)
+     */
+    @Override
+    public MultiFormatExporter compressWith(final CompressionPolicy policy) throws IllegalArgumentException {
+        Validate.notNull(policy, "Compression policy must be specified");
+        this.compressionPolicy = policy;
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.exporter.MultiFormatExporter#writeConcurrently(boolean)
+     */
+    @Override
+    public MultiFormatExporter writeConcurrently(final boolean concurrent) {
+        this.concurrent = concurrent;
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.exporter.MultiFormatExporter#export()
+     */
+    @Override
+    public void export() throws IllegalStateException, ArchiveExportException {
+        if (targets.isEmpty()) {
+            throw new IllegalStateException("No targets registered for export of " + this.getArchive().getName());
+        }
+
+        final Archive<?> archive = this.getArchive();
+        final Configuration configuration = ConfigurationUtil.configurationOf(archive);
+        final boolean fixedEntryTime = configuration != null && configuration.isOrderedExport();
+        final CompressionPolicy policy = compressionPolicy != null ? compressionPolicy
+            : (configuration == null ? CompressionPolicy.DEFAULT : configuration.getCompressionPolicy());
+        final CodecPool pool = CodecPool.forArchive(archive);
+
+        // Wrap each target to be written by a task of its own, if requested (and worthwhile)
+        final boolean concurrently = concurrent && targets.size() > 1;
+        final ExecutorService configured = ConfigurationUtil.executorOf(archive);
+        final ExecutorService executor = !concurrently || configured != null ? configured : ConfigurationUtil
+            .newDaemonExecutor(targets.size(), "ShrinkWrap export of " + archive.getName());
+        final List<Target> active = new ArrayList<Target>(targets.size());
+        for (final Target target : targets) {
+            active.add(concurrently ? new ConcurrentTarget(target, executor) : target);
+        }
+
+        final byte[] buffer = pool.borrowBuffer();
+        boolean completed = false;
+        try {
+            for (final Target target : active) {
+                target.start(fixedEntryTime, policy, pool);
+            }
+            for (final Node node : ExportOrdering.nodesOf(archive)) {
+                this.exportNode(node, active, buffer);
+            }
+            for (final Target target : active) {
+                target.finish();
+            }
+            completed = true;
+        } catch (final IOException ioe) {
+            throw new ArchiveExportException("Failed to export " + archive.getName(), ioe);
+        } finally {
+            if (!completed) {
+                for (final Target target : active) {
+                    target.abort();
+                }
+            }
+            pool.release(buffer);
+            if (executor != configured) {
+                executor.shutdown();
+            }
+        }
+
+        if (log.isLoggable(Level.FINE)) {
+            log.fine("Exported " + archive.getName() + " to " + targets.size() + " targets");
+        }
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Internal Helper Methods ------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Writes the specified node to all specified targets, reading any content once using the specified buffer
+     *
+     * @param node
+     * @param targets
+     * @param buffer
+     * @throws IOException
+     */
+    private void exportNode(final Node node, final List<Target> targets, final byte[] buffer) throws IOException {
+        final ArchivePath path = node.getPath();
+        final Asset asset = node.getAsset();
+        if (asset == null) {
+            for (final Target target : targets) {
+                target.directory(path);
+            }
+            return;
+        }
+
+        for (final Target target : targets) {
+            target.startFile(path, asset);
+        }
+        final InputStream in;
+        try {
+            in = asset.openStream();
+        } catch (final RuntimeException re) {
+            throw new ArchiveExportException("Failed to write asset to output: " + path.get(), re);
+        }
+        try {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                for (final Target target : targets) {
+                    target.write(buffer, 0, read);
+                }
+            }
+        } catch (final IOException ioe) {
+            throw new ArchiveExportException("Failed to write asset to output: " + path.get(), ioe);
+        } finally {
+            IOUtil.closeQuietly(in);
+        }
+        for (final Target target : targets) {
+            target.endFile();
+        }
+    }
+
+    /**
+     * Obtains the name of the specified path as an entry of a ZIP or TAR
+     *
+     * @param path
+     * @param directory
+     * @return
+     */
+    private static String entryName(final ArchivePath path, final boolean directory) {
+        final String name = PathUtil.optionallyRemovePrecedingSlash(path.get());
+        return directory ? PathUtil.optionallyAppendSlash(name) : name;
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Inner Classes ----------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * A format written by the export. Each file is announced by {@link Target#startFile(ArchivePath, Asset)} before
+     * its content is written and {@link Target#endFile()} is called.
+     */
+    private abstract static class Target {
+
+        abstract void start(boolean fixedEntryTime, CompressionPolicy policy, CodecPool pool) throws IOException;
+
+        abstract void directory(ArchivePath path) throws IOException;
+
+        abstract void startFile(ArchivePath path, Asset asset) throws IOException;
+
+        abstract void write(byte[] b, int off, int len) throws IOException;
+
+        abstract void endFile() throws IOException;
+
+        abstract void finish() throws IOException;
+
+        /**
+         * Releases any resources held after a failed export; must not throw
+         */
+        abstract void abort();
+    }
+
+    /**
+     * Writes ZIP to a caller's stream
+     */
+    private static final class ZipTarget extends Target {
+
+        private final OutputStream target;
+
+        private Zip64OutputStream out;
+
+        private boolean fixedEntryTime;
+
+        private CompressionPolicy policy;
+
+        ZipTarget(final OutputStream target) {
+            this.target = target;
+        }
+
+        @Override
+        void start(final boolean fixedEntryTime, final CompressionPolicy policy, final CodecPool pool) {
+            this.fixedEntryTime = fixedEntryTime;
+            this.policy = policy;
+            this.out = new Zip64OutputStream(new UnclosableOutputStream(target),
+                Zip64OutputStream.DEFAULT_BUFFER_THRESHOLD, pool);
+        }
+
+        @Override
+        void directory(final ArchivePath path) throws IOException {
+            this.putNextEntry(path, true);
+            out.closeEntry();
+        }
+
+        @Override
+        void startFile(final ArchivePath path, final Asset asset) throws IOException {
+            this.putNextEntry(path, false);
+        }
+
+        private void putNextEntry(final ArchivePath path, final boolean directory) throws IOException {
+            final ZipEntry entry = new ZipEntry(entryName(path, directory));
+            if (fixedEntryTime) {
+                entry.setTime(AbstractOnDemandInputStream.FIXED_LOCAL_ENTRY_TIME);
+            }
+            out.setLevel(policy.getLevel(path));
+            out.setStrategy(policy.getStrategy(path));
+            out.putNextEntry(entry);
+        }
+
+        @Override
+        void write(final byte[] b, final int off, final int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        void endFile() throws IOException {
+            out.closeEntry();
+        }
+
+        @Override
+        void finish() throws IOException {
+            // Writes the central directory and returns the pooled codec, leaving the target open
+            final Zip64OutputStream finished = out;
+            out = null;
+            finished.close();
+        }
+
+        @Override
+        void abort() {
+            IOUtil.closeQuietly(out);
+        }
+    }
+
+    /**
+     * Writes TAR, optionally encoded w/ GZIP, to a caller's stream
+     */
+    private static final class TarTarget extends Target {
+
+        private final OutputStream target;
+
+        private final boolean gzip;
+
+        private TarOutputStreamImpl out;
+
+        private boolean fixedEntryTime;
+
+        private CompressionPolicy policy;
+
+        TarTarget(final OutputStream target, final boolean gzip) {
+            this.target = target;
+            this.gzip = gzip;
+        }
+
+        @Override
+        void start(final boolean fixedEntryTime, final CompressionPolicy policy, final CodecPool pool)
+            throws IOException {
+            this.fixedEntryTime = fixedEntryTime;
+            this.policy = policy;
+            final OutputStream unclosable = new UnclosableOutputStream(target);
+            this.out = gzip ? new TarGzOutputStream(unclosable, pool) : new TarOutputStream(unclosable);
+        }
+
+        @Override
+        void directory(final ArchivePath path) throws IOException {
+            this.putNextEntry(path, true);
+            out.closeEntry();
+        }
+
+        @Override
+        void startFile(final ArchivePath path, final Asset asset) throws IOException {
+            this.putNextEntry(path, false);
+        }
+
+        private void putNextEntry(final ArchivePath path, final boolean directory) throws IOException {
+            if (gzip) {
+                ((TarGzOutputStream) out).setCompression(policy.getLevel(path), policy.getStrategy(path));
+            }
+            final TarEntry entry = new TarEntry(entryName(path, directory));
+            if (fixedEntryTime) {
+                entry.setModTime(AbstractOnDemandInputStream.FIXED_ENTRY_TIME);
+            }
+            out.putNextEntry(entry);
+        }
+
+        @Override
+        void write(final byte[] b, final int off, final int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        void endFile() throws IOException {
+            out.closeEntry();
+        }
+
+        @Override
+        void finish() throws IOException {
+            final TarOutputStreamImpl finished = out;
+            out = null;
+            finished.close();
+        }
+
+        @Override
+        void abort() {
+            IOUtil.closeQuietly(out);
+        }
+    }
+
+    /**
+     * Writes an exploded directory structure, as {@link ExplodedExporter}
+     */
+    private static final class ExplodedTarget extends Target {
+
+        private final File outputDirectory;
+
+        private OutputStream out;
+
+        ExplodedTarget(final File outputDirectory) {
+            this.outputDirectory = outputDirectory;
+        }
+
+        @Override
+        void start(final boolean fixedEntryTime, final CompressionPolicy policy, final CodecPool pool) {
+            if (!outputDirectory.mkdir() && !outputDirectory.exists()) {
+                throw new ArchiveExportException("Unable to create archive output directory - " + outputDirectory);
+            }
+            if (outputDirectory.isFile()) {
+                throw new IllegalArgumentException("Unable to export exploded directory to "
+                    + outputDirectory.getAbsolutePath() + ", it points to a existing file");
+            }
+        }
+
+        @Override
+        void directory(final ArchivePath path) {
+            final File directory = new File(outputDirectory, path.get());
+            if (!directory.exists() && !directory.mkdirs()) {
+                throw new ArchiveExportException("Failed to write directory: " + directory.getAbsolutePath());
+            }
+        }
+
+        @Override
+        void startFile(final ArchivePath path, final Asset asset) throws IOException {
+            final File file = new File(outputDirectory, path.get());
+            final File parent = file.getParentFile();
+            if (!parent.exists() && !parent.mkdirs()) {
+                throw new ArchiveExportException("Failed to write asset.  Unable to create parent directory.");
+            }
+
+            // Nested archives are exploded in turn, so their exported bytes are not needed here
+            if (asset instanceof ArchiveAsset) {
+                ((ArchiveAsset) asset).getArchive().as(ExplodedExporter.class).exportExploded(parent);
+                return;
+            }
+            out = new BufferedOutputStream(new FileOutputStream(file), 8192);
+        }
+
+        @Override
+        void write(final byte[] b, final int off, final int len) throws IOException {
+            if (out != null) {
+                out.write(b, off, len);
+            }
+        }
+
+        @Override
+        void endFile() throws IOException {
+            if (out != null) {
+                out.close();
+                out = null;
+            }
+        }
+
+        @Override
+        void finish() {
+            // Nothing held open between files
+        }
+
+        @Override
+        void abort() {
+            IOUtil.closeQuietly(out);
+            out = null;
+        }
+    }
+
+    /**
+     * Writes a delegate {@link Target} by a task of its own, fed by a bounded queue so as to hold a limited number of
+     * chunks of content in memory. Failures of the delegate are reported to the reading thread on its next call. Should
+     * the queue fill, or the export end, before the task starts (as when the executor is busy), the reading thread
+     * claims the target and writes it itself, so that a saturated executor cannot stall the export.
+     */
+    private static final class ConcurrentTarget extends Target {
+
+        private final Target delegate;
+
+        private final ExecutorService executor;
+
+        private final BlockingQueue<Operation> queue = new ArrayBlockingQueue<Operation>(QUEUE_CAPACITY);
+
+        /**
+         * Claimed by whichever of the task and the reading thread first applies operations
+         */
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        /**
+         * Counted down once the last operation has been applied
+         */
+        private final CountDownLatch finished = new CountDownLatch(1);
+
+        /**
+         * Whether the reading thread has claimed the target, so applies operations itself; only accessed by it
+         */
+        private boolean inline;
+
+        /**
+         * Whether the task has been scheduled; only accessed by the reading thread
+         */
+        private boolean started;
+
+        private volatile Throwable failure;
+
+        ConcurrentTarget(final Target delegate, final ExecutorService executor) {
+            this.delegate = delegate;
+            this.executor = executor;
+        }
+
+        @Override
+        void start(final boolean fixedEntryTime, final CompressionPolicy policy, final CodecPool pool)
+            throws IOException {
+            try {
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (claimed.compareAndSet(false, true)) {
+                            drain();
+                        }
+                    }
+                });
+            } catch (final RejectedExecutionException ree) {
+                claimed.set(true);
+                inline = true;
+            }
+            started = true;
+            this.submit(new Operation(false) {
+                @Override
+                void apply() throws IOException {
+                    delegate.start(fixedEntryTime, policy, pool);
+                }
+            });
+        }
+
+        @Override
+        void directory(final ArchivePath path) throws IOException {
+            this.submit(new Operation(false) {
+                @Override
+                void apply() throws IOException {
+                    delegate.directory(path);
+                }
+            });
+        }
+
+        @Override
+        void startFile(final ArchivePath path, final Asset asset) throws IOException {
+            this.submit(new Operation(false) {
+                @Override
+                void apply() throws IOException {
+                    delegate.startFile(path, asset);
+                }
+            });
+        }
+
+        @Override
+        void write(final byte[] b, final int off, final int len) throws IOException {
+            // The reader's buffer is reused, so hand over a copy
+            final byte[] chunk = new byte[len];
+            System.arraycopy(b, off, chunk, 0, len);
+            this.submit(new Operation(false) {
+                @Override
+                void apply() throws IOException {
+                    delegate.write(chunk, 0, chunk.length);
+                }
+            });
+        }
+
+        @Override
+        void endFile() throws IOException {
+            this.submit(new Operation(false) {
+                @Override
+                void apply() throws IOException {
+                    delegate.endFile();
+                }
+            });
+        }
+
+        @Override
+        void finish() throws IOException {
+            this.submit(new Operation(true) {
+                @Override
+                void apply() throws IOException {
+                    delegate.finish();
+                }
+            });
+            this.join();
+            this.checkFailure();
+        }
+
+        @Override
+        void abort() {
+            if (!started || finished.getCount() == 0) {
+                // Never started, or already finished or aborted following its own failure
+                return;
+            }
+            try {
+                this.enqueue(new Operation(true) {
+                    @Override
+                    void apply() {
+                        delegate.abort();
+                    }
+                });
+                this.join();
+            } catch (final InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        /**
+         * Queues the specified operation, first reporting any failure of those before it
+         */
+        private void submit(final Operation operation) throws IOException {
+            this.checkFailure();
+            try {
+                this.enqueue(operation);
+            } catch (final InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new ArchiveExportException("Interrupted while exporting to "
+                    + delegate.getClass().getSimpleName(), ie);
+            }
+            if (inline) {
+                this.checkFailure();
+            }
+        }
+
+        /**
+         * Queues the specified operation, or applies it (after any queued) if the reading thread has claimed the
+         * target, as it does upon finding the queue full before the task has started
+         */
+        private void enqueue(final Operation operation) throws InterruptedException {
+            if (!inline && !queue.offer(operation)) {
+                if (!claimed.compareAndSet(false, true)) {
+                    queue.put(operation);
+                    return;
+                }
+                inline = true;
+            }
+            if (inline) {
+                Operation queued;
+                while ((queued = queue.poll()) != null) {
+                    this.apply(queued);
+                }
+                this.apply(operation);
+            }
+        }
+
+        private void checkFailure() throws IOException {
+            final Throwable t = failure;
+            if (t == null) {
+                return;
+            }
+            if (t instanceof IOException) {
+                throw (IOException) t;
+            }
+            if (t instanceof RuntimeException) {
+                throw (RuntimeException) t;
+            }
+            if (t instanceof Error) {
+                throw (Error) t;
+            }
+            throw new ArchiveExportException(t);
+        }
+
+        /**
+         * Awaits the last operation; should the task not have started by then, the reading thread claims the target and
+         * applies the queued operations itself
+         */
+        private void join() {
+            if (!inline && claimed.compareAndSet(false, true)) {
+                inline = true;
+                Operation queued;
+                while ((queued = queue.poll()) != null) {
+                    this.apply(queued);
+                }
+            }
+            try {
+                finished.await();
+            } catch (final InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new ArchiveExportException("Interrupted while exporting to "
+                    + delegate.getClass().getSimpleName(), ie);
+            }
+        }
+
+        /**
+         * Applies queued operations until the last, skipping all but that once one has failed, and aborting in place
+         * of finishing
+         */
+        private void drain() {
+            while (true) {
+                final Operation operation;
+                try {
+                    operation = queue.take();
+                } catch (final InterruptedException ie) {
+                    failure = ie;
+                    delegate.abort();
+                    finished.countDown();
+                    return;
+                }
+                if (this.apply(operation)) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Applies the specified operation, unless one before it failed, aborting in place of finishing; returns
+         * whether it was the last
+         */
+        private boolean apply(final Operation operation) {
+            if (failure == null) {
+                try {
+                    operation.apply();
+                } catch (final Throwable t) {
+                    failure = t;
+                }
+            }
+            if (operation.last) {
+                if (failure != null) {
+                    delegate.abort();
+                }
+                finished.countDown();
+            }
+            return operation.last;
+        }
+    }
+
+    /**
+     * An operation applied to a delegate target by its own task
+     */
+    private abstract static class Operation {
+
+        /**
+         * Whether this operation (finishing or aborting) is the last
+         */
+        private final boolean last;
+
+        Operation(final boolean last) {
+            this.last = last;
+        }
+
+        abstract void apply() throws IOException;
+    }
+
+    /**
+     * Shields a caller's stream from being closed by the format writers, which close their output when finished
+     */
+    private static final class UnclosableOutputStream extends FilterOutputStream {
+
+        UnclosableOutputStream(final OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.flush();
+        }
+    }
+}
@@ -17,10 +17,12 @@
 package org.jboss.shrinkwrap.impl.base.exporter.tar;
 
 import java.io.InputStream;
+import java.util.Collection;
 
 import org.jboss.shrinkwrap.api.Archive;
 import org.jboss.shrinkwrap.api.ArchivePath;
 import org.jboss.shrinkwrap.api.Node;
+import org.jboss.shrinkwrap.api.exporter.ExportListener;
 import org.jboss.shrinkwrap.impl.base.exporter.AbstractExporterDelegate;
 
 /**
@@ -31,11 +33,17 @@ import org.jboss.shrinkwrap.impl.base.exporter.AbstractExporterDelegate;
  */
 class TarExporterDelegate extends AbstractExporterDelegate<InputStream> {
 
+    /**
+     * Listeners to be notified of each file exported
+     */
+    private final Collection<ExportListener> listeners;
+
     /**
      * Creates a new exporter delegate for exporting archives as TAR
      */
-    TarExporterDelegate(final Archive<?> archive) {
+    TarExporterDelegate(final Archive<?> archive, final Collection<ExportListener> listeners) {
         super(archive);
+        this.listeners = listeners;
     }
 
     @Override
@@ -45,7 +53,7 @@ class TarExporterDelegate extends AbstractExporterDelegate<InputStream> {
 
     @Override
     protected InputStream getResult() {
-        return new TarOnDemandInputStream(getArchive());
+        return new TarOnDemandInputStream(getArchive(), listeners);
     }
 
 }
@@ -47,7 +47,8 @@ public class TarExporterImpl extends AbstractStreamExporterImpl implements TarEx
     @Override
     public InputStream exportAsInputStream() {
         // Create export delegate
-        final AbstractExporterDelegate<InputStream> exportDelegate = new TarExporterDelegate(this.getArchive());
+        final AbstractExporterDelegate<InputStream> exportDelegate = new TarExporterDelegate(this.getArchive(),
+            this.getListeners());
 
         // Execute export
         return exportDelegate.export();
@@ -17,10 +17,13 @@
 package org.jboss.shrinkwrap.impl.base.exporter.tar;
 
 import java.io.InputStream;
+import java.util.Collection;
 
 import org.jboss.shrinkwrap.api.Archive;
 import org.jboss.shrinkwrap.api.ArchivePath;
 import org.jboss.shrinkwrap.api.Node;
+import org.jboss.shrinkwrap.api.exporter.CompressionPolicy;
+import org.jboss.shrinkwrap.api.exporter.ExportListener;
 import org.jboss.shrinkwrap.impl.base.exporter.AbstractExporterDelegate;
 
 /**
@@ -31,8 +34,21 @@ import org.jboss.shrinkwrap.impl.base.exporter.AbstractExporterDelegate;
  */
 class TarGzExporterDelegate extends AbstractExporterDelegate<InputStream> {
 
-    TarGzExporterDelegate(final Archive<?> archive) {
+    /**
+     * Listeners to be notified of each file exported
+     */
+    private final Collection<ExportListener> listeners;
+
+    /**
+     * Compression levels and strategies of the entries exported
+     */
+    private final CompressionPolicy compressionPolicy;
+
+    TarGzExporterDelegate(final Archive<?> archive, final Collection<ExportListener> listeners,
+        final CompressionPolicy compressionPolicy) {
         super(archive);
+        this.listeners = listeners;
+        this.compressionPolicy = compressionPolicy;
     }
 
     @Override
@@ -42,6 +58,6 @@ class TarGzExporterDelegate extends AbstractExporterDelegate<InputStream> {
 
     @Override
     protected InputStream getResult() {
-        return new TarGzOnDemandInputStream(getArchive());
+        return new TarGzOnDemandInputStream(getArchive(), listeners, compressionPolicy);
     }
 }
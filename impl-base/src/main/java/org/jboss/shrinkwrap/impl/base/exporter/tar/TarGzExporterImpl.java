@@ -19,6 +19,7 @@ package org.jboss.shrinkwrap.impl.base.exporter.tar;
 import java.io.InputStream;
 
 import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.exporter.CompressionPolicy;
 import org.jboss.shrinkwrap.api.exporter.TarGzExporter;
 import org.jboss.shrinkwrap.impl.base.exporter.AbstractExporterDelegate;
 import org.jboss.shrinkwrap.impl.base.exporter.AbstractStreamExporterImpl;
@@ -46,9 +47,31 @@ public class TarGzExporterImpl extends AbstractStreamExporterImpl implements Tar
     @Override
     public InputStream exportAsInputStream() {
         // Create export delegate
-        final AbstractExporterDelegate<InputStream> exportDelegate = new TarGzExporterDelegate(this.getArchive());
+        final AbstractExporterDelegate<InputStream> exportDelegate = new TarGzExporterDelegate(this.getArchive(),
+            this.getListeners(), this.getCompressionPolicy());
 
         // Execute export
         return exportDelegate.export();
     }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.exporter.TarGzExporter#compressWith(org.jboss.shrinkwrap.api.exporter.CompressionPolicy)
+     */
+    @Override
+    public TarGzExporter compressWith(final CompressionPolicy policy) throws IllegalArgumentException {
+        this.setCompressionPolicy(policy);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.impl.base.exporter.AbstractStreamExporterImpl#getExportKind()
+     */
+    @Override
+    protected String getExportKind() {
+        return qualifyExportKind(super.getExportKind(), this.getCompressionPolicy());
+    }
 }
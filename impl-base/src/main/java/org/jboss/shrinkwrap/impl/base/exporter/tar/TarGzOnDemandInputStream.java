@@ -17,42 +17,50 @@
 package org.jboss.shrinkwrap.impl.base.exporter.tar;
 
 import org.jboss.shrinkwrap.api.Archive;
-import org.jboss.shrinkwrap.impl.base.exporter.AbstractOnDemandInputStream;
-import org.jboss.shrinkwrap.impl.base.io.tar.TarEntry;
+import org.jboss.shrinkwrap.api.ArchivePath;
+import org.jboss.shrinkwrap.api.ArchivePaths;
+import org.jboss.shrinkwrap.api.exporter.CompressionPolicy;
+import org.jboss.shrinkwrap.api.exporter.ExportListener;
 import org.jboss.shrinkwrap.impl.base.io.tar.TarGzOutputStream;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Collection;
 
 /**
  * TarGz on demand input stream.
  *
  * @author <a href="mailto:mmatloka@gmail.com">Michal Matloka</a>
  */
-class TarGzOnDemandInputStream extends AbstractOnDemandInputStream<TarGzOutputStream> {
+class TarGzOnDemandInputStream extends TarOnDemandInputStreamBase<TarGzOutputStream> {
+
+    /**
+     * Compression levels and strategies of the entries written
+     */
+    private final CompressionPolicy compressionPolicy;
 
     /**
      * Creates stream directly from archive.
      *
      * @param archive
+     * @param listeners
+     * @param compressionPolicy
      */
-    TarGzOnDemandInputStream(final Archive<?> archive) {
-        super(archive);
+    TarGzOnDemandInputStream(final Archive<?> archive, final Collection<ExportListener> listeners,
+        final CompressionPolicy compressionPolicy) {
+        super(archive, listeners);
+        this.compressionPolicy = compressionPolicy;
     }
 
     @Override
     protected TarGzOutputStream createOutputStream(final OutputStream outputStream) throws IOException {
-        return new TarGzOutputStream(outputStream);
-    }
-
-    @Override
-    protected void closeEntry(final TarGzOutputStream outputStream) throws IOException {
-        outputStream.closeEntry();
+        return new TarGzOutputStream(outputStream, getCodecPool());
     }
 
     @Override
     protected void putNextEntry(final TarGzOutputStream outputStream, final String context) throws IOException {
-        final TarEntry entry = new TarEntry(context);
-        outputStream.putNextEntry(entry);
+        final ArchivePath path = ArchivePaths.create(context);
+        outputStream.setCompression(compressionPolicy.getLevel(path), compressionPolicy.getStrategy(path));
+        super.putNextEntry(outputStream, context);
     }
-}
\ No newline at end of file
+}
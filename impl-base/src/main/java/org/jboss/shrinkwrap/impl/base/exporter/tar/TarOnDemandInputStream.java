@@ -18,8 +18,10 @@ package org.jboss.shrinkwrap.impl.base.exporter.tar;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Collection;
 
 import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.exporter.ExportListener;
 import org.jboss.shrinkwrap.impl.base.io.tar.TarOutputStream;
 
 /**
@@ -33,9 +35,10 @@ class TarOnDemandInputStream extends TarOnDemandInputStreamBase<TarOutputStream>
      * Creates stream directly from archive.
      *
      * @param archive
+     * @param listeners
      */
-    TarOnDemandInputStream(final Archive<?> archive) {
-        super(archive);
+    TarOnDemandInputStream(final Archive<?> archive, final Collection<ExportListener> listeners) {
+        super(archive, listeners);
     }
 
     @Override
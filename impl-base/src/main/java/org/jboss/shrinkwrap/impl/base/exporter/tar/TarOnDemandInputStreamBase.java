@@ -17,8 +17,10 @@
 package org.jboss.shrinkwrap.impl.base.exporter.tar;
 
 import java.io.IOException;
+import java.util.Collection;
 
 import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.exporter.ExportListener;
 import org.jboss.shrinkwrap.impl.base.exporter.AbstractOnDemandInputStream;
 import org.jboss.shrinkwrap.impl.base.io.tar.TarEntry;
 import org.jboss.shrinkwrap.impl.base.io.tar.TarOutputStreamImpl;
@@ -34,19 +36,23 @@ abstract class TarOnDemandInputStreamBase<T extends TarOutputStreamImpl> extends
      * Creates stream directly from archive.
      *
      * @param archive
+     * @param listeners
      */
-    TarOnDemandInputStreamBase(final Archive<?> archive) {
-        super(archive);
+    TarOnDemandInputStreamBase(final Archive<?> archive, final Collection<ExportListener> listeners) {
+        super(archive, listeners);
     }
 
     @Override
-    protected void closeEntry(final TarOutputStreamImpl outputStream) throws IOException {
+    protected void closeEntry(final T outputStream) throws IOException {
         outputStream.closeEntry();
     }
 
     @Override
-    protected void putNextEntry(final TarOutputStreamImpl outputStream, final String context) throws IOException {
+    protected void putNextEntry(final T outputStream, final String context) throws IOException {
         final TarEntry entry = new TarEntry(context);
+        if (isFixedEntryTime()) {
+            entry.setModTime(FIXED_ENTRY_TIME);
+        }
         outputStream.putNextEntry(entry);
     }
 }
\ No newline at end of file
@@ -19,11 +19,14 @@ package org.jboss.shrinkwrap.impl.base.exporter.zip;
 import org.jboss.shrinkwrap.api.Archive;
 import org.jboss.shrinkwrap.api.ArchivePath;
 import org.jboss.shrinkwrap.api.Node;
+import org.jboss.shrinkwrap.api.exporter.CompressionPolicy;
+import org.jboss.shrinkwrap.api.exporter.ExportListener;
 import org.jboss.shrinkwrap.impl.base.exporter.AbstractExporterDelegate;
 
 import java.util.zip.ZipOutputStream;
 
 import java.io.InputStream;
+import java.util.Collection;
 
 /**
  * Implementation of a ZIP exporter. Cannot handle archives with no content (as there'd be no
@@ -33,8 +36,21 @@ import java.io.InputStream;
  */
 class ZipExporterDelegate extends AbstractExporterDelegate<InputStream> {
 
-    protected ZipExporterDelegate(final Archive<?> archive) {
+    /**
+     * Listeners to be notified of each file exported
+     */
+    private final Collection<ExportListener> listeners;
+
+    /**
+     * Compression levels and strategies of the entries exported
+     */
+    private final CompressionPolicy compressionPolicy;
+
+    protected ZipExporterDelegate(final Archive<?> archive, final Collection<ExportListener> listeners,
+        final CompressionPolicy compressionPolicy) {
         super(archive);
+        this.listeners = listeners;
+        this.compressionPolicy = compressionPolicy;
 
         // Precondition check
         if (archive.getContent().isEmpty()) {
@@ -51,6 +67,6 @@ class ZipExporterDelegate extends AbstractExporterDelegate<InputStream> {
 
     @Override
     protected InputStream getResult() {
-        return new ZipOnDemandInputStream(getArchive());
+        return new ZipOnDemandInputStream(getArchive(), listeners, compressionPolicy);
     }
 }
@@ -19,6 +19,7 @@ package org.jboss.shrinkwrap.impl.base.exporter.zip;
 import java.io.InputStream;
 
 import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.exporter.CompressionPolicy;
 import org.jboss.shrinkwrap.api.exporter.ZipExporter;
 import org.jboss.shrinkwrap.impl.base.exporter.AbstractExporterDelegate;
 import org.jboss.shrinkwrap.impl.base.exporter.AbstractStreamExporterImpl;
@@ -45,9 +46,31 @@ public class ZipExporterImpl extends AbstractStreamExporterImpl implements ZipEx
     @Override
     public InputStream exportAsInputStream() {
         // Create export delegate
-        final AbstractExporterDelegate<InputStream> exportDelegate = new ZipExporterDelegate(this.getArchive());
+        final AbstractExporterDelegate<InputStream> exportDelegate = new ZipExporterDelegate(this.getArchive(),
+            this.getListeners(), this.getCompressionPolicy());
 
         // Export and get result
         return exportDelegate.export();
     }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.exporter.ZipExporter#compressWith(org.jboss.shrinkwrap.api.exporter.CompressionPolicy)
+     */
+    @Override
+    public ZipExporter compressWith(final CompressionPolicy policy) throws IllegalArgumentException {
+        this.setCompressionPolicy(policy);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.impl.base.exporter.AbstractStreamExporterImpl#getExportKind()
+     */
+    @Override
+    protected String getExportKind() {
+        return qualifyExportKind(super.getExportKind(), this.getCompressionPolicy());
+    }
 }
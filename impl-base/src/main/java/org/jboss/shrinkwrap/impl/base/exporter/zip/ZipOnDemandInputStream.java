@@ -18,40 +18,61 @@ package org.jboss.shrinkwrap.impl.base.exporter.zip;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Collection;
 import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
 
 import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ArchivePath;
+import org.jboss.shrinkwrap.api.ArchivePaths;
+import org.jboss.shrinkwrap.api.exporter.CompressionPolicy;
+import org.jboss.shrinkwrap.api.exporter.ExportListener;
 import org.jboss.shrinkwrap.impl.base.exporter.AbstractOnDemandInputStream;
+import org.jboss.shrinkwrap.impl.base.io.zip.Zip64OutputStream;
 
 /**
- * ZIP on demand input stream.
+ * ZIP on demand input stream. Written using {@link Zip64OutputStream}, so exports may exceed 4 GB or 65,535 entries.
  *
  * @author <a href="mailto:mmatloka@gmail.com">Michal Matloka</a>
  */
-class ZipOnDemandInputStream extends AbstractOnDemandInputStream<ZipOutputStream> {
+class ZipOnDemandInputStream extends AbstractOnDemandInputStream<Zip64OutputStream> {
+
+    /**
+     * Compression levels and strategies of the entries written
+     */
+    private final CompressionPolicy compressionPolicy;
 
     /**
      * Creates stream directly from archive.
      *
      * @param archive
+     * @param listeners
+     * @param compressionPolicy
      */
-    ZipOnDemandInputStream(final Archive<?> archive) {
-        super(archive);
+    ZipOnDemandInputStream(final Archive<?> archive, final Collection<ExportListener> listeners,
+        final CompressionPolicy compressionPolicy) {
+        super(archive, listeners);
+        this.compressionPolicy = compressionPolicy;
     }
 
     @Override
-    protected ZipOutputStream createOutputStream(final OutputStream outputStream) {
-        return new ZipOutputStream(outputStream);
+    protected Zip64OutputStream createOutputStream(final OutputStream outputStream) {
+        return new Zip64OutputStream(outputStream, Zip64OutputStream.DEFAULT_BUFFER_THRESHOLD, getCodecPool());
     }
 
     @Override
-    protected void closeEntry(final ZipOutputStream outputStream) throws IOException {
+    protected void closeEntry(final Zip64OutputStream outputStream) throws IOException {
         outputStream.closeEntry();
     }
 
     @Override
-    protected void putNextEntry(final ZipOutputStream outputStream, final String context) throws IOException {
-        outputStream.putNextEntry(new ZipEntry(context));
+    protected void putNextEntry(final Zip64OutputStream outputStream, final String context) throws IOException {
+        final ZipEntry entry = new ZipEntry(context);
+        if (isFixedEntryTime()) {
+            entry.setTime(FIXED_LOCAL_ENTRY_TIME);
+        }
+        final ArchivePath path = ArchivePaths.create(context);
+        outputStream.setLevel(compressionPolicy.getLevel(path));
+        outputStream.setStrategy(compressionPolicy.getStrategy(path));
+        outputStream.putNextEntry(entry);
     }
 }
@@ -17,6 +17,16 @@
 package org.jboss.shrinkwrap.impl.base.importer;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -24,9 +34,12 @@ import org.jboss.shrinkwrap.api.Archive;
 import org.jboss.shrinkwrap.api.ArchivePath;
 import org.jboss.shrinkwrap.api.Filter;
 import org.jboss.shrinkwrap.api.Filters;
+import org.jboss.shrinkwrap.api.asset.Asset;
 import org.jboss.shrinkwrap.api.asset.FileAsset;
+import org.jboss.shrinkwrap.api.importer.ArchiveImportException;
 import org.jboss.shrinkwrap.api.importer.ExplodedImporter;
 import org.jboss.shrinkwrap.impl.base.AssignableBase;
+import org.jboss.shrinkwrap.impl.base.ConfigurationUtil;
 import org.jboss.shrinkwrap.impl.base.Validate;
 import org.jboss.shrinkwrap.impl.base.path.BasicPath;
 
@@ -59,9 +72,6 @@ public class ExplodedImporterImpl extends AssignableBase<Archive<?>> implements
     // -------------------------------------------------------------------------------------||
     // Required Implementations ------------------------------------------------------------||
     // -------------------------------------------------------------------------------------||
-    void a() {
-
-    }
 
     /**
      * {@inheritDoc}
@@ -107,50 +117,159 @@ public class ExplodedImporterImpl extends AssignableBase<Archive<?>> implements
             throw new IllegalArgumentException("Given file is not a directory " + file.getAbsolutePath());
         }
 
-        doImport(file, file.listFiles(), filter);
+        // List each directory, concurrently on the configured executor if any, but insert depth first in the order
+        // listed (each directory's contents before its next sibling), as the archive is not thread-safe
+        final ExecutorService executor = ConfigurationUtil.executorOf(this.getArchive());
+        final List<Future<List<Child>>> listings = new ArrayList<Future<List<Child>>>();
+        try {
+            // Children yet to be inserted of each directory being walked, innermost last
+            final LinkedList<Iterator<Child>> walk = new LinkedList<Iterator<Child>>();
+            final Future<List<Child>> root = list(file, "", filter, executor);
+            listings.add(root);
+            walk.add(expand(root, filter, executor, listings));
+            while (!walk.isEmpty()) {
+                final Iterator<Child> children = walk.getLast();
+                if (!children.hasNext()) {
+                    walk.removeLast();
+                    continue;
+                }
+                final Child child = children.next();
+                if (child.asset == null) {
+                    this.getArchive().addAsDirectory(child.path);
+                    walk.add(expand(child.listing, filter, executor, listings));
+                } else {
+                    this.getArchive().add(child.asset, child.path);
+                }
+            }
+        } catch (final ExecutionException ee) {
+            final Throwable cause = ee.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new ArchiveImportException("Could not import directory " + file.getAbsolutePath(), cause);
+        } catch (final InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new ArchiveImportException("Interrupted during import of directory " + file.getAbsolutePath(), ie);
+        } finally {
+            for (final Future<List<Child>> listing : listings) {
+                listing.cancel(true);
+            }
+        }
         return this;
     }
 
-    private void doImport(File root, File[] files, Filter<ArchivePath> filter) {
-        for (File file : files) {
-            if (log.isLoggable(Level.FINER)) {
-                log.finer("Importing: " + file.getAbsolutePath());
-            }
-            final Archive<?> archive = this.getArchive();
-            final ArchivePath path = calculatePath(root, file);
-            if( filter.include(path) ) {
-                if (file.isDirectory()) {
-                    archive.addAsDirectory(path);
-                    doImport(root, file.listFiles(), filter);
-                } else {
-                    archive.add(new FileAsset(file), path);
-                }
+    // -------------------------------------------------------------------------------------||
+    // Internal Helper Methods ------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Awaits the specified listing, then starts listing each directory within, so that subdirectories are listed
+     * ahead of being walked
+     *
+     * @param listing
+     * @param filter
+     * @param executor
+     * @param listings
+     *            Listings started, to which those of the subdirectories are added
+     * @return the children listed
+     * @throws ExecutionException
+     * @throws InterruptedException
+     */
+    private static Iterator<Child> expand(final Future<List<Child>> listing, final Filter<ArchivePath> filter,
+        final ExecutorService executor, final List<Future<List<Child>>> listings) throws ExecutionException,
+        InterruptedException {
+        final List<Child> children = listing.get();
+        for (final Child child : children) {
+            if (child.asset == null) {
+                child.listing = list(child.file, child.path.get(), filter, executor);
+                listings.add(child.listing);
             }
         }
+        return children.iterator();
     }
 
     /**
-     * Calculate the relative child path.
+     * Lists the specified directory on the specified executor, or at once if none is specified
      *
-     * @param root
-     *            The Archive root folder
-     * @param child
-     *            The Child file
-     * @return a Path fort he child relative to root
+     * @param directory
+     * @param path
+     *            Archive path of the directory, without trailing separator
+     * @param filter
+     * @param executor
+     * @return
      */
-    private ArchivePath calculatePath(File root, File child) {
-        String rootPath = unifyPath(root.getPath());
-        String childPath = unifyPath(child.getPath());
-        String archiveChildPath = childPath.replaceFirst(rootPath, "");
-        return new BasicPath(archiveChildPath);
+    private static Future<List<Child>> list(final File directory, final String path, final Filter<ArchivePath> filter,
+        final ExecutorService executor) {
+        final FutureTask<List<Child>> listing = new FutureTask<List<Child>>(new Callable<List<Child>>() {
+            @Override
+            public List<Child> call() {
+                return children(directory, path, filter);
+            }
+        });
+        if (executor == null) {
+            listing.run();
+        } else {
+            executor.execute(listing);
+        }
+        return listing;
     }
 
     /**
-     * Windows vs Linux will return different path separators, unify the paths.
+     * Obtains the children of the specified directory accepted by the specified filter. The archive path of each is
+     * that of the directory followed by its name, so is computed without rescanning the full file path.
      *
+     * @param directory
+     * @param path
+     *            Archive path of the directory, without trailing separator
+     * @param filter
      * @return
      */
-    private String unifyPath(String path) {
-        return path.replaceAll("\\\\", "/");
+    private static List<Child> children(final File directory, final String path, final Filter<ArchivePath> filter) {
+        final File[] files = directory.listFiles();
+        if (files == null) {
+            throw new ArchiveImportException(new IOException("Could not list directory "
+                + directory.getAbsolutePath()));
+        }
+        final List<Child> children = new ArrayList<Child>(files.length);
+        for (final File file : files) {
+            if (log.isLoggable(Level.FINER)) {
+                log.finer("Importing: " + file.getAbsolutePath());
+            }
+            final ArchivePath childPath = new BasicPath(path + ArchivePath.SEPARATOR + file.getName());
+            if (filter.include(childPath)) {
+                children.add(new Child(file, childPath, file.isDirectory() ? null : new FileAsset(file)));
+            }
+        }
+        return children;
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Inner Classes ----------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * A file or directory to be imported; directories have no asset
+     */
+    private static final class Child {
+
+        private final File file;
+
+        private final ArchivePath path;
+
+        private final Asset asset;
+
+        /**
+         * Listing of a directory's own children, once started
+         */
+        private Future<List<Child>> listing;
+
+        Child(final File file, final ArchivePath path, final Asset asset) {
+            this.file = file;
+            this.path = path;
+            this.asset = asset;
+        }
     }
 }
@@ -0,0 +1,284 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base.importer;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ArchiveFormat;
+import org.jboss.shrinkwrap.api.ArchivePath;
+import org.jboss.shrinkwrap.api.Filter;
+import org.jboss.shrinkwrap.api.Filters;
+import org.jboss.shrinkwrap.api.importer.ArchiveImportException;
+import org.jboss.shrinkwrap.api.importer.FormatDetectingImporter;
+import org.jboss.shrinkwrap.api.importer.StreamImporter;
+import org.jboss.shrinkwrap.api.importer.TarGzImporter;
+import org.jboss.shrinkwrap.api.importer.TarImporter;
+import org.jboss.shrinkwrap.api.importer.ZipImporter;
+import org.jboss.shrinkwrap.impl.base.AssignableBase;
+import org.jboss.shrinkwrap.impl.base.Validate;
+import org.jboss.shrinkwrap.impl.base.io.IOUtil;
+
+/**
+ * Used to import existing ZIP, TAR or TAR.GZ files/streams into the given {@link Archive}, detecting the format from
+ * the leading bytes: the ZIP local file header (or end of central directory, if empty) signature, the GZIP magic
+ * number, or a TAR header whose checksum holds
+ *
+ * @version $Revision: $
+ */
+public class FormatDetectingImporterImpl extends AssignableBase<Archive<?>> implements FormatDetectingImporter {
+
+    // -------------------------------------------------------------------------------------||
+    // Class Members ----------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Number of leading bytes examined; a TAR header block
+     */
+    static final int HEADER_SIZE = 512;
+
+    /**
+     * Offset and length of the checksum field of a TAR header
+     */
+    private static final int TAR_CHECKSUM_OFFSET = 148;
+
+    private static final int TAR_CHECKSUM_LENGTH = 8;
+
+    // -------------------------------------------------------------------------------------||
+    // Instance Members -------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Format detected by the last import
+     */
+    private volatile ArchiveFormat detectedFormat = ArchiveFormat.UNKNOWN;
+
+    // -------------------------------------------------------------------------------------||
+    // Constructor ------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    public FormatDetectingImporterImpl(final Archive<?> archive) {
+        super(archive);
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Required Implementations -----------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.importer.StreamImporter#importFrom(java.io.InputStream)
+     */
+    @Override
+    public FormatDetectingImporter importFrom(final InputStream stream) throws ArchiveImportException {
+        return this.importFrom(stream, Filters.includeAll());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.importer.StreamImporter#importFrom(java.io.InputStream,
+     *      org.jboss.shrinkwrap.api.Filter)
+     */
+    @Override
+    public FormatDetectingImporter importFrom(final InputStream stream, final Filter<ArchivePath> filter)
+        throws ArchiveImportException {
+        Validate.notNull(stream, "Stream must be specified");
+        Validate.notNull(filter, "Filter must be specified");
+
+        // Examine the leading bytes, then push them back for the importer of the detected format
+        final PushbackInputStream pushback = new PushbackInputStream(stream, HEADER_SIZE);
+        final byte[] header = new byte[HEADER_SIZE];
+        final int length;
+        try {
+            length = readHeader(pushback, header);
+            pushback.unread(header, 0, length);
+        } catch (final IOException ioe) {
+            throw new ArchiveImportException("Could not read stream to detect its format", ioe);
+        }
+
+        this.importerOf(detect(header, length)).importFrom(pushback, filter);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.importer.StreamImporter#importFrom(java.io.File)
+     */
+    @Override
+    public FormatDetectingImporter importFrom(final File file) throws ArchiveImportException {
+        return this.importFrom(file, Filters.includeAll());
+    }
+
+    /**
+     * {@inheritDoc} ZIP files are imported from the file itself, as by {@link ZipImporter#importFrom(File, Filter)}.
+     *
+     * @see org.jboss.shrinkwrap.api.importer.StreamImporter#importFrom(java.io.File, org.jboss.shrinkwrap.api.Filter)
+     */
+    @Override
+    public FormatDetectingImporter importFrom(final File file, final Filter<ArchivePath> filter)
+        throws ArchiveImportException {
+        Validate.notNull(file, "File must be specified");
+        Validate.notNull(filter, "Filter must be specified");
+        if (!file.exists()) {
+            throw new IllegalArgumentException("Specified file for import does not exist: " + file);
+        }
+        if (file.isDirectory()) {
+            throw new IllegalArgumentException("Specified file for import is a directory: " + file);
+        }
+
+        final byte[] header = new byte[HEADER_SIZE];
+        final int length;
+        InputStream in = null;
+        try {
+            in = new FileInputStream(file);
+            length = readHeader(in, header);
+        } catch (final IOException ioe) {
+            throw new ArchiveImportException("Could not read archive file " + file + " to detect its format", ioe);
+        } finally {
+            IOUtil.closeQuietly(in);
+        }
+
+        this.importerOf(detect(header, length)).importFrom(file, filter);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.importer.FormatDetectingImporter#getDetectedFormat()
+     */
+    @Override
+    public ArchiveFormat getDetectedFormat() {
+        return detectedFormat;
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Functional Methods -----------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Detects the format of content from its specified leading bytes
+     *
+     * @param header
+     * @param length
+     *            Number of leading bytes held in the header
+     * @return The format, or {@link ArchiveFormat#UNKNOWN} if not recognized
+     */
+    static ArchiveFormat detect(final byte[] header, final int length) {
+        if (length >= 4 && header[0] == 'P' && header[1] == 'K'
+            && ((header[2] == 3 && header[3] == 4) || (header[2] == 5 && header[3] == 6))) {
+            return ArchiveFormat.ZIP;
+        }
+        if (length >= 2 && (header[0] & 0xFF) == 0x1F && (header[1] & 0xFF) == 0x8B) {
+            return ArchiveFormat.TAR_GZ;
+        }
+        if (length == HEADER_SIZE && isTarHeader(header)) {
+            return ArchiveFormat.TAR;
+        }
+        return ArchiveFormat.UNKNOWN;
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Internal Helper Methods ------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Obtains the importer of the specified format upon the archive, remembering the format as detected
+     *
+     * @throws ArchiveImportException
+     *             If the format was not recognized
+     */
+    private StreamImporter<?> importerOf(final ArchiveFormat format) throws ArchiveImportException {
+        final Class<? extends StreamImporter<?>> importer;
+        switch (format) {
+            case ZIP:
+                importer = ZipImporter.class;
+                break;
+            case TAR:
+                importer = TarImporter.class;
+                break;
+            case TAR_GZ:
+                importer = TarGzImporter.class;
+                break;
+            default:
+                throw new ArchiveImportException("Could not detect the format of the content; expected ZIP, TAR or"
+                    + " TAR.GZ");
+        }
+        detectedFormat = format;
+        return this.getArchive().as(importer);
+    }
+
+    /**
+     * Reads as many leading bytes as are available, up to the length of the header
+     *
+     * @return The number of bytes read
+     */
+    private static int readHeader(final InputStream in, final byte[] header) throws IOException {
+        int length = 0;
+        while (length < header.length) {
+            final int read = in.read(header, length, header.length - length);
+            if (read == -1) {
+                break;
+            }
+            length += read;
+        }
+        return length;
+    }
+
+    /**
+     * Whether the specified block is a TAR header: its checksum, the unsigned sum of its bytes with those of the
+     * checksum field counted as spaces, matches the octal value of that field. Holds for the POSIX, GNU and older
+     * formats alike. A block of zeros, marking the end of the archive, is taken as the start of an empty TAR.
+     */
+    private static boolean isTarHeader(final byte[] block) {
+        long sum = 0;
+        boolean empty = true;
+        for (int i = 0; i < HEADER_SIZE; i++) {
+            final boolean checksumField = i >= TAR_CHECKSUM_OFFSET && i < TAR_CHECKSUM_OFFSET + TAR_CHECKSUM_LENGTH;
+            sum += checksumField ? ' ' : block[i] & 0xFF;
+            empty &= block[i] == 0;
+        }
+        if (empty) {
+            return true;
+        }
+
+        // Parse the octal checksum, bounded by spaces or NULs
+        long checksum = 0;
+        boolean digits = false;
+        for (int i = TAR_CHECKSUM_OFFSET; i < TAR_CHECKSUM_OFFSET + TAR_CHECKSUM_LENGTH; i++) {
+            final byte b = block[i];
+            if (b >= '0' && b <= '7') {
+                checksum = checksum * 8 + (b - '0');
+                digits = true;
+            } else if (b == ' ' || b == 0) {
+                if (digits) {
+                    break;
+                }
+            } else {
+                return false;
+            }
+        }
+        return digits && checksum == sum;
+    }
+}
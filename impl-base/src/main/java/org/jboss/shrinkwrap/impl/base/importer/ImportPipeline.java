@@ -0,0 +1,333 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base.importer;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ArchivePath;
+import org.jboss.shrinkwrap.api.Configuration;
+import org.jboss.shrinkwrap.api.asset.Asset;
+import org.jboss.shrinkwrap.impl.base.ConfigurationUtil;
+import org.jboss.shrinkwrap.impl.base.Validate;
+
+/**
+ * Inserts the entries read by a stream importer into its archive. Where the archive's {@link Configuration} calls for
+ * a {@link Configuration#isPipelinedImport() pipelined import}, entries are read (and decompressed) on another thread,
+ * of the configured executor if any, and handed through a bounded queue to the calling thread, which inserts them in
+ * batches; otherwise they are inserted as read, on the calling thread. Sources read each entry's content with
+ * {@link org.jboss.shrinkwrap.impl.base.io.SpillArea}, so that large entries need not be held in memory.
+ *
+ * @version $Revision: $
+ */
+public final class ImportPipeline {
+
+    // -------------------------------------------------------------------------------------||
+    // Class Members ----------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Number of entries read ahead of insertion, at most
+     */
+    static final int QUEUE_CAPACITY = 64;
+
+    /**
+     * Number of entries inserted per batch, at most
+     */
+    static final int BATCH_SIZE = 16;
+
+    /**
+     * Marks the end of the entries read
+     */
+    private static final Entry END = new Entry(null, null);
+
+    // -------------------------------------------------------------------------------------||
+    // Constructor ------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Internal constructor; should not be called
+     */
+    private ImportPipeline() {
+        throw new UnsupportedOperationException("No instances should be created; stateless class");
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Functional Methods -----------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Inserts all entries read by the specified source into the specified archive, returning once all are inserted.
+     * When pipelined, the source has stopped reading by the time this returns, whether normally or not.
+     *
+     * @param archive
+     * @param source
+     * @throws IOException
+     *             If the source failed to read, or the calling thread was interrupted
+     * @throws IllegalArgumentException
+     *             If the archive or source is not specified
+     */
+    public static void run(final Archive<?> archive, final Source source) throws IOException {
+        Validate.notNull(archive, "Archive must be specified");
+        Validate.notNull(source, "Source must be specified");
+
+        final Configuration configuration = ConfigurationUtil.configurationOf(archive);
+        if (configuration == null || !configuration.isPipelinedImport()) {
+            source.readInto(new Sink() {
+                @Override
+                public void directory(final ArchivePath path) {
+                    archive.addAsDirectory(path);
+                }
+
+                @Override
+                public void file(final ArchivePath path, final Asset asset) {
+                    archive.add(asset, path);
+                }
+            });
+            return;
+        }
+
+        final Reader reader = new Reader(source);
+        final ExecutorService configured = configuration.getExecutorService();
+        final ExecutorService executor = configured != null ? configured : ConfigurationUtil.newDaemonExecutor(1,
+            "ShrinkWrap import reader");
+        final Future<?> future = executor.submit(reader);
+
+        boolean completed = false;
+        try {
+            final List<Entry> batch = new ArrayList<Entry>(BATCH_SIZE);
+            while (true) {
+                batch.add(reader.queue.take());
+                reader.queue.drainTo(batch, BATCH_SIZE - 1);
+                for (final Entry entry : batch) {
+                    if (entry == END) {
+                        completed = true;
+                        reader.rethrowFailure();
+                        return;
+                    }
+                    if (entry.asset == null) {
+                        archive.addAsDirectory(entry.path);
+                    } else {
+                        archive.add(entry.asset, entry.path);
+                    }
+                }
+                batch.clear();
+            }
+        } catch (final InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted during import");
+        } finally {
+            if (!completed) {
+                // Stop the reader, which may be blocked handing over an entry, and, unless it never started, wait
+                // for it to let go of the source; the queue is emptied so that it cannot block queueing the end
+                reader.abandoned = true;
+                future.cancel(true);
+                reader.queue.clear();
+                if (!reader.claim()) {
+                    awaitUninterruptibly(reader.finished);
+                }
+            }
+            if (configured == null) {
+                executor.shutdown();
+            }
+        }
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Internal Helper Methods ------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    private static void awaitUninterruptibly(final CountDownLatch latch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (final InterruptedException ie) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Inner Classes ----------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Reads the entries of an import, in order
+     */
+    public interface Source {
+
+        /**
+         * Reads all entries, handing each in turn to the specified sink
+         *
+         * @param sink
+         * @throws IOException
+         */
+        void readInto(Sink sink) throws IOException;
+    }
+
+    /**
+     * Receives the entries read by a {@link Source}
+     */
+    public interface Sink {
+
+        /**
+         * Receives a directory entry
+         *
+         * @param path
+         * @throws IOException
+         *             If the import was abandoned while handing over the entry
+         */
+        void directory(ArchivePath path) throws IOException;
+
+        /**
+         * Receives a file entry
+         *
+         * @param path
+         * @param asset
+         * @throws IOException
+         *             If the import was abandoned while handing over the entry
+         */
+        void file(ArchivePath path, Asset asset) throws IOException;
+    }
+
+    /**
+     * An entry read, but not yet inserted; directories have no asset
+     */
+    private static final class Entry {
+
+        private final ArchivePath path;
+
+        private final Asset asset;
+
+        Entry(final ArchivePath path, final Asset asset) {
+            this.path = path;
+            this.asset = asset;
+        }
+    }
+
+    /**
+     * Runs a {@link Source}, queueing the entries read for insertion, then {@link ImportPipeline#END}
+     */
+    private static final class Reader implements Runnable, Sink {
+
+        private final Source source;
+
+        private final BlockingQueue<Entry> queue = new ArrayBlockingQueue<Entry>(QUEUE_CAPACITY);
+
+        private final CountDownLatch finished = new CountDownLatch(1);
+
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        private volatile Throwable failure;
+
+        /**
+         * Whether the caller has stopped inserting entries
+         */
+        private volatile boolean abandoned;
+
+        Reader(final Source source) {
+            this.source = source;
+        }
+
+        /**
+         * Claims the reading of the source, returning false if it was already claimed
+         */
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+
+        @Override
+        public void run() {
+            if (!this.claim()) {
+                // Abandoned before starting
+                return;
+            }
+            try {
+                source.readInto(this);
+            } catch (final Throwable t) {
+                failure = t;
+            } finally {
+                // Once abandoned nobody takes the end, which need not wait for room in a full queue
+                if (!abandoned) {
+                    try {
+                        queue.put(END);
+                    } catch (final InterruptedException ie) {
+                        // Abandoned; nobody is waiting for the end
+                    }
+                }
+                finished.countDown();
+            }
+        }
+
+        @Override
+        public void directory(final ArchivePath path) throws IOException {
+            this.put(new Entry(path, null));
+        }
+
+        @Override
+        public void file(final ArchivePath path, final Asset asset) throws IOException {
+            this.put(new Entry(path, asset));
+        }
+
+        private void put(final Entry entry) throws IOException {
+            if (abandoned) {
+                throw new InterruptedIOException("Import abandoned");
+            }
+            try {
+                queue.put(entry);
+            } catch (final InterruptedException ie) {
+                throw new InterruptedIOException("Import abandoned");
+            }
+        }
+
+        /**
+         * Rethrows the failure of the source, if any, on the calling thread
+         */
+        void rethrowFailure() throws IOException {
+            final Throwable t = failure;
+            if (t == null) {
+                return;
+            }
+            if (t instanceof IOException) {
+                throw (IOException) t;
+            }
+            if (t instanceof RuntimeException) {
+                throw (RuntimeException) t;
+            }
+            if (t instanceof Error) {
+                throw (Error) t;
+            }
+            final IOException ioe = new IOException("Could not read import");
+            ioe.initCause(t);
+            throw ioe;
+        }
+    }
+}
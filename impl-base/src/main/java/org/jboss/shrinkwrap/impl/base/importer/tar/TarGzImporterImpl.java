@@ -21,6 +21,7 @@ import java.io.InputStream;
 
 import org.jboss.shrinkwrap.api.Archive;
 import org.jboss.shrinkwrap.api.importer.TarGzImporter;
+import org.jboss.shrinkwrap.impl.base.io.CodecPool;
 import org.jboss.shrinkwrap.impl.base.io.tar.TarGzInputStream;
 
 /**
@@ -50,7 +51,17 @@ public class TarGzImporterImpl extends TarImporterBase<TarGzInputStream, TarGzIm
     @Override
     TarGzInputStream getInputStreamForRawStream(final InputStream in) throws IOException {
         assert in != null : "Specified inputstream was null";
-        return new TarGzInputStream(in);
+        return new TarGzInputStream(in, CodecPool.forArchive(this.getArchive()), this.getBlockSize());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.impl.base.importer.tar.TarImporterBase#release(TarInputStream)
+     */
+    @Override
+    void release(final TarGzInputStream stream) {
+        stream.release();
     }
 
     /**
@@ -16,7 +16,6 @@
  */
 package org.jboss.shrinkwrap.impl.base.importer.tar;
 
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -24,13 +23,23 @@ import java.io.InputStream;
 import java.util.logging.Logger;
 
 import org.jboss.shrinkwrap.api.Archive;
-import org.jboss.shrinkwrap.api.asset.ByteArrayAsset;
+import org.jboss.shrinkwrap.api.ArchivePath;
+import org.jboss.shrinkwrap.api.Configuration;
+import org.jboss.shrinkwrap.api.Filter;
+import org.jboss.shrinkwrap.api.Filters;
 import org.jboss.shrinkwrap.api.importer.ArchiveImportException;
 import org.jboss.shrinkwrap.api.importer.StreamImporter;
 import org.jboss.shrinkwrap.impl.base.AssignableBase;
+import org.jboss.shrinkwrap.impl.base.ConfigurationUtil;
 import org.jboss.shrinkwrap.impl.base.Validate;
+import org.jboss.shrinkwrap.impl.base.importer.ImportPipeline;
+import org.jboss.shrinkwrap.impl.base.io.CodecPool;
+import org.jboss.shrinkwrap.impl.base.io.IOUtil;
+import org.jboss.shrinkwrap.impl.base.io.SpillArea;
+import org.jboss.shrinkwrap.impl.base.io.tar.TarBuffer;
 import org.jboss.shrinkwrap.impl.base.io.tar.TarEntry;
 import org.jboss.shrinkwrap.impl.base.io.tar.TarInputStream;
+import org.jboss.shrinkwrap.impl.base.path.BasicPath;
 
 /**
  * Base of implementations used to import existing TAR files/streams into the given {@link Archive}
@@ -75,6 +84,16 @@ abstract class TarImporterBase<S extends TarInputStream, I extends StreamImporte
      */
     abstract S getInputStreamForRawStream(InputStream in) throws IOException;
 
+    /**
+     * Returns any pooled resources held by the specified stream once its entries have been consumed, leaving the
+     * underlying raw input open; by default there are none
+     *
+     * @param stream
+     */
+    void release(final S stream) {
+        // No-op
+    }
+
     // -------------------------------------------------------------------------------------||
     // Functional Methods -----------------------------------------------------------------||
     // -------------------------------------------------------------------------------------||
@@ -86,6 +105,14 @@ abstract class TarImporterBase<S extends TarInputStream, I extends StreamImporte
         return this.getActualClass().cast(this);
     }
 
+    /**
+     * Obtains the size in bytes of the blocks in which to read the raw input, as configured for the archive
+     */
+    int getBlockSize() {
+        final Configuration configuration = ConfigurationUtil.configurationOf(this.getArchive());
+        return configuration == null ? TarBuffer.DEFAULT_BLKSIZE : configuration.getTarImportBlockSize();
+    }
+
     // -------------------------------------------------------------------------------------||
     // Required Implementations -----------------------------------------------------------||
     // -------------------------------------------------------------------------------------||
@@ -97,7 +124,19 @@ abstract class TarImporterBase<S extends TarInputStream, I extends StreamImporte
      */
     @Override
     public I importFrom(final InputStream stream) throws ArchiveImportException {
+        return this.importFrom(stream, Filters.includeAll());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.importer.StreamImporter#importFrom(java.io.InputStream,
+     *      org.jboss.shrinkwrap.api.Filter)
+     */
+    @Override
+    public I importFrom(final InputStream stream, final Filter<ArchivePath> filter) throws ArchiveImportException {
         Validate.notNull(stream, "Stream must be specified");
+        Validate.notNull(filter, "Filter must be specified");
         final S tarStream;
         try {
             tarStream = this.getInputStreamForRawStream(stream);
@@ -106,7 +145,7 @@ abstract class TarImporterBase<S extends TarInputStream, I extends StreamImporte
         } catch (final IOException e) {
             throw new ArchiveImportException("Could not wrap raw input with TAR stream", e);
         }
-        return this.importFrom(tarStream);
+        return this.importFrom(tarStream, filter);
     }
 
     /**
@@ -114,34 +153,41 @@ abstract class TarImporterBase<S extends TarInputStream, I extends StreamImporte
      *
      * @see org.jboss.shrinkwrap.api.importer.StreamImporter#importFrom(java.io.InputStream)
      */
-    private I importFrom(final S stream) throws ArchiveImportException {
+    private I importFrom(final S stream, final Filter<ArchivePath> filter) throws ArchiveImportException {
         Validate.notNull(stream, "Stream must be specified");
+        final CodecPool pool = CodecPool.forArchive(this.getArchive());
+        final byte[] content = pool.borrowBuffer();
+        final long threshold = SpillArea.thresholdOf(this.getArchive());
         try {
-            TarEntry entry;
-            while ((entry = stream.getNextEntry()) != null) {
-                // Get the name
-                String entryName = entry.getName();
-
-                final Archive<?> archive = this.getArchive();
-
-                // Handle directories separately
-                if (entry.isDirectory()) {
-                    archive.addAsDirectory(entryName);
-                    continue;
-                }
-
-                ByteArrayOutputStream output = new ByteArrayOutputStream(8192);
-                byte[] content = new byte[4096];
-                int readBytes;
-                while ((readBytes = stream.read(content, 0, content.length)) != -1) {
-                    output.write(content, 0, readBytes);
+            // Read, possibly on another thread, and insert
+            ImportPipeline.run(this.getArchive(), new ImportPipeline.Source() {
+                @Override
+                public void readInto(final ImportPipeline.Sink sink) throws IOException {
+                    TarEntry entry;
+                    while ((entry = stream.getNextEntry()) != null) {
+                        // Get the path; the data of rejected entries is skipped by the next getNextEntry
+                        final ArchivePath path = new BasicPath(entry.getName());
+                        if (!filter.include(path)) {
+                            continue;
+                        }
+
+                        // Handle directories separately
+                        if (entry.isDirectory()) {
+                            sink.directory(path);
+                            continue;
+                        }
+
+                        sink.file(path, SpillArea.read(stream, entry.getSize(), threshold, content));
+                    }
                 }
-                archive.add(new ByteArrayAsset(output.toByteArray()), entryName);
-            }
+            });
         } catch (final RuntimeException re) {
             throw new ArchiveImportException("Could not import stream", re);
         } catch (IOException e) {
             throw new ArchiveImportException("Could not import stream", e);
+        } finally {
+            pool.release(content);
+            this.release(stream);
         }
         return this.covarientReturn();
     }
@@ -153,7 +199,18 @@ abstract class TarImporterBase<S extends TarInputStream, I extends StreamImporte
      */
     @Override
     public I importFrom(final File file) throws ArchiveImportException {
+        return this.importFrom(file, Filters.includeAll());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.importer.StreamImporter#importFrom(java.io.File, org.jboss.shrinkwrap.api.Filter)
+     */
+    @Override
+    public I importFrom(final File file, final Filter<ArchivePath> filter) throws ArchiveImportException {
         Validate.notNull(file, "File must be specified");
+        Validate.notNull(filter, "Filter must be specified");
         if (!file.exists()) {
             throw new IllegalArgumentException("Specified file for import does not exist: " + file);
         }
@@ -161,33 +218,19 @@ abstract class TarImporterBase<S extends TarInputStream, I extends StreamImporte
             throw new IllegalArgumentException("Specified file for import is a directory: " + file);
         }
 
-        final S archive;
+        final FileInputStream in;
         try {
-            archive = this.getInputStreamForFile(file);
+            in = new FileInputStream(file);
         } catch (final IOException e) {
             throw new ArchiveImportException("Could not read archive file " + file, e);
         }
 
-        return this.importFrom(archive);
-
-    }
-
-    // -------------------------------------------------------------------------------------||
-    // Internal Helper Methods ------------------------------------------------------------||
-    // -------------------------------------------------------------------------------------||
-
-    /**
-     * Obtains an implementation-specific stream to the specified {@link File}
-     *
-     * @param file
-     *            To open a stream to, must be specified
-     * @return
-     * @throws IOException
-     *             If there was a problem getting an instream to the file
-     */
-    private S getInputStreamForFile(File file) throws IOException {
-        assert file != null : "File must be specified";
-        return this.getInputStreamForRawStream(new FileInputStream(file));
+        // We opened the file, so we close it; its channel lets rejected entries be skipped unread
+        try {
+            return this.importFrom(in, filter);
+        } finally {
+            IOUtil.closeQuietly(in);
+        }
     }
 
-}
\ No newline at end of file
+}
@@ -60,7 +60,7 @@ public class TarImporterImpl extends TarImporterBase<TarInputStream, TarImporter
     @Override
     TarInputStream getInputStreamForRawStream(final InputStream in) throws IOException {
         assert in != null : "Specified inputstream was null";
-        return new TarInputStream(in);
+        return new TarInputStream(in, this.getBlockSize());
     }
 
 }
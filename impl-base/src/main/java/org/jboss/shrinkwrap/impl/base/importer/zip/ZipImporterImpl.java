@@ -18,22 +18,36 @@ package org.jboss.shrinkwrap.impl.base.importer.zip;
 
 import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.logging.Logger;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 
 import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ArchivePath;
+import org.jboss.shrinkwrap.api.Filter;
+import org.jboss.shrinkwrap.api.Filters;
 import org.jboss.shrinkwrap.api.asset.ByteArrayAsset;
 import org.jboss.shrinkwrap.api.importer.ArchiveImportException;
 import org.jboss.shrinkwrap.api.importer.ZipImporter;
 import org.jboss.shrinkwrap.impl.base.AssignableBase;
+import org.jboss.shrinkwrap.impl.base.ConfigurationUtil;
 import org.jboss.shrinkwrap.impl.base.Validate;
 import org.jboss.shrinkwrap.impl.base.asset.ZipFileEntryAsset;
+import org.jboss.shrinkwrap.impl.base.importer.ImportPipeline;
+import org.jboss.shrinkwrap.impl.base.io.CodecPool;
 import org.jboss.shrinkwrap.impl.base.io.IOUtil;
+import org.jboss.shrinkwrap.impl.base.io.SpillArea;
 import org.jboss.shrinkwrap.impl.base.path.BasicPath;
 
 /**
@@ -53,6 +67,12 @@ public class ZipImporterImpl extends AssignableBase<Archive<?>> implements ZipIm
     @SuppressWarnings("unused")
     private static final Logger log = Logger.getLogger(ZipImporterImpl.class.getName());
 
+    /**
+     * Compressed bytes, approximately, inflated by each task of an eager import; large enough to amortize scheduling,
+     * small enough to balance the load across threads
+     */
+    private static final long EAGER_CHUNK_SIZE = 1024 * 1024;
+
     // -------------------------------------------------------------------------------------||
     // Constructor ------------------------------------------------------------------------||
     // -------------------------------------------------------------------------------------||
@@ -96,33 +116,61 @@ public class ZipImporterImpl extends AssignableBase<Archive<?>> implements ZipIm
      */
     @Override
     public ZipImporter importFrom(final InputStream stream) throws ArchiveImportException {
+        return this.importFrom(stream, Filters.includeAll());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.importer.StreamImporter#importFrom(java.io.InputStream,
+     *      org.jboss.shrinkwrap.api.Filter)
+     */
+    @Override
+    public ZipImporter importFrom(final InputStream stream, final Filter<ArchivePath> filter)
+        throws ArchiveImportException {
         Validate.notNull(stream, "Stream must be specified");
+        Validate.notNull(filter, "Filter must be specified");
 
-        try {
-            // Wrap in ZipInputStream if we haven't been given one
-            final ZipInputStream zipStream = new ZipInputStream(stream);
+        final CodecPool pool = CodecPool.forArchive(this.getArchive());
+        final byte[] buffer = pool.borrowBuffer();
+        final long threshold = SpillArea.thresholdOf(this.getArchive());
 
-            ZipEntry entry;
-            while ((entry = zipStream.getNextEntry()) != null) {
-                // Get the name
-                final String entryName = entry.getName();
+        // Wrap in ZipInputStream, shielding the caller's stream so we may close ours (ending its Inflater) when done
+        final ZipInputStream zipStream = new ZipInputStream(new FilterInputStream(stream) {
+            @Override
+            public void close() {
+                // The caller remains responsible for the underlying stream
+            }
+        });
+        try {
+            // Read, possibly on another thread, and insert
+            ImportPipeline.run(this.getArchive(), new ImportPipeline.Source() {
+                @Override
+                public void readInto(final ImportPipeline.Sink sink) throws IOException {
+                    ZipEntry entry;
+                    while ((entry = zipStream.getNextEntry()) != null) {
+                        // Get the path; the data of rejected entries is skipped by the next getNextEntry
+                        final ArchivePath path = new BasicPath(entry.getName());
+                        if (!filter.include(path)) {
+                            continue;
+                        }
 
-                // Get the archive
-                final Archive<?> archive = this.getArchive();
+                        // Handle directories separately
+                        if (entry.isDirectory()) {
+                            sink.directory(path);
+                            continue;
+                        }
 
-                // Handle directories separately
-                if (entry.isDirectory()) {
-                    archive.addAsDirectory(entryName);
-                    continue;
+                        sink.file(path, SpillArea.read(zipStream, entry.getSize(), threshold, buffer));
+                        zipStream.closeEntry();
+                    }
                 }
-
-                final ByteArrayOutputStream output = new ByteArrayOutputStream(8192);
-                IOUtil.copy(zipStream, output);
-                archive.add(new ByteArrayAsset(output.toByteArray()), entryName);
-                zipStream.closeEntry();
-            }
+            });
         } catch (IOException e) {
             throw new ArchiveImportException("Could not import stream", e);
+        } finally {
+            IOUtil.closeQuietly(zipStream);
+            pool.release(buffer);
         }
         return this;
     }
@@ -133,7 +181,18 @@ public class ZipImporterImpl extends AssignableBase<Archive<?>> implements ZipIm
      * @see org.jboss.shrinkwrap.api.importer.StreamImporter#importFrom(java.io.File)
      */
     public ZipImporter importFrom(final File file) throws ArchiveImportException {
+        return this.importFrom(file, Filters.includeAll());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.importer.StreamImporter#importFrom(java.io.File, org.jboss.shrinkwrap.api.Filter)
+     */
+    @Override
+    public ZipImporter importFrom(final File file, final Filter<ArchivePath> filter) throws ArchiveImportException {
         Validate.notNull(file, "File must be specified");
+        Validate.notNull(filter, "Filter must be specified");
         if (file.isDirectory()) {
             throw new IllegalArgumentException("File to import as ZIP must not be a directory: "
                 + file.getAbsolutePath());
@@ -147,7 +206,7 @@ public class ZipImporterImpl extends AssignableBase<Archive<?>> implements ZipIm
         }
 
         // Delegate
-        return this.importFrom(zipFile);
+        return this.importFrom(zipFile, filter);
     }
 
     /**
@@ -157,30 +216,169 @@ public class ZipImporterImpl extends AssignableBase<Archive<?>> implements ZipIm
      */
     @Override
     public ZipImporter importFrom(final ZipFile file) throws ArchiveImportException {
+        return this.importFrom(file, Filters.includeAll());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.importer.ZipImporter#importFrom(java.util.zip.ZipFile,
+     *      org.jboss.shrinkwrap.api.Filter)
+     */
+    @Override
+    public ZipImporter importFrom(final ZipFile file, final Filter<ArchivePath> filter) throws ArchiveImportException {
         Validate.notNull(file, "File must be specified");
+        Validate.notNull(filter, "Filter must be specified");
 
         try {
             Enumeration<? extends ZipEntry> entries = file.entries();
             while (entries.hasMoreElements()) {
                 ZipEntry entry = entries.nextElement();
 
-                // Get the entry (path) name
-                final String entryName = entry.getName();
+                // Get the entry path
+                final ArchivePath path = new BasicPath(entry.getName());
+                if (!filter.include(path)) {
+                    continue;
+                }
 
                 // Get the archive
                 final Archive<?> archive = this.getArchive();
 
                 // Handle directories separately
                 if (entry.isDirectory()) {
-                    archive.addAsDirectory(entryName);
+                    archive.addAsDirectory(path);
                     continue;
                 }
 
-                archive.add(new ZipFileEntryAsset(file, entry), new BasicPath(entryName));
+                archive.add(new ZipFileEntryAsset(file, entry), path);
             }
         } catch (Exception e) {
             throw new ArchiveImportException("Could not import file", e);
         }
         return this;
     }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.importer.ZipImporter#importEagerlyFrom(java.util.zip.ZipFile)
+     */
+    @Override
+    public ZipImporter importEagerlyFrom(final ZipFile file) throws ArchiveImportException {
+        Validate.notNull(file, "File must be specified");
+
+        // Partition the file entries, in order, into chunks of about EAGER_CHUNK_SIZE compressed bytes
+        final List<ZipEntry> entries = new ArrayList<ZipEntry>();
+        final List<List<ZipEntry>> chunks = new ArrayList<List<ZipEntry>>();
+        try {
+            List<ZipEntry> chunk = null;
+            long chunkSize = 0;
+            final Enumeration<? extends ZipEntry> enumeration = file.entries();
+            while (enumeration.hasMoreElements()) {
+                final ZipEntry entry = enumeration.nextElement();
+                entries.add(entry);
+                if (entry.isDirectory()) {
+                    continue;
+                }
+                if (chunk == null || chunkSize >= EAGER_CHUNK_SIZE) {
+                    chunk = new ArrayList<ZipEntry>();
+                    chunks.add(chunk);
+                    chunkSize = 0;
+                }
+                chunk.add(entry);
+                chunkSize += Math.max(0, entry.getCompressedSize());
+            }
+        } catch (final Exception e) {
+            throw new ArchiveImportException("Could not import file", e);
+        }
+
+        // Inflate the chunks concurrently
+        final ExecutorService configured = ConfigurationUtil.executorOf(this.getArchive());
+        final ExecutorService executor = configured != null ? configured : ConfigurationUtil.newDaemonExecutor(Math
+            .max(1, Math.min(chunks.size(), Runtime.getRuntime().availableProcessors())), "ShrinkWrap ZIP import");
+        final CodecPool pool = CodecPool.forArchive(this.getArchive());
+        final List<Future<byte[][]>> inflated = new ArrayList<Future<byte[][]>>(chunks.size());
+        try {
+            for (final List<ZipEntry> chunk : chunks) {
+                inflated.add(executor.submit(new Callable<byte[][]>() {
+                    @Override
+                    public byte[][] call() throws IOException {
+                        return inflate(file, chunk, pool);
+                    }
+                }));
+            }
+
+            // Add the content in the order of the file, as the archive is not thread-safe
+            final Archive<?> archive = this.getArchive();
+            int chunkIndex = 0;
+            int entryIndex = 0;
+            byte[][] contents = null;
+            for (final ZipEntry entry : entries) {
+                if (entry.isDirectory()) {
+                    archive.addAsDirectory(entry.getName());
+                    continue;
+                }
+                if (contents == null || entryIndex == contents.length) {
+                    contents = inflated.get(chunkIndex++).get();
+                    entryIndex = 0;
+                }
+                archive.add(new ByteArrayAsset(contents[entryIndex++]), new BasicPath(entry.getName()));
+            }
+        } catch (final ExecutionException ee) {
+            throw new ArchiveImportException("Could not import file", ee.getCause());
+        } catch (final InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new ArchiveImportException("Interrupted during import of file", ie);
+        } catch (final RuntimeException re) {
+            throw new ArchiveImportException("Could not import file", re);
+        } finally {
+            for (final Future<byte[][]> future : inflated) {
+                future.cancel(true);
+            }
+            if (configured == null) {
+                executor.shutdown();
+            }
+        }
+        return this;
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Internal Helper Methods ------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Inflates the content of the specified entries of the specified file
+     *
+     * @param file
+     * @param entries
+     * @param pool
+     *            Pool from which to borrow the copy buffer
+     * @return the content of each entry, in order
+     * @throws IOException
+     */
+    private static byte[][] inflate(final ZipFile file, final List<ZipEntry> entries, final CodecPool pool)
+        throws IOException {
+        final byte[][] contents = new byte[entries.size()][];
+        final byte[] buffer = pool.borrowBuffer();
+        try {
+            for (int i = 0; i < contents.length; i++) {
+                final ZipEntry entry = entries.get(i);
+                final ByteArrayOutputStream output = new ByteArrayOutputStream(
+                    entry.getSize() > 0 && entry.getSize() < Integer.MAX_VALUE ? (int) entry.getSize() : 8192);
+                final InputStream input = file.getInputStream(entry);
+                try {
+                    int read;
+                    while ((read = input.read(buffer)) != -1) {
+                        output.write(buffer, 0, read);
+                    }
+                } finally {
+                    IOUtil.closeQuietly(input);
+                }
+                contents[i] = output.toByteArray();
+            }
+        } finally {
+            pool.release(buffer);
+        }
+        return contents;
+    }
 }
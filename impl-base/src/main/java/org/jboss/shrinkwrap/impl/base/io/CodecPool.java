@@ -0,0 +1,288 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base.io;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.Configuration;
+import org.jboss.shrinkwrap.impl.base.ConfigurationUtil;
+import org.jboss.shrinkwrap.impl.base.Validate;
+
+/**
+ * Pool of {@link Deflater}s, {@link Inflater}s (all in raw, "nowrap" mode, as used by ZIP and GZIP) and I/O buffers
+ * shared by the importers and exporters of all archives of a {@link Configuration} (and so of a
+ * {@link org.jboss.shrinkwrap.api.Domain}). Codecs hold native memory released otherwise only upon finalization;
+ * borrowing from the pool and releasing back to it upon close avoids allocating and freeing them for every archive
+ * processed. At most {@link CodecPool#MAX_IDLE} idle instances of each kind are retained; any further are freed upon
+ * release. Thread-safe.
+ *
+ * @version $Revision: $
+ */
+public final class CodecPool {
+
+    // -------------------------------------------------------------------------------------||
+    // Class Members ----------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Length of the buffers provided by {@link CodecPool#borrowBuffer()}
+     */
+    public static final int BUFFER_SIZE = 8192;
+
+    /**
+     * Maximum number of idle instances of each kind retained
+     */
+    public static final int MAX_IDLE = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+    /**
+     * Pools by their owning {@link Configuration}; weakly held so that discarded domains release their pool
+     */
+    private static final Map<Configuration, CodecPool> POOLS = new WeakHashMap<Configuration, CodecPool>();
+
+    /**
+     * Pool used where no {@link Configuration} is known
+     */
+    private static final CodecPool DEFAULT = new CodecPool();
+
+    // -------------------------------------------------------------------------------------||
+    // Instance Members -------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    private final List<Deflater> deflaters = new ArrayList<Deflater>();
+
+    private final List<Inflater> inflaters = new ArrayList<Inflater>();
+
+    private final List<byte[]> buffers = new ArrayList<byte[]>();
+
+    // -------------------------------------------------------------------------------------||
+    // Constructor ------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    private CodecPool() {
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Functional Methods -----------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Obtains the pool shared by all archives of the specified {@link Configuration}
+     *
+     * @param configuration
+     * @return
+     * @throws IllegalArgumentException
+     *             If the configuration is not specified
+     */
+    public static CodecPool forConfiguration(final Configuration configuration) throws IllegalArgumentException {
+        Validate.notNull(configuration, "configuration must be specified");
+        synchronized (POOLS) {
+            CodecPool pool = POOLS.get(configuration);
+            if (pool == null) {
+                pool = new CodecPool();
+                POOLS.put(configuration, pool);
+            }
+            return pool;
+        }
+    }
+
+    /**
+     * Obtains the pool shared by all archives of the {@link Configuration} of the specified archive, or the default
+     * pool if the archive does not expose its configuration
+     *
+     * @param archive
+     * @return
+     * @throws IllegalArgumentException
+     *             If the archive is not specified
+     */
+    public static CodecPool forArchive(final Archive<?> archive) throws IllegalArgumentException {
+        final Configuration configuration = ConfigurationUtil.configurationOf(archive);
+        return configuration == null ? DEFAULT : forConfiguration(configuration);
+    }
+
+    /**
+     * Obtains the pool used where no {@link Configuration} is known
+     *
+     * @return
+     */
+    public static CodecPool getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Borrows a raw {@link Deflater} set to the specified level and strategy; it must be released to this pool once
+     * no longer needed
+     *
+     * @param level
+     * @param strategy
+     * @return
+     */
+    public Deflater borrowDeflater(final int level, final int strategy) {
+        Deflater deflater = null;
+        synchronized (deflaters) {
+            if (!deflaters.isEmpty()) {
+                deflater = deflaters.remove(deflaters.size() - 1);
+            }
+        }
+        if (deflater == null) {
+            return newDeflater(level, strategy);
+        }
+        deflater.setLevel(level);
+        deflater.setStrategy(strategy);
+        return deflater;
+    }
+
+    /**
+     * Releases the specified {@link Deflater}, borrowed from this pool, for reuse; it must not be used by the caller
+     * hereafter
+     *
+     * @param deflater
+     */
+    public void release(final Deflater deflater) {
+        if (deflater == null) {
+            return;
+        }
+        deflater.reset();
+        synchronized (deflaters) {
+            if (deflaters.size() < MAX_IDLE && !containsInstance(deflaters, deflater)) {
+                deflaters.add(deflater);
+                return;
+            }
+        }
+        deflater.end();
+    }
+
+    /**
+     * Borrows a raw {@link Inflater}; it must be released to this pool once no longer needed
+     *
+     * @return
+     */
+    public Inflater borrowInflater() {
+        synchronized (inflaters) {
+            if (!inflaters.isEmpty()) {
+                return inflaters.remove(inflaters.size() - 1);
+            }
+        }
+        return new Inflater(true);
+    }
+
+    /**
+     * Releases the specified {@link Inflater}, borrowed from this pool, for reuse; it must not be used by the caller
+     * hereafter
+     *
+     * @param inflater
+     */
+    public void release(final Inflater inflater) {
+        if (inflater == null) {
+            return;
+        }
+        inflater.reset();
+        synchronized (inflaters) {
+            if (inflaters.size() < MAX_IDLE && !containsInstance(inflaters, inflater)) {
+                inflaters.add(inflater);
+                return;
+            }
+        }
+        inflater.end();
+    }
+
+    /**
+     * Borrows a buffer of {@link CodecPool#BUFFER_SIZE} bytes, of undefined content; it should be released to this
+     * pool once no longer needed
+     *
+     * @return
+     */
+    public byte[] borrowBuffer() {
+        synchronized (buffers) {
+            if (!buffers.isEmpty()) {
+                return buffers.remove(buffers.size() - 1);
+            }
+        }
+        return new byte[BUFFER_SIZE];
+    }
+
+    /**
+     * Releases the specified buffer, borrowed from this pool, for reuse; it must not be used by the caller hereafter
+     *
+     * @param buffer
+     */
+    public void release(final byte[] buffer) {
+        if (buffer == null || buffer.length != BUFFER_SIZE) {
+            return;
+        }
+        synchronized (buffers) {
+            if (buffers.size() < MAX_IDLE && !containsInstance(buffers, buffer)) {
+                buffers.add(buffer);
+            }
+        }
+    }
+
+    /**
+     * @return the number of idle {@link Deflater}s held
+     */
+    public int getIdleDeflaterCount() {
+        synchronized (deflaters) {
+            return deflaters.size();
+        }
+    }
+
+    /**
+     * @return the number of idle {@link Inflater}s held
+     */
+    public int getIdleInflaterCount() {
+        synchronized (inflaters) {
+            return inflaters.size();
+        }
+    }
+
+    /**
+     * @return the number of idle buffers held
+     */
+    public int getIdleBufferCount() {
+        synchronized (buffers) {
+            return buffers.size();
+        }
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Internal Helper Methods ------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    private static Deflater newDeflater(final int level, final int strategy) {
+        final Deflater deflater = new Deflater(level, true);
+        deflater.setStrategy(strategy);
+        return deflater;
+    }
+
+    /**
+     * Whether the specified list holds the specified instance; guards against an instance released twice being
+     * borrowed by two callers at once
+     */
+    private static boolean containsInstance(final List<?> list, final Object instance) {
+        for (final Object o : list) {
+            if (o == instance) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
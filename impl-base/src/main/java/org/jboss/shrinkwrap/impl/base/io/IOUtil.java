@@ -203,20 +203,8 @@ public final class IOUtil {
         try {
             copy(input, output);
         } finally {
-            try {
-                input.close();
-            } catch (final IOException ignore) {
-                if (log.isLoggable(Level.FINER)) {
-                    log.finer("Could not close stream due to: " + ignore.getMessage() + "; ignoring");
-                }
-            }
-            try {
-                output.close();
-            } catch (final IOException ignore) {
-                if (log.isLoggable(Level.FINER)) {
-                    log.finer("Could not close stream due to: " + ignore.getMessage() + "; ignoring");
-                }
-            }
+            closeQuietly(input);
+            closeQuietly(output);
         }
     }
 
@@ -244,14 +232,24 @@ public final class IOUtil {
         } catch (Throwable t) {
             errorHandler.handle(t);
         } finally {
-            if (stream != null) {
-                try {
-                    stream.close();
-                } catch (final IOException ignore) {
-                    if (log.isLoggable(Level.FINER)) {
-                        log.finer("Could not close stream due to: " + ignore.getMessage() + "; ignoring");
-                    }
-                }
+            closeQuietly(stream);
+        }
+    }
+
+    /**
+     * Closes the specified stream, if any, ignoring (and logging at {@link Level#FINER}) any problem in doing so.
+     *
+     * @param stream
+     */
+    public static void closeQuietly(final Closeable stream) {
+        if (stream == null) {
+            return;
+        }
+        try {
+            stream.close();
+        } catch (final IOException ignore) {
+            if (log.isLoggable(Level.FINER)) {
+                log.finer("Could not close stream due to: " + ignore.getMessage() + "; ignoring");
             }
         }
     }
@@ -0,0 +1,348 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base.io;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Reads GZIP (RFC 1952) data as {@link java.util.zip.GZIPInputStream} does, including concatenated members, but using
+ * an {@link Inflater} and buffer borrowed from a {@link CodecPool}. These are released back to the pool upon reaching
+ * the end of the data, upon {@link PooledGZIPInputStream#release()} (which leaves the underlying stream open) or upon
+ * {@link PooledGZIPInputStream#close()}.
+ *
+ * @version $Revision: $
+ */
+public class PooledGZIPInputStream extends InputStream {
+
+    // -------------------------------------------------------------------------------------||
+    // Class Members ----------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    private static final int MAGIC = 0x8b1f;
+
+    private static final int METHOD_DEFLATE = 8;
+
+    private static final int FLAG_HEADER_CRC = 2;
+
+    private static final int FLAG_EXTRA = 4;
+
+    private static final int FLAG_NAME = 8;
+
+    private static final int FLAG_COMMENT = 16;
+
+    // -------------------------------------------------------------------------------------||
+    // Instance Members -------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    private final InputStream in;
+
+    private final CodecPool pool;
+
+    private final CRC32 crc = new CRC32();
+
+    private Inflater inflater;
+
+    /**
+     * Compressed input read from the underlying stream
+     */
+    private byte[] buffer;
+
+    /**
+     * Position of the next byte of the buffer not yet consumed
+     */
+    private int position;
+
+    /**
+     * Number of valid bytes in the buffer
+     */
+    private int limit;
+
+    /**
+     * Number of uncompressed bytes read from the current member, modulo 2^32 as recorded in its trailer
+     */
+    private int size;
+
+    /**
+     * Number of members whose header has been read
+     */
+    private int members;
+
+    /**
+     * Whether the end of the data has been reached, or the pooled resources released
+     */
+    private boolean released;
+
+    private boolean closed;
+
+    // -------------------------------------------------------------------------------------||
+    // Constructor ------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Creates a new stream reading from the specified source, borrowing from the specified pool
+     *
+     * @param in
+     * @param pool
+     * @throws ZipException
+     *             If the source does not start with a GZIP header
+     * @throws IOException
+     *             If the header could not be read
+     */
+    public PooledGZIPInputStream(final InputStream in, final CodecPool pool) throws IOException {
+        if (in == null) {
+            throw new IllegalArgumentException("Input stream must be specified");
+        }
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool must be specified");
+        }
+        this.in = in;
+        this.pool = pool;
+        this.inflater = pool.borrowInflater();
+        this.buffer = pool.borrowBuffer();
+        try {
+            if (!readHeader()) {
+                throw new EOFException();
+            }
+        } catch (final IOException ioe) {
+            release();
+            throw ioe;
+        }
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Functional Methods -----------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see java.io.InputStream#read()
+     */
+    @Override
+    public int read() throws IOException {
+        final byte[] b = new byte[1];
+        return read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see java.io.InputStream#read(byte[], int, int)
+     */
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        if (released) {
+            return -1;
+        }
+        if (len == 0) {
+            return 0;
+        }
+        while (true) {
+            final int read;
+            try {
+                read = inflater.inflate(b, off, len);
+            } catch (final DataFormatException dfe) {
+                final String message = dfe.getMessage();
+                throw new ZipException(message != null ? message : "Invalid ZLIB data format");
+            }
+            if (read > 0) {
+                crc.update(b, off, read);
+                size += read;
+                return read;
+            }
+            if (inflater.finished()) {
+                position = limit - inflater.getRemaining();
+                readTrailer();
+                if (!readHeader()) {
+                    release();
+                    return -1;
+                }
+                continue;
+            }
+            if (inflater.needsDictionary()) {
+                throw new ZipException("GZIP data requires a preset dictionary");
+            }
+            if (inflater.needsInput()) {
+                if (position == limit && !fill()) {
+                    throw new EOFException("Unexpected end of ZLIB input stream");
+                }
+                inflater.setInput(buffer, position, limit - position);
+                position = limit;
+            }
+        }
+    }
+
+    /**
+     * Releases the pooled resources of this stream without closing the underlying stream; the stream then reads as
+     * though at its end. Has no effect if already released.
+     */
+    public void release() {
+        if (released) {
+            return;
+        }
+        released = true;
+        pool.release(inflater);
+        pool.release(buffer);
+        inflater = null;
+        buffer = null;
+    }
+
+    /**
+     * Releases the pooled resources of this stream and closes the underlying stream
+     *
+     * @see java.io.InputStream#close()
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        release();
+        in.close();
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Internal Helper Methods ------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Reads the header of the next member, if any, and prepares to inflate its data
+     *
+     * @return false if there are no further members
+     * @throws IOException
+     */
+    private boolean readHeader() throws IOException {
+        final int first = readByte();
+        if (first == -1) {
+            return false;
+        }
+        final int second = readByte();
+        if ((second << 8 | first) != MAGIC) {
+            if (members == 0) {
+                throw new ZipException("Not in GZIP format");
+            }
+            // Trailing garbage after a member is ignored, as by GZIPInputStream
+            return false;
+        }
+        if (readByte() != METHOD_DEFLATE) {
+            throw new ZipException("Unsupported compression method");
+        }
+        final int flags = readByte();
+        skip(6);
+        if ((flags & FLAG_EXTRA) != 0) {
+            skip(readByte() | readByte() << 8);
+        }
+        if ((flags & FLAG_NAME) != 0) {
+            skipString();
+        }
+        if ((flags & FLAG_COMMENT) != 0) {
+            skipString();
+        }
+        if ((flags & FLAG_HEADER_CRC) != 0) {
+            skip(2);
+        }
+        inflater.reset();
+        crc.reset();
+        size = 0;
+        members++;
+        return true;
+    }
+
+    private void readTrailer() throws IOException {
+        final long expectedCrc = readInt() & 0xFFFFFFFFL;
+        final int expectedSize = readInt();
+        if (expectedCrc != crc.getValue()) {
+            throw new ZipException("Corrupt GZIP trailer");
+        }
+        if (expectedSize != size) {
+            throw new ZipException("Corrupt GZIP trailer");
+        }
+    }
+
+    private int readInt() throws IOException {
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            final int b = readByte();
+            if (b == -1) {
+                throw new EOFException("Unexpected end of GZIP trailer");
+            }
+            value |= b << (8 * i);
+        }
+        return value;
+    }
+
+    private void skip(final int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            if (readByte() == -1) {
+                throw new EOFException("Unexpected end of GZIP header");
+            }
+        }
+    }
+
+    private void skipString() throws IOException {
+        int b;
+        while ((b = readByte()) != 0) {
+            if (b == -1) {
+                throw new EOFException("Unexpected end of GZIP header");
+            }
+        }
+    }
+
+    /**
+     * Reads the next byte of compressed input, refilling the buffer if need be
+     *
+     * @return the byte, or -1 at the end of the underlying stream
+     * @throws IOException
+     */
+    private int readByte() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    /**
+     * Refills the buffer from the underlying stream
+     *
+     * @return false at the end of the underlying stream
+     * @throws IOException
+     */
+    private boolean fill() throws IOException {
+        int read;
+        do {
+            read = in.read(buffer, 0, buffer.length);
+        } while (read == 0);
+        if (read == -1) {
+            position = 0;
+            limit = 0;
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+}
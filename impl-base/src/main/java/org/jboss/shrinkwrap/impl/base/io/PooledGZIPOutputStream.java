@@ -0,0 +1,211 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Writes GZIP (RFC 1952) data as {@link java.util.zip.GZIPOutputStream} does, byte for byte, but using a
+ * {@link Deflater} and buffer borrowed from a {@link CodecPool}; these are released back to the pool upon
+ * {@link PooledGZIPOutputStream#finish()}. Unlike {@link java.util.zip.GZIPOutputStream}, the compression level and
+ * strategy may be changed while writing.
+ *
+ * @version $Revision: $
+ */
+public class PooledGZIPOutputStream extends OutputStream {
+
+    // -------------------------------------------------------------------------------------||
+    // Class Members ----------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Header as written by {@link java.util.zip.GZIPOutputStream}: magic, DEFLATE method, no flags, time or OS
+     */
+    private static final byte[] HEADER = { 0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0 };
+
+    // -------------------------------------------------------------------------------------||
+    // Instance Members -------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    private final OutputStream out;
+
+    private final CodecPool pool;
+
+    private final CRC32 crc = new CRC32();
+
+    private Deflater deflater;
+
+    private byte[] buffer;
+
+    /**
+     * Number of uncompressed bytes written, modulo 2^32 as recorded in the trailer
+     */
+    private int size;
+
+    private boolean finished;
+
+    private boolean closed;
+
+    // -------------------------------------------------------------------------------------||
+    // Constructor ------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Creates a new stream writing to the specified target, borrowing from the specified pool
+     *
+     * @param out
+     * @param pool
+     * @throws IOException
+     *             If the header could not be written
+     */
+    public PooledGZIPOutputStream(final OutputStream out, final CodecPool pool) throws IOException {
+        if (out == null) {
+            throw new IllegalArgumentException("Output stream must be specified");
+        }
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool must be specified");
+        }
+        this.out = out;
+        this.pool = pool;
+        this.deflater = pool.borrowDeflater(Deflater.DEFAULT_COMPRESSION, Deflater.DEFAULT_STRATEGY);
+        this.buffer = pool.borrowBuffer();
+        out.write(HEADER);
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Functional Methods -----------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Sets the {@link Deflater} compression level and strategy used for data written from now on
+     *
+     * @param level
+     * @param strategy
+     * @throws IOException
+     *             If the stream is finished
+     */
+    public void setCompression(final int level, final int strategy) throws IOException {
+        ensureNotFinished();
+        deflater.setLevel(level);
+        deflater.setStrategy(strategy);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see java.io.OutputStream#write(int)
+     */
+    @Override
+    public void write(final int b) throws IOException {
+        write(new byte[] { (byte) b }, 0, 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see java.io.OutputStream#write(byte[], int, int)
+     */
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        ensureNotFinished();
+        if (len == 0) {
+            return;
+        }
+        crc.update(b, off, len);
+        size += len;
+        deflater.setInput(b, off, len);
+        while (!deflater.needsInput()) {
+            deflate();
+        }
+    }
+
+    /**
+     * Completes the compressed data and writes the trailer, without closing the underlying stream; the pooled
+     * {@link Deflater} and buffer are released. Has no effect if already finished.
+     *
+     * @throws IOException
+     */
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        try {
+            deflater.finish();
+            while (!deflater.finished()) {
+                deflate();
+            }
+            final long value = crc.getValue();
+            final byte[] trailer = { (byte) value, (byte) (value >> 8), (byte) (value >> 16), (byte) (value >> 24),
+                (byte) size, (byte) (size >> 8), (byte) (size >> 16), (byte) (size >> 24) };
+            out.write(trailer);
+        } finally {
+            finished = true;
+            pool.release(deflater);
+            pool.release(buffer);
+            deflater = null;
+            buffer = null;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see java.io.OutputStream#flush()
+     */
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    /**
+     * Finishes this stream and closes the underlying stream
+     *
+     * @see java.io.OutputStream#close()
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            finish();
+        } finally {
+            out.close();
+        }
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Internal Helper Methods ------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    private void deflate() throws IOException {
+        final int length = deflater.deflate(buffer, 0, buffer.length);
+        if (length > 0) {
+            out.write(buffer, 0, length);
+        }
+    }
+
+    private void ensureNotFinished() throws IOException {
+        if (finished) {
+            throw new IOException("GZIP stream already finished");
+        }
+    }
+}
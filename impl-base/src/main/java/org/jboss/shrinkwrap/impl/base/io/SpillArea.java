@@ -0,0 +1,357 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.ref.PhantomReference;
+import java.lang.ref.ReferenceQueue;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.ZipFile;
+
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.Configuration;
+import org.jboss.shrinkwrap.api.asset.Asset;
+import org.jboss.shrinkwrap.api.asset.ByteArrayAsset;
+import org.jboss.shrinkwrap.api.asset.FileAsset;
+import org.jboss.shrinkwrap.impl.base.ConfigurationUtil;
+import org.jboss.shrinkwrap.impl.base.Validate;
+
+/**
+ * Temporary file area holding the entries of stream imports larger than the
+ * {@link Configuration#getImportSpillThreshold() spill threshold}, so that they need not be held in memory. Each such
+ * entry is written to its own file, imported as a {@link FileAsset}; the file is deleted once the asset is no longer
+ * reachable (as when its archive is discarded), upon the next spill or {@link SpillArea#expunge()}, and at the latest
+ * on exit. {@link ZipFile}s backing lazily read nested archives are closed in the same manner. Thread-safe.
+ *
+ * @version $Revision: $
+ */
+public final class SpillArea {
+
+    // -------------------------------------------------------------------------------------||
+    // Class Members ----------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Logger
+     */
+    private static final Logger log = Logger.getLogger(SpillArea.class.getName());
+
+    /**
+     * Queue of the references to owners of spill files (spilled assets, or as registered by
+     * {@link SpillArea#deleteWhenUnreachable(Object, File)}) no longer reachable
+     */
+    private static final ReferenceQueue<Object> UNREACHABLE = new ReferenceQueue<Object>();
+
+    /**
+     * References to the owners of the spill files which remain; held so that the references themselves stay reachable
+     */
+    private static final Set<SpillReference> SPILLED = Collections.synchronizedSet(new HashSet<SpillReference>());
+
+    /**
+     * Directory holding the spilled files, created when first needed
+     */
+    private static File directory;
+
+    // -------------------------------------------------------------------------------------||
+    // Constructor ------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Internal constructor; should not be called
+     */
+    private SpillArea() {
+        throw new UnsupportedOperationException("No instances should be created; stateless class");
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Functional Methods -----------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Obtains the spill threshold of the {@link Configuration} of the specified archive, or {@link Long#MAX_VALUE} if
+     * the archive does not expose its configuration
+     *
+     * @param archive
+     * @return
+     * @throws IllegalArgumentException
+     *             If the archive is not specified
+     */
+    public static long thresholdOf(final Archive<?> archive) throws IllegalArgumentException {
+        final Configuration configuration = ConfigurationUtil.configurationOf(archive);
+        return configuration == null ? Long.MAX_VALUE : configuration.getImportSpillThreshold();
+    }
+
+    /**
+     * Reads the remainder of the specified stream as an asset: in memory if no longer than the specified threshold,
+     * else spilled to a file. The stream is not closed.
+     *
+     * @param in
+     * @param size
+     *            Length of the content of the stream, if known, else -1
+     * @param threshold
+     *            Length in bytes above which the content is spilled
+     * @param buffer
+     *            Buffer through which to copy
+     * @return
+     * @throws IOException
+     *             If the stream could not be read or the file written
+     */
+    public static Asset read(final InputStream in, final long size, final long threshold, final byte[] buffer)
+        throws IOException {
+        Validate.notNull(in, "Stream must be specified");
+        Validate.notNull(buffer, "Buffer must be specified");
+
+        // Known to be too large, so spill from the start
+        if (size > threshold) {
+            return spill(null, in, buffer, 0);
+        }
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream(size > 0 && size < Integer.MAX_VALUE
+            ? (int) size : 8192);
+        long total = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            if (total + read > threshold) {
+                // Larger than was known; spill what is buffered, then the rest
+                return spill(output, in, buffer, read);
+            }
+            output.write(buffer, 0, read);
+            total += read;
+        }
+        return new ByteArrayAsset(output.toByteArray());
+    }
+
+    /**
+     * Copies the remainder of the specified stream to a new spill file. The stream is not closed. The caller is
+     * responsible for the file, which should be registered with
+     * {@link SpillArea#deleteWhenUnreachable(Object, File)} or deleted; it is deleted on exit in any case.
+     *
+     * @param in
+     * @param buffer
+     *            Buffer through which to copy
+     * @return
+     * @throws IOException
+     *             If the stream could not be read or the file written
+     */
+    public static File copy(final InputStream in, final byte[] buffer) throws IOException {
+        Validate.notNull(in, "Stream must be specified");
+        Validate.notNull(buffer, "Buffer must be specified");
+        return write(null, in, buffer, 0);
+    }
+
+    /**
+     * Registers the specified spill file for deletion once the specified owner is no longer reachable, upon the next
+     * spill or {@link SpillArea#expunge()}
+     *
+     * @param owner
+     * @param file
+     */
+    public static void deleteWhenUnreachable(final Object owner, final File file) {
+        Validate.notNull(owner, "Owner must be specified");
+        Validate.notNull(file, "File must be specified");
+        SPILLED.add(new SpillReference(owner, new Release(1, null, file)));
+    }
+
+    /**
+     * Registers the specified {@link ZipFile} to be closed, and then the specified spill file it reads (if any)
+     * deleted, once none of the specified owners (typically the assets read from the {@link ZipFile}) is reachable any
+     * longer, upon the next spill or {@link SpillArea#expunge()}. Without owners, this is done at once.
+     *
+     * @param owners
+     * @param zipFile
+     * @param file
+     *            Spill file read by the {@link ZipFile}, or null if it is not to be deleted
+     */
+    public static void closeWhenUnreachable(final Collection<?> owners, final ZipFile zipFile, final File file) {
+        Validate.notNull(owners, "Owners must be specified");
+        Validate.notNull(zipFile, "ZipFile must be specified");
+        final Release release = new Release(owners.size(), zipFile, file);
+        if (owners.isEmpty()) {
+            release.run();
+            return;
+        }
+        for (final Object owner : owners) {
+            SPILLED.add(new SpillReference(owner, release));
+        }
+    }
+
+    /**
+     * Deletes the spill files, and closes the {@link ZipFile}s, whose owners are no longer reachable
+     */
+    public static void expunge() {
+        SpillReference reference;
+        while ((reference = (SpillReference) UNREACHABLE.poll()) != null) {
+            SPILLED.remove(reference);
+            reference.release.unreachable();
+        }
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Internal Helper Methods ------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Spills as by {@link SpillArea#write(ByteArrayOutputStream, InputStream, byte[], int)}, returning the asset of
+     * the file, which is deleted once the asset is no longer reachable
+     */
+    private static Asset spill(final ByteArrayOutputStream buffered, final InputStream in, final byte[] buffer,
+        final int pending) throws IOException {
+        final FileAsset asset = new FileAsset(write(buffered, in, buffer, pending));
+        deleteWhenUnreachable(asset, asset.getSource());
+        return asset;
+    }
+
+    /**
+     * Writes the specified buffered content, then the first specified bytes of the buffer, then the remainder of the
+     * stream to a new spill file
+     */
+    private static File write(final ByteArrayOutputStream buffered, final InputStream in, final byte[] buffer,
+        final int pending) throws IOException {
+        expunge();
+
+        final File file = File.createTempFile("entry", ".spill", directory());
+        boolean written = false;
+        final OutputStream out = new FileOutputStream(file);
+        try {
+            if (buffered != null) {
+                buffered.writeTo(out);
+            }
+            out.write(buffer, 0, pending);
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            written = true;
+        } finally {
+            IOUtil.closeQuietly(out);
+            if (!written && !file.delete() && log.isLoggable(Level.FINER)) {
+                log.finer("Could not delete incomplete spill file " + file);
+            }
+        }
+        return file;
+    }
+
+    /**
+     * Obtains the directory holding the spilled files, creating it if needed
+     */
+    private static synchronized File directory() throws IOException {
+        if (directory == null || !directory.isDirectory()) {
+            final File created = File.createTempFile("shrinkwrap-spill", "");
+            if (!created.delete() || !created.mkdir()) {
+                throw new IOException("Could not create spill directory " + created);
+            }
+            if (directory == null) {
+                // One hook for all spill files, as File.deleteOnExit() would retain each of their paths until exit
+                Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        deleteDirectory();
+                    }
+                }, "ShrinkWrap spill area cleanup"));
+            }
+            directory = created;
+        }
+        return directory;
+    }
+
+    /**
+     * Deletes the directory holding the spilled files, along with any files remaining within
+     */
+    private static synchronized void deleteDirectory() {
+        if (directory == null) {
+            return;
+        }
+        final File[] files = directory.listFiles();
+        if (files != null) {
+            for (final File file : files) {
+                if (!file.delete() && log.isLoggable(Level.FINER)) {
+                    log.finer("Could not delete spill file " + file);
+                }
+            }
+        }
+        if (!directory.delete() && log.isLoggable(Level.FINER)) {
+            log.finer("Could not delete spill directory " + directory);
+        }
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Inner Classes ----------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Reference to an owner of a spill file or {@link ZipFile}, remembering what to release
+     */
+    private static final class SpillReference extends PhantomReference<Object> {
+
+        private final Release release;
+
+        SpillReference(final Object owner, final Release release) {
+            super(owner, UNREACHABLE);
+            this.release = release;
+        }
+    }
+
+    /**
+     * {@link ZipFile} to close and spill file to delete, once the last of a number of owners is no longer reachable
+     */
+    private static final class Release {
+
+        private final AtomicInteger owners;
+
+        private final ZipFile zipFile;
+
+        private final File file;
+
+        Release(final int owners, final ZipFile zipFile, final File file) {
+            this.owners = new AtomicInteger(owners);
+            this.zipFile = zipFile;
+            this.file = file;
+        }
+
+        void unreachable() {
+            if (owners.decrementAndGet() == 0) {
+                run();
+            }
+        }
+
+        void run() {
+            if (zipFile != null) {
+                try {
+                    zipFile.close();
+                } catch (final IOException ioe) {
+                    if (log.isLoggable(Level.FINER)) {
+                        log.finer("Could not close " + zipFile.getName() + ": " + ioe);
+                    }
+                }
+            }
+            if (file != null && !file.delete() && file.exists() && log.isLoggable(Level.FINER)) {
+                log.finer("Could not delete spill file " + file + "; left for deletion on exit");
+            }
+        }
+    }
+}
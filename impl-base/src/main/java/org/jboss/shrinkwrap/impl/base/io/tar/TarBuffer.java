@@ -15,15 +15,20 @@
 
 package org.jboss.shrinkwrap.impl.base.io.tar;
 
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
 
 /**
  * The TarBuffer class implements the tar archive concept of a buffered input stream. This concept goes back to the days
  * of blocked tape drives and special io devices. In the Java universe, the only real function that this class performs
  * is to ensure that files have the correct "block" size, or other tars will complain.
  * <p>
+ * Records may be skipped without being read; whole blocks are then skipped by positioning the channel of a
+ * {@link FileInputStream}, or by {@link InputStream#skip(long)} otherwise.
+ * <p>
  * You should never have a need to access this class directly. TarBuffers are created by Tar IO Streams.
  *
  * @version $Revision: 1.10 $
@@ -36,6 +41,7 @@ public class TarBuffer extends Object {
     public static final int DEFAULT_BLKSIZE = (DEFAULT_RCDSIZE * 20);
 
     private InputStream inStream;
+    private FileChannel inChannel;
     private OutputStream outStream;
 
     private byte[] blockBuffer;
@@ -57,6 +63,7 @@ public class TarBuffer extends Object {
 
     public TarBuffer(InputStream inStream, int blockSize, int recordSize) {
         this.inStream = inStream;
+        this.inChannel = inStream instanceof FileInputStream ? ((FileInputStream) inStream).getChannel() : null;
         this.outStream = null;
         this.initialize(blockSize, recordSize);
     }
@@ -157,6 +164,69 @@ public class TarBuffer extends Object {
         this.currRecIdx++;
     }
 
+    /**
+     * Skip over the specified number of records on the input stream, reading only the block in which the last skipped
+     * record ends, if any records of it remain.
+     *
+     * @param count
+     *            The number of records to skip.
+     */
+    public void skipRecords(long count) throws IOException {
+        if (this.debug) {
+            System.err.println("SkipRecords: " + count + " recIdx = " + this.currRecIdx + " blkIdx = "
+                + this.currBlkIdx);
+        }
+
+        if (this.inStream == null) {
+            throw new IOException("reading (via skip) from an output buffer");
+        }
+
+        // Records remaining in the current block
+        final int buffered = Math.max(this.recsPerBlock - this.currRecIdx, 0);
+        if (count <= buffered) {
+            this.currRecIdx += (int) count;
+            return;
+        }
+        long remaining = count - buffered;
+        this.currRecIdx = this.recsPerBlock;
+
+        // Whole blocks, never read
+        final long blocks = remaining / this.recsPerBlock;
+        if (blocks > 0) {
+            this.skipBytes(blocks * this.blockSize);
+            this.currBlkIdx += (int) blocks;
+            remaining -= blocks * this.recsPerBlock;
+        }
+
+        // The block in which the last record ends
+        if (remaining > 0 && this.readBlock()) {
+            this.currRecIdx = (int) remaining;
+        }
+    }
+
+    /**
+     * Skips the specified number of bytes of the input stream; beyond its end, subsequent reads find End-Of-File.
+     */
+    private void skipBytes(long count) throws IOException {
+        if (this.inChannel != null) {
+            this.inChannel.position(this.inChannel.position() + count);
+            return;
+        }
+
+        long remaining = count;
+        while (remaining > 0) {
+            long skipped = this.inStream.skip(remaining);
+            if (skipped <= 0) {
+                // Not skippable; read through
+                skipped = this.inStream.read(this.blockBuffer, 0, (int) Math.min(remaining, this.blockSize));
+                if (skipped == -1) {
+                    return;
+                }
+            }
+            remaining -= skipped;
+        }
+    }
+
     /**
      * Read a record from the input stream and return the data.
      *
@@ -389,6 +459,7 @@ public class TarBuffer extends Object {
             if (this.inStream != System.in) {
                 this.inStream.close();
                 this.inStream = null;
+                this.inChannel = null;
             }
         }
     }
@@ -20,6 +20,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.zip.GZIPInputStream;
 
+import org.jboss.shrinkwrap.impl.base.io.CodecPool;
+import org.jboss.shrinkwrap.impl.base.io.PooledGZIPInputStream;
+
 /**
  * The {@link TarGzInputStream} reads a UNIX TAR archive, further encoded in GZIP compresssion, as an InputStream.
  * Methods are provided to position at each successive entry in the archive, and the read each entry as a normal input
@@ -29,11 +32,39 @@ import java.util.zip.GZIPInputStream;
  */
 public class TarGzInputStream extends TarInputStream {
 
+    /**
+     * Decompressing stream borrowing from a {@link CodecPool}, if any
+     */
+    private final PooledGZIPInputStream pooled;
+
     /**
      * @param is
      */
     public TarGzInputStream(InputStream is) throws IOException {
         super(new GZIPInputStream(is));
+        this.pooled = null;
+    }
+
+    /**
+     * Creates a new stream borrowing its decompression resources from the specified pool, until released or closed
+     *
+     * @param is
+     * @param pool
+     */
+    public TarGzInputStream(InputStream is, CodecPool pool) throws IOException {
+        this(new PooledGZIPInputStream(is, pool), TarBuffer.DEFAULT_BLKSIZE);
+    }
+
+    /**
+     * Creates a new stream reading blocks of the specified size, and borrowing its decompression resources from the
+     * specified pool, until released or closed
+     *
+     * @param is
+     * @param pool
+     * @param blockSize
+     */
+    public TarGzInputStream(InputStream is, CodecPool pool, int blockSize) throws IOException {
+        this(new PooledGZIPInputStream(is, pool), blockSize);
     }
 
     /**
@@ -42,6 +73,7 @@ public class TarGzInputStream extends TarInputStream {
      */
     public TarGzInputStream(InputStream is, int blockSize) throws IOException {
         super(new GZIPInputStream(is), blockSize);
+        this.pooled = null;
     }
 
     /**
@@ -51,6 +83,22 @@ public class TarGzInputStream extends TarInputStream {
      */
     public TarGzInputStream(InputStream is, int blockSize, int recordSize) throws IOException {
         super(new GZIPInputStream(is), blockSize, recordSize);
+        this.pooled = null;
+    }
+
+    private TarGzInputStream(PooledGZIPInputStream pooled, int blockSize) {
+        super(pooled, blockSize);
+        this.pooled = pooled;
+    }
+
+    /**
+     * Releases any pooled decompression resources without closing the underlying stream; no further entries may be
+     * read hereafter
+     */
+    public void release() {
+        if (pooled != null) {
+            pooled.release();
+        }
     }
 
 }
@@ -138,24 +138,38 @@ public class TarInputStream extends FilterInputStream {
      * @return The actual number of bytes skipped.
      */
     public long skip(long numToSkip) throws IOException {
-        // REVIEW
-        // This is horribly inefficient, but it ensures that we
-        // properly skip over bytes via the TarBuffer...
-        //
+        if (numToSkip <= 0 || this.entryOffset >= this.entrySize) {
+            return 0;
+        }
+        long num = Math.min(numToSkip, this.entrySize - this.entryOffset);
+        final long requested = num;
+
+        // Whole records are skipped via the TarBuffer, without being read where the input allows
+        final int recordSize = this.buffer.getRecordSize();
+        final int pending = this.readBuf == null ? 0 : this.readBuf.length;
+        if (num - pending >= recordSize) {
+            final long records = (num - pending) / recordSize;
+            this.buffer.skipRecords(records);
+            this.readBuf = null;
+            this.entryOffset += pending + records * recordSize;
+            num -= pending + records * recordSize;
+        }
 
-        byte[] skipBuf = new byte[8 * 1024];
-        long num = numToSkip;
-        for (; num > 0;) {
-            int numRead = this.read(skipBuf, 0, (num > skipBuf.length ? skipBuf.length : (int) num));
+        // Read through the rest, within a record
+        if (num > 0) {
+            byte[] skipBuf = new byte[(int) num];
+            for (; num > 0;) {
+                int numRead = this.read(skipBuf, 0, (int) num);
 
-            if (numRead == -1) {
-                break;
-            }
+                if (numRead == -1) {
+                    break;
+                }
 
-            num -= numRead;
+                num -= numRead;
+            }
         }
 
-        return (numToSkip - num);
+        return (requested - num);
     }
 
     /**
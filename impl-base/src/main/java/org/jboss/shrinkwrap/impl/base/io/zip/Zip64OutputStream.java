@@ -0,0 +1,685 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base.io.zip;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+
+import org.jboss.shrinkwrap.impl.base.io.CodecPool;
+
+/**
+ * Streaming ZIP writer supporting the Zip64 extensions, so archives may exceed 4 GB in size (of either entries or the
+ * archive as a whole) and hold more than 65,535 entries.
+ *
+ * Compressed entry data is buffered in memory up to a threshold so that the CRC and sizes are known, and written
+ * directly into the local file header. Entries exceeding the threshold are streamed instead, with the values following
+ * in a data descriptor, as {@link java.util.zip.ZipOutputStream} writes them: the local header carries no Zip64 extra
+ * field, and the descriptor takes the Zip64 form only if either size exceeds 4 GB. The central directory always carries
+ * the authoritative values, with Zip64 extra fields and end records written where required.
+ *
+ * Exposes the same entry lifecycle as {@link java.util.zip.ZipOutputStream}, which does not support Zip64 before Java 7.
+ *
+ * @version $Revision: $
+ */
+public class Zip64OutputStream extends OutputStream {
+
+    // -------------------------------------------------------------------------------------||
+    // Class Members ----------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Default number of compressed bytes of an entry buffered in memory before falling back to a data descriptor
+     */
+    public static final int DEFAULT_BUFFER_THRESHOLD = 1024 * 1024;
+
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+
+    private static final int DATA_DESCRIPTOR_SIGNATURE = 0x08074b50;
+
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+
+    private static final int ZIP64_END_SIGNATURE = 0x06064b50;
+
+    private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+
+    private static final int END_SIGNATURE = 0x06054b50;
+
+    private static final int ZIP64_EXTRA_ID = 0x0001;
+
+    private static final int VERSION_DEFAULT = 20;
+
+    private static final int VERSION_ZIP64 = 45;
+
+    private static final int FLAG_DATA_DESCRIPTOR = 0x0008;
+
+    private static final int FLAG_UTF8 = 0x0800;
+
+    /**
+     * Maximum value of a 2-byte field; larger values require Zip64
+     */
+    private static final int MAX_SHORT = 0xFFFF;
+
+    /**
+     * Maximum value of a 4-byte field; larger values require Zip64
+     */
+    private static final long MAX_INT = 0xFFFFFFFFL;
+
+    /**
+     * Directory attribute for the external attributes of directory entries (MS-DOS)
+     */
+    private static final int ATTRIBUTE_DIRECTORY = 0x10;
+
+    // -------------------------------------------------------------------------------------||
+    // Instance Members -------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Underlying stream
+     */
+    private final OutputStream out;
+
+    /**
+     * Number of compressed bytes of an entry to buffer before streaming it
+     */
+    private final int bufferThreshold;
+
+    /**
+     * Pool from which the compressor and buffer are borrowed
+     */
+    private final CodecPool pool;
+
+    /**
+     * Compressor, reset for each entry
+     */
+    private final Deflater deflater;
+
+    /**
+     * Checksum of the current entry
+     */
+    private final CRC32 crc = new CRC32();
+
+    /**
+     * Buffer receiving output from the {@link Deflater}
+     */
+    private final byte[] deflateBuffer;
+
+    /**
+     * Buffered compressed data of the current entry, if it has not been streamed
+     */
+    private final ByteArrayOutputStream entryBuffer = new ByteArrayOutputStream();
+
+    /**
+     * Scratch buffer for encoding headers
+     */
+    private final ByteArrayOutputStream headerBuffer = new ByteArrayOutputStream();
+
+    /**
+     * Entries written so far, for the central directory
+     */
+    private final List<Entry> entries = new ArrayList<Entry>();
+
+    /**
+     * Names written so far, to reject duplicates
+     */
+    private final Set<String> names = new HashSet<String>();
+
+    /**
+     * Compression level for subsequent entries
+     */
+    private int level = Deflater.DEFAULT_COMPRESSION;
+
+    /**
+     * Compression strategy for subsequent entries
+     */
+    private int strategy = Deflater.DEFAULT_STRATEGY;
+
+    /**
+     * Entry currently being written, if any
+     */
+    private Entry current;
+
+    /**
+     * Whether the current entry is streamed with a data descriptor rather than buffered
+     */
+    private boolean streaming;
+
+    /**
+     * Number of uncompressed bytes written to the current entry
+     */
+    private long uncompressedSize;
+
+    /**
+     * Number of compressed bytes produced for the current entry
+     */
+    private long compressedSize;
+
+    /**
+     * Number of bytes written to the underlying stream
+     */
+    private long written;
+
+    private boolean finished;
+
+    private boolean closed;
+
+    // -------------------------------------------------------------------------------------||
+    // Constructors -----------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Creates a new stream writing to the specified target, buffering up to {@link #DEFAULT_BUFFER_THRESHOLD}
+     * compressed bytes per entry
+     *
+     * @param out
+     */
+    public Zip64OutputStream(final OutputStream out) {
+        this(out, DEFAULT_BUFFER_THRESHOLD);
+    }
+
+    /**
+     * Creates a new stream writing to the specified target, buffering up to the specified number of compressed bytes
+     * per entry
+     *
+     * @param out
+     * @param bufferThreshold
+     * @throws IllegalArgumentException
+     *             If the target is not specified or the threshold is negative
+     */
+    public Zip64OutputStream(final OutputStream out, final int bufferThreshold) throws IllegalArgumentException {
+        this(out, bufferThreshold, CodecPool.getDefault());
+    }
+
+    /**
+     * Creates a new stream writing to the specified target, buffering up to the specified number of compressed bytes
+     * per entry, and borrowing its {@link Deflater} and buffer from the specified pool until closed
+     *
+     * @param out
+     * @param bufferThreshold
+     * @param pool
+     * @throws IllegalArgumentException
+     *             If the target or pool is not specified or the threshold is negative
+     */
+    public Zip64OutputStream(final OutputStream out, final int bufferThreshold, final CodecPool pool)
+        throws IllegalArgumentException {
+        if (out == null) {
+            throw new IllegalArgumentException("Output stream must be specified");
+        }
+        if (bufferThreshold < 0) {
+            throw new IllegalArgumentException("Buffer threshold must not be negative");
+        }
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool must be specified");
+        }
+        this.out = out;
+        this.bufferThreshold = bufferThreshold;
+        this.pool = pool;
+        this.deflater = pool.borrowDeflater(Deflater.DEFAULT_COMPRESSION, Deflater.DEFAULT_STRATEGY);
+        this.deflateBuffer = pool.borrowBuffer();
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Functional Methods -----------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Begins writing a new entry, closing the current entry if any. Entries with names ending in '/' are written as
+     * directories and may not carry data. The name and time (if set) are taken from the specified {@link ZipEntry}.
+     *
+     * @param entry
+     * @throws IOException
+     *             If an I/O error occurred or an entry of the same name was already written
+     */
+    public void putNextEntry(final ZipEntry entry) throws IOException {
+        ensureOpen();
+        if (current != null) {
+            closeEntry();
+        }
+        final String name = entry.getName();
+        if (!names.add(name)) {
+            throw new ZipException("duplicate entry: " + name);
+        }
+        final long time = entry.getTime() == -1 ? System.currentTimeMillis() : entry.getTime();
+        current = new Entry(encode(name), isAscii(name) ? 0 : FLAG_UTF8, toDosTime(time), entry.isDirectory());
+        streaming = false;
+        uncompressedSize = 0;
+        compressedSize = 0;
+        crc.reset();
+        deflater.reset();
+        deflater.setLevel(level);
+        deflater.setStrategy(strategy);
+        entryBuffer.reset();
+    }
+
+    /**
+     * Sets the {@link Deflater} compression level for subsequent entries
+     *
+     * @param level
+     * @throws IllegalArgumentException
+     *             If the level is not valid
+     */
+    public void setLevel(final int level) throws IllegalArgumentException {
+        if (level != Deflater.DEFAULT_COMPRESSION
+            && (level < Deflater.NO_COMPRESSION || level > Deflater.BEST_COMPRESSION)) {
+            throw new IllegalArgumentException("Invalid compression level: " + level);
+        }
+        this.level = level;
+    }
+
+    /**
+     * Sets the {@link Deflater} compression strategy for subsequent entries
+     *
+     * @param strategy
+     * @throws IllegalArgumentException
+     *             If the strategy is not valid
+     */
+    public void setStrategy(final int strategy) throws IllegalArgumentException {
+        if (strategy != Deflater.DEFAULT_STRATEGY && strategy != Deflater.FILTERED
+            && strategy != Deflater.HUFFMAN_ONLY) {
+            throw new IllegalArgumentException("Invalid compression strategy: " + strategy);
+        }
+        this.strategy = strategy;
+    }
+
+    /**
+     * Completes the current entry, if any
+     *
+     * @throws IOException
+     */
+    public void closeEntry() throws IOException {
+        ensureOpen();
+        final Entry entry = current;
+        if (entry == null) {
+            return;
+        }
+        if (!entry.directory) {
+            deflater.finish();
+            while (!deflater.finished()) {
+                deflate();
+            }
+        }
+        entry.crc = crc.getValue();
+        entry.compressedSize = compressedSize;
+        entry.uncompressedSize = uncompressedSize;
+
+        if (streaming) {
+            // The local header carries no Zip64 extra field, so use the Zip64 form only where the sizes require it
+            final boolean zip64 = entry.compressedSize > MAX_INT || entry.uncompressedSize > MAX_INT;
+            headerBuffer.reset();
+            writeInt(headerBuffer, DATA_DESCRIPTOR_SIGNATURE);
+            writeInt(headerBuffer, entry.crc);
+            if (zip64) {
+                writeLong(headerBuffer, entry.compressedSize);
+                writeLong(headerBuffer, entry.uncompressedSize);
+            } else {
+                writeInt(headerBuffer, entry.compressedSize);
+                writeInt(headerBuffer, entry.uncompressedSize);
+            }
+            writeHeader();
+        } else {
+            writeLocalHeader(entry);
+            writeRaw(entryBuffer);
+            entryBuffer.reset();
+        }
+
+        entries.add(entry);
+        current = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see java.io.OutputStream#write(int)
+     */
+    @Override
+    public void write(final int b) throws IOException {
+        write(new byte[] { (byte) b }, 0, 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see java.io.OutputStream#write(byte[], int, int)
+     */
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        ensureOpen();
+        if (current == null) {
+            throw new ZipException("no current ZIP entry");
+        }
+        if (len == 0) {
+            return;
+        }
+        if (current.directory) {
+            throw new ZipException("directory entries may not carry data: " + new String(current.name, "UTF-8"));
+        }
+        crc.update(b, off, len);
+        uncompressedSize += len;
+        deflater.setInput(b, off, len);
+        while (!deflater.needsInput()) {
+            deflate();
+        }
+    }
+
+    /**
+     * Completes the current entry, if any, and writes the central directory, without closing the underlying stream
+     *
+     * @throws IOException
+     */
+    public void finish() throws IOException {
+        ensureOpen();
+        if (finished) {
+            return;
+        }
+        if (current != null) {
+            closeEntry();
+        }
+        finished = true;
+
+        final long centralOffset = written;
+        for (final Entry entry : entries) {
+            writeCentralHeader(entry);
+        }
+        final long centralSize = written - centralOffset;
+        final long count = entries.size();
+
+        headerBuffer.reset();
+        if (count >= MAX_SHORT || centralOffset >= MAX_INT || centralSize >= MAX_INT) {
+            final long zip64EndOffset = written;
+            writeInt(headerBuffer, ZIP64_END_SIGNATURE);
+            writeLong(headerBuffer, 44);
+            writeShort(headerBuffer, VERSION_ZIP64);
+            writeShort(headerBuffer, VERSION_ZIP64);
+            writeInt(headerBuffer, 0);
+            writeInt(headerBuffer, 0);
+            writeLong(headerBuffer, count);
+            writeLong(headerBuffer, count);
+            writeLong(headerBuffer, centralSize);
+            writeLong(headerBuffer, centralOffset);
+
+            writeInt(headerBuffer, ZIP64_LOCATOR_SIGNATURE);
+            writeInt(headerBuffer, 0);
+            writeLong(headerBuffer, zip64EndOffset);
+            writeInt(headerBuffer, 1);
+        }
+        writeInt(headerBuffer, END_SIGNATURE);
+        writeShort(headerBuffer, 0);
+        writeShort(headerBuffer, 0);
+        writeShort(headerBuffer, (int) Math.min(count, MAX_SHORT));
+        writeShort(headerBuffer, (int) Math.min(count, MAX_SHORT));
+        writeInt(headerBuffer, Math.min(centralSize, MAX_INT));
+        writeInt(headerBuffer, Math.min(centralOffset, MAX_INT));
+        writeShort(headerBuffer, 0);
+        writeHeader();
+        out.flush();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see java.io.OutputStream#flush()
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        out.flush();
+    }
+
+    /**
+     * Finishes the archive and closes the underlying stream, releasing the pooled {@link Deflater} and buffer
+     *
+     * @see java.io.OutputStream#close()
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            finish();
+        } finally {
+            closed = true;
+            pool.release(deflater);
+            pool.release(deflateBuffer);
+            out.close();
+        }
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Internal Helper Methods ------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Moves compressed output from the {@link Deflater} into the entry buffer, or the underlying stream once the
+     * buffer threshold is exceeded
+     *
+     * @throws IOException
+     */
+    private void deflate() throws IOException {
+        final int length = deflater.deflate(deflateBuffer, 0, deflateBuffer.length);
+        if (length == 0) {
+            return;
+        }
+        compressedSize += length;
+        if (streaming) {
+            writeRaw(deflateBuffer, 0, length);
+            return;
+        }
+        entryBuffer.write(deflateBuffer, 0, length);
+        if (entryBuffer.size() > bufferThreshold) {
+            // Too large to buffer; sizes will follow the data in a descriptor
+            streaming = true;
+            current.flags |= FLAG_DATA_DESCRIPTOR;
+            writeLocalHeader(current);
+            writeRaw(entryBuffer);
+            entryBuffer.reset();
+        }
+    }
+
+    /**
+     * Writes the local file header of the specified entry, recording its offset; sizes and CRC are those known so far,
+     * so zero for streamed entries
+     *
+     * @param entry
+     * @throws IOException
+     */
+    private void writeLocalHeader(final Entry entry) throws IOException {
+        entry.offset = written;
+        final boolean descriptor = entry.isStreamed();
+        headerBuffer.reset();
+        writeInt(headerBuffer, LOCAL_HEADER_SIGNATURE);
+        writeShort(headerBuffer, VERSION_DEFAULT);
+        writeShort(headerBuffer, entry.flags);
+        writeShort(headerBuffer, entry.getMethod());
+        writeInt(headerBuffer, entry.dosTime);
+        writeInt(headerBuffer, descriptor ? 0 : entry.crc);
+        writeInt(headerBuffer, descriptor ? 0 : entry.compressedSize);
+        writeInt(headerBuffer, descriptor ? 0 : entry.uncompressedSize);
+        writeShort(headerBuffer, entry.name.length);
+        writeShort(headerBuffer, 0);
+        headerBuffer.write(entry.name);
+        writeHeader();
+    }
+
+    /**
+     * Writes the central directory header of the specified entry, with a Zip64 extra field carrying any values too
+     * large for their regular fields
+     *
+     * @param entry
+     * @throws IOException
+     */
+    private void writeCentralHeader(final Entry entry) throws IOException {
+        final boolean zip64Sizes = entry.requiresZip64Sizes();
+        final boolean zip64Offset = entry.offset >= MAX_INT;
+        final int extraLength = (zip64Sizes ? 16 : 0) + (zip64Offset ? 8 : 0);
+        final int version = extraLength > 0 ? VERSION_ZIP64 : VERSION_DEFAULT;
+
+        headerBuffer.reset();
+        writeInt(headerBuffer, CENTRAL_HEADER_SIGNATURE);
+        writeShort(headerBuffer, version);
+        writeShort(headerBuffer, version);
+        writeShort(headerBuffer, entry.flags);
+        writeShort(headerBuffer, entry.getMethod());
+        writeInt(headerBuffer, entry.dosTime);
+        writeInt(headerBuffer, entry.crc);
+        writeInt(headerBuffer, zip64Sizes ? MAX_INT : entry.compressedSize);
+        writeInt(headerBuffer, zip64Sizes ? MAX_INT : entry.uncompressedSize);
+        writeShort(headerBuffer, entry.name.length);
+        writeShort(headerBuffer, extraLength > 0 ? extraLength + 4 : 0);
+        writeShort(headerBuffer, 0);
+        writeShort(headerBuffer, 0);
+        writeShort(headerBuffer, 0);
+        writeInt(headerBuffer, entry.directory ? ATTRIBUTE_DIRECTORY : 0);
+        writeInt(headerBuffer, zip64Offset ? MAX_INT : entry.offset);
+        headerBuffer.write(entry.name);
+        if (extraLength > 0) {
+            writeShort(headerBuffer, ZIP64_EXTRA_ID);
+            writeShort(headerBuffer, extraLength);
+            if (zip64Sizes) {
+                writeLong(headerBuffer, entry.uncompressedSize);
+                writeLong(headerBuffer, entry.compressedSize);
+            }
+            if (zip64Offset) {
+                writeLong(headerBuffer, entry.offset);
+            }
+        }
+        writeHeader();
+    }
+
+    private void writeHeader() throws IOException {
+        writeRaw(headerBuffer);
+        headerBuffer.reset();
+    }
+
+    private void writeRaw(final ByteArrayOutputStream buffer) throws IOException {
+        buffer.writeTo(out);
+        written += buffer.size();
+    }
+
+    private void writeRaw(final byte[] b, final int off, final int len) throws IOException {
+        out.write(b, off, len);
+        written += len;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    private static void writeShort(final ByteArrayOutputStream buffer, final int value) {
+        buffer.write(value & 0xFF);
+        buffer.write((value >>> 8) & 0xFF);
+    }
+
+    private static void writeInt(final ByteArrayOutputStream buffer, final long value) {
+        writeShort(buffer, (int) (value & 0xFFFF));
+        writeShort(buffer, (int) ((value >>> 16) & 0xFFFF));
+    }
+
+    private static void writeLong(final ByteArrayOutputStream buffer, final long value) {
+        writeInt(buffer, value & MAX_INT);
+        writeInt(buffer, value >>> 32);
+    }
+
+    private static byte[] encode(final String name) {
+        try {
+            return name.getBytes("UTF-8");
+        } catch (final UnsupportedEncodingException uee) {
+            throw new IllegalStateException("UTF-8 must be supported", uee);
+        }
+    }
+
+    private static boolean isAscii(final String name) {
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) > 0x7F) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Converts the specified time in milliseconds since the epoch to MS-DOS date and time fields in the local time
+     * zone, as {@link ZipEntry} does
+     *
+     * @param time
+     * @return
+     */
+    private static long toDosTime(final long time) {
+        final Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(time);
+        final int year = calendar.get(Calendar.YEAR);
+        if (year < 1980) {
+            return (1 << 21) | (1 << 16);
+        }
+        return ((long) (year - 1980) << 25) | ((calendar.get(Calendar.MONTH) + 1) << 21)
+            | (calendar.get(Calendar.DAY_OF_MONTH) << 16) | (calendar.get(Calendar.HOUR_OF_DAY) << 11)
+            | (calendar.get(Calendar.MINUTE) << 5) | (calendar.get(Calendar.SECOND) >> 1);
+    }
+
+    /**
+     * Values of a written entry needed for the central directory
+     */
+    private static final class Entry {
+
+        private final byte[] name;
+
+        private int flags;
+
+        private final long dosTime;
+
+        private final boolean directory;
+
+        private long crc;
+
+        private long compressedSize;
+
+        private long uncompressedSize;
+
+        private long offset;
+
+        Entry(final byte[] name, final int flags, final long dosTime, final boolean directory) {
+            this.name = name;
+            this.flags = flags;
+            this.dosTime = dosTime;
+            this.directory = directory;
+        }
+
+        int getMethod() {
+            return directory ? ZipEntry.STORED : ZipEntry.DEFLATED;
+        }
+
+        boolean isStreamed() {
+            return (flags & FLAG_DATA_DESCRIPTOR) != 0;
+        }
+
+        boolean requiresZip64Sizes() {
+            return compressedSize >= MAX_INT || uncompressedSize >= MAX_INT;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.logging.Logger;
+
+import org.jboss.shrinkwrap.api.ArchivePath;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.ClassAsset;
+import org.jboss.shrinkwrap.api.asset.ClassLoaderAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jboss.shrinkwrap.impl.base.asset.AssetUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Benchmark of adding many classes, with their inner classes, from a large package: looking up the inner classes of
+ * each in the {@link PackageIndex}, against scanning the package for each with a regular expression filter
+ *
+ * @version $Revision: $
+ */
+public class AddClassesStressTest {
+
+    // -------------------------------------------------------------------------------------||
+    // Class Members ----------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Logger
+     */
+    private static final Logger log = Logger.getLogger(AddClassesStressTest.class.getName());
+
+    /**
+     * Generated package
+     */
+    private static final String PACKAGE = "stress.large";
+
+    /**
+     * Number of top-level classes in the package, each with {@link #INNER_COUNT} inner classes
+     */
+    private static final int CLASS_COUNT = 700;
+
+    private static final int INNER_COUNT = 2;
+
+    /**
+     * Number of classes added
+     */
+    private static final int ADDED_COUNT = 500;
+
+    // -------------------------------------------------------------------------------------||
+    // Tests ------------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Adds many classes of a package of some 2,000, logging the time taken against that of the former package scan
+     */
+    @Test
+    public void addClassesFromLargePackage() throws Exception {
+        final File root = new File("target", "addClassesStress");
+        final ClassLoader classLoader = new URLClassLoader(new URL[] { writePackage(root).toURI().toURL() }, null);
+        final Class<?>[] classes = new Class<?>[ADDED_COUNT];
+        for (int i = 0; i < ADDED_COUNT; i++) {
+            classes[i] = Class.forName(PACKAGE + ".C" + i, false, classLoader);
+        }
+
+        // Warm up, then measure
+        addClasses(classes);
+        final long start = System.nanoTime();
+        final JavaArchive archive = addClasses(classes);
+        final long indexedMillis = (System.nanoTime() - start) / 1000000;
+
+        addClassesByPackageScan(classes, classLoader);
+        final long scanStart = System.nanoTime();
+        final JavaArchive scanned = addClassesByPackageScan(classes, classLoader);
+        final long scannedMillis = (System.nanoTime() - scanStart) / 1000000;
+
+        log.info("Added " + ADDED_COUNT + " classes of " + CLASS_COUNT * (INNER_COUNT + 1) + " in " + PACKAGE + ": "
+            + indexedMillis + " ms by index, " + scannedMillis + " ms by package scan");
+
+        Assert.assertTrue(archive.contains("/stress/large/C0$Inner1.class"));
+        Assert.assertFalse(archive.contains("/stress/large/C" + ADDED_COUNT + ".class"));
+        Assert.assertEquals(scanned.getContent().keySet(), archive.getContent().keySet());
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Internal Helper Methods ------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    private static JavaArchive addClasses(final Class<?>[] classes) {
+        return ShrinkWrap.create(JavaArchive.class).addClasses(classes);
+    }
+
+    /**
+     * Adds the specified classes as formerly: each alone, and its inner classes by scanning its package with a
+     * regular expression filter
+     */
+    private static JavaArchive addClassesByPackageScan(final Class<?>[] classes, final ClassLoader classLoader) {
+        final JavaArchive archive = ShrinkWrap.create(JavaArchive.class);
+        for (final Class<?> clazz : classes) {
+            archive.add(new ClassAsset(clazz), AssetUtil.getFullPathForClassResource(clazz));
+            final URLPackageScanner.Callback callback = new URLPackageScanner.Callback() {
+                @Override
+                public void classFound(final String className) {
+                    final ArchivePath path = AssetUtil.getFullPathForClassResource(className);
+                    final String expression = AssetUtil.getFullPathForClassResource(clazz).get()
+                        .replace(".class", "\\$.*");
+                    if (path.get().matches(expression)) {
+                        archive.add(new ClassLoaderAsset(path.get().substring(1), classLoader), path);
+                    }
+                }
+            };
+            URLPackageScanner.newInstance(false, classLoader, callback, PACKAGE).scanPackage();
+        }
+        return archive;
+    }
+
+    /**
+     * Writes the classes of the generated package beneath the specified root, returning it
+     */
+    private static File writePackage(final File root) throws IOException {
+        final File directory = new File(root, PACKAGE.replace('.', '/'));
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Could not create " + directory);
+        }
+        final String packagePath = PACKAGE.replace('.', '/');
+        for (int i = 0; i < CLASS_COUNT; i++) {
+            writeClass(directory, packagePath, "C" + i);
+            for (int j = 0; j < INNER_COUNT; j++) {
+                writeClass(directory, packagePath, "C" + i + "$Inner" + j);
+            }
+        }
+        return root;
+    }
+
+    /**
+     * Writes the smallest loadable class of the specified name, extending {@link Object} and declaring nothing
+     */
+    private static void writeClass(final File directory, final String packagePath, final String simpleName)
+        throws IOException {
+        final DataOutputStream out = new DataOutputStream(new FileOutputStream(new File(directory, simpleName
+            + ".class")));
+        try {
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(49);
+            // Constant pool: this class and its superclass
+            out.writeShort(5);
+            out.writeByte(7);
+            out.writeShort(2);
+            out.writeByte(1);
+            out.writeUTF(packagePath + "/" + simpleName);
+            out.writeByte(7);
+            out.writeShort(4);
+            out.writeByte(1);
+            out.writeUTF("java/lang/Object");
+            // public super; this, super; no interfaces, fields, methods or attributes
+            out.writeShort(0x21);
+            out.writeShort(1);
+            out.writeShort(3);
+            out.writeShort(0);
+            out.writeShort(0);
+            out.writeShort(0);
+            out.writeShort(0);
+        } finally {
+            out.close();
+        }
+    }
+}
@@ -22,6 +22,7 @@ import org.jboss.shrinkwrap.api.ArchiveFormat;
 import org.jboss.shrinkwrap.api.exporter.TarExporter;
 import org.jboss.shrinkwrap.api.exporter.TarGzExporter;
 import org.jboss.shrinkwrap.api.exporter.ZipExporter;
+import org.jboss.shrinkwrap.api.importer.FormatDetectingImporter;
 import org.jboss.shrinkwrap.api.importer.TarGzImporter;
 import org.jboss.shrinkwrap.api.importer.TarImporter;
 import org.jboss.shrinkwrap.api.importer.ZipImporter;
@@ -61,4 +62,14 @@ public class ArchiveFormatStreamBindingsTestCase {
     public void testTarGzExporter() throws Exception {
         assertEquals(TarGzExporter.class, new ArchiveFormatStreamBindings(ArchiveFormat.TAR_GZ).getExporter());
     }
+
+    @Test
+    public void testAutoImporter() throws Exception {
+        assertEquals(FormatDetectingImporter.class, new ArchiveFormatStreamBindings(ArchiveFormat.AUTO).getImporter());
+    }
+
+    @Test
+    public void testAutoExporter() throws Exception {
+        assertEquals(ZipExporter.class, new ArchiveFormatStreamBindings(ArchiveFormat.AUTO).getExporter());
+    }
 }
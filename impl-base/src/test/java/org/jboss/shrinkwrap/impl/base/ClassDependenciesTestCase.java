@@ -0,0 +1,82 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+
+import org.jboss.shrinkwrap.impl.base.test.dummy.DummyClassForTest;
+import org.jboss.shrinkwrap.impl.base.test.dummy.dependency.CreatedDependency;
+import org.jboss.shrinkwrap.impl.base.test.dummy.dependency.DependencyRoot;
+import org.jboss.shrinkwrap.impl.base.test.dummy.dependency.FieldDependency;
+import org.jboss.shrinkwrap.impl.base.test.dummy.dependency.UnreferencedClass;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Ensures that {@link ClassDependencies} finds the classes referenced by class files
+ *
+ * @version $Revision: $
+ */
+public class ClassDependenciesTestCase {
+
+    // -------------------------------------------------------------------------------------||
+    // Tests ------------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Ensures classes referenced through fields, instantiations, invocations and method descriptors are found
+     */
+    @Test
+    public void dependenciesOfClass() throws Exception {
+        final ClassDependencies dependencies = ClassDependencies.forClassLoader(DependencyRoot.class.getClassLoader());
+        final Set<String> found = dependencies.getDependencies(DependencyRoot.class.getName());
+
+        Assert.assertTrue(found.contains(FieldDependency.class.getName()));
+        Assert.assertTrue(found.contains(CreatedDependency.class.getName()));
+        Assert.assertTrue(found.contains(DummyClassForTest.class.getName()));
+        Assert.assertTrue(found.contains("java.util.List"));
+        Assert.assertFalse(found.contains(UnreferencedClass.class.getName()));
+        Assert.assertFalse("A class should not depend on itself", found.contains(DependencyRoot.class.getName()));
+        Assert.assertSame(found, dependencies.getDependencies(DependencyRoot.class.getName()));
+        Assert.assertNull(dependencies.getDependencies("org.jboss.shrinkwrap.impl.base.Missing"));
+    }
+
+    /**
+     * Ensures class files of every kind of constant, including wide ones, are parsed
+     */
+    @Test
+    public void parsesAllConstants() throws Exception {
+        final InputStream in = Math.class.getResourceAsStream("Math.class");
+        try {
+            final Set<String> found = ClassDependencies.parse(in);
+            Assert.assertTrue(found.contains("java.lang.StrictMath"));
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Ensures what is not a class file is rejected
+     */
+    @Test(expected = IOException.class)
+    public void rejectsNonClassFile() throws Exception {
+        ClassDependencies.parse(new ByteArrayInputStream("Not a class file".getBytes()));
+    }
+}
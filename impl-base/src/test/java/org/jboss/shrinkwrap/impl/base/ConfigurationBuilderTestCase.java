@@ -27,6 +27,7 @@ import org.jboss.shrinkwrap.api.Assignable;
 import org.jboss.shrinkwrap.api.Configuration;
 import org.jboss.shrinkwrap.api.ConfigurationBuilder;
 import org.jboss.shrinkwrap.api.ExtensionLoader;
+import org.jboss.shrinkwrap.api.exporter.CompressionPolicy;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -91,6 +92,94 @@ public class ConfigurationBuilderTestCase {
         Assert.assertNotNull("The builder should default an " + ExtensionLoader.class.getSimpleName(), loader);
     }
 
+    /**
+     * Ensures that the nested archive cache size is defaulted as contracted
+     */
+    @Test
+    public void defaultsArchiveAssetCacheSize() {
+        // Build and default
+        builder.build();
+
+        // Test
+        TestCase.assertEquals("The builder should default the archive asset cache size",
+            Long.valueOf(ConfigurationBuilder.DEFAULT_ARCHIVE_ASSET_CACHE_SIZE), builder.getArchiveAssetCacheSize());
+        TestCase.assertEquals("The archive asset cache should be disabled by default", 0L,
+            builder.getArchiveAssetCacheSize().longValue());
+    }
+
+    /**
+     * Ensures that the compression policy is defaulted as contracted
+     */
+    @Test
+    public void defaultsCompressionPolicy() {
+        // Build and default
+        builder.build();
+
+        // Test
+        TestCase.assertEquals("The builder should default the compression policy", CompressionPolicy.DEFAULT,
+            builder.getCompressionPolicy());
+    }
+
+    /**
+     * Ensures that imports are not pipelined by default, as contracted
+     */
+    @Test
+    public void defaultsPipelinedImport() {
+        // Build and default
+        builder.build();
+
+        // Test
+        TestCase.assertEquals("The builder should default to imports that are not pipelined", Boolean.FALSE,
+            builder.getPipelinedImport());
+    }
+
+    /**
+     * Ensures that imported entries are never spilled by default, as contracted
+     */
+    @Test
+    public void defaultsImportSpillThreshold() {
+        // Build and default
+        builder.build();
+
+        // Test
+        TestCase.assertEquals("The builder should default to never spilling imported entries",
+            Long.valueOf(Long.MAX_VALUE), builder.getImportSpillThreshold());
+    }
+
+    /**
+     * Ensures that nested archives are imported whole by default, as contracted
+     */
+    @Test
+    public void defaultsLazyNestedArchives() {
+        // Build and default
+        builder.build();
+
+        // Test
+        TestCase.assertEquals("The builder should default to importing nested archives whole", Boolean.FALSE,
+            builder.getLazyNestedArchives());
+    }
+
+    /**
+     * Ensures that TAR imports read blocks of the size written by TAR exports by default, as contracted
+     */
+    @Test
+    public void defaultsTarImportBlockSize() {
+        // Build and default
+        builder.build();
+
+        // Test
+        TestCase.assertEquals("The builder should default to the TAR block size written by exports",
+            Integer.valueOf(ConfigurationBuilder.DEFAULT_TAR_IMPORT_BLOCK_SIZE), builder.getTarImportBlockSize());
+    }
+
+    /**
+     * Ensures that TAR block sizes not a multiple of the record size are rejected
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsUnalignedTarImportBlockSize() {
+        builder.tarImportBlockSize(1000);
+    }
+
     /**
      * Ensures that building does not override a user-supplied {@link ExecutorService}
      */
@@ -0,0 +1,196 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.Arrays;
+
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ArchivePaths;
+import org.jboss.shrinkwrap.api.ConfigurationBuilder;
+import org.jboss.shrinkwrap.api.ContentDigest;
+import org.jboss.shrinkwrap.api.GenericArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.FileAsset;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.shrinkwrap.api.exporter.CompressionPolicy;
+import org.jboss.shrinkwrap.api.exporter.TarExporter;
+import org.jboss.shrinkwrap.api.exporter.ZipExporter;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jboss.shrinkwrap.api.spec.WebArchive;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Ensures that the {@link ContentDigest} view reflects archive contents as contracted
+ *
+ * @version $Revision: $
+ */
+public class ContentDigestTestCase {
+
+    // -------------------------------------------------------------------------------------||
+    // Tests ------------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Ensures archives with the same content have the same digest, regardless of name or order of addition
+     */
+    @Test
+    public void sameContentSameDigest() {
+        final GenericArchive archive1 = ShrinkWrap.create(GenericArchive.class, "one.jar")
+            .add(new StringAsset("a"), "dir/a.txt").add(new StringAsset("b"), "b.txt");
+        final GenericArchive archive2 = ShrinkWrap.create(GenericArchive.class, "two.jar")
+            .add(new StringAsset("b"), "b.txt").add(new StringAsset("a"), "dir/a.txt");
+
+        Assert.assertArrayEquals("Equal content should have equal digests", digestOf(archive1), digestOf(archive2));
+        Assert.assertEquals("Hex digest should be 64 characters", 64, archive1.as(ContentDigest.class)
+            .getDigestAsHex().length());
+    }
+
+    /**
+     * Ensures archives differing only in bytes have different digests
+     */
+    @Test
+    public void differentBytesDifferentDigest() {
+        final GenericArchive archive1 = ShrinkWrap.create(GenericArchive.class).add(new StringAsset("a"), "a.txt");
+        final GenericArchive archive2 = ShrinkWrap.create(GenericArchive.class).add(new StringAsset("A"), "a.txt");
+
+        Assert.assertFalse("Different bytes should have different digests",
+            Arrays.equals(digestOf(archive1), digestOf(archive2)));
+    }
+
+    /**
+     * Ensures that adding, overwriting and deleting content is reflected in the digest
+     */
+    @Test
+    public void digestUpdatedOnModification() {
+        final GenericArchive archive = ShrinkWrap.create(GenericArchive.class).add(new StringAsset("a"),
+            "dir/sub/a.txt");
+        final byte[] original = digestOf(archive);
+
+        archive.add(new StringAsset("b"), "dir/sub/a.txt");
+        final byte[] overwritten = digestOf(archive);
+        Assert.assertFalse("Overwrite should change the digest", Arrays.equals(original, overwritten));
+
+        archive.add(new StringAsset("a"), "dir/sub/a.txt");
+        Assert.assertArrayEquals("Restoring content should restore the digest", original, digestOf(archive));
+
+        archive.add(new StringAsset("c"), "dir/c.txt");
+        final byte[] added = digestOf(archive);
+        Assert.assertFalse("Addition should change the digest", Arrays.equals(original, added));
+
+        archive.delete("dir/c.txt");
+        Assert.assertArrayEquals("Deletion should restore the digest", original, digestOf(archive));
+    }
+
+    /**
+     * Ensures that merging content is reflected in the digest
+     */
+    @Test
+    public void digestUpdatedOnMerge() {
+        final GenericArchive archive = ShrinkWrap.create(GenericArchive.class).add(new StringAsset("a"), "a.txt");
+        final byte[] original = digestOf(archive);
+        archive.merge(ShrinkWrap.create(GenericArchive.class).add(new StringAsset("b"), "b.txt"));
+
+        final GenericArchive expected = ShrinkWrap.create(GenericArchive.class).add(new StringAsset("a"), "a.txt")
+            .add(new StringAsset("b"), "b.txt");
+        Assert.assertFalse("Merge should change the digest", Arrays.equals(original, digestOf(archive)));
+        Assert.assertArrayEquals("Merged archive should match", digestOf(expected), digestOf(archive));
+    }
+
+    /**
+     * Ensures that digests of subtrees do not depend on their location
+     */
+    @Test
+    public void subtreeDigest() {
+        final GenericArchive archive = ShrinkWrap.create(GenericArchive.class).add(new StringAsset("a"), "x/a.txt")
+            .add(new StringAsset("a"), "y/z/a.txt");
+        final ContentDigest digest = archive.as(ContentDigest.class);
+
+        Assert.assertArrayEquals("Equal subtrees should have equal digests", digest.getDigest(ArchivePaths.create("x")),
+            digest.getDigest(ArchivePaths.create("y/z")));
+        Assert.assertNull("Missing paths should have no digest", digest.getDigest(ArchivePaths.create("missing")));
+    }
+
+    /**
+     * Ensures that changes to a backing file are detected
+     */
+    @Test
+    public void fileAssetChangeDetected() throws Exception {
+        final File file = File.createTempFile("digest", ".txt");
+        file.deleteOnExit();
+        write(file, "a");
+        final GenericArchive archive = ShrinkWrap.create(GenericArchive.class).add(new FileAsset(file), "file.txt");
+        final byte[] original = digestOf(archive);
+
+        write(file, "bb");
+        Assert.assertFalse("Changed file should change the digest", Arrays.equals(original,
+            digestOf(archive)));
+    }
+
+    /**
+     * Ensures that changes to nested archives are detected
+     */
+    @Test
+    public void nestedArchiveChangeDetected() {
+        final JavaArchive library = ShrinkWrap.create(JavaArchive.class, "lib.jar").add(new StringAsset("a"), "a.txt");
+        final WebArchive war = ShrinkWrap.create(WebArchive.class).addAsLibrary(library);
+        final byte[] original = digestOf(war);
+
+        library.add(new StringAsset("b"), "b.txt");
+        Assert.assertFalse("Nested change should change the digest", Arrays.equals(original,
+            digestOf(war)));
+    }
+
+    /**
+     * Ensures that nested archives exported with a different format or compression give a different digest
+     */
+    @Test
+    public void nestedArchiveExportOptionsDistinguished() {
+        final JavaArchive library = ShrinkWrap.create(JavaArchive.class, "lib.jar").add(new StringAsset("a"), "a.txt");
+        final JavaArchive smallest = ShrinkWrap
+            .createDomain(new ConfigurationBuilder().compressionPolicy(CompressionPolicy.SMALLEST))
+            .getArchiveFactory().create(JavaArchive.class, "lib.jar").add(new StringAsset("a"), "a.txt");
+        Assert.assertTrue("Equal contents should have the same digest",
+            Arrays.equals(digestOf(library), digestOf(smallest)));
+
+        final byte[] zip = digestOf(ShrinkWrap.create(GenericArchive.class).add(library, "/", ZipExporter.class));
+        final byte[] tar = digestOf(ShrinkWrap.create(GenericArchive.class).add(library, "/", TarExporter.class));
+        final byte[] compressed = digestOf(ShrinkWrap.create(GenericArchive.class).add(smallest, "/",
+            ZipExporter.class));
+        Assert.assertFalse("Export format should change the digest", Arrays.equals(zip, tar));
+        Assert.assertFalse("Compression policy should change the digest", Arrays.equals(zip, compressed));
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Internal Helper Methods ------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    private byte[] digestOf(final Archive<?> archive) {
+        return archive.as(ContentDigest.class).getDigest();
+    }
+
+    private void write(final File file, final String content) throws Exception {
+        final FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write(content.getBytes("UTF-8"));
+        } finally {
+            out.close();
+        }
+    }
+}
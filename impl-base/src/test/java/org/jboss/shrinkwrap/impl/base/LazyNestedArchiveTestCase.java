@@ -0,0 +1,211 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ArchiveFormat;
+import org.jboss.shrinkwrap.api.ArchivePath;
+import org.jboss.shrinkwrap.api.ConfigurationBuilder;
+import org.jboss.shrinkwrap.api.Domain;
+import org.jboss.shrinkwrap.api.Filters;
+import org.jboss.shrinkwrap.api.GenericArchive;
+import org.jboss.shrinkwrap.api.Node;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.ArchiveAsset;
+import org.jboss.shrinkwrap.api.asset.Asset;
+import org.jboss.shrinkwrap.api.asset.ByteArrayAsset;
+import org.jboss.shrinkwrap.api.asset.FileAsset;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.shrinkwrap.api.exporter.ZipExporter;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jboss.shrinkwrap.impl.base.asset.ZipFileEntryAsset;
+import org.jboss.shrinkwrap.impl.base.io.IOUtil;
+import org.jboss.shrinkwrap.impl.base.io.SpillArea;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Ensures that nested archives viewed lazily through {@link Archive#getAsType(Class, ArchivePath)} and its overloads
+ * hold the same content as those imported whole, and that the filter overloads read concurrently where an executor
+ * service is configured
+ *
+ * @version $Revision: $
+ */
+public class LazyNestedArchiveTestCase {
+
+    // -------------------------------------------------------------------------------------||
+    // Tests ------------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Ensures nested archives held in memory and in files are indexed, their entries read on demand, with the same
+     * content as an import
+     */
+    @Test
+    public void lazyViewMatchesImport() throws Exception {
+        final Domain lazy = ShrinkWrap.createDomain(new ConfigurationBuilder().lazyNestedArchives(true));
+        final Domain eager = ShrinkWrap.createDomain();
+
+        for (final Asset nested : new Asset[] { new ByteArrayAsset(export(createJar("memory.jar", 20))),
+            new FileAsset(TestIOUtil.createFileFromResourceName("cl-test.jar")) }) {
+            final JavaArchive lazyJar = lazy.getArchiveFactory().create(GenericArchive.class).add(nested, "/nested.jar")
+                .getAsType(JavaArchive.class, "/nested.jar", ArchiveFormat.ZIP);
+            final JavaArchive eagerJar = eager.getArchiveFactory().create(GenericArchive.class)
+                .add(nested, "/nested.jar").getAsType(JavaArchive.class, "/nested.jar", ArchiveFormat.ZIP);
+
+            Assert.assertEquals(eagerJar.getContent().keySet(), lazyJar.getContent().keySet());
+            for (final Node node : lazyJar.getContent().values()) {
+                if (node.getAsset() != null) {
+                    Assert.assertTrue(node.getAsset() instanceof ZipFileEntryAsset);
+                    Assert.assertArrayEquals(IOUtil.asByteArray(eagerJar.get(node.getPath()).getAsset().openStream()),
+                        IOUtil.asByteArray(node.getAsset().openStream()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Ensures content which is not a valid ZIP is imported as it would be were nested archives not viewed lazily
+     */
+    @Test
+    public void lazyViewFallsBackToImport() throws Exception {
+        final Domain lazy = ShrinkWrap.createDomain(new ConfigurationBuilder().lazyNestedArchives(true));
+        final JavaArchive jar = lazy.getArchiveFactory().create(GenericArchive.class)
+            .add(new StringAsset("Not a ZIP"), "/invalid.jar")
+            .getAsType(JavaArchive.class, "/invalid.jar", ArchiveFormat.ZIP);
+        Assert.assertTrue(jar.getContent().isEmpty());
+    }
+
+    /**
+     * Ensures the filter overloads read nested archives upon the configured executor service, replacing each in the
+     * enclosing archive, in the order in which they would otherwise be read
+     */
+    @Test
+    public void filterReadsConcurrently() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (final boolean lazily : new boolean[] { false, true }) {
+                final Domain domain = ShrinkWrap.createDomain(new ConfigurationBuilder().executorService(executor)
+                    .lazyNestedArchives(lazily));
+                final GenericArchive ear = domain.getArchiveFactory().create(GenericArchive.class, "test.ear");
+                for (int i = 0; i < 12; i++) {
+                    final String name = "module" + i + ".jar";
+                    ear.add(new ByteArrayAsset(export(createJar(name, i + 1))), "/" + name);
+                }
+                ear.add(new StringAsset("Not to be found"), "/application.xml");
+
+                final List<ArchivePath> expected = new ArrayList<ArchivePath>(ear.getContent(
+                    Filters.include(".*\\.jar")).keySet());
+                final Collection<JavaArchive> jars = ear.getAsType(JavaArchive.class, Filters.include(".*\\.jar"));
+
+                Assert.assertEquals(12, jars.size());
+                int index = 0;
+                for (final JavaArchive jar : jars) {
+                    final ArchivePath path = expected.get(index++);
+                    Assert.assertEquals(path.get(), jar.getName());
+                    final int classes = Integer.parseInt(path.get().replaceAll("\\D", "")) + 1;
+                    Assert.assertEquals(classes, jar.getContent(Filters.include(".*\\.txt")).size());
+                    Assert.assertTrue(ear.get(path).getAsset() instanceof ArchiveAsset);
+                }
+
+                // Already replaced, so served as they are
+                Assert.assertEquals(12, ear.getAsType(JavaArchive.class, Filters.include(".*\\.jar"),
+                    ArchiveFormat.ZIP).size());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Ensures that should one concurrent read fail, the spilled copies read by the others, but not replaced in the
+     * enclosing archive, are deleted before the failure propagates
+     */
+    @Test
+    public void failedReadReleasesOthers() throws Exception {
+        // Copies are spilled to the one directory
+        final File probe = SpillArea.copy(new ByteArrayInputStream(new byte[0]), new byte[16]);
+        final File directory = probe.getParentFile();
+        Assert.assertTrue(probe.delete());
+        final Set<String> before = new HashSet<String>(Arrays.asList(directory.list()));
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final Domain domain = ShrinkWrap.createDomain(new ConfigurationBuilder().executorService(executor)
+            .lazyNestedArchives(true));
+        final GenericArchive ear = domain.getArchiveFactory().create(GenericArchive.class, "test.ear");
+        for (int i = 0; i < 8; i++) {
+            final String name = "module" + i + ".jar";
+            ear.add(new ByteArrayAsset(export(createJar(name, i + 1))), "/" + name);
+        }
+        ear.add(new Asset() {
+            @Override
+            public InputStream openStream() {
+                throw new IllegalStateException("Unreadable");
+            }
+        }, "/unreadable.jar");
+
+        try {
+            ear.getAsType(JavaArchive.class, Filters.include(".*\\.jar"));
+            Assert.fail("Failure of read should be reported");
+        } catch (final IllegalStateException expected) {
+            Assert.assertEquals("Unreadable", expected.getMessage());
+        } finally {
+            executor.shutdown();
+            Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+
+        // Only the copies of the archives replaced before the failure remain
+        int replaced = 0;
+        for (final Node node : ear.getContent().values()) {
+            if (node.getAsset() instanceof ArchiveAsset) {
+                replaced++;
+            }
+        }
+        final Set<String> remaining = new HashSet<String>(Arrays.asList(directory.list()));
+        remaining.removeAll(before);
+        Assert.assertEquals(replaced, remaining.size());
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Internal Helper Methods ------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    private static JavaArchive createJar(final String name, final int entries) {
+        final JavaArchive jar = ShrinkWrap.create(JavaArchive.class, name);
+        for (int i = 0; i < entries; i++) {
+            jar.add(new StringAsset("Entry " + i + " of " + name), "/org/test/entry" + i + ".txt");
+        }
+        return jar;
+    }
+
+    private static byte[] export(final Archive<?> archive) {
+        return IOUtil.asByteArray(archive.as(ZipExporter.class).exportAsInputStream());
+    }
+}
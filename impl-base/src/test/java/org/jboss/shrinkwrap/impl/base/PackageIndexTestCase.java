@@ -0,0 +1,194 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Ensures that {@link PackageIndex} finds the classes of packages in JARs and directories, and notices changes to
+ * either
+ *
+ * @version $Revision: $
+ */
+public class PackageIndexTestCase {
+
+    // -------------------------------------------------------------------------------------||
+    // Tests ------------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Ensures the classes of a package, and of its children if recursive, are found in a JAR, and that packages
+     * sharing a prefix are not mistaken for children
+     */
+    @Test
+    public void classNamesInJar() throws Exception {
+        final File jar = new File("target", "packageIndex.jar");
+        writeJar(jar, "a/", "a/A.class", "a/b/", "a/b/B.class", "a/b/c/", "a/b/c/C.class", "ab/", "ab/AB.class",
+            "a/resource.txt", "Root.class");
+        final URLClassLoader classLoader = new URLClassLoader(new URL[] { jar.toURI().toURL() }, null);
+        final PackageIndex index = PackageIndex.forClassLoader(classLoader);
+
+        Assert.assertSame(index, PackageIndex.forClassLoader(classLoader));
+        Assert.assertEquals(asSet("a.A"), asSet(index.getClassNames("a", false)));
+        Assert.assertEquals(asSet("a.A", "a.b.B", "a.b.c.C"), asSet(index.getClassNames("a", true)));
+        Assert.assertEquals(asSet("a.b.B", "a.b.c.C"), asSet(index.getClassNames("a.b", true)));
+    }
+
+    /**
+     * Ensures the nested classes of a class are found at any depth, in JARs and directories alike, and that classes
+     * sharing a prefix are not mistaken for them
+     */
+    @Test
+    public void nestedClassNames() throws Exception {
+        final File jar = new File("target", "packageIndexNested.jar");
+        writeJar(jar, "a/", "a/A.class", "a/A$1.class", "a/A$B.class", "a/A$B$C.class", "a/AB.class", "a/AB$1.class",
+            "$D.class");
+        final File root = new File("target", "packageIndexNested");
+        Assert.assertTrue(new File(root, "a").isDirectory() || new File(root, "a").mkdirs());
+        touch(new File(root, "a/A$2.class"));
+        final PackageIndex index = PackageIndex.forClassLoader(new URLClassLoader(new URL[] { jar.toURI().toURL(),
+            root.toURI().toURL() }, null));
+
+        Assert.assertEquals(asSet("a.A$1", "a.A$B", "a.A$B$C", "a.A$2"), asSet(index.getNestedClassNames("a.A")));
+        Assert.assertEquals(asSet("a.A$B$C"), asSet(index.getNestedClassNames("a.A$B")));
+        Assert.assertEquals(asSet("a.AB$1"), asSet(index.getNestedClassNames("a.AB")));
+        Assert.assertTrue(index.getNestedClassNames("a.Missing").isEmpty());
+    }
+
+    /**
+     * Ensures scanning concurrently finds the same classes, in the same order, as scanning on the calling thread
+     */
+    @Test
+    public void concurrentScanMatchesSequential() throws Exception {
+        final File first = new File("target", "packageIndexConcurrent1.jar");
+        writeJar(first, "a/", "a/A.class", "a/b/", "a/b/B.class");
+        final File second = new File("target", "packageIndexConcurrent2.jar");
+        writeJar(second, "a/", "a/C.class", "a/d/", "a/d/D.class");
+        final File root = new File("target", "packageIndexConcurrent");
+        for (int i = 0; i < 8; i++) {
+            final File directory = new File(root, "a/e" + i + "/f");
+            Assert.assertTrue(directory.isDirectory() || directory.mkdirs());
+            touch(new File(directory.getParentFile(), "E.class"));
+            touch(new File(directory, "F.class"));
+        }
+        final PackageIndex index = PackageIndex.forClassLoader(new URLClassLoader(new URL[] { first.toURI().toURL(),
+            root.toURI().toURL(), second.toURI().toURL() }, null));
+
+        final List<String> sequential = index.getClassNames("a", true);
+        Assert.assertEquals(2 + 16 + 2, sequential.size());
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Assert.assertEquals(sequential, index.getClassNames("a", true, executor));
+            Assert.assertEquals(index.getClassNames("a", false), index.getClassNames("a", false, executor));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Ensures a JAR is indexed again once rewritten
+     */
+    @Test
+    public void jarIndexedAgainWhenModified() throws Exception {
+        final File jar = new File("target", "packageIndexModified.jar");
+        writeJar(jar, "a/", "a/A.class");
+        final URLClassLoader classLoader = new URLClassLoader(new URL[] { jar.toURI().toURL() }, null);
+        final PackageIndex index = PackageIndex.forClassLoader(classLoader);
+        Assert.assertEquals(asSet("a.A"), asSet(index.getClassNames("a", true)));
+
+        writeJar(jar, "a/", "a/A.class", "a/Added.class");
+        Assert.assertTrue(jar.setLastModified(jar.lastModified() + 2000));
+        Assert.assertEquals(asSet("a.A", "a.Added"), asSet(index.getClassNames("a", true)));
+    }
+
+    /**
+     * Ensures the classes of a package are found in a directory, which is listed again once modified
+     */
+    @Test
+    public void classNamesInDirectory() throws Exception {
+        final File root = new File("target", "packageIndexDirectory");
+        final File child = new File(root, "a/b");
+        Assert.assertTrue(child.isDirectory() || child.mkdirs());
+        touch(new File(root, "a/A.class"));
+        touch(new File(child, "B.class"));
+        final URLClassLoader classLoader = new URLClassLoader(new URL[] { root.toURI().toURL() }, null);
+        final PackageIndex index = PackageIndex.forClassLoader(classLoader);
+
+        Assert.assertEquals(asSet("a.A"), asSet(index.getClassNames("a", false)));
+        Assert.assertEquals(asSet("a.A", "a.b.B"), asSet(index.getClassNames("a", true)));
+
+        final File added = new File(child, "Added.class");
+        touch(added);
+        Assert.assertTrue(child.setLastModified(child.lastModified() + 2000));
+        try {
+            Assert.assertEquals(asSet("a.A", "a.b.B", "a.b.Added"), asSet(index.getClassNames("a", true)));
+        } finally {
+            Assert.assertTrue(added.delete());
+        }
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Internal Helper Methods ------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Writes a JAR of the specified entries, empty; as in JARs as built, packages must have directory entries for
+     * their resources to be found by {@link URLClassLoader}
+     */
+    private static void writeJar(final File jar, final String... names) throws IOException {
+        final ZipOutputStream out = new ZipOutputStream(new FileOutputStream(jar));
+        try {
+            for (final String name : names) {
+                out.putNextEntry(new ZipEntry(name));
+                out.closeEntry();
+            }
+        } finally {
+            out.close();
+        }
+    }
+
+    private static void touch(final File file) throws IOException {
+        new FileOutputStream(file).close();
+    }
+
+    private static Set<String> asSet(final String... names) {
+        return new HashSet<String>(Arrays.asList(names));
+    }
+
+    private static Set<String> asSet(final Iterable<String> names) {
+        final Set<String> set = new HashSet<String>();
+        for (final String name : names) {
+            set.add(name);
+        }
+        return set;
+    }
+}
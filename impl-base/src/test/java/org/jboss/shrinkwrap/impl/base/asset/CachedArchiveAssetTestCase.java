@@ -0,0 +1,263 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base.asset;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+
+import org.jboss.shrinkwrap.api.ArchivePath;
+import org.jboss.shrinkwrap.api.ArchivePaths;
+import org.jboss.shrinkwrap.api.Configuration;
+import org.jboss.shrinkwrap.api.ConfigurationBuilder;
+import org.jboss.shrinkwrap.api.Domain;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.Asset;
+import org.jboss.shrinkwrap.api.asset.FileAsset;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.shrinkwrap.api.exporter.ZipExporter;
+import org.jboss.shrinkwrap.api.importer.ZipImporter;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jboss.shrinkwrap.api.spec.WebArchive;
+import org.jboss.shrinkwrap.impl.base.ContentDigestImpl;
+import org.jboss.shrinkwrap.impl.base.io.IOUtil;
+import org.jboss.shrinkwrap.spi.Versioned;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Ensures that {@link CachedArchiveAsset} reuses exports of unchanged nested archives, and that changes to a nested
+ * archive are reflected in subsequent exports.
+ *
+ * @version $Revision: $
+ */
+public class CachedArchiveAssetTestCase {
+
+    // -------------------------------------------------------------------------------------||
+    // Tests ------------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Ensures that a nested archive's export is cached and served while the archive is unchanged
+     */
+    @Test
+    public void cachesUnchangedNestedArchive() {
+        final Domain domain = createCachingDomain();
+        final JavaArchive library = createLibrary(domain);
+        final WebArchive war = domain.getArchiveFactory().create(WebArchive.class, "test.war").addAsLibrary(library);
+        final Asset asset = getNestedAsset(war, library);
+        Assert.assertTrue("Nested archives should be cached", asset instanceof CachedArchiveAsset);
+
+        final byte[] first = IOUtil.asByteArray(asset.openStream());
+        final ArchiveExportCache cache = ArchiveExportCache.forConfiguration(domain.getConfiguration());
+        final Object state = ContentDigestImpl.stateOf(library);
+        Assert.assertNotNull("Export should have been cached",
+            cache.get(library.getId(), ZipExporter.class, state));
+        Assert.assertEquals("Cache should account for the cached export", first.length, cache.getSize());
+
+        final byte[] cached = cache.get(library.getId(), ZipExporter.class, state);
+        final byte[] second = IOUtil.asByteArray(asset.openStream());
+        Assert.assertArrayEquals("Unchanged archive should export to the same content", first, second);
+        Assert.assertSame("Unchanged archive should not have been exported again", cached,
+            cache.get(library.getId(), ZipExporter.class, state));
+    }
+
+    /**
+     * Ensures that changing a nested archive invalidates its cached export
+     */
+    @Test
+    public void invalidatesOnChange() throws Exception {
+        final Domain domain = createCachingDomain();
+        final JavaArchive library = createLibrary(domain);
+        final WebArchive war = domain.getArchiveFactory().create(WebArchive.class, "test.war").addAsLibrary(library);
+        final Asset asset = getNestedAsset(war, library);
+        IOUtil.asByteArray(asset.openStream());
+        final long before = library.as(Versioned.class).getVersion();
+
+        library.add(new StringAsset("changed"), "changed.txt");
+        final long after = library.as(Versioned.class).getVersion();
+        Assert.assertTrue("Modification should increase the version", after > before);
+
+        final InputStream in = asset.openStream();
+        final JavaArchive reimported = ShrinkWrap.create(ZipImporter.class)
+            .importFrom(in).as(JavaArchive.class);
+        Assert.assertTrue("Export should reflect the change", reimported.contains("changed.txt"));
+    }
+
+    /**
+     * Ensures that changing the content of a file backing a nested archive's asset invalidates its cached export
+     */
+    @Test
+    public void invalidatesOnFileChange() throws Exception {
+        final File file = File.createTempFile("cached", ".txt");
+        file.deleteOnExit();
+        write(file, "a");
+        final Domain domain = createCachingDomain();
+        final JavaArchive library = createLibrary(domain).add(new FileAsset(file), "file.txt");
+        final WebArchive war = domain.getArchiveFactory().create(WebArchive.class, "test.war").addAsLibrary(library);
+        final Asset asset = getNestedAsset(war, library);
+        IOUtil.asByteArray(asset.openStream());
+
+        write(file, "changed");
+        Assert.assertTrue("File modification time should change", file.setLastModified(file.lastModified() + 2000));
+        final JavaArchive reimported = ShrinkWrap.create(ZipImporter.class).importFrom(asset.openStream())
+            .as(JavaArchive.class);
+        final String content = new String(IOUtil.asByteArray(reimported.get("file.txt").getAsset().openStream()),
+            "UTF-8");
+        Assert.assertEquals("Export should reflect the changed file", "changed", content);
+    }
+
+    /**
+     * Ensures that archives holding assets whose changes cannot be detected are never cached
+     */
+    @Test
+    public void uncacheableAssetsNotCached() {
+        final Domain domain = createCachingDomain();
+        final JavaArchive library = createLibrary(domain).add(new Asset() {
+            @Override
+            public InputStream openStream() {
+                return new ByteArrayInputStream(new byte[] { 1 });
+            }
+        }, "custom.bin");
+        final WebArchive war = domain.getArchiveFactory().create(WebArchive.class, "test.war").addAsLibrary(library);
+
+        final byte[] content = IOUtil.asByteArray(getNestedAsset(war, library).openStream());
+        Assert.assertTrue("Export should still be produced", content.length > 0);
+        Assert.assertNull("Archive state should be unknown", ContentDigestImpl.stateOf(library));
+        Assert.assertEquals("Nothing should have been cached", 0,
+            ArchiveExportCache.forConfiguration(domain.getConfiguration()).getSize());
+    }
+
+    /**
+     * Ensures that nothing is cached unless a cache size is configured
+     */
+    @Test
+    public void disabledByDefault() {
+        final Domain domain = ShrinkWrap.createDomain();
+        final JavaArchive library = createLibrary(domain);
+        final WebArchive war = domain.getArchiveFactory().create(WebArchive.class, "test.war").addAsLibrary(library);
+
+        IOUtil.asByteArray(getNestedAsset(war, library).openStream());
+        Assert.assertEquals("Nothing should have been cached", 0,
+            ArchiveExportCache.forConfiguration(domain.getConfiguration()).getSize());
+    }
+
+    /**
+     * Ensures that changes to an archive nested two levels deep are reflected in the version of the outermost archive
+     */
+    @Test
+    public void versionAccountsForNestedArchives() {
+        final Domain domain = ShrinkWrap.createDomain();
+        final JavaArchive library = createLibrary(domain);
+        final WebArchive war = domain.getArchiveFactory().create(WebArchive.class, "test.war").addAsLibrary(library);
+        final long before = war.as(Versioned.class).getVersion();
+
+        library.delete("a.txt");
+        Assert.assertTrue("Nested modification should increase the version",
+            war.as(Versioned.class).getVersion() > before);
+
+        // Deleting the nested archive's parent directory should detach it
+        war.delete("WEB-INF");
+        final long detached = war.as(Versioned.class).getVersion();
+        library.add(new StringAsset("b"), "b.txt");
+        Assert.assertEquals("Removed nested archives should no longer affect the version", detached,
+            war.as(Versioned.class).getVersion());
+        Assert.assertTrue("Deleting a directory should remove all descendants", war.getContent().isEmpty());
+    }
+
+    /**
+     * Ensures that a cache size of 0 disables caching
+     */
+    @Test
+    public void disabledCache() {
+        final Configuration configuration = new ConfigurationBuilder().archiveAssetCacheSize(0).build();
+        final Domain domain = ShrinkWrap.createDomain(configuration);
+        final JavaArchive library = createLibrary(domain);
+        final WebArchive war = domain.getArchiveFactory().create(WebArchive.class, "test.war").addAsLibrary(library);
+
+        final byte[] content = IOUtil.asByteArray(getNestedAsset(war, library).openStream());
+        Assert.assertTrue("Export should still be produced", content.length > 0);
+        Assert.assertEquals("Nothing should have been cached", 0,
+            ArchiveExportCache.forConfiguration(configuration).getSize());
+    }
+
+    /**
+     * Ensures that exports larger than the cache are streamed in full and not cached
+     */
+    @Test
+    public void exportLargerThanCache() {
+        final Configuration configuration = new ConfigurationBuilder().archiveAssetCacheSize(16).build();
+        final Domain domain = ShrinkWrap.createDomain(configuration);
+        final JavaArchive library = createLibrary(domain);
+        final WebArchive war = domain.getArchiveFactory().create(WebArchive.class, "test.war").addAsLibrary(library);
+
+        final byte[] content = IOUtil.asByteArray(getNestedAsset(war, library).openStream());
+        final byte[] expected = IOUtil.asByteArray(library.as(ZipExporter.class).exportAsInputStream());
+        Assert.assertEquals("Export should be complete", expected.length, content.length);
+        Assert.assertEquals("Nothing should have been cached", 0,
+            ArchiveExportCache.forConfiguration(configuration).getSize());
+    }
+
+    /**
+     * Ensures that the least recently used exports are evicted to stay within bounds
+     */
+    @Test
+    public void evictsLeastRecentlyUsed() {
+        final ArchiveExportCache cache = new ArchiveExportCache(10);
+        cache.put("a", ZipExporter.class, 1, new byte[4]);
+        cache.put("b", ZipExporter.class, 1, new byte[4]);
+        Assert.assertNotNull(cache.get("a", ZipExporter.class, 1));
+        cache.put("c", ZipExporter.class, 1, new byte[4]);
+
+        Assert.assertNotNull("Recently used entry should be retained", cache.get("a", ZipExporter.class, 1));
+        Assert.assertNull("Least recently used entry should be evicted", cache.get("b", ZipExporter.class, 1));
+        Assert.assertNotNull(cache.get("c", ZipExporter.class, 1));
+        Assert.assertEquals(8, cache.getSize());
+
+        // A new version replaces the old
+        cache.put("a", ZipExporter.class, 2, new byte[2]);
+        Assert.assertNull("Stale versions should miss", cache.get("a", ZipExporter.class, 1));
+        Assert.assertEquals(6, cache.getSize());
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Internal Helper Methods ------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    private Domain createCachingDomain() {
+        return ShrinkWrap.createDomain(new ConfigurationBuilder().archiveAssetCacheSize(1024 * 1024).build());
+    }
+
+    private void write(final File file, final String content) throws Exception {
+        final FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write(content.getBytes("UTF-8"));
+        } finally {
+            out.close();
+        }
+    }
+
+    private JavaArchive createLibrary(final Domain domain) {
+        return domain.getArchiveFactory().create(JavaArchive.class, "lib.jar").add(new StringAsset("a"), "a.txt");
+    }
+
+    private Asset getNestedAsset(final WebArchive war, final JavaArchive library) {
+        final ArchivePath path = ArchivePaths.create("WEB-INF/lib", library.getName());
+        return war.get(path).getAsset();
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base.exporter;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ConfigurationBuilder;
+import org.jboss.shrinkwrap.api.Domain;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.Asset;
+import org.jboss.shrinkwrap.api.asset.ByteArrayAsset;
+import org.jboss.shrinkwrap.api.exporter.BatchExportResult;
+import org.jboss.shrinkwrap.api.exporter.BatchExporter;
+import org.jboss.shrinkwrap.api.exporter.FileExistsException;
+import org.jboss.shrinkwrap.api.exporter.StreamExporter;
+import org.jboss.shrinkwrap.api.exporter.TarExporter;
+import org.jboss.shrinkwrap.api.exporter.ZipExporter;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Ensures that {@link BatchExporter} exports smallest archives first, within its memory budget, and reports each
+ * export separately
+ *
+ * @version $Revision: $
+ */
+public class BatchExporterTestCase extends ExportTestBase {
+
+    // -------------------------------------------------------------------------------------||
+    // Tests ------------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Ensures all archives are exported, and the results are in order of addition with their timings
+     */
+    @Test
+    public void exportsAllInOrderOfAddition() throws Exception {
+        final File directory = this.createTempDirectory("exportsAllInOrderOfAddition");
+        final Archive<?> large = createArchive("large.jar", 64 * 1024);
+        final Archive<?> small = createArchive("small.tar", 16);
+
+        final List<BatchExportResult> results = ShrinkWrap.getDefaultDomain().createBatchExporter()
+            .add(large, new File(directory, large.getName()))
+            .add(small, TarExporter.class, new File(directory, small.getName())).export();
+
+        Assert.assertEquals(2, results.size());
+        Assert.assertSame(large, results.get(0).getArchive());
+        Assert.assertSame(small, results.get(1).getArchive());
+        for (final BatchExportResult result : results) {
+            Assert.assertTrue("Export should succeed: " + result, result.isSuccessful());
+            Assert.assertTrue("Target should be written: " + result, result.getTarget().length() > 0);
+            Assert.assertTrue(result.getQueuedMillis() >= 0);
+            Assert.assertTrue(result.getExportMillis() >= 0);
+        }
+        Assert.assertTrue(results.get(0).getEstimatedSize() > results.get(1).getEstimatedSize());
+    }
+
+    /**
+     * Ensures exports start smallest first
+     */
+    @Test
+    public void exportsSmallestFirst() throws Exception {
+        final File directory = this.createTempDirectory("exportsSmallestFirst");
+        final List<String> started = new CopyOnWriteArrayList<String>();
+        final AtomicInteger active = new AtomicInteger();
+        final AtomicInteger maxActive = new AtomicInteger();
+        final BatchExporter exporter = ShrinkWrap.getDefaultDomain().createBatchExporter().memoryBudget(1);
+        for (final int size : new int[] { 300000, 100, 200000, 0 }) {
+            final Archive<?> archive = createArchive("archive" + size + ".jar", size);
+            archive.add(new TrackingAsset(archive.getName(), started, active, maxActive), "tracking");
+            exporter.add(archive, new File(directory, archive.getName()));
+        }
+
+        final List<BatchExportResult> results = exporter.export();
+
+        for (final BatchExportResult result : results) {
+            Assert.assertTrue("Export should succeed: " + result, result.isSuccessful());
+        }
+        Assert.assertEquals("[archive0.jar, archive100.jar, archive200000.jar, archive300000.jar]", started.toString());
+    }
+
+    /**
+     * Ensures no more archives are exported at once than fit within the memory budget, even with spare threads
+     */
+    @Test
+    public void limitsConcurrencyToMemoryBudget() throws Exception {
+        final File directory = this.createTempDirectory("limitsConcurrencyToMemoryBudget");
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final Domain domain = ShrinkWrap.createDomain(new ConfigurationBuilder().executorService(executor));
+            final List<String> started = new CopyOnWriteArrayList<String>();
+            final AtomicInteger active = new AtomicInteger();
+            final AtomicInteger maxActive = new AtomicInteger();
+            final BatchExporter exporter = domain.createBatchExporter().memoryBudget(
+                2 * BatchExporter.UNKNOWN_ASSET_ESTIMATE);
+            for (int i = 0; i < 8; i++) {
+                final Archive<?> archive = domain.getArchiveFactory().create(JavaArchive.class, "archive" + i + ".jar");
+                archive.add(new TrackingAsset(archive.getName(), started, active, maxActive), "tracking");
+                exporter.add(archive, new File(directory, archive.getName()));
+            }
+
+            final List<BatchExportResult> results = exporter.export();
+
+            for (final BatchExportResult result : results) {
+                Assert.assertTrue("Export should succeed: " + result, result.isSuccessful());
+            }
+            Assert.assertEquals(8, started.size());
+            Assert.assertTrue("At most two exports should run at once, was " + maxActive, maxActive.get() <= 2);
+            Assert.assertFalse("Configured executor should not be shut down", executor.isShutdown());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Ensures a failed export is reported without stopping the others
+     */
+    @Test
+    public void reportsFailureWithoutStoppingBatch() throws Exception {
+        final File directory = this.createTempDirectory("reportsFailureWithoutStoppingBatch");
+        final File existing = new File(directory, "existing.jar");
+        Assert.assertTrue(existing.createNewFile());
+        final Archive<?> failing = createArchive("existing.jar", 16);
+        final Archive<?> succeeding = createArchive("new.jar", 16);
+
+        final List<BatchExportResult> results = ShrinkWrap.getDefaultDomain().createBatchExporter()
+            .add(failing, existing).add(succeeding, new File(directory, "new.jar")).export();
+
+        Assert.assertFalse(results.get(0).isSuccessful());
+        Assert.assertTrue("Unexpected failure: " + results.get(0).getFailure(),
+            results.get(0).getFailure() instanceof FileExistsException);
+        Assert.assertTrue(results.get(1).isSuccessful());
+        Assert.assertTrue(results.get(1).getTarget().length() > 0);
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Required Implementations -----------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    @Override
+    protected String getArchiveExtension() {
+        return ".jar";
+    }
+
+    @Override
+    protected Class<? extends StreamExporter> getExporterClass() {
+        return ZipExporter.class;
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Internal Helper Methods ------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    private static Archive<?> createArchive(final String name, final int size) {
+        final Archive<?> archive = ShrinkWrap.create(JavaArchive.class, name);
+        if (size > 0) {
+            archive.add(new ByteArrayAsset(new byte[size]), "content");
+        }
+        return archive;
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Inner Classes ----------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Asset of unknown size recording when its archive starts exporting, and how many such exports are in progress
+     */
+    private static final class TrackingAsset implements Asset {
+
+        private final String name;
+
+        private final List<String> started;
+
+        private final AtomicInteger active;
+
+        private final AtomicInteger maxActive;
+
+        TrackingAsset(final String name, final List<String> started, final AtomicInteger active,
+            final AtomicInteger maxActive) {
+            this.name = name;
+            this.started = started;
+            this.active = active;
+            this.maxActive = maxActive;
+        }
+
+        @Override
+        public InputStream openStream() {
+            started.add(name);
+            final int now = active.incrementAndGet();
+            int max;
+            while ((max = maxActive.get()) < now && !maxActive.compareAndSet(max, now)) {
+                // retry
+            }
+            try {
+                Thread.sleep(20);
+            } catch (final InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+            return new ByteArrayInputStream(name.getBytes()) {
+                @Override
+                public void close() {
+                    active.decrementAndGet();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base.exporter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.logging.Logger;
+import java.util.zip.Deflater;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.ByteArrayAsset;
+import org.jboss.shrinkwrap.api.exporter.CompressionPolicy;
+import org.jboss.shrinkwrap.api.exporter.TarGzExporter;
+import org.jboss.shrinkwrap.api.exporter.ZipExporter;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jboss.shrinkwrap.impl.base.io.IOUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Benchmark of the throughput and size of ZIP and TAR.GZ exports under various {@link CompressionPolicy}s, logging
+ * the trade-off for each
+ *
+ * @version $Revision: $
+ */
+public class CompressionPolicyStressTest {
+
+    // -------------------------------------------------------------------------------------||
+    // Class Members ----------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Logger
+     */
+    private static final Logger log = Logger.getLogger(CompressionPolicyStressTest.class.getName());
+
+    /**
+     * 2^20
+     */
+    private static final int MEGA = 1024 * 1024;
+
+    /**
+     * Number of entries of each kind
+     */
+    private static final int COUNT = 64;
+
+    /**
+     * Words making up the generated text
+     */
+    private static final String[] WORDS = { "archive", "export", "deployment", "class", "resource", "manifest",
+        "public", "static", "final", "void", "return", "import", "package", "org.jboss", "shrinkwrap", "=", "{", "}",
+        "<bean>", "</bean>", "property", "value", "name" };
+
+    // -------------------------------------------------------------------------------------||
+    // Tests ------------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Exports the same archive of text and binary content under each policy, logging the throughput and size
+     */
+    @Test
+    public void compareCompressionPolicies() throws IOException {
+        final JavaArchive archive = createArchive();
+        final long contentSize = 2L * COUNT * MEGA;
+
+        final CompressionPolicy[] policies = { CompressionPolicy.FASTEST, CompressionPolicy.DEFAULT,
+            CompressionPolicy.SMALLEST, CompressionPolicy.DEFAULT.forPaths(".*\\.txt", Deflater.BEST_SPEED,
+                Deflater.HUFFMAN_ONLY), CompressionPolicy.level(Deflater.NO_COMPRESSION) };
+        final long[] zipSizes = new long[policies.length];
+        for (int i = 0; i < policies.length; i++) {
+            // Warm up, then measure
+            measure(archive.as(ZipExporter.class).compressWith(policies[i]).exportAsInputStream());
+            final long start = System.nanoTime();
+            zipSizes[i] = measure(archive.as(ZipExporter.class).compressWith(policies[i]).exportAsInputStream());
+            final long zipNanos = System.nanoTime() - start;
+
+            final long tarGzStart = System.nanoTime();
+            final long tarGzSize = measure(archive.as(TarGzExporter.class).compressWith(policies[i])
+                .exportAsInputStream());
+            final long tarGzNanos = System.nanoTime() - tarGzStart;
+
+            log.info(policies[i] + ": ZIP " + throughput(contentSize, zipNanos) + " MB/s, "
+                + percent(zipSizes[i], contentSize) + "% of content; TAR.GZ " + throughput(contentSize, tarGzNanos)
+                + " MB/s, " + percent(tarGzSize, contentSize) + "% of content");
+        }
+
+        Assert.assertTrue("Best compression should not be larger than fastest", zipSizes[2] <= zipSizes[0]);
+        Assert.assertTrue("No compression should be largest", zipSizes[4] > zipSizes[0]);
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Internal Helper Methods ------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Creates an archive of text (compressible) and random (incompressible) entries of a megabyte each
+     *
+     * @return
+     */
+    private static JavaArchive createArchive() {
+        final Random random = new Random(1);
+        final JavaArchive archive = ShrinkWrap.create(JavaArchive.class, "benchmark.jar");
+        for (int i = 0; i < COUNT; i++) {
+            final StringBuilder text = new StringBuilder(MEGA);
+            while (text.length() < MEGA) {
+                text.append(WORDS[random.nextInt(WORDS.length)]).append(random.nextInt(8) == 0 ? '\n' : ' ');
+            }
+            text.setLength(MEGA);
+            archive.add(new ByteArrayAsset(text.toString().getBytes()), "text/" + i + ".txt");
+
+            final byte[] binary = new byte[MEGA];
+            random.nextBytes(binary);
+            archive.add(new ByteArrayAsset(binary), "binary/" + i + ".bin");
+        }
+        return archive;
+    }
+
+    private static long measure(final InputStream in) throws IOException {
+        final CountingOutputStream out = new CountingOutputStream();
+        IOUtil.copyWithClose(in, out);
+        return out.bytesWritten;
+    }
+
+    private static long throughput(final long bytes, final long nanos) {
+        return bytes * 1000L * 1000L * 1000L / MEGA / Math.max(nanos, 1L);
+    }
+
+    private static long percent(final long size, final long contentSize) {
+        return size * 100 / contentSize;
+    }
+
+    /**
+     * {@link OutputStream} which does nothing but count the bytes written
+     */
+    private static class CountingOutputStream extends OutputStream {
+        long bytesWritten = 0;
+
+        @Override
+        public void write(final int b) throws IOException {
+            bytesWritten++;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            bytesWritten += len;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base.exporter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.jboss.shrinkwrap.api.ArchivePaths;
+import org.jboss.shrinkwrap.api.ConfigurationBuilder;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.shrinkwrap.api.exporter.CompressionPolicy;
+import org.jboss.shrinkwrap.api.exporter.StreamExporter;
+import org.jboss.shrinkwrap.api.exporter.TarGzExporter;
+import org.jboss.shrinkwrap.api.exporter.ZipExporter;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jboss.shrinkwrap.impl.base.io.IOUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Ensures that compressed exports honor the {@link CompressionPolicy} set per export or per
+ * {@link org.jboss.shrinkwrap.api.Configuration}
+ *
+ * @version $Revision: $
+ */
+public class CompressionPolicyTestCase extends ExportTestBase {
+
+    // -------------------------------------------------------------------------------------||
+    // Class Members ----------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Highly compressible content
+     */
+    private static final String CONTENT;
+    static {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            sb.append("Line ").append(i % 10).append(" of some repetitive text\n");
+        }
+        CONTENT = sb.toString();
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Tests ------------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Ensures the first rule matching a path applies, and the defaults otherwise
+     */
+    @Test
+    public void firstMatchingRuleApplies() {
+        final CompressionPolicy policy = CompressionPolicy.level(Deflater.BEST_COMPRESSION)
+            .forPaths(".*\\.txt", Deflater.BEST_SPEED, Deflater.HUFFMAN_ONLY)
+            .forPaths("/docs/.*", Deflater.NO_COMPRESSION);
+
+        Assert.assertEquals(Deflater.BEST_SPEED, policy.getLevel(ArchivePaths.create("docs/readme.txt")));
+        Assert.assertEquals(Deflater.HUFFMAN_ONLY, policy.getStrategy(ArchivePaths.create("docs/readme.txt")));
+        Assert.assertEquals(Deflater.NO_COMPRESSION, policy.getLevel(ArchivePaths.create("docs/image.png")));
+        Assert.assertEquals(Deflater.DEFAULT_STRATEGY, policy.getStrategy(ArchivePaths.create("docs/image.png")));
+        Assert.assertEquals(Deflater.BEST_COMPRESSION, policy.getLevel(ArchivePaths.create("lib/A.class")));
+        Assert.assertEquals(policy, CompressionPolicy.level(Deflater.BEST_COMPRESSION)
+            .forPaths(".*\\.txt", Deflater.BEST_SPEED, Deflater.HUFFMAN_ONLY)
+            .forPaths("/docs/.*", Deflater.NO_COMPRESSION));
+    }
+
+    /**
+     * Ensures levels unknown to {@link Deflater} are rejected
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidLevel() {
+        CompressionPolicy.level(10);
+    }
+
+    /**
+     * Ensures ZIP entries are compressed according to the rules matching their paths
+     */
+    @Test
+    public void zipEntriesCompressedPerPath() throws Exception {
+        final JavaArchive archive = ShrinkWrap.create(JavaArchive.class, "perPath.jar")
+            .add(new StringAsset(CONTENT), "stored.bin").add(new StringAsset(CONTENT), "deflated.txt");
+        final File file = new File(createTempDirectory("zipEntriesCompressedPerPath"), archive.getName());
+        archive.as(ZipExporter.class)
+            .compressWith(CompressionPolicy.SMALLEST.forPaths(".*\\.bin", Deflater.NO_COMPRESSION)).exportTo(file);
+
+        final ZipFile zip = new ZipFile(file);
+        try {
+            final ZipEntry stored = zip.getEntry("stored.bin");
+            Assert.assertTrue("Entry should not be compressed", stored.getCompressedSize() >= stored.getSize());
+            final ZipEntry deflated = zip.getEntry("deflated.txt");
+            Assert.assertTrue("Entry should be compressed", deflated.getCompressedSize() < deflated.getSize() / 10);
+            Assert.assertEquals(CONTENT, new String(IOUtil.asByteArray(zip.getInputStream(stored)), "UTF-8"));
+            Assert.assertEquals(CONTENT, new String(IOUtil.asByteArray(zip.getInputStream(deflated)), "UTF-8"));
+        } finally {
+            zip.close();
+        }
+    }
+
+    /**
+     * Ensures the policy of the configuration applies unless overridden for the export
+     */
+    @Test
+    public void configuredPolicyApplies() throws Exception {
+        final ConfigurationBuilder builder = new ConfigurationBuilder().compressionPolicy(CompressionPolicy
+            .level(Deflater.NO_COMPRESSION));
+        final JavaArchive archive = ShrinkWrap.createDomain(builder).getArchiveFactory()
+            .create(JavaArchive.class, "configured.jar").add(new StringAsset(CONTENT), "a.txt");
+
+        final long configured = exportedSize(archive.as(ZipExporter.class).exportAsInputStream());
+        final long overridden = exportedSize(archive.as(ZipExporter.class).compressWith(CompressionPolicy.DEFAULT)
+            .exportAsInputStream());
+        Assert.assertTrue("Configured policy should leave content uncompressed", configured > CONTENT.length());
+        Assert.assertTrue("Policy set for the export should take precedence", overridden < CONTENT.length() / 10);
+    }
+
+    /**
+     * Ensures TAR.GZ exports are compressed according to the policy, without affecting the content
+     */
+    @Test
+    public void tarGzCompressedPerPolicy() throws Exception {
+        final JavaArchive archive = ShrinkWrap
+            .createDomain(new ConfigurationBuilder().orderedExport(true)).getArchiveFactory()
+            .create(JavaArchive.class, "policy.tar.gz").add(new StringAsset(CONTENT), "a.txt")
+            .add(new StringAsset(CONTENT + CONTENT), "b.txt");
+
+        final byte[] stored = IOUtil.asByteArray(archive.as(TarGzExporter.class)
+            .compressWith(CompressionPolicy.level(Deflater.NO_COMPRESSION)).exportAsInputStream());
+        final byte[] smallest = IOUtil.asByteArray(archive.as(TarGzExporter.class)
+            .compressWith(CompressionPolicy.SMALLEST).exportAsInputStream());
+
+        Assert.assertTrue("Uncompressed export should be larger", stored.length > smallest.length * 10);
+        Assert.assertArrayEquals("Content should be equal regardless of compression", gunzip(stored),
+            gunzip(smallest));
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Required Implementations -----------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    @Override
+    protected String getArchiveExtension() {
+        return ".jar";
+    }
+
+    @Override
+    protected Class<? extends StreamExporter> getExporterClass() {
+        return ZipExporter.class;
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Internal Helper Methods ------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    private static long exportedSize(final InputStream in) throws Exception {
+        return IOUtil.asByteArray(in).length;
+    }
+
+    private static byte[] gunzip(final byte[] compressed) throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IOUtil.copyWithClose(new GZIPInputStream(new ByteArrayInputStream(compressed)), out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base.exporter;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.FileInputStream;
+import java.util.logging.Logger;
+
+import org.jboss.shrinkwrap.api.ConfigurationBuilder;
+import org.jboss.shrinkwrap.api.Domain;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.shrinkwrap.api.exporter.CompressionPolicy;
+import org.jboss.shrinkwrap.api.exporter.StreamExporter;
+import org.jboss.shrinkwrap.api.exporter.TarExporter;
+import org.jboss.shrinkwrap.api.exporter.ZipExporter;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jboss.shrinkwrap.impl.base.io.IOUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Ensures that exports to files are served from the export cache directory configured via
+ * {@link ConfigurationBuilder#exportCacheDirectory(File)}
+ *
+ * @version $Revision: $
+ */
+public class DiskExportCacheTestCase extends ExportTestBase {
+
+    // -------------------------------------------------------------------------------------||
+    // Class Members ----------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Logger
+     */
+    private static final Logger log = Logger.getLogger(DiskExportCacheTestCase.class.getName());
+
+    /**
+     * Selects completed cache files
+     */
+    private static final FileFilter CACHE_FILES = new FileFilter() {
+        @Override
+        public boolean accept(final File file) {
+            return file.getName().endsWith(".export");
+        }
+    };
+
+    // -------------------------------------------------------------------------------------||
+    // Tests ------------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Ensures that exporting unchanged contents again copies the previous export, even across domains
+     */
+    @Test
+    public void unchangedContentServedFromCache() throws Exception {
+        final File directory = createTempDirectory("unchangedContentServedFromCache");
+        final File cacheDirectory = new File(directory, "cache");
+
+        final File first = new File(directory, "first.jar");
+        createArchive(cacheDirectory, 1024 * 1024).as(ZipExporter.class).exportTo(first);
+        Assert.assertEquals("Export should have been cached", 1, cacheDirectory.listFiles(CACHE_FILES).length);
+
+        // Zip entries carry the time of export, so only a cached copy is byte-identical
+        Thread.sleep(2000);
+        final File second = new File(directory, "second.jar");
+        createArchive(cacheDirectory, 1024 * 1024).as(ZipExporter.class).exportTo(second);
+        log.info("Exported " + second + " from cache");
+        Assert.assertArrayEquals("Second export should have been copied from the cache", contentsOf(first),
+            contentsOf(second));
+        Assert.assertEquals("No new cache entry expected", 1, cacheDirectory.listFiles(CACHE_FILES).length);
+    }
+
+    /**
+     * Ensures that changed contents and different formats are cached separately
+     */
+    @Test
+    public void changedContentOrFormatMisses() throws Exception {
+        final File directory = createTempDirectory("changedContentOrFormatMisses");
+        final File cacheDirectory = new File(directory, "cache");
+
+        final JavaArchive archive = createArchive(cacheDirectory, 1024 * 1024);
+        archive.as(ZipExporter.class).exportTo(new File(directory, "first.jar"));
+        archive.as(TarExporter.class).exportTo(new File(directory, "first.tar"));
+        Assert.assertEquals("Formats should be cached separately", 2, cacheDirectory.listFiles(CACHE_FILES).length);
+
+        archive.add(new StringAsset("changed"), "changed.txt");
+        final File changed = new File(directory, "changed.jar");
+        archive.as(ZipExporter.class).exportTo(changed);
+        Assert.assertEquals("Changed contents should be cached separately", 3,
+            cacheDirectory.listFiles(CACHE_FILES).length);
+        Assert.assertTrue("Changed contents should be exported", ShrinkWrap.createFromZipFile(JavaArchive.class,
+            changed).contains("changed.txt"));
+    }
+
+    /**
+     * Ensures that exports under different compression policies are cached separately, under file names identifying
+     * each policy in full
+     */
+    @Test
+    public void compressionPoliciesCachedSeparately() throws Exception {
+        final File directory = createTempDirectory("compressionPoliciesCachedSeparately");
+        final File cacheDirectory = new File(directory, "cache");
+
+        final JavaArchive archive = createArchive(cacheDirectory, 1024 * 1024);
+        archive.as(ZipExporter.class).exportTo(new File(directory, "default.jar"));
+        archive.as(ZipExporter.class).compressWith(CompressionPolicy.FASTEST).exportTo(
+            new File(directory, "fastest.jar"));
+        archive.as(ZipExporter.class).compressWith(CompressionPolicy.FASTEST.forPaths(".*\\.txt", 0)).exportTo(
+            new File(directory, "rules.jar"));
+        Assert.assertEquals("Policies should be cached separately", 3, cacheDirectory.listFiles(CACHE_FILES).length);
+
+        final String kind = AbstractStreamExporterImpl.qualifyExportKind("kind", CompressionPolicy.SMALLEST);
+        Assert.assertTrue("Policy should be identified by its SHA-256 digest", kind.matches("kind-[0-9a-f]{64}"));
+        Assert.assertEquals("Default policy should not qualify the kind", "kind",
+            AbstractStreamExporterImpl.qualifyExportKind("kind", CompressionPolicy.DEFAULT));
+    }
+
+    /**
+     * Ensures that the cache is kept within its configured size
+     */
+    @Test
+    public void evictsToStayWithinSize() throws Exception {
+        final File directory = createTempDirectory("evictsToStayWithinSize");
+        final File cacheDirectory = new File(directory, "cache");
+
+        final JavaArchive archive = createArchive(cacheDirectory, 1);
+        final File export = new File(directory, "export.jar");
+        archive.as(ZipExporter.class).exportTo(export);
+        Assert.assertTrue("Export should be complete", export.length() > 0);
+        Assert.assertEquals("Exports larger than the cache should not be cached", 0,
+            cacheDirectory.listFiles(CACHE_FILES).length);
+
+        final long size = export.length();
+        final JavaArchive bounded = createArchive(cacheDirectory, size + size / 2);
+        bounded.as(ZipExporter.class).exportTo(new File(directory, "one.jar"));
+        bounded.add(new StringAsset("changed"), "changed.txt");
+        bounded.as(ZipExporter.class).exportTo(new File(directory, "two.jar"));
+        Assert.assertEquals("Least recently used export should have been evicted", 1,
+            cacheDirectory.listFiles(CACHE_FILES).length);
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Required Implementations -----------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    @Override
+    protected String getArchiveExtension() {
+        return ".jar";
+    }
+
+    @Override
+    protected Class<? extends StreamExporter> getExporterClass() {
+        return ZipExporter.class;
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Internal Helper Methods ------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    private JavaArchive createArchive(final File cacheDirectory, final long cacheSize) {
+        final Domain domain = ShrinkWrap.createDomain(new ConfigurationBuilder().exportCacheDirectory(
+            cacheDirectory).exportCacheSize(cacheSize));
+        final JavaArchive archive = domain.getArchiveFactory().create(JavaArchive.class, "test.jar");
+        addContent(archive);
+        return archive;
+    }
+
+    private byte[] contentsOf(final File file) throws Exception {
+        return IOUtil.asByteArray(new FileInputStream(file));
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base.exporter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.jboss.shrinkwrap.api.ArchivePath;
+import org.jboss.shrinkwrap.api.ArchivePaths;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.shrinkwrap.api.exporter.DigestExportListener;
+import org.jboss.shrinkwrap.api.exporter.ExportListener;
+import org.jboss.shrinkwrap.api.exporter.ListenableStreamExporter;
+import org.jboss.shrinkwrap.api.exporter.StreamExporter;
+import org.jboss.shrinkwrap.api.exporter.TarExporter;
+import org.jboss.shrinkwrap.api.exporter.ZipExporter;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jboss.shrinkwrap.impl.base.io.IOUtil;
+import org.jboss.shrinkwrap.impl.base.io.tar.TarEntry;
+import org.jboss.shrinkwrap.impl.base.io.tar.TarInputStream;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Ensures that {@link ExportListener}s registered via {@link ListenableStreamExporter#addListeners(ExportListener...)}
+ * observe the exported content, and that {@link DigestExportListener} computes digests and appends its manifest in the same
+ * pass
+ *
+ * @version $Revision: $
+ */
+public class ExportListenerTestCase {
+
+    // -------------------------------------------------------------------------------------||
+    // Class Members ----------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    private static final String SHA_256 = "SHA-256";
+
+    private static final ArchivePath PATH_A = ArchivePaths.create("a.txt");
+
+    private static final ArchivePath PATH_B = ArchivePaths.create("nested/b.txt");
+
+    private static final ArchivePath PATH_MANIFEST = ArchivePaths.create("META-INF/DIGESTS.MF");
+
+    private static final String CONTENT_A = "Alpha";
+
+    private static final String CONTENT_B = "Bravo, with somewhat longer content";
+
+    // -------------------------------------------------------------------------------------||
+    // Tests ------------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Ensures digests and checksums are computed for every file in a ZIP export
+     */
+    @Test
+    public void digestsComputedDuringZipExport() throws Exception {
+        final DigestExportListener listener = new DigestExportListener(SHA_256, DigestExportListener.CRC32);
+        final Map<String, byte[]> entries = unzip(listenable(createArchive().as(ZipExporter.class))
+            .addListeners(listener).exportAsInputStream());
+
+        Assert.assertEquals(2, listener.getDigests().size());
+        assertDigests(listener, PATH_A, CONTENT_A);
+        assertDigests(listener, PATH_B, CONTENT_B);
+        Assert.assertArrayEquals(CONTENT_A.getBytes("UTF-8"), entries.get("a.txt"));
+        Assert.assertFalse("No manifest should be appended unless requested",
+            entries.containsKey("META-INF/DIGESTS.MF"));
+    }
+
+    /**
+     * Ensures the digest manifest is appended as the last entry of a ZIP export
+     */
+    @Test
+    public void manifestAppendedToZipExport() throws Exception {
+        final DigestExportListener listener = new DigestExportListener(PATH_MANIFEST, SHA_256);
+        final Map<String, byte[]> entries = unzip(listenable(createArchive().as(ZipExporter.class))
+            .addListeners(listener).exportAsInputStream());
+
+        final String manifest = new String(entries.get("META-INF/DIGESTS.MF"), "UTF-8");
+        Assert.assertTrue(manifest.startsWith("Manifest-Version: 1.0\r\n"));
+        Assert.assertTrue(manifest.contains("Name: a.txt\r\n"));
+        Assert.assertTrue(manifest.contains("Name: nested/b.txt\r\n"));
+        Assert.assertEquals("Appended manifest should not be digested itself", 2, listener.getDigests().size());
+    }
+
+    /**
+     * Ensures listeners observe TAR exports, including the appended manifest
+     */
+    @Test
+    public void digestsComputedDuringTarExport() throws Exception {
+        final DigestExportListener listener = new DigestExportListener(PATH_MANIFEST, SHA_256);
+        final InputStream in = listenable(createArchive().as(TarExporter.class)).addListeners(listener)
+            .exportAsInputStream();
+
+        final TarInputStream tar = new TarInputStream(in);
+        boolean foundManifest = false;
+        TarEntry entry;
+        while ((entry = tar.getNextEntry()) != null) {
+            if (entry.getName().endsWith("DIGESTS.MF")) {
+                foundManifest = true;
+            }
+        }
+        tar.close();
+
+        Assert.assertTrue("Manifest should be appended to the TAR export", foundManifest);
+        assertDigests(listener, PATH_A, CONTENT_A);
+        assertDigests(listener, PATH_B, CONTENT_B);
+    }
+
+    /**
+     * Ensures a null listener is rejected
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void nullListener() {
+        listenable(createArchive().as(ZipExporter.class)).addListeners((ExportListener) null);
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Internal Helper Methods ------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    private static ListenableStreamExporter listenable(final StreamExporter exporter) {
+        Assert.assertTrue("Built-in exporters should accept listeners", exporter instanceof ListenableStreamExporter);
+        return (ListenableStreamExporter) exporter;
+    }
+
+    private static JavaArchive createArchive() {
+        return ShrinkWrap.create(JavaArchive.class).add(new StringAsset(CONTENT_A), PATH_A)
+            .add(new StringAsset(CONTENT_B), PATH_B);
+    }
+
+    private static void assertDigests(final DigestExportListener listener, final ArchivePath path,
+        final String content) throws Exception {
+        final byte[] bytes = content.getBytes("UTF-8");
+        Assert.assertArrayEquals(MessageDigest.getInstance(SHA_256).digest(bytes),
+            listener.getDigest(path, SHA_256));
+
+        final byte[] crc = listener.getDigest(path, DigestExportListener.CRC32);
+        if (crc != null) {
+            final CRC32 expected = new CRC32();
+            expected.update(bytes);
+            final long value = expected.getValue();
+            Assert.assertTrue(Arrays.equals(new byte[] { (byte) (value >>> 24), (byte) (value >>> 16),
+                (byte) (value >>> 8), (byte) value }, crc));
+        }
+    }
+
+    private static Map<String, byte[]> unzip(final InputStream in) throws Exception {
+        final Map<String, byte[]> entries = new HashMap<String, byte[]>();
+        final ZipInputStream zip = new ZipInputStream(in);
+        ZipEntry entry;
+        while ((entry = zip.getNextEntry()) != null) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            IOUtil.copy(zip, out);
+            entries.put(entry.getName(), out.toByteArray());
+        }
+        zip.close();
+        return entries;
+    }
+}
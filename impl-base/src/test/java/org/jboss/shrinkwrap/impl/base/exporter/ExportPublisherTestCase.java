@@ -0,0 +1,241 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base.exporter;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ConfigurationBuilder;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.ByteArrayAsset;
+import org.jboss.shrinkwrap.api.exporter.PublishingStreamExporter;
+import org.jboss.shrinkwrap.api.exporter.StreamExporter;
+import org.jboss.shrinkwrap.api.exporter.TarGzExporter;
+import org.jboss.shrinkwrap.api.exporter.ZipExporter;
+import org.jboss.shrinkwrap.api.flow.Subscriber;
+import org.jboss.shrinkwrap.api.flow.Subscription;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jboss.shrinkwrap.impl.base.io.IOUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Ensures that {@link PublishingStreamExporter#exportAsPublisher()} publishes the exported bytes as demanded, and never
+ * on the thread signalling demand
+ *
+ * @version $Revision: $
+ */
+public class ExportPublisherTestCase {
+
+    // -------------------------------------------------------------------------------------||
+    // Class Members ----------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    private static final long TIMEOUT_SECONDS = 30;
+
+    // -------------------------------------------------------------------------------------||
+    // Tests ------------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Ensures the chunks published, one requested at a time, are the bytes of the export
+     */
+    @Test
+    public void publishesExportedBytes() throws Exception {
+        final Archive<?> archive = createArchive(new ConfigurationBuilder().orderedExport(true));
+        assertPublishesExportedBytes(archive, ZipExporter.class);
+        assertPublishesExportedBytes(archive, TarGzExporter.class);
+    }
+
+    /**
+     * Ensures no more chunks are published than requested
+     */
+    @Test
+    public void honoursDemand() throws Exception {
+        final RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        publishing(createArchive(new ConfigurationBuilder()).as(ZipExporter.class)).exportAsPublisher()
+            .subscribe(subscriber);
+
+        subscriber.subscription.request(2);
+        Thread.sleep(200);
+        Assert.assertEquals(2, subscriber.chunks);
+        Assert.assertEquals(1, subscriber.termination.getCount());
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+        subscriber.awaitTermination();
+        Assert.assertNull(subscriber.error);
+        Assert.assertTrue(subscriber.chunks > 2);
+        Assert.assertFalse(subscriber.threads.contains(Thread.currentThread()));
+    }
+
+    /**
+     * Ensures a non-positive request is signalled as an error
+     */
+    @Test
+    public void rejectsNonPositiveRequest() throws Exception {
+        final RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        publishing(createArchive(new ConfigurationBuilder()).as(ZipExporter.class)).exportAsPublisher()
+            .subscribe(subscriber);
+
+        subscriber.subscription.request(0);
+        subscriber.awaitTermination();
+        Assert.assertTrue(subscriber.error instanceof IllegalArgumentException);
+        Assert.assertEquals(0, subscriber.chunks);
+    }
+
+    /**
+     * Ensures nothing is published once cancelled
+     */
+    @Test
+    public void stopsWhenCancelled() throws Exception {
+        final RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        publishing(createArchive(new ConfigurationBuilder()).as(ZipExporter.class)).exportAsPublisher()
+            .subscribe(subscriber);
+
+        subscriber.subscription.request(1);
+        subscriber.subscription.cancel();
+        subscriber.subscription.request(5);
+        Thread.sleep(200);
+        Assert.assertTrue(subscriber.chunks <= 1);
+        Assert.assertEquals(1, subscriber.termination.getCount());
+    }
+
+    /**
+     * Ensures publishing happens on the executor of the configuration, if any
+     */
+    @Test
+    public void usesConfiguredExecutor() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(2, new ThreadFactory() {
+            @Override
+            public Thread newThread(final Runnable r) {
+                return new Thread(r, "configured");
+            }
+        });
+        try {
+            final RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+            publishing(createArchive(new ConfigurationBuilder().executorService(executor)).as(ZipExporter.class))
+                .exportAsPublisher().subscribe(subscriber);
+            subscriber.awaitTermination();
+
+            Assert.assertNull(subscriber.error);
+            for (final Thread thread : subscriber.threads) {
+                Assert.assertEquals("configured", thread.getName());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Internal Helper Methods ------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    private static PublishingStreamExporter publishing(final StreamExporter exporter) {
+        Assert.assertTrue("Built-in exporters should publish", exporter instanceof PublishingStreamExporter);
+        return (PublishingStreamExporter) exporter;
+    }
+
+    private static Archive<?> createArchive(final ConfigurationBuilder builder) {
+        // Incompressible content, so as to span many chunks
+        final byte[] content = new byte[ExportPublisher.CHUNK_SIZE * 8];
+        new Random(42).nextBytes(content);
+        return ShrinkWrap.createDomain(builder).getArchiveFactory().create(JavaArchive.class, "published.jar")
+            .add(new ByteArrayAsset(content), "random.bin").addAsDirectory("empty");
+    }
+
+    private static void assertPublishesExportedBytes(final Archive<?> archive,
+        final Class<? extends StreamExporter> type) throws Exception {
+        final RecordingSubscriber subscriber = new RecordingSubscriber(1);
+        publishing(archive.as(type)).exportAsPublisher().subscribe(subscriber);
+        subscriber.awaitTermination();
+
+        Assert.assertNull(subscriber.error);
+        Assert.assertArrayEquals(IOUtil.asByteArray(archive.as(type).exportAsInputStream()),
+            subscriber.bytes.toByteArray());
+        Assert.assertTrue(subscriber.chunks > 1);
+        Assert.assertFalse("Published on the thread signalling demand",
+            subscriber.threads.contains(Thread.currentThread()));
+    }
+
+    /**
+     * Records what it receives, requesting the specified number of chunks upon subscription and each chunk received
+     */
+    private static final class RecordingSubscriber implements Subscriber<ByteBuffer> {
+
+        private final long batch;
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        private final List<Thread> threads = new CopyOnWriteArrayList<Thread>();
+
+        private final CountDownLatch termination = new CountDownLatch(1);
+
+        private volatile Subscription subscription;
+
+        private volatile int chunks;
+
+        private volatile Throwable error;
+
+        RecordingSubscriber(final long batch) {
+            this.batch = batch;
+        }
+
+        @Override
+        public void onSubscribe(final Subscription subscription) {
+            this.subscription = subscription;
+            if (batch > 0) {
+                subscription.request(batch);
+            }
+        }
+
+        @Override
+        public void onNext(final ByteBuffer item) {
+            threads.add(Thread.currentThread());
+            synchronized (bytes) {
+                bytes.write(item.array(), item.arrayOffset() + item.position(), item.remaining());
+            }
+            chunks++;
+            if (batch > 0 && batch < Long.MAX_VALUE) {
+                subscription.request(batch);
+            }
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            error = throwable;
+            termination.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            termination.countDown();
+        }
+
+        void awaitTermination() throws InterruptedException {
+            Assert.assertTrue("Publisher did not terminate", termination.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        }
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base.exporter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ArchivePaths;
+import org.jboss.shrinkwrap.api.ConfigurationBuilder;
+import org.jboss.shrinkwrap.api.Domain;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.Asset;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.shrinkwrap.api.exporter.ArchiveExportException;
+import org.jboss.shrinkwrap.api.exporter.CompressionPolicy;
+import org.jboss.shrinkwrap.api.exporter.MultiFormatExporter;
+import org.jboss.shrinkwrap.api.exporter.StreamExporter;
+import org.jboss.shrinkwrap.api.exporter.TarExporter;
+import org.jboss.shrinkwrap.api.exporter.TarGzExporter;
+import org.jboss.shrinkwrap.api.exporter.ZipExporter;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jboss.shrinkwrap.impl.base.io.IOUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Ensures that {@link MultiFormatExporter} writes each format as its single-format exporter would, while reading each
+ * asset only once
+ *
+ * @version $Revision: $
+ */
+public class MultiFormatExporterTestCase extends ExportTestBase {
+
+    // -------------------------------------------------------------------------------------||
+    // Tests ------------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Ensures each stream target receives the same bytes as the single-format exporters produce
+     */
+    @Test
+    public void matchesSingleFormatExports() throws Exception {
+        this.assertMatchesSingleFormatExports(false);
+    }
+
+    /**
+     * Ensures targets written concurrently receive the same bytes as the single-format exporters produce
+     */
+    @Test
+    public void matchesSingleFormatExportsConcurrently() throws Exception {
+        this.assertMatchesSingleFormatExports(true);
+    }
+
+    /**
+     * Ensures each asset is opened once, however many targets are written
+     */
+    @Test
+    public void assetsOpenedOnce() throws Exception {
+        final AtomicInteger opened = new AtomicInteger();
+        final Asset counting = new Asset() {
+            @Override
+            public InputStream openStream() {
+                opened.incrementAndGet();
+                return new StringAsset("counted").openStream();
+            }
+        };
+        final Archive<?> archive = ShrinkWrap.create(JavaArchive.class, "counted.jar").add(counting, "counted.txt");
+
+        archive.as(MultiFormatExporter.class).toZip(new ByteArrayOutputStream()).toTar(new ByteArrayOutputStream())
+            .toTarGz(new ByteArrayOutputStream()).toExploded(createTempDirectory("assetsOpenedOnce")).export();
+
+        Assert.assertEquals(1, opened.get());
+    }
+
+    /**
+     * Ensures an exploded target matches the layout of {@link org.jboss.shrinkwrap.api.exporter.ExplodedExporter},
+     * including nested archives
+     */
+    @Test
+    public void explodedTarget() throws Exception {
+        final File directory = createTempDirectory("explodedTarget");
+        final Archive<?> archive = createArchiveWithNestedArchives();
+
+        archive.as(MultiFormatExporter.class).toExploded(directory, "exploded").toZip(new ByteArrayOutputStream())
+            .writeConcurrently(true).export();
+
+        final File exploded = new File(directory, "exploded");
+        assertFileContent(new File(exploded, PATH_ONE.get()), ASSET_ONE);
+        assertFileContent(new File(exploded, PATH_TWO.get()), ASSET_TWO);
+        assertFileContent(new File(exploded, NAME_NESTED_ARCHIVE + getArchiveExtension() + PATH_ONE.get()), ASSET_ONE);
+        Assert.assertTrue(new File(exploded, PATH_EMPTY_TOPLEVEL_DIR.get()).isDirectory());
+    }
+
+    /**
+     * Ensures a failing target is reported, and that the other targets' threads end
+     */
+    @Test
+    public void failingTargetReported() throws Exception {
+        final OutputStream failing = new OutputStream() {
+            @Override
+            public void write(final int b) throws IOException {
+                throw new IOException("Target unavailable");
+            }
+        };
+        final Archive<?> archive = ShrinkWrap.create(JavaArchive.class, "failing.jar")
+            .add(new StringAsset(repeat("content", 20000)), "content.txt").addAsDirectory("directory");
+
+        for (final boolean concurrent : new boolean[] { false, true }) {
+            try {
+                archive.as(MultiFormatExporter.class).toTarGz(new ByteArrayOutputStream()).toTar(failing)
+                    .writeConcurrently(concurrent).export();
+                Assert.fail("Failure of target should be reported");
+            } catch (final ArchiveExportException expected) {
+                // Expected
+            }
+        }
+        // Threads created for the export are shut down along with it, so end once idle
+        for (final Thread thread : threads()) {
+            if (thread.getName().startsWith("ShrinkWrap export of failing.jar")) {
+                thread.join(5000);
+                Assert.assertFalse("Thread should have ended: " + thread.getName(), thread.isAlive());
+            }
+        }
+    }
+
+    /**
+     * Ensures targets written concurrently are written on the configured executor, and that the export completes even
+     * while that executor has no thread free
+     */
+    @Test
+    public void configuredExecutorUsed() throws Exception {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Domain domain = ShrinkWrap.createDomain(new ConfigurationBuilder().orderedExport(true)
+                .executorService(executor));
+            final Archive<?> archive = domain.getArchiveFactory().create(JavaArchive.class, "configured.jar")
+                .add(new StringAsset(repeat("content", 20000)), "content.txt");
+
+            final ByteArrayOutputStream free = new ByteArrayOutputStream();
+            archive.as(MultiFormatExporter.class).toTar(free).writeConcurrently(true).export();
+            Assert.assertArrayEquals(IOUtil.asByteArray(archive.as(TarExporter.class).exportAsInputStream()),
+                free.toByteArray());
+
+            // Occupy the only thread, so the targets' tasks cannot start before the export ends
+            final CountDownLatch release = new CountDownLatch(1);
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        release.await();
+                    } catch (final InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+            try {
+                final ByteArrayOutputStream saturated = new ByteArrayOutputStream();
+                archive.as(MultiFormatExporter.class).toTar(saturated).toZip(new ByteArrayOutputStream())
+                    .writeConcurrently(true).export();
+                Assert.assertArrayEquals(free.toByteArray(), saturated.toByteArray());
+            } finally {
+                release.countDown();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        for (final Thread thread : threads()) {
+            Assert.assertFalse("No threads should be created: " + thread.getName(),
+                thread.getName().startsWith("ShrinkWrap export of configured.jar"));
+        }
+    }
+
+    /**
+     * Ensures an export without targets is rejected
+     */
+    @Test(expected = IllegalStateException.class)
+    public void noTargets() {
+        createArchiveWithAssets().as(MultiFormatExporter.class).export();
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Required Implementations -----------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.impl.base.exporter.ExportTestBase#getArchiveExtension()
+     */
+    @Override
+    protected String getArchiveExtension() {
+        return ".jar";
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.impl.base.exporter.ExportTestBase#getExporterClass()
+     */
+    @Override
+    protected Class<? extends StreamExporter> getExporterClass() {
+        return ZipExporter.class;
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Internal Helper Methods ------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    private void assertMatchesSingleFormatExports(final boolean concurrent) throws IOException {
+        // Ordered exports fix entry times, so exports of equal content are equal
+        final Domain domain = ShrinkWrap.createDomain(new ConfigurationBuilder().orderedExport(true));
+        final Archive<?> nested = domain.getArchiveFactory().create(JavaArchive.class, "nested.jar");
+        addContent(nested);
+        final Archive<?> archive = domain.getArchiveFactory().create(JavaArchive.class, "multi.jar")
+            .add(new StringAsset(repeat("compressible ", 50000)), "large.txt").addAsDirectory("empty")
+            .add(nested, ArchivePaths.root(), ZipExporter.class);
+        addContent(archive);
+
+        final ByteArrayOutputStream zip = new ByteArrayOutputStream();
+        final ByteArrayOutputStream tar = new ByteArrayOutputStream();
+        final ByteArrayOutputStream tarGz = new ByteArrayOutputStream();
+        archive.as(MultiFormatExporter.class).toZip(zip).toTar(tar).toTarGz(tarGz)
+            .compressWith(CompressionPolicy.FASTEST).writeConcurrently(concurrent).export();
+
+        Assert.assertArrayEquals(IOUtil.asByteArray(archive.as(ZipExporter.class)
+            .compressWith(CompressionPolicy.FASTEST).exportAsInputStream()), zip.toByteArray());
+        Assert.assertArrayEquals(IOUtil.asByteArray(archive.as(TarExporter.class).exportAsInputStream()),
+            tar.toByteArray());
+        Assert.assertArrayEquals(IOUtil.asByteArray(archive.as(TarGzExporter.class)
+            .compressWith(CompressionPolicy.FASTEST).exportAsInputStream()), tarGz.toByteArray());
+    }
+
+    private static void assertFileContent(final File file, final Asset expected) throws IOException {
+        Assert.assertTrue("Expected file " + file, file.isFile());
+        Assert.assertArrayEquals(IOUtil.asByteArray(expected.openStream()),
+            IOUtil.asByteArray(new FileInputStream(file)));
+    }
+
+    private static Thread[] threads() {
+        final Thread[] threads = new Thread[Thread.activeCount() * 2 + 10];
+        final int count = Thread.enumerate(threads);
+        final Thread[] result = new Thread[count];
+        System.arraycopy(threads, 0, result, 0, count);
+        return result;
+    }
+
+    private static String repeat(final String text, final int times) {
+        final StringBuilder builder = new StringBuilder(text.length() * times);
+        for (int i = 0; i < times; i++) {
+            builder.append(text);
+        }
+        return builder.toString();
+    }
+}
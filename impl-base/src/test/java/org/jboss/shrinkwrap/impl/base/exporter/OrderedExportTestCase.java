@@ -0,0 +1,186 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base.exporter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.jar.JarInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ConfigurationBuilder;
+import org.jboss.shrinkwrap.api.Domain;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.shrinkwrap.api.exporter.StreamExporter;
+import org.jboss.shrinkwrap.api.exporter.TarExporter;
+import org.jboss.shrinkwrap.api.exporter.TarGzExporter;
+import org.jboss.shrinkwrap.api.exporter.ZipExporter;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jboss.shrinkwrap.impl.base.io.IOUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Ensures that exports are ordered and reproducible, and carry a generated JAR index, as configured via
+ * {@link ConfigurationBuilder#orderedExport(boolean)} and {@link ConfigurationBuilder#generateJarIndex(boolean)}
+ *
+ * @version $Revision: $
+ */
+public class OrderedExportTestCase {
+
+    // -------------------------------------------------------------------------------------||
+    // Tests ------------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Ensures the manifest comes first, followed by all other entries with directories before their contents
+     */
+    @Test
+    public void entriesOrderedByPath() throws Exception {
+        final Archive<?> archive = createArchive(new ConfigurationBuilder().orderedExport(true), false);
+
+        final List<String> names = entryNames(archive.as(ZipExporter.class).exportAsInputStream());
+        Assert.assertEquals("META-INF/", names.get(0));
+        Assert.assertEquals("META-INF/MANIFEST.MF", names.get(1));
+        final List<String> rest = names.subList(2, names.size());
+        final List<String> sorted = new ArrayList<String>(rest);
+        Collections.sort(sorted);
+        Assert.assertEquals("Remaining entries should be ordered by path", sorted, rest);
+        Assert.assertTrue("Directories should precede their contents",
+            rest.indexOf("org/") < rest.indexOf("org/example/") && rest.indexOf("org/example/") < rest.indexOf(
+                "org/example/A.class"));
+    }
+
+    /**
+     * Ensures equal contents export to identical bytes regardless of the order of addition or time of export
+     */
+    @Test
+    public void reproducibleOutput() throws Exception {
+        final ConfigurationBuilder builder = new ConfigurationBuilder().orderedExport(true);
+        final Archive<?> archive1 = createArchive(builder, false);
+        final Archive<?> archive2 = createArchive(builder, true);
+
+        final byte[] zip = export(archive1, ZipExporter.class);
+        final byte[] tar = export(archive1, TarExporter.class);
+        final byte[] tarGz = export(archive1, TarGzExporter.class);
+
+        // Cross the (two second) resolution of ZIP timestamps, and that of TAR, before exporting again
+        Thread.sleep(2100);
+        Assert.assertArrayEquals("ZIP exports should be identical", zip, export(archive2, ZipExporter.class));
+        Assert.assertArrayEquals("TAR exports should be identical", tar, export(archive2, TarExporter.class));
+        Assert.assertArrayEquals("TAR.GZ exports should be identical", tarGz, export(archive2, TarGzExporter.class));
+    }
+
+    /**
+     * Ensures a JAR index listing the packages is generated after the manifest
+     */
+    @Test
+    public void jarIndexGenerated() throws Exception {
+        final Archive<?> archive = createArchive(new ConfigurationBuilder().orderedExport(true).generateJarIndex(true),
+            false);
+
+        final ZipInputStream in = new ZipInputStream(archive.as(ZipExporter.class).exportAsInputStream());
+        String index = null;
+        final List<String> names = new ArrayList<String>();
+        ZipEntry entry;
+        while ((entry = in.getNextEntry()) != null) {
+            names.add(entry.getName());
+            if ("META-INF/INDEX.LIST".equals(entry.getName())) {
+                final ByteArrayOutputStream out = new ByteArrayOutputStream();
+                IOUtil.copy(in, out);
+                index = new String(out.toByteArray(), "UTF-8");
+            }
+        }
+        in.close();
+        Assert.assertEquals("Index should follow the manifest", 2, names.indexOf("META-INF/INDEX.LIST"));
+        Assert.assertEquals("JarIndex-Version: 1.0\n\ntest.jar\norg/example\nroot.txt\n\n", index);
+    }
+
+    /**
+     * Ensures a generated JAR index follows the manifest in unordered exports too, so that the manifest is still found
+     * by {@link JarInputStream}
+     */
+    @Test
+    public void jarIndexFollowsManifestUnordered() throws Exception {
+        final Archive<?> archive = createArchive(new ConfigurationBuilder().generateJarIndex(true), true);
+
+        final List<String> names = entryNames(archive.as(ZipExporter.class).exportAsInputStream());
+        Assert.assertEquals("META-INF/", names.get(0));
+        Assert.assertEquals("META-INF/MANIFEST.MF", names.get(1));
+        Assert.assertEquals("Index should follow the manifest", 2, names.indexOf("META-INF/INDEX.LIST"));
+        final JarInputStream in = new JarInputStream(archive.as(ZipExporter.class).exportAsInputStream());
+        try {
+            Assert.assertNotNull("Manifest should be found", in.getManifest());
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Ensures that an existing index is not replaced
+     */
+    @Test
+    public void existingJarIndexKept() throws Exception {
+        final Archive<?> archive = createArchive(new ConfigurationBuilder().generateJarIndex(true), false).add(
+            new StringAsset("custom"), "META-INF/INDEX.LIST");
+
+        final List<String> names = entryNames(archive.as(ZipExporter.class).exportAsInputStream());
+        Assert.assertEquals("Index should appear once", names.indexOf("META-INF/INDEX.LIST"), names
+            .lastIndexOf("META-INF/INDEX.LIST"));
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Internal Helper Methods ------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    private Archive<?> createArchive(final ConfigurationBuilder builder, final boolean reversed) {
+        final Domain domain = ShrinkWrap.createDomain(builder);
+        final JavaArchive archive = domain.getArchiveFactory().create(JavaArchive.class, "test.jar");
+        if (reversed) {
+            archive.add(EmptyAsset.INSTANCE, "org/example/B.class").add(EmptyAsset.INSTANCE, "org/example/A.class")
+                .add(new StringAsset("root"), "root.txt").addManifest();
+        } else {
+            archive.addManifest().add(new StringAsset("root"), "root.txt")
+                .add(EmptyAsset.INSTANCE, "org/example/A.class").add(EmptyAsset.INSTANCE, "org/example/B.class");
+        }
+        return archive;
+    }
+
+    private byte[] export(final Archive<?> archive, final Class<? extends StreamExporter> exporter) {
+        return IOUtil.asByteArray(archive.as(exporter).exportAsInputStream());
+    }
+
+    private List<String> entryNames(final InputStream export) throws Exception {
+        final ZipInputStream in = new ZipInputStream(export);
+        final List<String> names = new ArrayList<String>();
+        try {
+            ZipEntry entry;
+            while ((entry = in.getNextEntry()) != null) {
+                names.add(entry.getName());
+            }
+        } finally {
+            in.close();
+        }
+        return names;
+    }
+}
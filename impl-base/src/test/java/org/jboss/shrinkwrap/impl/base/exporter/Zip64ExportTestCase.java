@@ -0,0 +1,260 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base.exporter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.CRC32;
+import java.util.zip.Inflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.ByteArrayAsset;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.shrinkwrap.api.exporter.StreamExporter;
+import org.jboss.shrinkwrap.api.exporter.ZipExporter;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jboss.shrinkwrap.impl.base.io.IOUtil;
+import org.jboss.shrinkwrap.impl.base.io.zip.Zip64OutputStream;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Ensures that {@link ZipExporter} writes entry sizes into local headers where possible, and uses the Zip64 format
+ * where the number of entries requires it. Exports beyond 4 GB are covered by {@link Zip64ExporterStressTest}.
+ *
+ * @version $Revision: $
+ */
+public class Zip64ExportTestCase extends ExportTestBase {
+
+    // -------------------------------------------------------------------------------------||
+    // Tests ------------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Ensures small entries carry their sizes in the local header, so are known to streaming readers up front
+     */
+    @Test
+    public void sizesInLocalHeader() throws Exception {
+        final JavaArchive archive = ShrinkWrap.create(JavaArchive.class).add(new StringAsset("Some content"),
+            "content.txt");
+
+        final ZipInputStream in = new ZipInputStream(archive.as(ZipExporter.class).exportAsInputStream());
+        final ZipEntry entry = in.getNextEntry();
+        Assert.assertEquals("content.txt", entry.getName());
+        Assert.assertEquals(12, entry.getSize());
+        Assert.assertTrue(entry.getCompressedSize() > 0);
+        Assert.assertEquals("Some content", new String(read(in), "UTF-8"));
+        in.close();
+    }
+
+    /**
+     * Ensures entries too large to buffer are streamed with a data descriptor, and read back intact
+     */
+    @Test
+    public void largeEntryStreamed() throws Exception {
+        final byte[] content = new byte[Zip64OutputStream.DEFAULT_BUFFER_THRESHOLD * 3];
+        new Random(42).nextBytes(content);
+        final JavaArchive archive = ShrinkWrap.create(JavaArchive.class).add(new ByteArrayAsset(content), "large.bin")
+            .add(new StringAsset("after"), "after.txt");
+
+        final ByteArrayOutputStream exported = new ByteArrayOutputStream();
+        IOUtil.copyWithClose(archive.as(ZipExporter.class).exportAsInputStream(), exported);
+
+        // As with java.util.zip.ZipOutputStream, the local header of the streamed entry should not be marked as Zip64,
+        // so its data descriptor carries 4-byte sizes
+        final byte[] bytes = exported.toByteArray();
+        int offset = 0;
+        while (!"large.bin".equals(new String(bytes, offset + 30, readShort(bytes, offset + 26), "UTF-8"))) {
+            Assert.assertEquals("Buffered entries should precede", 0, readShort(bytes, offset + 6) & 0x08);
+            offset += 30 + readShort(bytes, offset + 26) + readShort(bytes, offset + 28) + readInt(bytes, offset + 18);
+        }
+        Assert.assertEquals("Streamed entry should require version 2.0", 20, readShort(bytes, offset + 4));
+        Assert.assertEquals("Streamed entry should use a data descriptor", 0x08, readShort(bytes, offset + 6) & 0x08);
+        Assert.assertEquals("Streamed entry should carry no extra field", 0, readShort(bytes, offset + 28));
+
+        // Read as a streaming reader following the specification would
+        final Map<String, byte[]> contents = readSequentially(bytes);
+        Assert.assertArrayEquals(content, contents.get("large.bin"));
+        Assert.assertEquals("after", new String(contents.get("after.txt"), "UTF-8"));
+
+        final ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(bytes));
+        ZipEntry entry;
+        int found = 0;
+        while ((entry = in.getNextEntry()) != null) {
+            if (entry.getName().equals("large.bin")) {
+                Assert.assertEquals("Size of streamed entry should not be known up front", -1, entry.getSize());
+                Assert.assertArrayEquals(content, read(in));
+                found++;
+            } else if (entry.getName().equals("after.txt")) {
+                Assert.assertEquals("after", new String(read(in), "UTF-8"));
+                found++;
+            }
+        }
+        in.close();
+        Assert.assertEquals(2, found);
+    }
+
+    /**
+     * Ensures archives of more than 65,535 entries are exported using the Zip64 end of central directory record
+     */
+    @Test
+    public void moreThan65535Entries() throws Exception {
+        final int count = 70000;
+        final JavaArchive archive = ShrinkWrap.create(JavaArchive.class, "manyEntries.jar");
+        for (int i = 0; i < count; i++) {
+            archive.add(new StringAsset(String.valueOf(i)), "entries/" + (i % 100) + "/entry" + i);
+        }
+        final int expected = archive.getContent().size();
+        Assert.assertTrue(expected > count);
+
+        final ByteArrayOutputStream exported = new ByteArrayOutputStream();
+        IOUtil.copyWithClose(archive.as(ZipExporter.class).exportAsInputStream(), exported);
+        final byte[] bytes = exported.toByteArray();
+
+        // Parse the end records directly, as java.util.zip.ZipFile does not support Zip64 before Java 7
+        final int end = bytes.length - 22;
+        Assert.assertEquals("End of central directory record expected", 0x06054b50, readInt(bytes, end));
+        Assert.assertEquals("Entry count should be deferred to Zip64", 0xFFFF, readShort(bytes, end + 10));
+        final int locator = end - 20;
+        Assert.assertEquals("Zip64 end of central directory locator expected", 0x07064b50, readInt(bytes, locator));
+        final int zip64End = (int) readLong(bytes, locator + 8);
+        Assert.assertEquals("Zip64 end of central directory record expected", 0x06064b50, readInt(bytes, zip64End));
+        Assert.assertEquals("Zip64 record should count all entries", expected, readLong(bytes, zip64End + 32));
+        final int centralDirectory = (int) readLong(bytes, zip64End + 48);
+        Assert.assertEquals("Zip64 record should point at the central directory", 0x02014b50,
+            readInt(bytes, centralDirectory));
+        Assert.assertEquals("Central directory should end at the Zip64 record", zip64End,
+            centralDirectory + readLong(bytes, zip64End + 40));
+
+        // All entries should be readable in sequence
+        final ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(bytes));
+        int read = 0;
+        String last = null;
+        ZipEntry entry;
+        while ((entry = in.getNextEntry()) != null) {
+            read++;
+            if ("entries/99/entry69999".equals(entry.getName())) {
+                last = new String(read(in), "UTF-8");
+            }
+        }
+        in.close();
+        Assert.assertEquals(expected, read);
+        Assert.assertEquals("69999", last);
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Required Implementations -----------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    @Override
+    protected String getArchiveExtension() {
+        return ".jar";
+    }
+
+    @Override
+    protected Class<? extends StreamExporter> getExporterClass() {
+        return ZipExporter.class;
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Internal Helper Methods ------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    private static int readShort(final byte[] bytes, final int offset) {
+        return (bytes[offset] & 0xFF) | (bytes[offset + 1] & 0xFF) << 8;
+    }
+
+    private static long readInt(final byte[] bytes, final int offset) {
+        return readShort(bytes, offset) | (long) readShort(bytes, offset + 2) << 16;
+    }
+
+    private static long readLong(final byte[] bytes, final int offset) {
+        return readInt(bytes, offset) | readInt(bytes, offset + 4) << 32;
+    }
+
+    /**
+     * Reads the local entries of the specified ZIP in sequence, without consulting the central directory. As APPNOTE
+     * 4.3.9 requires, data descriptors are read with 8-byte sizes exactly where the local header carries a Zip64 extra
+     * field; the CRC and sizes of each descriptor must match the data, and be followed by the next header.
+     */
+    private static Map<String, byte[]> readSequentially(final byte[] bytes) throws Exception {
+        final Map<String, byte[]> contents = new HashMap<String, byte[]>();
+        int offset = 0;
+        while (readInt(bytes, offset) == 0x04034b50) {
+            final int flags = readShort(bytes, offset + 6);
+            final int method = readShort(bytes, offset + 8);
+            final int nameLength = readShort(bytes, offset + 26);
+            final int extraLength = readShort(bytes, offset + 28);
+            final String name = new String(bytes, offset + 30, nameLength, "UTF-8");
+            boolean zip64 = false;
+            for (int extra = offset + 30 + nameLength; extra < offset + 30 + nameLength + extraLength;) {
+                zip64 |= readShort(bytes, extra) == 0x0001;
+                extra += 4 + readShort(bytes, extra + 2);
+            }
+            final int data = offset + 30 + nameLength + extraLength;
+
+            final ByteArrayOutputStream content = new ByteArrayOutputStream();
+            int compressedSize;
+            if (method == ZipEntry.STORED) {
+                compressedSize = (int) readInt(bytes, offset + 18);
+                content.write(bytes, data, compressedSize);
+            } else {
+                final Inflater inflater = new Inflater(true);
+                inflater.setInput(bytes, data, bytes.length - data);
+                final byte[] buffer = new byte[8192];
+                while (!inflater.finished()) {
+                    content.write(buffer, 0, inflater.inflate(buffer));
+                }
+                compressedSize = (int) inflater.getBytesRead();
+                inflater.end();
+            }
+            final CRC32 crc = new CRC32();
+            crc.update(content.toByteArray());
+
+            offset = data + compressedSize;
+            if ((flags & 0x08) != 0) {
+                if (readInt(bytes, offset) == 0x08074b50) {
+                    offset += 4;
+                }
+                Assert.assertEquals("CRC of " + name, crc.getValue(), readInt(bytes, offset));
+                final long storedCompressedSize = zip64 ? readLong(bytes, offset + 4) : readInt(bytes, offset + 4);
+                final long storedSize = zip64 ? readLong(bytes, offset + 12) : readInt(bytes, offset + 8);
+                Assert.assertEquals("Compressed size of " + name, compressedSize, storedCompressedSize);
+                Assert.assertEquals("Size of " + name, content.size(), storedSize);
+                offset += zip64 ? 20 : 12;
+            } else {
+                Assert.assertEquals("CRC of " + name, crc.getValue(), readInt(bytes, offset - compressedSize
+                    - extraLength - nameLength - 16));
+            }
+            contents.put(name, content.toByteArray());
+        }
+        Assert.assertEquals("Entries should be followed by the central directory", 0x02014b50, readInt(bytes, offset));
+        return contents;
+    }
+
+    private static byte[] read(final InputStream in) throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IOUtil.copy(in, out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base.exporter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+import java.util.logging.Logger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.Asset;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.shrinkwrap.api.exporter.StreamExporter;
+import org.jboss.shrinkwrap.api.exporter.ZipExporter;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jboss.shrinkwrap.impl.base.io.IOUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Stress test to ensure that archives exported as ZIPs may exceed 4 GB, both in the size of individual entries and in
+ * the offsets of entries, using synthetic content generated on the fly so neither the archive nor its assets are held
+ * in memory.
+ *
+ * @version $Revision: $
+ */
+public class Zip64ExporterStressTest extends ExportTestBase {
+
+    // -------------------------------------------------------------------------------------||
+    // Class Members ----------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Logger
+     */
+    private static final Logger log = Logger.getLogger(Zip64ExporterStressTest.class.getName());
+
+    /**
+     * 2^20
+     */
+    private static final long MEGA = 1024 * 1024;
+
+    /**
+     * Size of each incompressible entry
+     */
+    private static final long SIZE_RANDOM = 900 * MEGA;
+
+    /**
+     * Number of incompressible entries, together pushing later offsets beyond 4 GB
+     */
+    private static final int COUNT_RANDOM = 5;
+
+    /**
+     * Size of the compressible entry, itself beyond 4 GB
+     */
+    private static final long SIZE_ZEROS = 4608 * MEGA;
+
+    // -------------------------------------------------------------------------------------||
+    // Tests ------------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Ensures that an archive larger than 4 GB, holding an entry larger than 4 GB, can be exported and read back
+     */
+    @Test
+    public void exportArchiveBeyond4GB() throws IOException {
+        log.info("exportArchiveBeyond4GB");
+        log.info("This test may take awhile as it writes several GB to disk");
+
+        final JavaArchive archive = ShrinkWrap.create(JavaArchive.class, "zip64Archive.jar");
+        for (int i = 0; i < COUNT_RANDOM; i++) {
+            archive.add(new SyntheticAsset(SIZE_RANDOM, true), "random" + i + ".bin");
+        }
+        archive.add(new SyntheticAsset(SIZE_ZEROS, false), "zeros.bin");
+        archive.add(new StringAsset("last"), "zz/last.txt");
+
+        final File file = new File(createTempDirectory("exportArchiveBeyond4GB"), archive.getName());
+        try {
+            archive.as(ZipExporter.class).exportTo(file);
+            log.info("Final ZIP export was: " + file.length() / MEGA + " MB");
+            Assert.assertTrue("Export should exceed 4 GB", file.length() > 0xFFFFFFFFL);
+
+            final ZipFile zip = new ZipFile(file);
+            try {
+                for (int i = 0; i < COUNT_RANDOM; i++) {
+                    Assert.assertEquals(SIZE_RANDOM, zip.getEntry("random" + i + ".bin").getSize());
+                }
+                Assert.assertEquals(SIZE_ZEROS, zip.getEntry("zeros.bin").getSize());
+
+                // Located beyond 4 GB, so only reachable through the Zip64 offset
+                final ZipEntry last = zip.getEntry("zz/last.txt");
+                Assert.assertEquals("last", new String(IOUtil.asByteArray(zip.getInputStream(last)), "UTF-8"));
+            } finally {
+                zip.close();
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Required Implementations -----------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    @Override
+    protected String getArchiveExtension() {
+        return ".jar";
+    }
+
+    @Override
+    protected Class<? extends StreamExporter> getExporterClass() {
+        return ZipExporter.class;
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Inner Classes ----------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * An {@link Asset} generating content of the specified size on demand, either incompressible (a random block
+     * larger than the DEFLATE window, repeated) or zeros
+     */
+    private static final class SyntheticAsset implements Asset {
+
+        private final long size;
+
+        private final boolean random;
+
+        SyntheticAsset(final long size, final boolean random) {
+            this.size = size;
+            this.random = random;
+        }
+
+        @Override
+        public InputStream openStream() {
+            final byte[] block = new byte[64 * 1024];
+            if (random) {
+                new Random(size).nextBytes(block);
+            }
+            return new InputStream() {
+
+                private long remaining = size;
+
+                @Override
+                public int read() throws IOException {
+                    final byte[] b = new byte[1];
+                    return read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+                }
+
+                @Override
+                public int read(final byte[] b, final int off, final int len) throws IOException {
+                    if (remaining == 0) {
+                        return -1;
+                    }
+                    final int position = (int) ((size - remaining) % block.length);
+                    final int read = (int) Math.min(Math.min(len, block.length - position), remaining);
+                    System.arraycopy(block, position, b, off, read);
+                    remaining -= read;
+                    return read;
+                }
+            };
+        }
+    }
+}
@@ -17,15 +17,27 @@
 package org.jboss.shrinkwrap.impl.base.importer;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.logging.Logger;
 
 import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ArchivePath;
+import org.jboss.shrinkwrap.api.ConfigurationBuilder;
 import org.jboss.shrinkwrap.api.Filters;
 import org.jboss.shrinkwrap.api.ShrinkWrap;
 import org.jboss.shrinkwrap.api.importer.ExplodedImporter;
 import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jboss.shrinkwrap.impl.base.TestIOUtil;
 import org.jboss.shrinkwrap.impl.base.path.BasicPath;
 import org.junit.Assert;
 import org.junit.BeforeClass;
@@ -136,11 +148,107 @@ public class ExplodedImporterTestCase {
         Assert.assertTrue("Nested empty directories should be imported", archive.contains(new BasicPath("/parent/empty_dir")));
     }
     
+    /**
+     * Ensures that an import listing directories on the configured executor yields the same content as one listing
+     * them on the calling thread
+     */
+    @Test
+    public void shouldImportTheSameOnConfiguredExecutor() throws Exception {
+        final File root = createTree("target/explodedImportTree");
+
+        final Archive<?> serial = ShrinkWrap.create(ExplodedImporter.class, "serial.jar").importDirectory(root)
+            .as(JavaArchive.class);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final Archive<?> concurrent = ShrinkWrap
+                .createDomain(new ConfigurationBuilder().executorService(executor)).getArchiveFactory()
+                .create(ExplodedImporter.class, "concurrent.jar").importDirectory(root).as(JavaArchive.class);
+
+            Assert.assertEquals(8 * (2 + 8), serial.getContent().size());
+            Assert.assertEquals(serial.getContent().keySet(), concurrent.getContent().keySet());
+            Assert.assertTrue(concurrent.contains(new BasicPath("/dir3/sub3/file4")));
+            Assert.assertNull(concurrent.get("/dir3/sub3").getAsset());
+        } finally {
+            executor.shutdownNow();
+            TestIOUtil.deleteDirectory(root);
+        }
+    }
+
+    /**
+     * Ensures that directories are walked depth first, each directory's contents inserted before its next sibling,
+     * whether or not they are listed on an executor
+     */
+    @Test
+    public void shouldInsertDepthFirst() throws Exception {
+        final File root = createTree("target/explodedImportOrder");
+        final List<String> expected = new ArrayList<String>();
+        walk(root, "", expected);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (final ExecutorService configured : new ExecutorService[] { null, executor }) {
+                final Archive<?> delegate = ShrinkWrap.createDomain(
+                    new ConfigurationBuilder().executorService(configured)).getArchiveFactory()
+                    .create(JavaArchive.class);
+                final List<String> inserted = new ArrayList<String>();
+                final Archive<?> recording = (Archive<?>) Proxy.newProxyInstance(Archive.class.getClassLoader(),
+                    new Class<?>[] { Archive.class }, new InvocationHandler() {
+                        @Override
+                        public Object invoke(final Object proxy, final Method method, final Object[] args)
+                            throws Throwable {
+                            if (method.getName().equals("addAsDirectory")) {
+                                inserted.add(((ArchivePath) args[0]).get());
+                            } else if (method.getName().equals("add")) {
+                                inserted.add(((ArchivePath) args[1]).get());
+                            }
+                            try {
+                                return method.invoke(delegate, args);
+                            } catch (final InvocationTargetException ite) {
+                                throw ite.getCause();
+                            }
+                        }
+                    });
+                new ExplodedImporterImpl(recording).importDirectory(root);
+                Assert.assertEquals("Insertion should be depth first", expected, inserted);
+            }
+        } finally {
+            executor.shutdownNow();
+            TestIOUtil.deleteDirectory(root);
+        }
+    }
+
     @Test // SHRINKWRAP-392
     public void shouldHaveEmptyDefaultExtension() {
         ExplodedImporter explodedImporter = ShrinkWrap.create(ExplodedImporter.class);
         String explodedImporterArchiveName = explodedImporter.as(JavaArchive.class).getName();
         Assert.assertFalse(explodedImporterArchiveName.contains("."));
     }
-    
+
+    private static File createTree(final String name) throws IOException {
+        final File root = new File(name);
+        if (root.exists()) {
+            TestIOUtil.deleteDirectory(root);
+        }
+        for (int i = 0; i < 8; i++) {
+            final File directory = new File(root, "dir" + i + "/sub" + i);
+            Assert.assertTrue(directory.mkdirs());
+            for (int j = 0; j < 8; j++) {
+                final FileOutputStream out = new FileOutputStream(new File(j % 2 == 0 ? directory
+                    : directory.getParentFile(), "file" + j));
+                out.write(j);
+                out.close();
+            }
+        }
+        return root;
+    }
+
+    private static void walk(final File directory, final String path, final List<String> paths) {
+        for (final File file : directory.listFiles()) {
+            final String child = path + "/" + file.getName();
+            paths.add(child);
+            if (file.isDirectory()) {
+                walk(file, child, paths);
+            }
+        }
+    }
 }
@@ -0,0 +1,202 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base.importer;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ArchiveFormat;
+import org.jboss.shrinkwrap.api.Filters;
+import org.jboss.shrinkwrap.api.GenericArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.ArchiveAsset;
+import org.jboss.shrinkwrap.api.asset.ByteArrayAsset;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.shrinkwrap.api.exporter.StreamExporter;
+import org.jboss.shrinkwrap.api.exporter.TarExporter;
+import org.jboss.shrinkwrap.api.exporter.TarGzExporter;
+import org.jboss.shrinkwrap.api.exporter.ZipExporter;
+import org.jboss.shrinkwrap.api.importer.ArchiveImportException;
+import org.jboss.shrinkwrap.api.importer.FormatDetectingImporter;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jboss.shrinkwrap.impl.base.io.IOUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Ensures that the {@link FormatDetectingImporter} recognizes ZIP, TAR and TAR.GZ content, reading streams once
+ *
+ * @version $Revision: $
+ */
+public class FormatDetectingImporterTestCase {
+
+    // -------------------------------------------------------------------------------------||
+    // Class Members ----------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    @SuppressWarnings("unchecked")
+    private static final Class<? extends StreamExporter>[] EXPORTERS = new Class[] { ZipExporter.class,
+        TarExporter.class, TarGzExporter.class };
+
+    private static final ArchiveFormat[] FORMATS = { ArchiveFormat.ZIP, ArchiveFormat.TAR, ArchiveFormat.TAR_GZ };
+
+    // -------------------------------------------------------------------------------------||
+    // Tests ------------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Ensures streams of each format are detected and imported, each byte being read once
+     */
+    @Test
+    public void shouldDetectStreams() throws Exception {
+        final JavaArchive original = createArchive();
+        for (int i = 0; i < EXPORTERS.length; i++) {
+            final byte[] content = IOUtil.asByteArray(original.as(EXPORTERS[i]).exportAsInputStream());
+            final CountingInputStream in = new CountingInputStream(new ByteArrayInputStream(content));
+
+            final FormatDetectingImporter importer = ShrinkWrap.create(FormatDetectingImporter.class, "imported.jar");
+            Assert.assertEquals(ArchiveFormat.UNKNOWN, importer.getDetectedFormat());
+            importer.importFrom(in);
+
+            Assert.assertEquals(FORMATS[i], importer.getDetectedFormat());
+            Assert.assertTrue("Read more than once: " + in.count, in.count <= content.length);
+            assertImported(importer.as(JavaArchive.class));
+        }
+    }
+
+    /**
+     * Ensures files of each format are detected and imported, honoring a filter
+     */
+    @Test
+    public void shouldDetectFiles() throws Exception {
+        final JavaArchive original = createArchive();
+        for (int i = 0; i < EXPORTERS.length; i++) {
+            final File file = new File("target", "formatDetecting" + i + ".bin");
+            final FileOutputStream out = new FileOutputStream(file);
+            try {
+                original.as(EXPORTERS[i]).exportTo(out);
+            } finally {
+                out.close();
+            }
+
+            final FormatDetectingImporter importer = ShrinkWrap.create(FormatDetectingImporter.class, "imported.jar")
+                .importFrom(file, Filters.include("/org/.*"));
+            Assert.assertEquals(FORMATS[i], importer.getDetectedFormat());
+            final JavaArchive imported = importer.as(JavaArchive.class);
+            Assert.assertTrue(imported.contains("/org/test/Test.txt"));
+            Assert.assertFalse(imported.contains("/META-INF/MANIFEST.MF"));
+        }
+    }
+
+    /**
+     * Ensures empty TAR and TAR.GZ archives are detected, and imported as empty (ZIPs may not be exported empty)
+     */
+    @Test
+    public void shouldDetectEmptyArchives() throws Exception {
+        final JavaArchive original = ShrinkWrap.create(JavaArchive.class, "empty.jar");
+        for (int i = 1; i < EXPORTERS.length; i++) {
+            final FormatDetectingImporter importer = ShrinkWrap.create(FormatDetectingImporter.class, "imported.jar")
+                .importFrom(original.as(EXPORTERS[i]).exportAsInputStream());
+            Assert.assertEquals(FORMATS[i], importer.getDetectedFormat());
+            Assert.assertTrue(importer.as(JavaArchive.class).getContent().isEmpty());
+        }
+        Assert.assertEquals(ArchiveFormat.TAR, FormatDetectingImporterImpl.detect(
+            new byte[FormatDetectingImporterImpl.HEADER_SIZE], FormatDetectingImporterImpl.HEADER_SIZE));
+    }
+
+    /**
+     * Ensures content of no known format is rejected
+     */
+    @Test(expected = ArchiveImportException.class)
+    public void shouldRejectUnknownContent() {
+        Assert.assertEquals(ArchiveFormat.UNKNOWN, FormatDetectingImporterImpl.detect(new byte[0], 0));
+        ShrinkWrap.create(FormatDetectingImporter.class).importFrom(
+            new ByteArrayInputStream("Neither ZIP nor TAR".getBytes()));
+    }
+
+    /**
+     * Ensures nested archives viewed in the {@link ArchiveFormat#AUTO} format are exported in the format detected
+     */
+    @Test
+    public void shouldViewNestedArchivesInDetectedFormat() throws Exception {
+        final JavaArchive original = createArchive();
+        for (int i = 0; i < EXPORTERS.length; i++) {
+            final GenericArchive outer = ShrinkWrap.create(GenericArchive.class).add(
+                new ByteArrayAsset(original.as(EXPORTERS[i]).exportAsInputStream()), "/nested");
+
+            assertImported(outer.getAsType(JavaArchive.class, "/nested", ArchiveFormat.AUTO));
+            Assert.assertEquals(EXPORTERS[i], ((ArchiveAsset) outer.get("/nested").getAsset()).getExporter());
+        }
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Internal Helper Methods ------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    private static JavaArchive createArchive() {
+        return ShrinkWrap.create(JavaArchive.class, "original.jar")
+            .add(new StringAsset("Manifest-Version: 1.0"), "/META-INF/MANIFEST.MF")
+            .add(new StringAsset("Test"), "/org/test/Test.txt").addAsDirectory("/org/empty");
+    }
+
+    private static void assertImported(final Archive<?> archive) throws IOException {
+        Assert.assertEquals("Test", new String(IOUtil.asByteArray(archive.get("/org/test/Test.txt").getAsset()
+            .openStream()), "UTF-8"));
+        Assert.assertTrue(archive.contains("/META-INF/MANIFEST.MF"));
+        Assert.assertTrue(archive.contains("/org/empty"));
+    }
+
+    /**
+     * Stream counting the bytes read through it
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        CountingInputStream(final InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int read = super.read();
+            if (read != -1) {
+                count++;
+            }
+            return read;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            final int read = super.read(b, off, len);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+}
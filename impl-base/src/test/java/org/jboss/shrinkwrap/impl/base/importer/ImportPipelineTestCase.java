@@ -0,0 +1,204 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base.importer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ArchivePaths;
+import org.jboss.shrinkwrap.api.ConfigurationBuilder;
+import org.jboss.shrinkwrap.api.Domain;
+import org.jboss.shrinkwrap.api.GenericArchive;
+import org.jboss.shrinkwrap.api.Node;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.ByteArrayAsset;
+import org.jboss.shrinkwrap.api.exporter.StreamExporter;
+import org.jboss.shrinkwrap.api.exporter.TarExporter;
+import org.jboss.shrinkwrap.api.exporter.TarGzExporter;
+import org.jboss.shrinkwrap.api.exporter.ZipExporter;
+import org.jboss.shrinkwrap.api.importer.StreamImporter;
+import org.jboss.shrinkwrap.api.importer.TarGzImporter;
+import org.jboss.shrinkwrap.api.importer.TarImporter;
+import org.jboss.shrinkwrap.api.importer.ZipImporter;
+import org.jboss.shrinkwrap.impl.base.io.IOUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Ensures that {@link ImportPipeline} imports the same content when pipelined as when not, reading on another thread
+ *
+ * @version $Revision: $
+ */
+public class ImportPipelineTestCase {
+
+    // -------------------------------------------------------------------------------------||
+    // Tests ------------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Ensures pipelined ZIP, TAR and TAR.GZ imports hold the exported content, over more entries than are queued
+     */
+    @Test
+    public void importsAllEntries() throws Exception {
+        final Archive<?> source = createArchive();
+        final Domain domain = ShrinkWrap.createDomain(new ConfigurationBuilder().pipelinedImport(true));
+        assertImports(domain, source, ZipExporter.class, ZipImporter.class);
+        assertImports(domain, source, TarExporter.class, TarImporter.class);
+        assertImports(domain, source, TarGzExporter.class, TarGzImporter.class);
+    }
+
+    /**
+     * Ensures the entries are read on a thread of the configured executor, and inserted on the calling thread
+     */
+    @Test
+    public void readsOnConfiguredExecutor() throws Exception {
+        final ExecutorService executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(final Runnable r) {
+                return new Thread(r, "reader");
+            }
+        });
+        try {
+            final Archive<?> archive = ShrinkWrap
+                .createDomain(new ConfigurationBuilder().pipelinedImport(true).executorService(executor))
+                .getArchiveFactory().create(GenericArchive.class);
+            final String[] readBy = new String[1];
+            ImportPipeline.run(archive, new ImportPipeline.Source() {
+                @Override
+                public void readInto(final ImportPipeline.Sink sink) throws IOException {
+                    readBy[0] = Thread.currentThread().getName();
+                    sink.directory(ArchivePaths.create("directory"));
+                    sink.file(ArchivePaths.create("directory/file"), new ByteArrayAsset(new byte[] { 1 }));
+                }
+            });
+
+            Assert.assertEquals("reader", readBy[0]);
+            Assert.assertNull(archive.get("directory").getAsset());
+            Assert.assertNotNull(archive.get("directory/file").getAsset());
+            Assert.assertFalse("Configured executor should not be shut down", executor.isShutdown());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Ensures a failure to read is thrown to the calling thread, after the entries read before it are inserted
+     */
+    @Test
+    public void rethrowsReadFailure() throws Exception {
+        final Archive<?> archive = ShrinkWrap.createDomain(new ConfigurationBuilder().pipelinedImport(true))
+            .getArchiveFactory().create(GenericArchive.class);
+        final IOException failure = new IOException("mock exception");
+        try {
+            ImportPipeline.run(archive, new ImportPipeline.Source() {
+                @Override
+                public void readInto(final ImportPipeline.Sink sink) throws IOException {
+                    sink.file(ArchivePaths.create("file"), new ByteArrayAsset(new byte[] { 1 }));
+                    throw failure;
+                }
+            });
+            Assert.fail("Failure to read should be thrown");
+        } catch (final IOException ioe) {
+            Assert.assertSame(failure, ioe);
+        }
+        Assert.assertTrue(archive.contains("file"));
+    }
+
+    /**
+     * Ensures a failure to insert, while the reader is blocked on a full queue, is thrown to the calling thread
+     * rather than leaving it waiting for the reader
+     */
+    @Test(timeout = 30000)
+    public void rethrowsInsertFailureWithFullQueue() throws Exception {
+        final Archive<?> delegate = ShrinkWrap.createDomain(new ConfigurationBuilder().pipelinedImport(true))
+            .getArchiveFactory().create(GenericArchive.class);
+        final IllegalStateException failure = new IllegalStateException("mock exception");
+        // Inserts fail, once the reader has had time to fill the queue
+        final Archive<?> archive = (Archive<?>) Proxy.newProxyInstance(Archive.class.getClassLoader(),
+            new Class<?>[] { Archive.class }, new InvocationHandler() {
+                @Override
+                public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+                    if (method.getName().startsWith("add")) {
+                        Thread.sleep(200);
+                        throw failure;
+                    }
+                    try {
+                        return method.invoke(delegate, args);
+                    } catch (final InvocationTargetException ite) {
+                        throw ite.getCause();
+                    }
+                }
+            });
+        try {
+            ImportPipeline.run(archive, new ImportPipeline.Source() {
+                @Override
+                public void readInto(final ImportPipeline.Sink sink) throws IOException {
+                    for (int i = 0; i < 1000; i++) {
+                        sink.file(ArchivePaths.create("file" + i), new ByteArrayAsset(new byte[] { 1 }));
+                    }
+                }
+            });
+            Assert.fail("Failure to insert should be thrown");
+        } catch (final IllegalStateException ise) {
+            Assert.assertSame(failure, ise);
+        }
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Internal Helper Methods ------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    private static Archive<?> createArchive() {
+        final Random random = new Random(0);
+        final GenericArchive archive = ShrinkWrap.create(GenericArchive.class, "source.jar");
+        for (int i = 0; i < ImportPipeline.QUEUE_CAPACITY * 3; i++) {
+            final byte[] content = new byte[random.nextInt(4096)];
+            random.nextBytes(content);
+            archive.add(new ByteArrayAsset(content), "directory" + (i % 5) + "/entry" + i);
+        }
+        return archive;
+    }
+
+    private static void assertImports(final Domain domain, final Archive<?> source,
+        final Class<? extends StreamExporter> exporter, final Class<? extends StreamImporter<?>> importer)
+        throws Exception {
+        final ByteArrayOutputStream exported = new ByteArrayOutputStream();
+        source.as(exporter).exportTo(exported);
+
+        final Archive<?> imported = domain.getArchiveFactory().create(importer, "imported")
+            .importFrom(new ByteArrayInputStream(exported.toByteArray())).as(GenericArchive.class);
+
+        Assert.assertEquals(source.getContent().keySet(), imported.getContent().keySet());
+        for (final Node node : source.getContent().values()) {
+            if (node.getAsset() != null) {
+                Assert.assertArrayEquals("Content not as expected: " + node.getPath(),
+                    IOUtil.asByteArray(node.getAsset().openStream()),
+                    IOUtil.asByteArray(imported.get(node.getPath()).getAsset().openStream()));
+            }
+        }
+    }
+}
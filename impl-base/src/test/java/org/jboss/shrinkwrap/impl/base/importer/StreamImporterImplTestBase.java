@@ -20,15 +20,22 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.logging.Logger;
 
 import junit.framework.Assert;
 
 import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ArchivePath;
 import org.jboss.shrinkwrap.api.ArchivePaths;
+import org.jboss.shrinkwrap.api.Filter;
 import org.jboss.shrinkwrap.api.GenericArchive;
 import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.ByteArrayAsset;
 import org.jboss.shrinkwrap.api.asset.ClassLoaderAsset;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
 import org.jboss.shrinkwrap.api.exporter.StreamExporter;
 import org.jboss.shrinkwrap.api.importer.ArchiveImportException;
 import org.jboss.shrinkwrap.api.importer.StreamImporter;
@@ -235,4 +242,87 @@ public abstract class StreamImporterImplTestBase<T extends StreamImporter<T>> {
             exceptionIn.close();
         }
     }
+
+    /**
+     * Ensures that a filtered import of a stream or file includes only the entries accepted by the filter, testing
+     * each entry's path once
+     *
+     * @throws Exception
+     */
+    @Test
+    public void shouldImportOnlyFilteredEntries() throws Exception {
+        final Archive<?> source = createFilterableArchive();
+        final File file = new File("target/filteredImport");
+        file.deleteOnExit();
+        source.as(this.getExporterClass()).exportTo(file, true);
+
+        final RecordingFilter streamFilter = new RecordingFilter();
+        final InputStream stream = new FileInputStream(file);
+        final Archive<?> fromStream;
+        try {
+            fromStream = ShrinkWrap.create(this.getImporterClass(), "test.jar").importFrom(stream, streamFilter)
+                .as(GenericArchive.class);
+        } finally {
+            stream.close();
+        }
+        final RecordingFilter fileFilter = new RecordingFilter();
+        final Archive<?> fromFile = ShrinkWrap.create(this.getImporterClass(), "test.jar")
+            .importFrom(file, fileFilter).as(GenericArchive.class);
+
+        for (final Archive<?> archive : new Archive<?>[] { fromStream, fromFile }) {
+            assertFiltered(archive);
+        }
+        Assert.assertTrue("Each entry should be tested once: " + streamFilter.tested,
+            streamFilter.tested.contains(ArchivePaths.create("lib/large.bin")));
+        Assert.assertEquals(streamFilter.tested, fileFilter.tested);
+        Assert.assertEquals(streamFilter.tested.size(), new HashSet<ArchivePath>(streamFilter.tested).size());
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Internal Helper Methods ------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Creates an archive of metadata, classes and other content
+     */
+    protected static Archive<?> createFilterableArchive() {
+        return ShrinkWrap.create(GenericArchive.class, "filterable.jar")
+            .add(new StringAsset("Manifest-Version: 1.0\n"), "META-INF/MANIFEST.MF")
+            .add(new StringAsset("class"), "org/example/Example.class")
+            .add(new StringAsset("resource"), "org/example/example.properties")
+            .add(new ByteArrayAsset(new byte[256 * 1024]), "lib/large.bin");
+    }
+
+    /**
+     * Asserts that the specified archive, imported from {@link #createFilterableArchive()} with a
+     * {@link RecordingFilter}, holds only the metadata and classes
+     */
+    protected static void assertFiltered(final Archive<?> archive) throws Exception {
+        Assert.assertTrue(archive.contains("META-INF/MANIFEST.MF"));
+        Assert.assertTrue(archive.contains("org/example/Example.class"));
+        Assert.assertFalse(archive.contains("org/example/example.properties"));
+        Assert.assertFalse(archive.contains("lib/large.bin"));
+        Assert.assertFalse(archive.contains("lib"));
+        Assert.assertEquals("class", new String(IOUtil.asByteArray(archive.get("org/example/Example.class").getAsset()
+            .openStream()), "UTF-8"));
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Inner Classes ----------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Filter accepting metadata and classes, recording each path tested
+     */
+    protected static final class RecordingFilter implements Filter<ArchivePath> {
+
+        final List<ArchivePath> tested = new ArrayList<ArchivePath>();
+
+        @Override
+        public boolean include(final ArchivePath path) {
+            tested.add(path);
+            return path.get().startsWith("/META-INF") || path.get().endsWith(".class")
+                || path.get().equals("/org") || path.get().equals("/org/example");
+        }
+    }
 }
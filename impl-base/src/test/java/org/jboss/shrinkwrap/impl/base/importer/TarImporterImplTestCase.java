@@ -17,15 +17,27 @@
 package org.jboss.shrinkwrap.impl.base.importer;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
 import java.util.logging.Logger;
 
+import org.jboss.shrinkwrap.api.ConfigurationBuilder;
+import org.jboss.shrinkwrap.api.Domain;
+import org.jboss.shrinkwrap.api.Filters;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.ByteArrayAsset;
 import org.jboss.shrinkwrap.api.exporter.StreamExporter;
 import org.jboss.shrinkwrap.api.exporter.TarExporter;
 import org.jboss.shrinkwrap.api.importer.TarImporter;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
 import org.jboss.shrinkwrap.impl.base.importer.tar.TarImporterImpl;
+import org.jboss.shrinkwrap.impl.base.io.IOUtil;
 import org.jboss.shrinkwrap.impl.base.io.tar.TarInputStream;
+import org.junit.Assert;
+import org.junit.Test;
 
 /**
  * TestCase to verify the {@link TarImporterImpl} functionality.
@@ -50,6 +62,57 @@ public class TarImporterImplTestCase extends StreamImporterImplTestBase<TarImpor
      */
     private static final TarContentAssertionDelegate delegate = new TarContentAssertionDelegate();
 
+    /**
+     * Length of the entries rejected in the skip tests; not a multiple of the record size
+     */
+    private static final int LARGE_ENTRY_SIZE = 1024 * 1024 + 37;
+
+    // -------------------------------------------------------------------------------------||
+    // Tests ------------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Ensures the data of entries rejected by the filter is skipped without being read when importing from a file
+     */
+    @Test
+    public void rejectedEntriesSkippedUnread() throws Exception {
+        final JavaArchive archive = createArchiveWithLargeEntries();
+        final File file = new File("target", "rejectedEntriesSkippedUnread.tar");
+        archive.as(TarExporter.class).exportTo(file, true);
+
+        final CountingFileInputStream in = new CountingFileInputStream(file);
+        final JavaArchive imported;
+        try {
+            imported = ShrinkWrap.create(TarImporter.class, "imported.jar")
+                .importFrom(in, Filters.exclude(".*\\.bin")).as(JavaArchive.class);
+        } finally {
+            in.close();
+        }
+
+        assertSmallEntriesImported(archive, imported);
+        Assert.assertTrue("Rejected entries should not have been read, but read " + in.count + " of " + file.length()
+            + " bytes", in.count < file.length() / 10);
+    }
+
+    /**
+     * Ensures entries are skipped and read correctly with a configured block size, unaligned with that written, from
+     * a stream which is not a file
+     */
+    @Test
+    public void rejectedEntriesSkippedWithConfiguredBlockSize() throws Exception {
+        final JavaArchive archive = createArchiveWithLargeEntries();
+        final byte[] tar = IOUtil.asByteArray(archive.as(TarExporter.class).exportAsInputStream());
+
+        final Domain domain = ShrinkWrap.createDomain(new ConfigurationBuilder().tarImportBlockSize(512 * 3));
+        final JavaArchive imported = domain.getArchiveFactory().create(TarImporter.class, "imported.jar")
+            .importFrom(new ByteArrayInputStream(tar), Filters.exclude(".*/large1\\.bin")).as(JavaArchive.class);
+
+        assertSmallEntriesImported(archive, imported);
+        Assert.assertFalse(imported.contains("data/large1.bin"));
+        Assert.assertArrayEquals(IOUtil.asByteArray(archive.get("data/large2.bin").getAsset().openStream()),
+            IOUtil.asByteArray(imported.get("data/large2.bin").getAsset().openStream()));
+    }
+
     // -------------------------------------------------------------------------------------||
     // Required Implementations -----------------------------------------------------------||
     // -------------------------------------------------------------------------------------||
@@ -102,6 +165,61 @@ public class TarImporterImplTestCase extends StreamImporterImplTestBase<TarImpor
     // Internal Helper Members ------------------------------------------------------------||
     // -------------------------------------------------------------------------------------||
 
+    /**
+     * Creates an archive of small text entries interleaved with large binary ones
+     */
+    private static JavaArchive createArchiveWithLargeEntries() {
+        final JavaArchive archive = ShrinkWrap.create(JavaArchive.class, "large.jar");
+        for (int i = 0; i < 3; i++) {
+            final byte[] large = new byte[LARGE_ENTRY_SIZE];
+            Arrays.fill(large, (byte) i);
+            archive.add(new ByteArrayAsset(large), "data/large" + i + ".bin");
+            final byte[] small = new byte[100 * i + 1];
+            Arrays.fill(small, (byte) ('a' + i));
+            archive.add(new ByteArrayAsset(small), "data/small" + i + ".txt");
+        }
+        return archive;
+    }
+
+    private static void assertSmallEntriesImported(final JavaArchive expected, final JavaArchive imported)
+        throws IOException {
+        for (int i = 0; i < 3; i++) {
+            final String path = "data/small" + i + ".txt";
+            Assert.assertArrayEquals(IOUtil.asByteArray(expected.get(path).getAsset().openStream()),
+                IOUtil.asByteArray(imported.get(path).getAsset().openStream()));
+        }
+    }
+
+    /**
+     * {@link FileInputStream} counting the bytes read from it
+     */
+    private static final class CountingFileInputStream extends FileInputStream {
+
+        private long count;
+
+        CountingFileInputStream(final File file) throws IOException {
+            super(file);
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int b = super.read();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            final int read = super.read(b, off, len);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+    }
+
     /**
      * Test {@link TarInputStream} extension which throws errors when read in order to test exception handling of the
      * import process
@@ -20,17 +20,29 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Enumeration;
+import java.util.Random;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Logger;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ArchivePath;
+import org.jboss.shrinkwrap.api.ConfigurationBuilder;
+import org.jboss.shrinkwrap.api.Domain;
 import org.jboss.shrinkwrap.api.GenericArchive;
+import org.jboss.shrinkwrap.api.Node;
 import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.ByteArrayAsset;
 import org.jboss.shrinkwrap.api.exporter.StreamExporter;
 import org.jboss.shrinkwrap.api.exporter.ZipExporter;
 import org.jboss.shrinkwrap.api.importer.ArchiveImportException;
 import org.jboss.shrinkwrap.api.importer.ZipImporter;
 import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jboss.shrinkwrap.impl.base.io.IOUtil;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -143,4 +155,123 @@ public class ZipImporterImplTestCase extends StreamImporterImplTestBase<ZipImpor
         final GenericArchive importer = ShrinkWrap.create(ZipImporter.class).as(GenericArchive.class);
         Assert.assertTrue("Archive did not have expected suffix", importer.getName().endsWith(".jar"));
     }
+
+    /**
+     * Ensures that an eager import of a {@link ZipFile} holds the content of every entry once the file is closed
+     */
+    @Test
+    public void shouldImportEagerlyFromZipFile() throws Exception {
+        final Archive<?> source = createLargeArchive();
+        final File file = exportToFile(source);
+
+        final ZipFile zipFile = new ZipFile(file);
+        final Archive<?> imported;
+        try {
+            imported = ShrinkWrap.create(ZipImporter.class, "test.jar").importEagerlyFrom(zipFile)
+                .as(JavaArchive.class);
+        } finally {
+            zipFile.close();
+        }
+
+        Assert.assertEquals(source.getContent().keySet(), imported.getContent().keySet());
+        for (final Node node : source.getContent().values()) {
+            final ArchivePath path = node.getPath();
+            if (node.getAsset() == null) {
+                Assert.assertNull("Directory should be imported as such: " + path, imported.get(path).getAsset());
+            } else {
+                Assert.assertArrayEquals("Content not as expected: " + path,
+                    IOUtil.asByteArray(node.getAsset().openStream()),
+                    IOUtil.asByteArray(imported.get(path).getAsset().openStream()));
+            }
+        }
+    }
+
+    /**
+     * Ensures that an eager import inflates on the configured executor, leaving it running
+     */
+    @Test
+    public void shouldImportEagerlyOnConfiguredExecutor() throws Exception {
+        final AtomicInteger executed = new AtomicInteger();
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(2, 2, 0, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<Runnable>()) {
+            @Override
+            protected void beforeExecute(final Thread t, final Runnable r) {
+                executed.incrementAndGet();
+            }
+        };
+        try {
+            final Domain domain = ShrinkWrap.createDomain(new ConfigurationBuilder().executorService(executor));
+            final Archive<?> source = createLargeArchive();
+            final ZipFile zipFile = new ZipFile(exportToFile(source));
+            try {
+                final Archive<?> imported = domain.getArchiveFactory().create(ZipImporter.class, "test.jar")
+                    .importEagerlyFrom(zipFile).as(JavaArchive.class);
+                Assert.assertEquals(source.getContent().size(), imported.getContent().size());
+            } finally {
+                zipFile.close();
+            }
+            Assert.assertTrue("Entries should be inflated in several tasks", executed.get() > 1);
+            Assert.assertFalse("Configured executor should not be shut down", executor.isShutdown());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Ensures that an eager import results in {@link ArchiveImportException} if an entry cannot be read
+     */
+    @Test(expected = ArchiveImportException.class)
+    public void shouldThrowExceptionOnErrorInEagerImport() throws Exception {
+        final ZipFile zipFile = new ZipFile(exportToFile(createLargeArchive())) {
+            @Override
+            public InputStream getInputStream(final ZipEntry entry) throws IOException {
+                throw new IOException("mock exception");
+            }
+        };
+        try {
+            ShrinkWrap.create(ZipImporter.class, "test.jar").importEagerlyFrom(zipFile);
+        } finally {
+            zipFile.close();
+        }
+    }
+
+    /**
+     * Ensures that a filtered import of a {@link ZipFile} includes only the entries accepted by the filter
+     */
+    @Test
+    public void shouldImportOnlyFilteredEntriesFromZipFile() throws Exception {
+        final ZipFile zipFile = new ZipFile(exportToFile(createFilterableArchive()));
+        try {
+            assertFiltered(ShrinkWrap.create(ZipImporter.class, "test.jar").importFrom(zipFile, new RecordingFilter())
+                .as(JavaArchive.class));
+        } finally {
+            zipFile.close();
+        }
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Internal Helper Methods ------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Creates an archive of incompressible content spanning several import tasks, and a directory
+     */
+    private static Archive<?> createLargeArchive() {
+        final Random random = new Random(0);
+        final JavaArchive archive = ShrinkWrap.create(JavaArchive.class, "large.jar");
+        archive.addAsDirectory("empty");
+        for (int i = 0; i < 48; i++) {
+            final byte[] content = new byte[random.nextInt(128 * 1024)];
+            random.nextBytes(content);
+            archive.add(new ByteArrayAsset(content), "content/entry" + i);
+        }
+        return archive;
+    }
+
+    private static File exportToFile(final Archive<?> archive) {
+        final File file = new File("target/eagerImport.zip");
+        file.deleteOnExit();
+        archive.as(ZipExporter.class).exportTo(file, true);
+        return file;
+    }
 }
@@ -0,0 +1,194 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+import org.jboss.shrinkwrap.api.Domain;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.shrinkwrap.api.exporter.TarGzExporter;
+import org.jboss.shrinkwrap.api.exporter.ZipExporter;
+import org.jboss.shrinkwrap.api.importer.TarGzImporter;
+import org.jboss.shrinkwrap.api.importer.ZipImporter;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Ensures that {@link CodecPool} reuses its codecs and buffers, and that the pooled GZIP streams are interchangeable
+ * with those of the JDK
+ *
+ * @version $Revision: $
+ */
+public class CodecPoolTestCase {
+
+    // -------------------------------------------------------------------------------------||
+    // Tests ------------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Ensures released codecs and buffers are handed out again, and that releasing twice does not pool twice
+     */
+    @Test
+    public void releasedResourcesAreReused() {
+        final CodecPool pool = CodecPool.forConfiguration(ShrinkWrap.createDomain().getConfiguration());
+
+        final Deflater deflater = pool.borrowDeflater(Deflater.BEST_SPEED, Deflater.DEFAULT_STRATEGY);
+        pool.release(deflater);
+        pool.release(deflater);
+        Assert.assertEquals(1, pool.getIdleDeflaterCount());
+        Assert.assertSame(deflater, pool.borrowDeflater(Deflater.DEFAULT_COMPRESSION, Deflater.DEFAULT_STRATEGY));
+        Assert.assertEquals(0, pool.getIdleDeflaterCount());
+
+        final Inflater inflater = pool.borrowInflater();
+        pool.release(inflater);
+        Assert.assertSame(inflater, pool.borrowInflater());
+
+        final byte[] buffer = pool.borrowBuffer();
+        Assert.assertEquals(CodecPool.BUFFER_SIZE, buffer.length);
+        pool.release(buffer);
+        Assert.assertSame(buffer, pool.borrowBuffer());
+    }
+
+    /**
+     * Ensures pools are scoped to their configuration
+     */
+    @Test
+    public void poolsScopedByConfiguration() {
+        final Domain domain = ShrinkWrap.createDomain();
+        Assert.assertSame(CodecPool.forConfiguration(domain.getConfiguration()),
+            CodecPool.forArchive(domain.getArchiveFactory().create(JavaArchive.class)));
+        Assert.assertNotSame(CodecPool.forConfiguration(domain.getConfiguration()),
+            CodecPool.forConfiguration(ShrinkWrap.createDomain().getConfiguration()));
+    }
+
+    /**
+     * Ensures the pooled GZIP output is byte-for-byte that of the JDK, and reads back through both implementations
+     */
+    @Test
+    public void gzipInterchangeableWithJdk() throws Exception {
+        final CodecPool pool = CodecPool.forConfiguration(ShrinkWrap.createDomain().getConfiguration());
+        final byte[] content = createContent(100000);
+
+        final ByteArrayOutputStream pooled = new ByteArrayOutputStream();
+        final PooledGZIPOutputStream out = new PooledGZIPOutputStream(pooled, pool);
+        out.write(content);
+        out.close();
+
+        final ByteArrayOutputStream jdk = new ByteArrayOutputStream();
+        final GZIPOutputStream jdkOut = new GZIPOutputStream(jdk);
+        jdkOut.write(content);
+        jdkOut.close();
+
+        Assert.assertArrayEquals(jdk.toByteArray(), pooled.toByteArray());
+        Assert.assertArrayEquals(content, IOUtil.asByteArray(new GZIPInputStream(new ByteArrayInputStream(
+            pooled.toByteArray()))));
+        Assert.assertArrayEquals(content, IOUtil.asByteArray(new PooledGZIPInputStream(new ByteArrayInputStream(
+            jdk.toByteArray()), pool)));
+        Assert.assertEquals(1, pool.getIdleDeflaterCount());
+        Assert.assertEquals(1, pool.getIdleInflaterCount());
+    }
+
+    /**
+     * Ensures concatenated GZIP members are read as one stream
+     */
+    @Test
+    public void gzipMultipleMembers() throws Exception {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        for (final String part : new String[] { "first;", "second;", "third" }) {
+            final GZIPOutputStream out = new GZIPOutputStream(bytes);
+            out.write(part.getBytes("UTF-8"));
+            out.finish();
+        }
+        final InputStream in = new PooledGZIPInputStream(new ByteArrayInputStream(bytes.toByteArray()),
+            CodecPool.getDefault());
+        Assert.assertEquals("first;second;third", new String(IOUtil.asByteArray(in), "UTF-8"));
+    }
+
+    /**
+     * Ensures a corrupt trailer is reported
+     */
+    @Test(expected = ZipException.class)
+    public void gzipCorruptChecksum() throws Exception {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final GZIPOutputStream out = new GZIPOutputStream(bytes);
+        out.write(createContent(1000));
+        out.close();
+        final byte[] corrupt = bytes.toByteArray();
+        corrupt[corrupt.length - 8] ^= 0xFF;
+
+        final InputStream in = new PooledGZIPInputStream(new ByteArrayInputStream(corrupt), CodecPool.getDefault());
+        final byte[] buffer = new byte[512];
+        while (in.read(buffer) != -1) {
+            // Consume
+        }
+    }
+
+    /**
+     * Ensures repeated exports and imports within a domain return what they borrow
+     */
+    @Test
+    public void exportsAndImportsReturnResources() throws Exception {
+        final Domain domain = ShrinkWrap.createDomain();
+        final CodecPool pool = CodecPool.forConfiguration(domain.getConfiguration());
+        final JavaArchive archive = domain.getArchiveFactory().create(JavaArchive.class, "pooled.jar")
+            .add(new StringAsset(new String(createContent(20000), "ISO-8859-1")), "content.bin")
+            .addAsDirectory("empty");
+
+        int idleBuffers = -1;
+        for (int i = 0; i < 5; i++) {
+            final byte[] zip = IOUtil.asByteArray(archive.as(ZipExporter.class).exportAsInputStream());
+            final byte[] tarGz = IOUtil.asByteArray(archive.as(TarGzExporter.class).exportAsInputStream());
+
+            Assert.assertTrue(domain.getArchiveFactory().create(ZipImporter.class, "zip.jar")
+                .importFrom(new ByteArrayInputStream(zip)).as(JavaArchive.class).contains("content.bin"));
+            Assert.assertTrue(domain.getArchiveFactory().create(TarGzImporter.class, "tar.jar")
+                .importFrom(new ByteArrayInputStream(tarGz)).as(JavaArchive.class).contains("content.bin"));
+
+            Assert.assertEquals(1, pool.getIdleDeflaterCount());
+            Assert.assertEquals(1, pool.getIdleInflaterCount());
+            // The copy and deflate buffers of an export are held together; neither should leak across exports
+            if (idleBuffers == -1) {
+                idleBuffers = pool.getIdleBufferCount();
+                Assert.assertTrue(idleBuffers > 0);
+            }
+            Assert.assertEquals(idleBuffers, pool.getIdleBufferCount());
+        }
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Internal Helper Methods ------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    private static byte[] createContent(final int length) {
+        final Random random = new Random(length);
+        final byte[] content = new byte[length];
+        for (int i = 0; i < length; i++) {
+            content[i] = (byte) ('a' + random.nextInt(8));
+        }
+        return content;
+    }
+}
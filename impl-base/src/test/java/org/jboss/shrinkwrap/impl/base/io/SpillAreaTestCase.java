@@ -0,0 +1,182 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.ZipFile;
+
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ConfigurationBuilder;
+import org.jboss.shrinkwrap.api.Domain;
+import org.jboss.shrinkwrap.api.GenericArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.Asset;
+import org.jboss.shrinkwrap.api.asset.ByteArrayAsset;
+import org.jboss.shrinkwrap.api.asset.FileAsset;
+import org.jboss.shrinkwrap.api.exporter.StreamExporter;
+import org.jboss.shrinkwrap.api.exporter.TarGzExporter;
+import org.jboss.shrinkwrap.api.exporter.ZipExporter;
+import org.jboss.shrinkwrap.api.importer.StreamImporter;
+import org.jboss.shrinkwrap.api.importer.TarGzImporter;
+import org.jboss.shrinkwrap.api.importer.ZipImporter;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Ensures that {@link SpillArea} holds content above the threshold in files, deleted once their assets are discarded
+ *
+ * @version $Revision: $
+ */
+public class SpillAreaTestCase {
+
+    // -------------------------------------------------------------------------------------||
+    // Class Members ----------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    private static final int THRESHOLD = 64 * 1024;
+
+    // -------------------------------------------------------------------------------------||
+    // Tests ------------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Ensures content is held in memory up to the threshold, and spilled beyond, whether or not its size is known
+     */
+    @Test
+    public void spillsContentAboveThreshold() throws Exception {
+        final byte[] buffer = new byte[CodecPool.BUFFER_SIZE];
+        for (final long size : new long[] { THRESHOLD, -1 }) {
+            final byte[] small = content(THRESHOLD);
+            final Asset inMemory = SpillArea.read(new ByteArrayInputStream(small), size, THRESHOLD, buffer);
+            Assert.assertTrue(inMemory instanceof ByteArrayAsset);
+            Assert.assertArrayEquals(small, IOUtil.asByteArray(inMemory.openStream()));
+        }
+        for (final long size : new long[] { THRESHOLD + 1, -1 }) {
+            final byte[] large = content(THRESHOLD + 1);
+            final Asset spilled = SpillArea.read(new ByteArrayInputStream(large), size, THRESHOLD, buffer);
+            Assert.assertTrue(spilled instanceof FileAsset);
+            Assert.assertArrayEquals(large, IOUtil.asByteArray(spilled.openStream()));
+        }
+    }
+
+    /**
+     * Ensures ZIP and TAR.GZ stream imports spill only the entries above the configured threshold
+     */
+    @Test
+    public void importsSpillLargeEntries() throws Exception {
+        final Domain domain = ShrinkWrap.createDomain(new ConfigurationBuilder().importSpillThreshold(THRESHOLD));
+        final byte[] small = content(1024);
+        final byte[] large = content(THRESHOLD * 4);
+        final Archive<?> source = ShrinkWrap.create(GenericArchive.class).add(new ByteArrayAsset(small), "small")
+            .add(new ByteArrayAsset(large), "large");
+
+        assertSpills(domain, source, ZipExporter.class, ZipImporter.class, small, large);
+        assertSpills(domain, source, TarGzExporter.class, TarGzImporter.class, small, large);
+    }
+
+    /**
+     * Ensures a spilled file is deleted once its asset is no longer reachable
+     */
+    @Test
+    public void deletesFilesOfDiscardedAssets() throws Exception {
+        Asset spilled = SpillArea.read(new ByteArrayInputStream(content(2)), -1, 1, new byte[CodecPool.BUFFER_SIZE]);
+        final File file = ((FileAsset) spilled).getSource();
+        Assert.assertTrue(file.exists());
+
+        spilled = null;
+        for (int i = 0; i < 100 && file.exists(); i++) {
+            System.gc();
+            Thread.sleep(10);
+            SpillArea.expunge();
+        }
+        Assert.assertFalse("Spill file should be deleted once unreachable", file.exists());
+    }
+
+    /**
+     * Ensures a registered {@link ZipFile} is closed, and the file it reads deleted, only once all of its owners are
+     * no longer reachable
+     */
+    @Test
+    public void closesZipFilesOfDiscardedOwners() throws Exception {
+        final File file = File.createTempFile("closes", ".jar");
+        file.deleteOnExit();
+        ShrinkWrap.create(GenericArchive.class).add(new ByteArrayAsset(content(16)), "entry").as(ZipExporter.class)
+            .exportTo(file, true);
+        final ZipFile zipFile = new ZipFile(file);
+        Object first = new Object();
+        Object second = new Object();
+        SpillArea.closeWhenUnreachable(Arrays.asList(first, second), zipFile, file);
+
+        first = null;
+        for (int i = 0; i < 10; i++) {
+            System.gc();
+            Thread.sleep(10);
+            SpillArea.expunge();
+        }
+        Assert.assertFalse("ZipFile should stay open while an owner is reachable", isClosed(zipFile));
+        Assert.assertNotNull(second);
+
+        second = null;
+        for (int i = 0; i < 100 && file.exists(); i++) {
+            System.gc();
+            Thread.sleep(10);
+            SpillArea.expunge();
+        }
+        Assert.assertTrue("ZipFile should be closed once no owner is reachable", isClosed(zipFile));
+        Assert.assertFalse("File read should be deleted once no owner is reachable", file.exists());
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Internal Helper Methods ------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    private static boolean isClosed(final ZipFile zipFile) {
+        try {
+            zipFile.size();
+            return false;
+        } catch (final IllegalStateException ise) {
+            return true;
+        }
+    }
+
+    private static byte[] content(final int size) {
+        final byte[] content = new byte[size];
+        new Random(size).nextBytes(content);
+        return content;
+    }
+
+    private static void assertSpills(final Domain domain, final Archive<?> source,
+        final Class<? extends StreamExporter> exporter, final Class<? extends StreamImporter<?>> importer,
+        final byte[] small, final byte[] large) throws Exception {
+        final ByteArrayOutputStream exported = new ByteArrayOutputStream();
+        source.as(exporter).exportTo(exported);
+
+        final Archive<?> imported = domain.getArchiveFactory().create(importer)
+            .importFrom(new ByteArrayInputStream(exported.toByteArray())).as(GenericArchive.class);
+
+        final Asset smallAsset = imported.get("small").getAsset();
+        final Asset largeAsset = imported.get("large").getAsset();
+        Assert.assertTrue(smallAsset instanceof ByteArrayAsset);
+        Assert.assertTrue(largeAsset instanceof FileAsset);
+        Assert.assertArrayEquals(small, IOUtil.asByteArray(smallAsset.openStream()));
+        Assert.assertArrayEquals(large, IOUtil.asByteArray(largeAsset.openStream()));
+    }
+}
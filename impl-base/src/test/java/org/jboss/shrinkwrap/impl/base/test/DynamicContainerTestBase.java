@@ -30,6 +30,7 @@ import java.net.URLClassLoader;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Enumeration;
+import java.util.List;
 import java.util.logging.Logger;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
@@ -63,6 +64,11 @@ import org.jboss.shrinkwrap.impl.base.spec.donotchange.DummyClassA;
 import org.jboss.shrinkwrap.impl.base.spec.donotchange.DummyClassParent;
 import org.jboss.shrinkwrap.impl.base.test.dummy.DummyClassForTest;
 import org.jboss.shrinkwrap.impl.base.test.dummy.DummyInterfaceForTest;
+import org.jboss.shrinkwrap.impl.base.test.dummy.dependency.CreatedDependency;
+import org.jboss.shrinkwrap.impl.base.test.dummy.dependency.DependencyRoot;
+import org.jboss.shrinkwrap.impl.base.test.dummy.dependency.FieldDependency;
+import org.jboss.shrinkwrap.impl.base.test.dummy.dependency.UnreferencedClass;
+import org.jboss.shrinkwrap.impl.base.test.dummy.dependency.transitive.TransitiveDependency;
 import org.jboss.shrinkwrap.impl.base.test.dummy.nested1.EmptyClassForFiltersTest1;
 import org.jboss.shrinkwrap.impl.base.test.dummy.nested2.EmptyClassForFiltersTest2;
 import org.jboss.shrinkwrap.impl.base.test.dummy.nested3.EmptyClassForFiltersTest3;
@@ -841,6 +847,46 @@ public abstract class DynamicContainerTestBase<T extends Archive<T>> extends Arc
 
     }
 
+    /**
+     * Ensure classes can be added with the classes they reference, transitively, within their packages
+     *
+     * @throws Exception
+     */
+    @Test
+    @ArchiveType(ClassContainer.class)
+    public void testAddClassesWithDependencies() throws Exception {
+        getClassContainer().addClassesWithDependencies(DependencyRoot.class);
+
+        for (final Class<?> expected : new Class<?>[] { DependencyRoot.class, FieldDependency.class,
+            CreatedDependency.class, TransitiveDependency.class }) {
+            assertContainsClass(new BasicPath(getClassPath(), AssetUtil.getFullPathForClassResource(expected)));
+        }
+        for (final Class<?> unexpected : new Class<?>[] { UnreferencedClass.class, DummyClassForTest.class,
+            List.class }) {
+            Assert.assertFalse("Classes not referenced, or outside the packages, should not be added", getArchive()
+                .contains(new BasicPath(getClassPath(), AssetUtil.getFullPathForClassResource(unexpected))));
+        }
+    }
+
+    /**
+     * Ensure the classes referenced are followed as far as the filter accepts them
+     *
+     * @throws Exception
+     */
+    @Test
+    @ArchiveType(ClassContainer.class)
+    public void testAddClassesWithDependenciesFiltered() throws Exception {
+        getClassContainer().addClassesWithDependencies(
+            Filters.include("/org/jboss/shrinkwrap/impl/base/test/dummy/(dependency/)?[^/]*"), DependencyRoot.class);
+
+        for (final Class<?> expected : new Class<?>[] { DependencyRoot.class, CreatedDependency.class,
+            DummyClassForTest.class, DummyInterfaceForTest.class }) {
+            assertContainsClass(new BasicPath(getClassPath(), AssetUtil.getFullPathForClassResource(expected)));
+        }
+        Assert.assertFalse("Classes rejected by the filter should not be added", getArchive().contains(
+            new BasicPath(getClassPath(), AssetUtil.getFullPathForClassResource(TransitiveDependency.class))));
+    }
+
     /**
      * Ensure classes can be added to containers by name
      *
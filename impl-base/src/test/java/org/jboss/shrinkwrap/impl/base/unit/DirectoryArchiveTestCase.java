@@ -0,0 +1,252 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base.unit;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ArchiveFormat;
+import org.jboss.shrinkwrap.api.ArchivePath;
+import org.jboss.shrinkwrap.api.ArchivePaths;
+import org.jboss.shrinkwrap.api.IllegalArchivePathException;
+import org.jboss.shrinkwrap.api.IllegalOverwriteException;
+import org.jboss.shrinkwrap.api.Node;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.shrinkwrap.api.exporter.ZipExporter;
+import org.jboss.shrinkwrap.api.importer.ZipImporter;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jboss.shrinkwrap.impl.base.DirectoryArchiveImpl;
+import org.jboss.shrinkwrap.impl.base.TestIOUtil;
+import org.jboss.shrinkwrap.impl.base.io.IOUtil;
+import org.jboss.shrinkwrap.impl.base.test.ArchiveTestBase;
+import org.jboss.shrinkwrap.spi.DirectoryArchive;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * DirectoryArchiveTestCase
+ *
+ * TestCase to ensure that the DirectoryArchive honors the contract of all archives when mounting an empty directory,
+ * and serves, overlays and hides the content of a mounted directory as expected.
+ *
+ * @version $Revision: $
+ */
+public class DirectoryArchiveTestCase extends ArchiveTestBase<DirectoryArchive> {
+
+    /**
+     * Directory beneath which the mounted trees are created
+     */
+    private static final File TARGET = new File("target", "directoryArchive");
+
+    private DirectoryArchive archive;
+
+    /**
+     * Create a new Archive instance, mounting an empty directory, per Test.
+     *
+     * @throws Exception
+     */
+    @Before
+    public void createArchive() throws Exception {
+        archive = createNewArchive();
+        archive.toString(false);
+    }
+
+    @Override
+    protected DirectoryArchive createNewArchive() {
+        return new DirectoryArchiveImpl("test.jar", ShrinkWrap.getDefaultDomain().getConfiguration(),
+            createDirectory("empty"));
+    }
+
+    /**
+     * Return the created instance to the super class so it can perform the common test cases.
+     */
+    @Override
+    protected DirectoryArchive getArchive() {
+        return archive;
+    }
+
+    @Override
+    protected ArchiveFormat getExpectedArchiveFormat() {
+        return ArchiveFormat.UNKNOWN;
+    }
+
+    /**
+     * Ensures mounted content is served on demand, and that mounting requires an existing directory
+     */
+    @Test
+    public void shouldServeMountedContent() throws Exception {
+        final File root = this.createTree();
+        final JavaArchive mounted = ShrinkWrap.createFromDirectory(JavaArchive.class, root);
+
+        Assert.assertEquals(root.getName(), mounted.getName());
+        Assert.assertTrue(mounted.contains("/META-INF/MANIFEST.MF"));
+        Assert.assertTrue(mounted.contains("/org/test"));
+        Assert.assertFalse(mounted.contains("/org/missing"));
+        Assert.assertFalse(mounted.contains("/root.txt/beneath"));
+        Assert.assertNull(mounted.get("/org/missing"));
+        Assert.assertNull(mounted.get("/org/test").getAsset());
+        Assert.assertEquals(2, mounted.get("/org/test").getChildren().size());
+        Assert.assertEquals("Dummy", read(mounted.get("/org/test/Dummy.class")));
+        Assert.assertEquals(3, mounted.get("/").getChildren().size());
+        Assert.assertEquals(8, mounted.getContent().size());
+
+        try {
+            ShrinkWrap.createFromDirectory(JavaArchive.class, new File(root, "root.txt"));
+            Assert.fail("Mounting a file should fail");
+        } catch (final IllegalArgumentException expected) {
+            // Expected
+        }
+    }
+
+    /**
+     * Ensures content added is overlaid upon, and content deleted hidden from, that mounted, leaving the directory
+     * untouched
+     */
+    @Test
+    public void shouldOverlayAdditionsAndDeletions() throws Exception {
+        final File root = this.createTree();
+        final JavaArchive mounted = ShrinkWrap.createFromDirectory(JavaArchive.class, root);
+
+        mounted.add(new StringAsset("Overridden"), "/root.txt");
+        mounted.add(new StringAsset("Added"), "/org/test/Added.class");
+        Assert.assertEquals("Overridden", read(mounted.get("/root.txt")));
+        Assert.assertEquals(3, mounted.get("/org/test").getChildren().size());
+        Assert.assertTrue(mounted.get("/").getChildren().contains(mounted.get("/org")));
+
+        Assert.assertNotNull(mounted.delete("/org/test/sub"));
+        Assert.assertNotNull(mounted.delete("/META-INF/MANIFEST.MF"));
+        Assert.assertFalse(mounted.contains("/org/test/sub/Sub.class"));
+        Assert.assertFalse(mounted.contains("/META-INF/MANIFEST.MF"));
+        Assert.assertTrue(mounted.contains("/META-INF"));
+        Assert.assertEquals(2, mounted.get("/org/test").getChildren().size());
+
+        final Map<ArchivePath, Node> content = mounted.getContent();
+        Assert.assertEquals(6, content.size());
+        Assert.assertTrue(content.containsKey(ArchivePaths.create("/org/test/Added.class")));
+        Assert.assertFalse(content.containsKey(ArchivePaths.create("/org/test/sub")));
+
+        try {
+            mounted.add(new StringAsset("Directory"), "/org");
+            Assert.fail("Adding a file over a mounted directory should fail");
+        } catch (final IllegalOverwriteException expected) {
+            // Expected
+        }
+        try {
+            mounted.add(new StringAsset("Beneath"), "/org/test/Dummy.class/beneath");
+            Assert.fail("Adding beneath a mounted file should fail");
+        } catch (final IllegalArchivePathException expected) {
+            // Expected
+        }
+
+        Assert.assertTrue(new File(root, "org/test/sub/Sub.class").isFile());
+        Assert.assertFalse(new File(root, "org/test/Added.class").exists());
+        Assert.assertEquals("Root", read(ShrinkWrap.createFromDirectory(JavaArchive.class, root).get("/root.txt")));
+    }
+
+    /**
+     * Ensures changes made to the mounted directory after paths were looked up are seen, whether or not made within the
+     * resolution of modification times
+     */
+    @Test
+    public void shouldSeeChangesToMountedDirectory() throws Exception {
+        final File root = this.createTree();
+        final File directory = new File(root, "org/test");
+        final JavaArchive mounted = ShrinkWrap.createFromDirectory(JavaArchive.class, root);
+
+        // Changed right after the lookup
+        Assert.assertTrue(mounted.contains("/org/test/Dummy.class"));
+        Assert.assertTrue(new File(directory, "Dummy.class").delete());
+        Assert.assertFalse(mounted.contains("/org/test/Dummy.class"));
+        Assert.assertNull(mounted.get("/org/test/Dummy.class"));
+
+        // Changed well after the directory was last modified
+        Assert.assertTrue(directory.setLastModified(System.currentTimeMillis() - 60000L));
+        Assert.assertFalse(mounted.contains("/org/test/New.class"));
+        Assert.assertNotNull(mounted.get("/org/test/sub/Sub.class"));
+        Assert.assertEquals(1, mounted.get("/org/test").getChildren().size());
+        write(new File(directory, "New.class"), "New");
+        TestIOUtil.deleteDirectory(new File(directory, "sub"));
+        Assert.assertTrue(mounted.contains("/org/test/New.class"));
+        Assert.assertEquals("New", read(mounted.get("/org/test/New.class")));
+        Assert.assertFalse(mounted.contains("/org/test/sub"));
+        Assert.assertNull(mounted.get("/org/test/sub/Sub.class"));
+        Assert.assertEquals(1, mounted.get("/org/test").getChildren().size());
+        Assert.assertEquals(6, mounted.getContent().size());
+    }
+
+    /**
+     * Ensures the mounted and overlaid content is exported
+     */
+    @Test
+    public void shouldExportMountedContent() throws Exception {
+        final File root = this.createTree();
+        final Archive<?> mounted = ShrinkWrap.createFromDirectory(JavaArchive.class, root).add(
+            new StringAsset("Added"), "/added.txt");
+
+        final InputStream exported = mounted.as(ZipExporter.class).exportAsInputStream();
+        final JavaArchive imported = ShrinkWrap.create(ZipImporter.class, "imported.jar").importFrom(exported)
+            .as(JavaArchive.class);
+        Assert.assertEquals("Sub", read(imported.get("/org/test/sub/Sub.class")));
+        Assert.assertEquals("Added", read(imported.get("/added.txt")));
+        Assert.assertEquals(mounted.getContent().keySet(), imported.getContent().keySet());
+    }
+
+    // -------------------------------------------------------------------------------------||
+    // Internal Helper Methods ------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Creates a tree of 5 files in 4 directories beneath the root
+     */
+    private File createTree() throws IOException {
+        final File root = createDirectory("tree");
+        write(new File(root, "root.txt"), "Root");
+        write(new File(root, "META-INF/MANIFEST.MF"), "Manifest-Version: 1.0");
+        write(new File(root, "org/test/Dummy.class"), "Dummy");
+        write(new File(root, "org/test/sub/Sub.class"), "Sub");
+        return root;
+    }
+
+    private static File createDirectory(final String name) {
+        final File directory = new File(TARGET, name);
+        if (directory.exists()) {
+            TestIOUtil.deleteDirectory(directory);
+        }
+        Assert.assertTrue(directory.mkdirs());
+        return directory;
+    }
+
+    private static void write(final File file, final String content) throws IOException {
+        file.getParentFile().mkdirs();
+        final FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write(content.getBytes("UTF-8"));
+        } finally {
+            out.close();
+        }
+    }
+
+    private static String read(final Node node) throws IOException {
+        return new String(IOUtil.asByteArray(node.getAsset().openStream()), "UTF-8");
+    }
+}
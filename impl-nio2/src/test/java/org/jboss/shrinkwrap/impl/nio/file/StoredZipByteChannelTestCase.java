@@ -0,0 +1,230 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.nio.file;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.Asset;
+import org.jboss.shrinkwrap.api.asset.ByteArrayAsset;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.shrinkwrap.api.nio.file.StoredZipByteChannel;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Ensures that {@link StoredZipByteChannel} presents a valid ZIP, any range of which may be read on its own
+ *
+ * @version $Revision: $
+ */
+public class StoredZipByteChannelTestCase {
+
+    /**
+     * Non-ASCII content and name, requiring the UTF-8 flag
+     */
+    private static final String UMLAUTS = "Gr\u00fc\u00dfe";
+
+    /**
+     * Ensures the channel's bytes are read as a ZIP both via the central directory and sequentially
+     */
+    @Test
+    public void readableAsZip() throws IOException {
+        final Archive<?> archive = createArchive();
+        final byte[] zip;
+        try (StoredZipByteChannel channel = new StoredZipByteChannel(archive)) {
+            zip = readFully(channel);
+            Assert.assertEquals(channel.size(), zip.length);
+        }
+
+        final File file = File.createTempFile("stored", ".zip");
+        try {
+            Files.write(file.toPath(), zip);
+            final Map<String, byte[]> entries = new HashMap<>();
+            try (ZipFile zipFile = new ZipFile(file)) {
+                final Enumeration<? extends ZipEntry> e = zipFile.entries();
+                while (e.hasMoreElements()) {
+                    final ZipEntry entry = e.nextElement();
+                    Assert.assertEquals(ZipEntry.STORED, entry.getMethod());
+                    entries.put(entry.getName(), readFully(zipFile.getInputStream(entry)));
+                }
+            }
+            Assert.assertEquals(5, entries.size());
+            Assert.assertTrue(entries.containsKey("empty/"));
+            Assert.assertEquals("Hello", new String(entries.get("hello.txt"), StandardCharsets.UTF_8));
+            Assert.assertArrayEquals(content(), entries.get("nested/random.bin"));
+            Assert.assertEquals(UMLAUTS, new String(entries.get(UMLAUTS + ".txt"), StandardCharsets.UTF_8));
+        } finally {
+            Assert.assertTrue(file.delete());
+        }
+
+        final Map<String, byte[]> streamed = new HashMap<>();
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            ZipEntry entry;
+            while ((entry = in.getNextEntry()) != null) {
+                streamed.put(entry.getName(), readFully(in));
+            }
+        }
+        Assert.assertArrayEquals(content(), streamed.get("nested/random.bin"));
+    }
+
+    /**
+     * Ensures arbitrary ranges, read in any order, match the same range of the whole
+     */
+    @Test
+    public void rangeReads() throws IOException {
+        final byte[] whole;
+        try (StoredZipByteChannel channel = new StoredZipByteChannel(createArchive())) {
+            whole = readFully(channel);
+        }
+
+        final Random random = new Random(7);
+        try (StoredZipByteChannel channel = new StoredZipByteChannel(createArchive())) {
+            for (int i = 0; i < 200; i++) {
+                final int start = random.nextInt(whole.length);
+                final int length = 1 + random.nextInt(Math.min(5000, whole.length - start));
+                final ByteBuffer range = random.nextBoolean() ? ByteBuffer.allocate(length) : ByteBuffer
+                    .allocateDirect(length);
+                channel.position(start);
+                while (range.hasRemaining()) {
+                    Assert.assertTrue(channel.read(range) > 0);
+                }
+                final byte[] bytes = new byte[length];
+                range.flip();
+                range.get(bytes);
+                Assert.assertArrayEquals("Range " + start + "+" + length,
+                    Arrays.copyOfRange(whole, start, start + length), bytes);
+            }
+            channel.position(whole.length + 10);
+            Assert.assertEquals(-1, channel.read(ByteBuffer.allocate(1)));
+        }
+    }
+
+    /**
+     * Ensures channels of equal archives have equal contents
+     */
+    @Test
+    public void deterministic() throws IOException {
+        try (StoredZipByteChannel first = new StoredZipByteChannel(createArchive());
+            StoredZipByteChannel second = new StoredZipByteChannel(createArchive())) {
+            Assert.assertArrayEquals(readFully(first), readFully(second));
+        }
+    }
+
+    /**
+     * Ensures ZIP64 records are written where there are too many entries for the plain format
+     */
+    @Test
+    public void manyEntries() throws IOException {
+        final int count = 70000;
+        final JavaArchive archive = ShrinkWrap.create(JavaArchive.class, "many.jar");
+        for (int i = 0; i < count; i++) {
+            archive.add(new StringAsset(Integer.toString(i)), "entry" + i);
+        }
+        final File file = File.createTempFile("many", ".zip");
+        try (StoredZipByteChannel channel = new StoredZipByteChannel(archive)) {
+            Files.write(file.toPath(), readFully(channel));
+            try (ZipFile zipFile = new ZipFile(file)) {
+                Assert.assertEquals(count, zipFile.size());
+                Assert.assertEquals("69999", new String(readFully(zipFile.getInputStream(zipFile
+                    .getEntry("entry69999"))), StandardCharsets.UTF_8));
+            }
+        } finally {
+            Assert.assertTrue(file.delete());
+        }
+    }
+
+    /**
+     * Ensures an asset yielding other bytes than when the channel was created is reported
+     */
+    @Test(expected = IOException.class)
+    public void changedAssetReported() throws IOException {
+        final Asset changing = new Asset() {
+            private int opened;
+
+            @Override
+            public InputStream openStream() {
+                return new StringAsset("version " + opened++).openStream();
+            }
+        };
+        try (StoredZipByteChannel channel = new StoredZipByteChannel(ShrinkWrap.create(JavaArchive.class)
+            .add(changing, "changing.txt"))) {
+            readFully(channel);
+        }
+    }
+
+    /**
+     * Ensures the channel is read-only
+     */
+    @Test(expected = NonWritableChannelException.class)
+    public void readOnly() throws IOException {
+        try (StoredZipByteChannel channel = new StoredZipByteChannel(createArchive())) {
+            channel.write(ByteBuffer.allocate(1));
+        }
+    }
+
+    private static Archive<?> createArchive() {
+        return ShrinkWrap.create(JavaArchive.class, "stored.jar").add(new StringAsset("Hello"), "hello.txt")
+            .add(new ByteArrayAsset(content()), "nested/random.bin")
+            .add(new ByteArrayAsset(UMLAUTS.getBytes(StandardCharsets.UTF_8)), UMLAUTS + ".txt").addAsDirectory("empty");
+    }
+
+    private static byte[] content() {
+        final byte[] content = new byte[100000];
+        new Random(42).nextBytes(content);
+        return content;
+    }
+
+    private static byte[] readFully(final StoredZipByteChannel channel) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ByteBuffer buffer = ByteBuffer.allocate(3000);
+        channel.position(0);
+        while (channel.read(buffer) != -1) {
+            buffer.flip();
+            out.write(buffer.array(), 0, buffer.limit());
+            buffer.clear();
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] readFully(final InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[4096];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.spi;
+
+import org.jboss.shrinkwrap.api.Assignable;
+
+/**
+ * {@link Assignable} view representing an entity whose contents carry a modification version. Every change to the
+ * contents (including those of any nested archives) results in a greater version, so two equal versions observed over
+ * time guarantee the contents have not been altered in between.
+ *
+ * @version $Revision: $
+ */
+public interface Versioned extends Assignable {
+
+    /**
+     * Obtains the current modification version, or a negative value if no version may be determined (for instance
+     * because some nested content is not itself {@link Versioned})
+     *
+     * @return
+     */
+    long getVersion();
+}